@@ -36,6 +36,7 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteTraversal;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteTraversalSideEffects;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1d0;
 import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerGremlinV1d0;
 import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerGremlinV2d0;
 import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV1d0;
@@ -77,6 +78,7 @@ public class DriverGremlinPlugin extends AbstractGremlinPlugin {
                     ResponseResult.class,
                     ResponseStatus.class,
                     ResponseStatusCode.class,
+                    GraphBinaryMessageSerializerV1d0.class,
                     GraphSONMessageSerializerGremlinV1d0.class,
                     GraphSONMessageSerializerGremlinV2d0.class,
                     GraphSONMessageSerializerV1d0.class,
@@ -212,6 +212,7 @@ public interface TraversalStrategies extends Serializable, Cloneable {
                     MatchPredicateStrategy.instance(),
                     RepeatUnrollStrategy.instance(),
                     CountStrategy.instance(),
+                    OrderLimitStrategy.instance(),
                     PathRetractionStrategy.instance(),
                     LazyBarrierStrategy.instance(),
                     ProfileStrategy.instance(),
@@ -225,7 +226,6 @@ public interface TraversalStrategies extends Serializable, Cloneable {
             graphComputerStrategies.addStrategies(
                     GraphFilterStrategy.instance(),
                     MessagePassingReductionStrategy.instance(),
-                    OrderLimitStrategy.instance(),
                     PathProcessorStrategy.instance(),
                     ComputerFinalizationStrategy.instance(),
                     ComputerVerificationStrategy.instance());
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
+
+import java.util.List;
+
+/**
+ * A {@link Step} that is able to process a batch of traversers at once rather than one traverser at a time. Once
+ * {@link BatchStrategy} has given them a batch size, a run of adjacent {@code Batching} steps is driven by its last
+ * step, which takes up to that many traversers from the steps before the run and passes them through each step of the
+ * run in turn.
+ */
+public interface Batching<S, E> extends Step<S, E> {
+
+    /**
+     * Processes each of the {@code starts} in order, adding the traversers that it produces to the {@code ends}.
+     */
+    public void processNextStarts(final List<Traverser.Admin<S>> starts, final List<Traverser.Admin<E>> ends);
+
+    /**
+     * Sets the number of traversers to process at once where a value less than two turns batching off.
+     */
+    public void setBatchSize(final int batchSize);
+
+    public int getBatchSize();
+
+}
@@ -20,8 +20,11 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 
+import java.util.List;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -41,4 +44,14 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
     }
 
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
+
+    /**
+     * Filters each of the {@code starts} for subclasses that are {@link Batching}.
+     */
+    public void processNextStarts(final List<Traverser.Admin<S>> starts, final List<Traverser.Admin<S>> ends) {
+        for (final Traverser.Admin<S> traverser : starts) {
+            if (this.filter(traverser))
+                ends.add(traverser);
+        }
+    }
 }
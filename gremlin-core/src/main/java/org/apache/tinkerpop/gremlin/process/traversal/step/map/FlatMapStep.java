@@ -20,11 +20,13 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -53,6 +55,22 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
 
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
+    /**
+     * Adds every result of the flat map of each of the {@code starts} for subclasses that are {@link Batching}.
+     */
+    public void processNextStarts(final List<Traverser.Admin<S>> starts, final List<Traverser.Admin<E>> ends) {
+        for (final Traverser.Admin<S> traverser : starts) {
+            final Iterator<E> results = this.flatMap(traverser);
+            try {
+                while (results.hasNext()) {
+                    ends.add(traverser.split(results.next(), this));
+                }
+            } finally {
+                CloseableIterator.closeIterator(results);
+            }
+        }
+    }
+
     @Override
     public void reset() {
         super.reset();
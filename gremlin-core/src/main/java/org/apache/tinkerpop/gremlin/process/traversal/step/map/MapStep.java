@@ -20,8 +20,11 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 
+import java.util.List;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -39,5 +42,14 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
 
     protected abstract E map(final Traverser.Admin<S> traverser);
 
+    /**
+     * Maps each of the {@code starts} for subclasses that are {@link Batching}.
+     */
+    public void processNextStarts(final List<Traverser.Admin<S>> starts, final List<Traverser.Admin<E>> ends) {
+        for (final Traverser.Admin<S> traverser : starts) {
+            ends.add(traverser.split(this.map(traverser), this));
+        }
+    }
+
 }
 
@@ -26,20 +26,41 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
 
+    /**
+     * An adaptive barrier doubles its size when the traversers pulled in outnumber the distinct ones it held by at
+     * least this much.
+     */
+    public static final int GROW_RATIO = 2;
+
+    // an adaptive barrier halves its size when the traversers pulled in are less than 11/10 of the distinct ones
+    private static final long SHRINK_RATIO_DIVIDEND = 11L;
+    private static final long SHRINK_RATIO_DIVISOR = 10L;
+
     private int maxBarrierSize;
     private TraverserSet<S> barrier = new TraverserSet<>();
 
+    // the adaptive barrier size and its bounds as set by AdaptiveBarrierStrategy
+    private boolean adaptive = false;
+    private int barrierSize;
+    private int minBarrierSize;
+    private int maxAdaptiveBarrierSize;
+    private AtomicInteger barrierBudget;
+    private int barrierBudgetSize = 0;
+    private int reserved = 0;
+
     public NoOpBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
     }
@@ -53,7 +74,10 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
         if (this.barrier.isEmpty())
             this.processAllStarts();
-        return this.barrier.remove();
+        final Traverser.Admin<S> traverser = this.barrier.remove();
+        if (this.reserved > 0 && this.barrier.isEmpty())
+            this.releaseBudget();
+        return traverser;
     }
 
     @Override
@@ -63,6 +87,11 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
+        if (this.adaptive) {
+            this.processAdaptiveStarts();
+            return;
+        }
+
         while (this.starts.hasNext() && (this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize)) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
@@ -70,6 +99,117 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
         }
     }
 
+    /**
+     * Fills the barrier up to its current size, or less if the budget shared by the barriers of the traversal has run
+     * out, and then resizes it by how well the traversers bulked. If the traversers pulled in outnumber the distinct
+     * ones the barrier held by {@link #GROW_RATIO} the size is doubled, as a bigger barrier should bulk even more.
+     * If they hardly bulked at all the size is halved, as holding them only delays the steps that follow.
+     */
+    private void processAdaptiveStarts() {
+        final int limit = this.reserveBudget(this.barrierSize);
+        long pulled = 0L;
+        while (this.barrier.size() < limit && this.starts.hasNext()) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
+            this.barrier.add(traverser);
+            pulled++;
+        }
+
+        final int distinct = this.barrier.size();
+        if (0 == distinct)
+            this.releaseBudget();
+        if (0 == pulled || 0 == distinct)
+            return;
+        if (pulled >= (long) GROW_RATIO * distinct) {
+            // only a barrier that filled up to its size shows that a bigger one would be of use
+            if (distinct >= this.barrierSize)
+                this.barrierSize = (int) Math.min((long) this.barrierSize << 1, this.maxAdaptiveBarrierSize);
+        } else if (pulled * SHRINK_RATIO_DIVISOR < (long) distinct * SHRINK_RATIO_DIVIDEND)
+            this.barrierSize = Math.max(this.barrierSize >> 1, this.minBarrierSize);
+    }
+
+    /**
+     * Takes what the barrier needs to grow to {@code size} from the budget of the traversal and returns the number of
+     * distinct traversers the barrier may hold. That is never less than the minimum barrier size, even when the
+     * budget is spent, so that the traversal can always move forward.
+     */
+    private int reserveBudget(final int size) {
+        final AtomicInteger budget = this.getBarrierBudget();
+        if (null == budget)
+            return size;
+        if (size > this.reserved) {
+            final int wanted = size - this.reserved;
+            int available;
+            int taken;
+            do {
+                available = budget.get();
+                taken = Math.max(0, Math.min(wanted, available));
+            } while (taken > 0 && !budget.compareAndSet(available, available - taken));
+            this.reserved = this.reserved + taken;
+        }
+        return Math.max(this.reserved, Math.min(size, this.minBarrierSize));
+    }
+
+    private void releaseBudget() {
+        if (null != this.barrierBudget && this.reserved > 0)
+            this.barrierBudget.addAndGet(this.reserved);
+        this.reserved = 0;
+    }
+
+    /**
+     * Lets the barrier size move between {@code minBarrierSize} and {@code maxBarrierSize} as the traversal runs,
+     * starting from the size the step was created with. All the barriers of a traversal should be given the same
+     * {@code barrierBudget}, which is the number of distinct traversers they may hold between them, or {@code null}
+     * if there is no such limit. This only applies to a barrier of bounded size.
+     * <p/>
+     * A clone of the step does not share the budget with the step it was cloned from. The barriers of a cloned
+     * traversal share a fresh budget of the size that {@code barrierBudget} had when it was given here.
+     */
+    public void setAdaptive(final int minBarrierSize, final int maxBarrierSize, final AtomicInteger barrierBudget) {
+        if (this.maxBarrierSize == Integer.MAX_VALUE)
+            return;
+        this.adaptive = true;
+        this.minBarrierSize = minBarrierSize;
+        this.maxAdaptiveBarrierSize = maxBarrierSize;
+        this.barrierSize = Math.min(Math.max(this.maxBarrierSize, minBarrierSize), maxBarrierSize);
+        this.barrierBudget = barrierBudget;
+        this.barrierBudgetSize = null == barrierBudget ? 0 : barrierBudget.get();
+    }
+
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Gets the budget that the barrier shares with the other barriers of its traversal, or {@code null} if it has
+     * none. A cloned barrier takes the budget of another barrier of its own traversal, or starts a new one if it is
+     * the first to need it.
+     */
+    public AtomicInteger getBarrierBudget() {
+        if (null == this.barrierBudget && this.barrierBudgetSize > 0) {
+            for (final NoOpBarrierStep<?> barrier : TraversalHelper.getStepsOfAssignableClassRecursively(NoOpBarrierStep.class, TraversalHelper.getRootTraversal(this.traversal))) {
+                if (null != barrier.barrierBudget) {
+                    this.barrierBudget = barrier.barrierBudget;
+                    return this.barrierBudget;
+                }
+            }
+            this.barrierBudget = new AtomicInteger(this.barrierBudgetSize);
+        }
+        return this.barrierBudget;
+    }
+
+    /**
+     * Gets the number of distinct traversers the barrier currently holds at most, which changes as the traversal
+     * runs if the barrier is adaptive.
+     */
+    public int getBarrierSize() {
+        return this.adaptive ? this.barrierSize : this.maxBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
     @Override
     public boolean hasNextBarrier() {
         this.processAllStarts();
@@ -84,6 +224,7 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
         else {
             final TraverserSet<S> temp = this.barrier;
             this.barrier = new TraverserSet<>();
+            this.releaseBudget();
             return temp;
         }
     }
@@ -97,12 +238,16 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = new TraverserSet<>();
+        clone.barrierBudget = null;
+        clone.reserved = 0;
         return clone;
     }
 
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.maxBarrierSize == Integer.MAX_VALUE ? null : this.maxBarrierSize);
+        return this.adaptive ?
+                StringFactory.stepString(this, this.maxBarrierSize, "adaptive") :
+                StringFactory.stepString(this, this.maxBarrierSize == Integer.MAX_VALUE ? null : this.maxBarrierSize);
     }
 
     @Override
@@ -114,5 +259,6 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.releaseBudget();
     }
 }
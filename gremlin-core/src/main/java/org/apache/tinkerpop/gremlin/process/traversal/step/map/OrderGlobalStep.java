@@ -41,6 +41,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
@@ -70,11 +71,59 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     @Override
     public void processAllStarts() {
+        if (this.limit >= 0 && this.limit != Long.MAX_VALUE) {
+            if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+            if (!this.multiComparator.isShuffle()) {
+                this.processTopStarts();
+                return;
+            }
+        }
+
         while (this.starts.hasNext()) {
             this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
         }
     }
 
+    /**
+     * When only the first {@code limit} traversers are wanted, as with {@code order().limit(10)}, the starts are kept
+     * in a heap that drops the last of them whenever the traversers ahead of it already make up the limit. That
+     * holds no more traversers than the limit needs (allowing for bulk) rather than every one of them for a full
+     * sort. Traversers that compare equal keep the order they arrived in, as they would with the full sort.
+     */
+    private void processTopStarts() {
+        final Comparator comparator = this.multiComparator;
+        final Comparator<RankedTraverser<S, C>> last = (a, b) -> {
+            final int comparison = comparator.compare(b.traverser, a.traverser);
+            return 0 != comparison ? comparison : Long.compare(b.rank, a.rank);
+        };
+        final PriorityQueue<RankedTraverser<S, C>> top = new PriorityQueue<>(last);
+        long bulk = 0L;
+        long rank = 0L;
+        while (this.starts.hasNext()) {
+            final ProjectedTraverser<S, C> traverser = this.createProjectedTraverser(this.starts.next());
+            if (bulk < this.limit) {
+                top.add(new RankedTraverser<>(traverser, rank++));
+                bulk = bulk + traverser.bulk();
+            } else if (!top.isEmpty() && comparator.compare(traverser, top.peek().traverser) < 0) {
+                top.add(new RankedTraverser<>(traverser, rank++));
+                bulk = bulk + traverser.bulk();
+                while (bulk - top.peek().traverser.bulk() >= this.limit) {
+                    bulk = bulk - top.poll().traverser.bulk();
+                }
+            }
+        }
+
+        final List<RankedTraverser<S, C>> ranked = new ArrayList<>(top);
+        ranked.sort(last.reversed());
+        for (final RankedTraverser<S, C> rankedTraverser : ranked) {
+            this.traverserSet.add(rankedTraverser.traverser);
+        }
+    }
+
+    /**
+     * Sets the number of traversers, counting bulk, that the steps after this one need at most. In OLTP the step
+     * then only holds that many, and in OLAP each worker passes on only that many.
+     */
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -167,6 +216,16 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     ////////////////
 
+    private static final class RankedTraverser<S, C extends Comparable> {
+        private final ProjectedTraverser<S, C> traverser;
+        private final long rank;
+
+        private RankedTraverser(final ProjectedTraverser<S, C> traverser, final long rank) {
+            this.traverser = traverser;
+            this.rank = rank;
+        }
+    }
+
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
 
         private long limit;
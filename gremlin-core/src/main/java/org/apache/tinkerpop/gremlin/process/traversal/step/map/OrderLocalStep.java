@@ -37,6 +37,7 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -47,6 +48,7 @@ public final class OrderLocalStep<S, C extends Comparable> extends MapStep<S, S>
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private ChainedComparator<S, C> chainedComparator = null;
+    private long limit = Long.MAX_VALUE;
 
     public OrderLocalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -58,13 +60,25 @@ public final class OrderLocalStep<S, C extends Comparable> extends MapStep<S, S>
             this.chainedComparator = new ChainedComparator<>(false, this.comparators);
         final S start = traverser.get();
         if (start instanceof Collection)
-            return (S) OrderLocalStep.sortCollection((Collection) start, this.chainedComparator);
+            return (S) OrderLocalStep.sortCollection((Collection) start, this.chainedComparator, this.limit);
         else if (start instanceof Map)
-            return (S) OrderLocalStep.sortMap((Map) start, this.chainedComparator);
+            return (S) OrderLocalStep.sortMap((Map) start, this.chainedComparator, this.limit);
         else
             return start;
     }
 
+    /**
+     * Sets the number of objects of each collection or entries of each map that the steps after this one need at
+     * most, in which case only that many are kept and sorted.
+     */
+    public void setLimit(final long limit) {
+        this.limit = limit;
+    }
+
+    public long getLimit() {
+        return this.limit;
+    }
+
     @Override
     public void addComparator(final Traversal.Admin<S, C> traversal, final Comparator<C> comparator) {
         this.comparators.add(new Pair<>(this.integrateChild(traversal), comparator));
@@ -129,26 +143,63 @@ public final class OrderLocalStep<S, C extends Comparable> extends MapStep<S, S>
 
     /////////////
 
-    private static final <A> List<A> sortCollection(final Collection<A> collection, final ChainedComparator comparator) {
-        if (collection instanceof List) {
+    private static final <A> List<A> sortCollection(final Collection<A> collection, final ChainedComparator comparator, final long limit) {
+        if (limit >= 0 && limit < collection.size() && !comparator.isShuffle())
+            return sortTop(collection, comparator, (int) limit);
+        else if (collection instanceof List) {
             if (comparator.isShuffle())
                 Collections.shuffle((List) collection);
             else
                 Collections.sort((List) collection, comparator);
             return (List<A>) collection;
         } else {
-            return sortCollection(new ArrayList<>(collection), comparator);
+            return sortCollection(new ArrayList<>(collection), comparator, Long.MAX_VALUE);
         }
     }
 
-    private static final <K, V> Map<K, V> sortMap(final Map<K, V> map, final ChainedComparator comparator) {
-        final List<Map.Entry<K, V>> entries = new ArrayList<>(map.entrySet());
-        if (comparator.isShuffle())
-            Collections.shuffle(entries);
-        else
-            Collections.sort(entries, comparator);
+    private static final <K, V> Map<K, V> sortMap(final Map<K, V> map, final ChainedComparator comparator, final long limit) {
+        final List<Map.Entry<K, V>> entries;
+        if (limit >= 0 && limit < map.size() && !comparator.isShuffle())
+            entries = sortTop(map.entrySet(), comparator, (int) limit);
+        else {
+            entries = new ArrayList<>(map.entrySet());
+            if (comparator.isShuffle())
+                Collections.shuffle(entries);
+            else
+                Collections.sort(entries, comparator);
+        }
         final LinkedHashMap<K, V> sortedMap = new LinkedHashMap<>();
         entries.forEach(entry -> sortedMap.put(entry.getKey(), entry.getValue()));
         return sortedMap;
     }
+
+    /**
+     * Gets the first {@code limit} objects in order, holding no more than that many in a heap as they are read
+     * rather than sorting all of them. Objects that compare equal keep the order they were read in.
+     */
+    private static final <A> List<A> sortTop(final Iterable<A> iterable, final Comparator<A> comparator, final int limit) {
+        final Comparator<Pair<A, Integer>> last = (a, b) -> {
+            final int comparison = comparator.compare(b.getValue0(), a.getValue0());
+            return 0 != comparison ? comparison : Integer.compare(b.getValue1(), a.getValue1());
+        };
+        final PriorityQueue<Pair<A, Integer>> top = new PriorityQueue<>(limit + 1, last);
+        int index = 0;
+        for (final A object : iterable) {
+            if (top.size() < limit)
+                top.add(Pair.with(object, index));
+            else if (!top.isEmpty() && comparator.compare(object, top.peek().getValue0()) < 0) {
+                top.poll();
+                top.add(Pair.with(object, index));
+            }
+            index++;
+        }
+
+        final List<Pair<A, Integer>> ranked = new ArrayList<>(top);
+        ranked.sort(last.reversed());
+        final List<A> list = new ArrayList<>(ranked.size());
+        for (final Pair<A, Integer> pair : ranked) {
+            list.add(pair.getValue0());
+        }
+        return list;
+    }
 }
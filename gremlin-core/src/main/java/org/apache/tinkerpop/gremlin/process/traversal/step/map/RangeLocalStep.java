@@ -126,6 +126,14 @@ public final class RangeLocalStep<S> extends MapStep<S, S> {
         return result;
     }
 
+    public long getLowRange() {
+        return this.low;
+    }
+
+    public long getHighRange() {
+        return this.high;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.low, this.high);
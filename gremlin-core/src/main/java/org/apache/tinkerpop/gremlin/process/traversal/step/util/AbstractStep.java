@@ -21,13 +21,18 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
@@ -43,6 +48,8 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     protected ExpandableStepIterator<S> starts;
     protected Traverser.Admin<E> nextEnd = null;
     protected boolean traverserStepIdAndLabelsSetByChild = false;
+    protected int batchSize = 0;
+    private Iterator<Traverser.Admin<E>> batchEnds = EmptyIterator.instance();
 
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
@@ -82,6 +89,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     public void reset() {
         this.starts.clear();
         this.nextEnd = null;
+        this.batchEnds = EmptyIterator.instance();
     }
 
     @Override
@@ -125,7 +133,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         } else {
             while (true) {
                 if (Thread.interrupted()) throw new TraversalInterruptedException();
-                final Traverser.Admin<E> traverser = this.processNextStart();
+                final Traverser.Admin<E> traverser = this.batchSize > 1 ? this.processNextBatchEnd() : this.processNextStart();
                 if (null != traverser.get() && 0 != traverser.bulk())
                     return this.prepareTraversalForNextStep(traverser);
             }
@@ -140,7 +148,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             try {
                 while (true) {
                     if (Thread.interrupted()) throw new TraversalInterruptedException();
-                    this.nextEnd = this.processNextStart();
+                    this.nextEnd = this.batchSize > 1 ? this.processNextBatchEnd() : this.processNextStart();
                     if (null != this.nextEnd.get() && 0 != this.nextEnd.bulk())
                         return true;
                     else
@@ -164,6 +172,71 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Sets the number of traversers to process at once when this step is {@link Batching}.
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Gets the next traverser of a run of {@link Batching} steps that ends with this one. When the traversers of the
+     * last batch are used up, a new batch is taken from the steps before the run and passed through each step of the
+     * run in turn. The run is found each time a batch is taken so that steps added to the traversal after the batch
+     * size was set, like those for profiling, simply break it up.
+     */
+    private Traverser.Admin<E> processNextBatchEnd() {
+        while (!this.batchEnds.hasNext()) {
+            if (Thread.interrupted()) throw new TraversalInterruptedException();
+
+            AbstractStep<?, ?> head = this;
+            while (isBatching(head.getPreviousStep())) {
+                head = (AbstractStep<?, ?>) head.getPreviousStep();
+            }
+
+            // a run of one step gains nothing from batching
+            if (!(this instanceof Batching) || head == this)
+                return this.processNextStart();
+
+            List<Traverser.Admin> batch = new ArrayList<>(this.batchSize);
+            while (batch.size() < this.batchSize && head.starts.hasNext()) {
+                batch.add(head.starts.next());
+            }
+            if (batch.isEmpty())
+                throw FastNoSuchElementException.instance();
+
+            AbstractStep step = head;
+            while (true) {
+                final List<Traverser.Admin> ends = new ArrayList<>(batch.size());
+                ((Batching) step).processNextStarts(batch, ends);
+                if (step == this) {
+                    batch = ends;
+                    break;
+                }
+
+                // the last step of the run has its traversers prepared as they are returned from next()
+                batch = new ArrayList<>(ends.size());
+                for (final Traverser.Admin traverser : ends) {
+                    if (null != traverser.get() && 0 != traverser.bulk())
+                        batch.add(step.prepareTraversalForNextStep(traverser));
+                }
+                step = (AbstractStep) step.getNextStep();
+            }
+
+            this.batchEnds = (Iterator) batch.iterator();
+        }
+
+        return this.batchEnds.next();
+    }
+
+    private static boolean isBatching(final Step<?, ?> step) {
+        return step instanceof Batching && step instanceof AbstractStep && ((Batching) step).getBatchSize() > 1;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
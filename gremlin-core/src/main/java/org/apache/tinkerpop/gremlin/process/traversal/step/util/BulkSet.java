@@ -18,6 +18,8 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
+import org.apache.tinkerpop.gremlin.process.traversal.util.LinkedOpenHashTable;
+
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
@@ -27,11 +29,11 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
  * BulkSet is a weighted set (i.e. a multi-set). Objects are added along with a bulk counter the denotes how many times the object was added to the set.
@@ -40,7 +42,7 @@ import java.util.stream.Collectors;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
-    private final Map<S, Long> map = new LinkedHashMap<>();
+    private final LinkedOpenHashTable<S> table = new LinkedOpenHashTable<>(true);
 
     @Override
     public int size() {
@@ -48,21 +50,25 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     }
 
     public int uniqueSize() {
-        return this.map.size();
+        return this.table.size();
     }
 
     public long longSize() {
-        return this.map.values().stream().collect(Collectors.summingLong(Long::longValue));
+        long size = 0L;
+        for (int i = this.table.first(); i >= 0; i = this.table.next(i)) {
+            size = size + this.table.bulkAt(i);
+        }
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return this.table.isEmpty();
     }
 
     @Override
     public boolean contains(final Object s) {
-        return this.map.containsKey(s);
+        return this.table.indexOf(s) >= 0;
     }
 
     @Override
@@ -73,7 +79,10 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public boolean addAll(final Collection<? extends S> collection) {
         if (collection instanceof BulkSet) {
-            ((BulkSet<S>) collection).map.forEach(this::add);
+            final LinkedOpenHashTable<S> other = ((BulkSet<S>) collection).table;
+            for (int i = other.first(); i >= 0; i = other.next(i)) {
+                this.add(other.keyAt(i), other.bulkAt(i));
+            }
         } else {
             collection.iterator().forEachRemaining(this::add);
         }
@@ -81,42 +90,43 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     }
 
     public void forEach(final BiConsumer<S, Long> consumer) {
-        this.map.forEach(consumer);
+        for (int i = this.table.first(); i >= 0; i = this.table.next(i)) {
+            consumer.accept(this.table.keyAt(i), this.table.bulkAt(i));
+        }
     }
 
+    /**
+     * Gets an unmodifiable copy of the objects in the set mapped to their bulk.
+     */
     public Map<S, Long> asBulk() {
+        final Map<S, Long> map = new LinkedHashMap<>();
+        this.forEach(map::put);
         return Collections.unmodifiableMap(map);
     }
 
     public boolean add(final S s, final long bulk) {
-        final Long current = this.map.get(s);
-        if (current != null) {
-            this.map.put(s, current + bulk);
-            return false;
-        } else {
-            this.map.put(s, bulk);
+        final int index = this.table.indexOrAdd(s, bulk);
+        if (index < 0)
             return true;
+        else {
+            this.table.addBulkAt(index, bulk);
+            return false;
         }
     }
 
     public long get(final S s) {
-        final Long bulk = this.map.get(s);
-        return null == bulk ? 0 : bulk;
+        final int index = this.table.indexOf(s);
+        return index < 0 ? 0 : this.table.bulkAt(index);
     }
 
-    /*public void set(final S s, final long bulk) {
-        this.map.remove(s);
-        this.map.put(s, bulk);
-    }*/
-
     @Override
     public boolean remove(final Object s) {
-        return this.map.remove(s) != null;
+        return this.table.remove(s);
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        this.table.clear();
     }
 
     @Override
@@ -129,62 +139,84 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
         Objects.requireNonNull(collection);
         boolean modified = false;
         for (final Object object : collection) {
-            if (null != this.map.remove(object))
+            if (this.table.remove(object))
                 modified = true;
         }
         return modified;
     }
 
+    /**
+     * Hashes the same as a {@code Map} of the objects in the set to their bulk.
+     */
     @Override
     public int hashCode() {
-        return this.map.hashCode();
+        int hashCode = 0;
+        for (int i = this.table.first(); i >= 0; i = this.table.next(i)) {
+            hashCode = hashCode + (Objects.hashCode(this.table.keyAt(i)) ^ Long.hashCode(this.table.bulkAt(i)));
+        }
+        return hashCode;
     }
 
     @Override
     public boolean equals(final Object object) {
-        return object instanceof BulkSet && this.map.equals(((BulkSet) object).map);
+        if (this == object)
+            return true;
+        if (!(object instanceof BulkSet))
+            return false;
+        final LinkedOpenHashTable<?> other = ((BulkSet<?>) object).table;
+        if (other.size() != this.table.size())
+            return false;
+        for (int i = this.table.first(); i >= 0; i = this.table.next(i)) {
+            final int index = other.indexOf(this.table.keyAt(i));
+            if (index < 0 || other.bulkAt(index) != this.table.bulkAt(i))
+                return false;
+        }
+        return true;
     }
 
     @Override
     public String toString() {
-        return this.map.toString();
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = this.table.first(); i >= 0; i = this.table.next(i)) {
+            if (builder.length() > 1)
+                builder.append(", ");
+            builder.append(this.table.keyAt(i)).append('=').append(this.table.bulkAt(i));
+        }
+        return builder.append('}').toString();
     }
 
     private List<S> toList() {
         final List<S> list = new ArrayList<>();
-        this.map.forEach((k, v) -> {
-            for (long i = 0; i < v; i++) {
-                list.add(k);
+        for (int i = this.table.first(); i >= 0; i = this.table.next(i)) {
+            final S s = this.table.keyAt(i);
+            for (long j = this.table.bulkAt(i); j > 0; j--) {
+                list.add(s);
             }
-        });
+        }
         return list;
     }
 
     @Override
     public Iterator<S> iterator() {
         return new Iterator<S>() {
-            final Iterator<Map.Entry<S, Long>> entryIterator = map.entrySet().iterator();
-            S lastObject = null;
-            long lastCount = 0l;
+            int index = table.first();
+            long remaining = index < 0 ? 0l : table.bulkAt(index);
 
+            @Override
             public boolean hasNext() {
-                return this.lastCount > 0l || this.entryIterator.hasNext();
+                while (this.remaining <= 0l && this.index >= 0) {
+                    this.index = table.next(this.index);
+                    this.remaining = this.index < 0 ? 0l : table.bulkAt(this.index);
+                }
+                return this.remaining > 0l;
             }
 
             @Override
             public S next() {
-                if (this.lastCount > 0l) {
-                    this.lastCount--;
-                    return this.lastObject;
-                }
-                final Map.Entry<S, Long> entry = entryIterator.next();
-                if (entry.getValue() == 1) {
-                    return entry.getKey();
-                } else {
-                    this.lastObject = entry.getKey();
-                    this.lastCount = entry.getValue() - 1;
-                    return this.lastObject;
-                }
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                this.remaining--;
+                return table.keyAt(this.index);
             }
         };
     }
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code AdaptiveBarrierStrategy} lets the {@link NoOpBarrierStep} instances of an OLTP traversal, such as those that
+ * {@code LazyBarrierStrategy}, {@code RepeatUnrollStrategy} and {@code PathRetractionStrategy} insert, change their
+ * size as the traversal runs. A barrier starts at the size it was given and doubles while the traversers that pass
+ * through it bulk well, up to {@code maxBarrierSize}, or halves when they hardly bulk at all, down to
+ * {@code minBarrierSize}. The {@code barrierBudget} is the number of distinct traversers that all the barriers of a
+ * traversal may hold at once, which bounds the memory they take as they grow. Barriers without a size, like that of
+ * {@code barrier()}, are left as they are.
+ *
+ * @example <pre>
+ * __.V().out().out().out().values("name")  // the barriers LazyBarrierStrategy adds after the out() steps adapt
+ * </pre>
+ */
+public final class AdaptiveBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final int DEFAULT_MIN_BARRIER_SIZE = 100;
+    public static final int DEFAULT_MAX_BARRIER_SIZE = 100000;
+    public static final int DEFAULT_BARRIER_BUDGET = 250000;
+
+    private static final AdaptiveBarrierStrategy INSTANCE = AdaptiveBarrierStrategy.build().create();
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = Collections.singleton(LazyBarrierStrategy.class);
+
+    private final int minBarrierSize;
+    private final int maxBarrierSize;
+    private final int barrierBudget;
+
+    private AdaptiveBarrierStrategy(final int minBarrierSize, final int maxBarrierSize, final int barrierBudget) {
+        if (minBarrierSize < 1)
+            throw new IllegalArgumentException("The minBarrierSize must be at least 1: " + minBarrierSize);
+        if (maxBarrierSize < minBarrierSize)
+            throw new IllegalArgumentException(String.format(
+                    "The maxBarrierSize must not be less than the minBarrierSize: %s < %s", maxBarrierSize, minBarrierSize));
+        if (barrierBudget < 1)
+            throw new IllegalArgumentException("The barrierBudget must be at least 1: " + barrierBudget);
+        this.minBarrierSize = minBarrierSize;
+        this.maxBarrierSize = maxBarrierSize;
+        this.barrierBudget = barrierBudget;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final List<NoOpBarrierStep> barriers = TraversalHelper.getStepsOfClass(NoOpBarrierStep.class, traversal);
+        if (barriers.isEmpty())
+            return;
+
+        // child traversals have their strategies applied after their parent, so a budget given to the barriers of
+        // the root traversal or of a child already seen is found and shared by the rest
+        AtomicInteger budget = null;
+        for (final NoOpBarrierStep<?> barrier : TraversalHelper.getStepsOfAssignableClassRecursively(NoOpBarrierStep.class, TraversalHelper.getRootTraversal(traversal))) {
+            if (null != barrier.getBarrierBudget()) {
+                budget = barrier.getBarrierBudget();
+                break;
+            }
+        }
+        if (null == budget)
+            budget = new AtomicInteger(this.barrierBudget);
+
+        for (final NoOpBarrierStep<?> barrier : barriers) {
+            barrier.setAdaptive(this.minBarrierSize, this.maxBarrierSize, budget);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public int getMinBarrierSize() {
+        return this.minBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    public int getBarrierBudget() {
+        return this.barrierBudget;
+    }
+
+    public static final String MIN_BARRIER_SIZE = "minBarrierSize";
+    public static final String MAX_BARRIER_SIZE = "maxBarrierSize";
+    public static final String BARRIER_BUDGET = "barrierBudget";
+
+    public static AdaptiveBarrierStrategy create(final Configuration configuration) {
+        return AdaptiveBarrierStrategy.build()
+                .minBarrierSize(configuration.getInt(MIN_BARRIER_SIZE, DEFAULT_MIN_BARRIER_SIZE))
+                .maxBarrierSize(configuration.getInt(MAX_BARRIER_SIZE, DEFAULT_MAX_BARRIER_SIZE))
+                .barrierBudget(configuration.getInt(BARRIER_BUDGET, DEFAULT_BARRIER_BUDGET)).create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, AdaptiveBarrierStrategy.class.getCanonicalName());
+        map.put(MIN_BARRIER_SIZE, this.minBarrierSize);
+        map.put(MAX_BARRIER_SIZE, this.maxBarrierSize);
+        map.put(BARRIER_BUDGET, this.barrierBudget);
+        return new MapConfiguration(map);
+    }
+
+    public static AdaptiveBarrierStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int minBarrierSize = DEFAULT_MIN_BARRIER_SIZE;
+        private int maxBarrierSize = DEFAULT_MAX_BARRIER_SIZE;
+        private int barrierBudget = DEFAULT_BARRIER_BUDGET;
+
+        private Builder() {
+        }
+
+        /**
+         * The size that a barrier will not shrink below.
+         */
+        public Builder minBarrierSize(final int minBarrierSize) {
+            this.minBarrierSize = minBarrierSize;
+            return this;
+        }
+
+        /**
+         * The size that a barrier will not grow above.
+         */
+        public Builder maxBarrierSize(final int maxBarrierSize) {
+            this.maxBarrierSize = maxBarrierSize;
+            return this;
+        }
+
+        /**
+         * The number of distinct traversers that all the barriers of a traversal may hold at once. A barrier can
+         * always hold its minimum size, even when the budget is spent.
+         */
+        public Builder barrierBudget(final int barrierBudget) {
+            this.barrierBudget = barrierBudget;
+            return this;
+        }
+
+        public AdaptiveBarrierStrategy create() {
+            return new AdaptiveBarrierStrategy(this.minBarrierSize, this.maxBarrierSize, this.barrierBudget);
+        }
+    }
+}
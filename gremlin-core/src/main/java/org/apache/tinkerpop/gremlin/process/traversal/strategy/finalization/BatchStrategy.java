@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code BatchStrategy} turns on batch execution for the {@link Batching} steps of an OLTP traversal. A run of
+ * adjacent {@link Batching} steps, like {@code out().has('name').values('age')}, then moves its traversers through
+ * the run a batch at a time, each step handling the whole batch before the next step sees it, rather than one
+ * traverser at a time through every step. Steps that are not {@link Batching} still process one traverser at a time
+ * and break up the runs around them.
+ * <p/>
+ * The steps before a run are iterated up to a batch ahead of the steps after it, so a side-effect that comes before
+ * a run may be triggered for more traversers than a later {@code limit()} would otherwise let through. It is applied
+ * as a finalization so that the steps that graph providers put in place of the standard ones are given a batch size.
+ *
+ * @example <pre>
+ * __.V().out().out().values("name")  // the out(), out() and values() steps are processed in batches of 100
+ * </pre>
+ */
+public final class BatchStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final BatchStrategy INSTANCE = new BatchStrategy(DEFAULT_BATCH_SIZE);
+
+    private final int batchSize;
+
+    private BatchStrategy(final int batchSize) {
+        if (batchSize < 2)
+            throw new IllegalArgumentException("The batch size must be at least 2: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof Batching)
+                ((Batching) step).setBatchSize(this.batchSize);
+        }
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public static final String BATCH_SIZE = "batchSize";
+
+    public static BatchStrategy create(final Configuration configuration) {
+        return new BatchStrategy(configuration.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, BatchStrategy.class.getCanonicalName());
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    public static BatchStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static BatchStrategy of(final int batchSize) {
+        return new BatchStrategy(batchSize);
+    }
+}
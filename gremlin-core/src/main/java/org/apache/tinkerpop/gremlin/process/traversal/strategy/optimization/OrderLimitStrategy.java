@@ -26,7 +26,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalSte
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderLocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.RangeLocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectStep;
@@ -40,7 +42,16 @@ import java.util.List;
 import java.util.Set;
 
 /**
+ * {@code OrderLimitStrategy} tells an {@code order()} that is followed by a {@code range()} or {@code limit()}, with
+ * only steps in between that map one traverser to one traverser, how many traversers it has to produce. The step
+ * then keeps no more than that many in OLTP and passes on no more than that many from each worker in OLAP. The same
+ * is done for an {@code order(local)} that is directly followed by a {@code range(local)} or {@code limit(local)}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
+ * @example <pre>
+ * __.order().by("age").limit(10)                 // the order() step holds no more than 10 traversers
+ * __.fold().order(local).by(decr).limit(local,3) // each list is cut down to 3 objects as it is sorted
+ * </pre>
  */
 public final class OrderLimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
@@ -60,9 +71,6 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (!TraversalHelper.onGraphComputer(traversal))
-            return;
-
         final List<OrderGlobalStep> orders = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal);
         for (final OrderGlobalStep order : orders) {
             RangeGlobalStep range = null;
@@ -79,6 +87,11 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
             if (null != range)
                 order.setLimit(range.getHighRange());
         }
+
+        for (final OrderLocalStep order : TraversalHelper.getStepsOfClass(OrderLocalStep.class, traversal)) {
+            if (order.getNextStep() instanceof RangeLocalStep && -1 != ((RangeLocalStep) order.getNextStep()).getHighRange())
+                order.setLimit(((RangeLocalStep) order.getNextStep()).getHighRange());
+        }
     }
 
     public static OrderLimitStrategy instance() {
@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * An insertion ordered hash table that uses open addressing and is the storage behind {@link TraverserSet} and
+ * {@link BulkSet}. Entries are appended to parallel arrays in the order they are added and a separate table of entry
+ * positions is probed linearly to find them. Adding a key therefore allocates nothing beyond the occasional resize,
+ * the hash of each key is only computed once and removing entries from the front, as a queue does, is cheap. When
+ * created with bulk, each entry also carries a {@code long} that can be merged in place.
+ * <p/>
+ * Entries are addressed by their position, which stays fixed until the next add that needs room, so positions should
+ * not be held across adds. This class is not thread-safe.
+ */
+public final class LinkedOpenHashTable<K> implements Serializable {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // values of the position table. anything else is an entry position plus one
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    // marks the key of a removed entry so that null can still be a key
+    private static final Object REMOVED = new Object();
+
+    private final boolean withBulk;
+
+    private transient Object[] keys;
+    private transient int[] hashes;
+    private transient long[] bulks;
+    private transient int[] table;
+    private transient int head;
+    private transient int end;
+    private transient int size;
+    private transient int modCount;
+
+    public LinkedOpenHashTable(final boolean withBulk) {
+        this.withBulk = withBulk;
+        this.allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The entry arrays hold {@code capacity} entries and the position table is twice that, so it is never more than
+     * half full even when every slot left behind by a removal is counted.
+     */
+    private void allocate(final int capacity) {
+        this.keys = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.bulks = this.withBulk ? new long[capacity] : null;
+        this.table = new int[capacity << 1];
+        this.head = 0;
+        this.end = 0;
+    }
+
+    private static int hash(final Object key) {
+        if (null == key)
+            return 0;
+        final int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * Gets the position of the entry for the key or {@code -1} if there is no such entry.
+     */
+    public int indexOf(final Object key) {
+        final int hash = hash(key);
+        final int mask = this.table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int value = this.table[slot];
+            if (EMPTY == value)
+                return -1;
+            if (DELETED != value) {
+                final int index = value - 1;
+                if (this.hashes[index] == hash && equals(key, this.keys[index]))
+                    return index;
+            }
+        }
+    }
+
+    /**
+     * Gets the position of the entry for the key or, if there is no such entry, appends one with the given bulk and
+     * returns {@code -(position + 1)}. This takes a single probe of the table either way.
+     */
+    public int indexOrAdd(final K key, final long bulk) {
+        if (this.end == this.keys.length)
+            this.rehash();
+
+        final int hash = hash(key);
+        final int mask = this.table.length - 1;
+        int free = -1;
+        int slot = hash & mask;
+        for (; ; slot = (slot + 1) & mask) {
+            final int value = this.table[slot];
+            if (EMPTY == value)
+                break;
+            if (DELETED == value) {
+                if (free < 0) free = slot;
+            } else {
+                final int index = value - 1;
+                if (this.hashes[index] == hash && equals(key, this.keys[index]))
+                    return index;
+            }
+        }
+
+        final int index = this.end++;
+        this.keys[index] = key;
+        this.hashes[index] = hash;
+        if (this.withBulk) this.bulks[index] = bulk;
+        this.table[free < 0 ? slot : free] = index + 1;
+        this.size++;
+        this.modCount++;
+        return -(index + 1);
+    }
+
+    public K keyAt(final int index) {
+        return (K) this.keys[index];
+    }
+
+    public long bulkAt(final int index) {
+        return this.bulks[index];
+    }
+
+    public void addBulkAt(final int index, final long bulk) {
+        this.bulks[index] = this.bulks[index] + bulk;
+    }
+
+    /**
+     * Gets the position of the oldest entry or {@code -1} if the table is empty.
+     */
+    public int first() {
+        return 0 == this.size ? -1 : this.head;
+    }
+
+    /**
+     * Gets the position of the entry that was added after the one at {@code index} or {@code -1} if there is none.
+     */
+    public int next(final int index) {
+        for (int i = index + 1; i < this.end; i++) {
+            if (REMOVED != this.keys[i])
+                return i;
+        }
+        return -1;
+    }
+
+    public boolean remove(final Object key) {
+        final int index = this.indexOf(key);
+        if (index < 0)
+            return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    public void removeAt(final int index) {
+        final int mask = this.table.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (this.table[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = DELETED;
+        this.keys[index] = REMOVED;
+        this.size--;
+        this.modCount++;
+
+        if (0 == this.size)
+            this.reset();
+        else if (index == this.head) {
+            do {
+                this.head++;
+            } while (REMOVED == this.keys[this.head]);
+        }
+    }
+
+    public void clear() {
+        this.size = 0;
+        this.modCount++;
+        this.reset();
+    }
+
+    /**
+     * Iterates the keys of the table in the order they were added, mapping each entry position with the function.
+     * The iterator supports {@code remove()}.
+     */
+    public <T> Iterator<T> iterator(final IntFunction<T> function) {
+        return new Iterator<T>() {
+            private int expectedModCount = modCount;
+            private int next = first();
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return this.next >= 0;
+            }
+
+            @Override
+            public T next() {
+                if (this.expectedModCount != modCount)
+                    throw new ConcurrentModificationException();
+                if (this.next < 0)
+                    throw new NoSuchElementException();
+                this.last = this.next;
+                this.next = LinkedOpenHashTable.this.next(this.last);
+                return function.apply(this.last);
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0)
+                    throw new IllegalStateException();
+                if (this.expectedModCount != modCount)
+                    throw new ConcurrentModificationException();
+                removeAt(this.last);
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Once a table is empty its positions can start from the front again. A table that grew large for a barrier is
+     * dropped back to the default capacity rather than cleared so that the small sets that follow do not pay for it.
+     */
+    private void reset() {
+        if (this.keys.length > DEFAULT_CAPACITY)
+            this.allocate(DEFAULT_CAPACITY);
+        else {
+            Arrays.fill(this.keys, 0, this.end, null);
+            Arrays.fill(this.table, EMPTY);
+            this.head = 0;
+            this.end = 0;
+        }
+    }
+
+    /**
+     * Called when the entry arrays are full. If at least half the entries are live, they are copied into arrays twice
+     * the size. Otherwise the live entries are moved to the front of the arrays already held, which frees enough room
+     * without allocating, as happens when a set is used as a queue that is never quite drained.
+     */
+    private void rehash() {
+        final Object[] oldKeys = this.keys;
+        final int[] oldHashes = this.hashes;
+        final long[] oldBulks = this.bulks;
+        final int oldHead = this.head;
+        final int oldEnd = this.end;
+
+        if (this.size >= (oldKeys.length >> 1))
+            this.allocate(oldKeys.length << 1);
+        else {
+            Arrays.fill(this.table, EMPTY);
+            this.head = 0;
+            this.end = 0;
+        }
+
+        final int mask = this.table.length - 1;
+        for (int i = oldHead; i < oldEnd; i++) {
+            final Object key = oldKeys[i];
+            if (REMOVED == key)
+                continue;
+            final int index = this.end++;
+            final int hash = oldHashes[i];
+            this.keys[index] = key;
+            this.hashes[index] = hash;
+            if (this.withBulk) this.bulks[index] = oldBulks[i];
+            int slot = hash & mask;
+            while (EMPTY != this.table[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = index + 1;
+        }
+
+        // in place, whatever is left past the live entries was moved forward or removed
+        if (this.keys == oldKeys)
+            Arrays.fill(this.keys, this.end, oldEnd, null);
+        this.modCount++;
+    }
+
+    private static boolean equals(final Object key, final Object other) {
+        return key == other || (null != key && key.equals(other));
+    }
+
+    private void writeObject(final ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(this.size);
+        for (int i = this.first(); i >= 0; i = this.next(i)) {
+            outputStream.writeObject(this.keys[i]);
+            if (this.withBulk) outputStream.writeLong(this.bulks[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        final int size = inputStream.readInt();
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < size) {
+            capacity = capacity << 1;
+        }
+        this.allocate(capacity);
+        for (int i = 0; i < size; i++) {
+            final K key = (K) inputStream.readObject();
+            final long bulk = this.withBulk ? inputStream.readLong() : 0L;
+            final int index = this.indexOrAdd(key, bulk);
+            if (this.withBulk && index >= 0) this.addBulkAt(index, bulk);
+        }
+    }
+}
@@ -39,6 +39,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventS
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.AdaptiveBarrierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
@@ -157,6 +159,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
                             LazyBarrierStrategy.class,
+                            AdaptiveBarrierStrategy.class,
+                            BatchStrategy.class,
                             MatchAlgorithmStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
@@ -265,6 +269,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
                     LazyBarrierStrategy.class,
+                    AdaptiveBarrierStrategy.class,
+                    BatchStrategy.class,
                     MatchAlgorithmStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
@@ -363,6 +369,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
                             LazyBarrierStrategy.class,
+                            AdaptiveBarrierStrategy.class,
+                            BatchStrategy.class,
                             MatchAlgorithmStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
@@ -471,6 +479,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
                     LazyBarrierStrategy.class,
+                    AdaptiveBarrierStrategy.class,
+                    BatchStrategy.class,
                     MatchAlgorithmStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
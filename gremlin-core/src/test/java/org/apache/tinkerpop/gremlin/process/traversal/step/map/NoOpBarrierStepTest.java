@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class NoOpBarrierStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(
+                __.barrier(),
+                __.barrier(5),
+                __.barrier(100)
+        );
+    }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhileTraversersBulk() {
+        // runs of eight equal values bulk well in any barrier. inject() would bulk them itself so they are only
+        // made equal on the way to the barrier
+        final Integer[] values = new Integer[800];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(values).map(t -> t.get() / 8).barrier(4).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = adaptiveBarrier(traversal, 2, 64, null);
+        assertEquals(4, barrier.getBarrierSize());
+
+        long bulk = 0L;
+        while (traversal.hasNext()) {
+            bulk = bulk + traversal.nextTraverser().bulk();
+        }
+        assertEquals(800, bulk);
+        assertEquals(64, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldShrinkAdaptiveBarrierWhenTraversersDoNotBulk() {
+        final Integer[] values = new Integer[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(values).barrier(64).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = adaptiveBarrier(traversal, 2, 1000, null);
+
+        assertEquals(1000, traversal.toList().size());
+        assertEquals(2, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldHoldNoMoreThanTheBarrierBudget() {
+        final Integer[] values = new Integer[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        final AtomicInteger budget = new AtomicInteger(10);
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(values).barrier(64).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = adaptiveBarrier(traversal, 2, 64, budget);
+
+        assertEquals(10, barrier.nextBarrier().size());
+        assertEquals(10, budget.get());
+
+        traversal.next();
+        assertEquals(0, budget.get());
+        traversal.toList();
+        assertEquals(10, budget.get());
+    }
+
+    @Test
+    public void shouldGiveAClonedBarrierABudgetOfItsOwn() {
+        final Integer[] values = new Integer[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        final AtomicInteger budget = new AtomicInteger(10);
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(values).barrier(64).asAdmin();
+        adaptiveBarrier(traversal, 2, 64, budget);
+
+        // a clone that is left part way through, like one taken from a traversal cache, keeps only its own budget
+        final Traversal.Admin<Integer, Integer> clone = traversal.clone();
+        final NoOpBarrierStep<Integer> clonedBarrier = TraversalHelper.getFirstStepOfAssignableClass(NoOpBarrierStep.class, clone).get();
+        clone.next();
+        assertNotSame(budget, clonedBarrier.getBarrierBudget());
+        assertEquals(0, clonedBarrier.getBarrierBudget().get());
+        assertEquals(10, budget.get());
+
+        clone.reset();
+        assertEquals(10, clonedBarrier.getBarrierBudget().get());
+
+        assertEquals(100, traversal.toList().size());
+        assertEquals(10, budget.get());
+    }
+
+    @Test
+    public void shouldNotMakeAnUnboundedBarrierAdaptive() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1, 2, 3).barrier().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = adaptiveBarrier(traversal, 2, 64, null);
+        assertFalse(barrier.isAdaptive());
+        assertEquals(Integer.MAX_VALUE, barrier.getBarrierSize());
+        assertEquals(3, traversal.toList().size());
+    }
+
+    private static NoOpBarrierStep<Integer> adaptiveBarrier(final Traversal.Admin<Integer, Integer> traversal,
+                                                            final int minBarrierSize, final int maxBarrierSize,
+                                                            final AtomicInteger budget) {
+        traversal.applyStrategies();
+        final NoOpBarrierStep<Integer> barrier = TraversalHelper.getFirstStepOfAssignableClass(NoOpBarrierStep.class, traversal).get();
+        barrier.setAdaptive(minBarrierSize, maxBarrierSize, budget);
+        assertTrue(barrier.isAdaptive() || barrier.getMaxBarrierSize() == Integer.MAX_VALUE);
+        return barrier;
+    }
+}
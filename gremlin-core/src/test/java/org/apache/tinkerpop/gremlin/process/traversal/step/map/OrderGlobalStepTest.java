@@ -20,15 +20,23 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -64,4 +72,45 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldHoldOnlyTheTraversersTheLimitNeeds() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 300);
+        }
+        Collections.shuffle(list, new Random(123456789l));
+        final List<Integer> sorted = new ArrayList<>(list);
+        Collections.sort(sorted);
+
+        assertEquals(sorted.subList(0, 10), limited(__.inject(list).unfold().order().limit(10)).toList());
+        assertEquals(sorted.subList(5, 15), limited(__.inject(list).unfold().order().range(5, 15)).toList());
+        assertEquals(sorted.subList(0, 1000), limited(__.inject(list).unfold().order().limit(2000)).toList());
+
+        final List<Integer> byLastDigitThenDecr = new ArrayList<>(list);
+        byLastDigitThenDecr.sort(Comparator.<Integer>comparingInt(i -> i % 10).thenComparing(Comparator.reverseOrder()));
+        assertEquals(byLastDigitThenDecr.subList(0, 25), limited(__.inject(list).unfold()
+                .order().by(__.map(t -> (Integer) t.get() % 10), Order.incr).by(Order.decr).limit(25)).toList());
+    }
+
+    @Test
+    public void shouldRespectBulkWhenLimited() {
+        assertEquals(Arrays.asList(0, 1, 1), limited(__.inject(3, 1, 2, 1, 1, 0).order().limit(3)).toList());
+        assertEquals(Arrays.asList(1, 2), limited(__.inject(2, 2, 2, 1, 3, 3).barrier().order().limit(2)).toList());
+        assertEquals(Arrays.asList(2, 2, 2, 3), limited(__.inject(2, 2, 2, 1, 3, 3).barrier().order().range(1, 5)).toList());
+    }
+
+    @Test
+    public void shouldHaveLimitSetByOrderLimitStrategy() {
+        final Traversal.Admin<?, ?> traversal = limited(__.inject(1, 2, 3).order().by(Order.decr).limit(2));
+        traversal.applyStrategies();
+        assertEquals(2, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get().getLimit());
+    }
+
+    private static <S, E> Traversal.Admin<S, E> limited(final Traversal<S, E> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(OrderLimitStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        return traversal.asAdmin();
+    }
 }
@@ -21,16 +21,26 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Column;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -66,4 +76,46 @@ public class OrderLocalStepTest extends StepTest {
             __.inject(list).order(Scope.local).by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldSortOnlyWhatTheLimitNeeds() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 300);
+        }
+        Collections.shuffle(list, new Random(123456789l));
+        final List<Integer> sorted = new ArrayList<>(list);
+        Collections.sort(sorted);
+
+        final List<Integer> reversed = new ArrayList<>(sorted);
+        Collections.reverse(reversed);
+
+        assertEquals(sorted.subList(0, 10), limited(__.inject(list).order(Scope.local).limit(Scope.local, 10)).next());
+        assertEquals(reversed.subList(0, 5), limited(__.inject(list).order(Scope.local).by(Order.decr).limit(Scope.local, 5)).next());
+        assertEquals(sorted.get(0), limited(__.inject(list).order(Scope.local).limit(Scope.local, 1)).next());
+
+        final Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("a", 3);
+        map.put("b", 1);
+        map.put("c", 3);
+        map.put("d", 2);
+        final Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("a", 3);
+        expected.put("c", 3);
+        assertEquals(expected, limited(__.inject(map).order(Scope.local).by(Column.values, Order.decr).limit(Scope.local, 2)).next());
+    }
+
+    @Test
+    public void shouldHaveLimitSetByOrderLimitStrategy() {
+        final Traversal.Admin<?, ?> traversal = limited(__.inject(Arrays.asList(1, 2, 3)).order(Scope.local).limit(Scope.local, 2));
+        traversal.applyStrategies();
+        assertEquals(2, TraversalHelper.getFirstStepOfAssignableClass(OrderLocalStep.class, traversal).get().getLimit());
+    }
+
+    private static <S, E> Traversal.Admin<S, E> limited(final Traversal<S, E> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(OrderLimitStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        return traversal.asAdmin();
+    }
 }
@@ -19,19 +19,20 @@
 
 package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
 
-import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.TraversalVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderLocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
-import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
 
@@ -56,9 +57,11 @@ public class OrderLimitStrategyTest {
 
     @Test
     public void doTest() {
-        traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
         applyOrderLimitStrategyStrategy(traversal);
-        assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
+        final Optional<OrderGlobalStep> order = TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin());
+        assertEquals(limit, order.isPresent() ?
+                order.get().getLimit() :
+                TraversalHelper.getFirstStepOfAssignableClass(OrderLocalStep.class, traversal.asAdmin()).get().getLimit());
     }
 
     @Parameterized.Parameters(name = "{0}")
@@ -67,6 +70,10 @@ public class OrderLimitStrategyTest {
                 {__.order().limit(1), 1l},
                 {__.out().order().range(7, 15), 15l},
                 {__.order().select("a").limit(7), 7l},
-                {__.order().out().limit(10), Long.MAX_VALUE}});
+                {__.order().out().limit(10), Long.MAX_VALUE},
+                {__.fold().order(Scope.local).limit(Scope.local, 3), 3l},
+                {__.fold().order(Scope.local).range(Scope.local, 2, 5), 5l},
+                {__.fold().order(Scope.local).range(Scope.local, 2, -1), Long.MAX_VALUE},
+                {__.fold().order(Scope.local).unfold().limit(3), Long.MAX_VALUE}});
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.util.Serializer;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeBulkOfEqualTraversers() {
+        final TraverserSet<String> set = new TraverserSet<>();
+        assertTrue(set.add(traverser("marko", 1)));
+        assertTrue(set.add(traverser("josh", 2)));
+        assertFalse(set.add(traverser("marko", 3)));
+        assertEquals(2, set.size());
+        assertEquals(6, set.bulkSize());
+        assertEquals(4, set.get(traverser("marko", 1)).bulk());
+        assertNull(set.get(traverser("vadas", 1)));
+    }
+
+    @Test
+    public void shouldPollInInsertionOrderAcrossGrowth() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 0; i < 1000; i++) {
+            set.add(traverser(i, 1));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, set.peek().get().intValue());
+            assertEquals(i, set.poll().get().intValue());
+        }
+        assertTrue(set.isEmpty());
+        assertNull(set.poll());
+        assertNull(set.peek());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldThrowOnRemoveWhenEmpty() {
+        new TraverserSet<String>().remove();
+    }
+
+    @Test
+    public void shouldKeepOrderWhenUsedAsQueue() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        final Deque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 1000; i++) {
+            set.add(traverser(i, 1));
+            set.add(traverser(i + 1000, 1));
+            expected.add(i);
+            expected.add(i + 1000);
+            assertEquals(expected.remove(), set.remove().get());
+        }
+        assertEquals(new ArrayList<>(expected), values(set));
+    }
+
+    @Test
+    public void shouldRemoveFromTheMiddle() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 0; i < 10; i++) {
+            set.add(traverser(i, 1));
+        }
+        assertTrue(set.remove(traverser(5, 1)));
+        assertFalse(set.remove(traverser(5, 1)));
+        assertFalse(set.contains(traverser(5, 1)));
+
+        final Iterator<Traverser.Admin<Integer>> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() % 2 == 0)
+                iterator.remove();
+        }
+        assertEquals(4, set.size());
+        assertEquals(1, set.element().get().intValue());
+
+        set.add(traverser(5, 1));
+        set.add(traverser(0, 1));
+        final List<Integer> values = values(set);
+        assertEquals(6, values.size());
+        assertEquals(5, values.get(4).intValue());
+        assertEquals(0, values.get(5).intValue());
+    }
+
+    @Test
+    public void shouldSort() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        set.add(traverser(3, 1));
+        set.add(traverser(1, 1));
+        set.add(traverser(2, 1));
+        set.sort((a, b) -> a.get().compareTo(b.get()));
+        final List<Integer> values = values(set);
+        assertEquals(1, values.get(0).intValue());
+        assertEquals(2, values.get(1).intValue());
+        assertEquals(3, values.get(2).intValue());
+    }
+
+    @Test
+    public void shouldSerialize() throws Exception {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            set.add(traverser(i, i + 1));
+        }
+        set.remove();
+
+        final TraverserSet<Integer> clone = Serializer.cloneObject(set);
+        assertEquals(set, clone);
+        assertEquals(values(set), values(clone));
+        assertEquals(set.bulkSize(), clone.bulkSize());
+        assertFalse(clone.add(traverser(50, 1)));
+        assertTrue(clone.add(traverser(100, 1)));
+    }
+
+    private static <T> Traverser.Admin<T> traverser(final T t, final long bulk) {
+        return new B_O_Traverser<>(t, bulk);
+    }
+
+    private static <T> List<T> values(final TraverserSet<T> set) {
+        final List<T> values = new ArrayList<>();
+        set.forEach(traverser -> values.add(traverser.get()));
+        return values;
+    }
+}
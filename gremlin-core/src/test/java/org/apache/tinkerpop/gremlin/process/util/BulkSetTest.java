@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.util.Serializer;
 import org.junit.Test;
 
 import java.util.Iterator;
@@ -89,4 +90,44 @@ public class BulkSetTest {
         }
         assertEquals(11, set.size());
     }
+
+    @Test
+    public void shouldRemoveAndKeepInsertionOrder() {
+        final BulkSet<String> set = new BulkSet<>();
+        for (int i = 0; i < 100; i++) {
+            set.add("v" + i, i + 1);
+        }
+        for (int i = 0; i < 100; i = i + 2) {
+            assertTrue(set.remove("v" + i));
+        }
+        assertFalse(set.remove("v0"));
+        set.add(null, 2);
+        set.add("v0");
+        assertEquals(52, set.uniqueSize());
+        assertEquals(2, set.get(null));
+        assertTrue(set.contains(null));
+
+        final Iterator<String> iterator = set.iterator();
+        assertEquals("v1", iterator.next());
+        assertEquals("v1", iterator.next());
+        assertEquals("v3", iterator.next());
+        assertEquals("{v1=2, v3=4", set.toString().substring(0, 11));
+        assertTrue(set.toString().endsWith("v99=100, null=2, v0=1}"));
+    }
+
+    @Test
+    public void shouldMergeBulkOfAnotherBulkSet() throws Exception {
+        final BulkSet<String> a = new BulkSet<>();
+        a.add("marko", 2);
+        a.add("josh");
+        final BulkSet<String> b = new BulkSet<>();
+        b.add("josh", 3);
+        b.add("peter");
+        b.addAll(a);
+        assertEquals(4, b.get("josh"));
+        assertEquals(2, b.get("marko"));
+        assertEquals(7, b.longSize());
+        assertEquals(b, Serializer.cloneObject(b));
+        assertEquals(b.asBulk(), Serializer.cloneObject(b).asBulk());
+    }
 }
@@ -177,6 +177,8 @@ public final class Cluster {
                 .reconnectInterval(settings.connectionPool.reconnectInterval)
                 .reconnectIntialDelay(settings.connectionPool.reconnectInitialDelay)
                 .resultIterationBatchSize(settings.connectionPool.resultIterationBatchSize)
+                .resultCredit(settings.connectionPool.resultCredit)
+                .coalesceWrites(settings.connectionPool.coalesceWrites)
                 .channelizer(settings.connectionPool.channelizer)
                 .maxContentLength(settings.connectionPool.maxContentLength)
                 .maxWaitForConnection(settings.connectionPool.maxWaitForConnection)
@@ -351,6 +353,20 @@ public final class Cluster {
         return manager.connectionPoolSettings.resultIterationBatchSize;
     }
 
+    /**
+     * Gets the number of results the server may send for a request before the client has consumed them.
+     */
+    public int getResultCredit() {
+        return manager.connectionPoolSettings.resultCredit;
+    }
+
+    /**
+     * Determines if requests written to a connection are flushed together once per turn of its event loop.
+     */
+    public boolean isCoalesceWrites() {
+        return manager.connectionPoolSettings.coalesceWrites;
+    }
+
     /**
      * Gets the maximum amount of time to wait for a connection to be borrowed from the connection pool.
      */
@@ -492,6 +508,8 @@ public final class Cluster {
         private int reconnectInitialDelay = Connection.RECONNECT_INITIAL_DELAY;
         private int reconnectInterval = Connection.RECONNECT_INTERVAL;
         private int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        private int resultCredit = Connection.RESULT_CREDIT;
+        private boolean coalesceWrites = Connection.COALESCE_WRITES;
         private long keepAliveInterval = Connection.KEEP_ALIVE_INTERVAL;
         private String channelizer = Channelizer.WebSocketChannelizer.class.getName();
         private boolean enableSsl = false;
@@ -691,6 +709,26 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * The number of results the server may send for a request before the client has consumed them, which
+         * bounds the memory a large result takes on the client. By default this value is 0, which lets the server
+         * send results as fast as it can.
+         */
+        public Builder resultCredit(final int credit) {
+            this.resultCredit = credit;
+            return this;
+        }
+
+        /**
+         * Determines if requests written to a connection are flushed together once per turn of its event loop rather
+         * than each with a flush of its own, so that requests submitted in quick succession share a system call. By
+         * default this value is {@code false}.
+         */
+        public Builder coalesceWrites(final boolean coalesceWrites) {
+            this.coalesceWrites = coalesceWrites;
+            return this;
+        }
+
         /**
          * The maximum amount of time to wait for a connection to be borrowed from the connection pool.
          */
@@ -896,6 +934,8 @@ public final class Cluster {
             connectionPoolSettings.reconnectInitialDelay = builder.reconnectInitialDelay;
             connectionPoolSettings.reconnectInterval = builder.reconnectInterval;
             connectionPoolSettings.resultIterationBatchSize = builder.resultIterationBatchSize;
+            connectionPoolSettings.resultCredit = builder.resultCredit;
+            connectionPoolSettings.coalesceWrites = builder.coalesceWrites;
             connectionPoolSettings.enableSsl = builder.enableSsl;
             connectionPoolSettings.trustCertChainFile = builder.trustCertChainFile;
             connectionPoolSettings.keyCertChainFile = builder.keyCertChainFile;
@@ -959,6 +999,9 @@ public final class Cluster {
             if (builder.resultIterationBatchSize < 1)
                 throw new IllegalArgumentException("resultIterationBatchSize must be greater than zero");
 
+            if (builder.resultCredit < 0)
+                throw new IllegalArgumentException("resultCredit must be greater than or equal to zero");
+
             if (builder.nioPoolSize < 1)
                 throw new IllegalArgumentException("nioPoolSize must be greater than zero");
 
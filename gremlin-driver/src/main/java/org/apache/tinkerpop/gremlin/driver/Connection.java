@@ -24,17 +24,20 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -72,6 +75,8 @@ final class Connection {
     public static final int RECONNECT_INITIAL_DELAY = 1000;
     public static final int RECONNECT_INTERVAL = 1000;
     public static final int RESULT_ITERATION_BATCH_SIZE = 64;
+    public static final int RESULT_CREDIT = 0;
+    public static final boolean COALESCE_WRITES = false;
     public static final long KEEP_ALIVE_INTERVAL = 1800000;
 
     /**
@@ -93,6 +98,14 @@ final class Connection {
     private final AtomicBoolean shutdownInitiated = new AtomicBoolean(false);
     private final AtomicReference<ScheduledFuture> keepAliveFuture = new AtomicReference<>();
 
+    private final boolean coalesceWrites;
+
+    /**
+     * Marks that a flush of coalesced writes is queued on the event loop. It is only read and written from the event
+     * loop of the channel.
+     */
+    private boolean flushScheduled = false;
+
     public Connection(final URI uri, final ConnectionPool pool, final int maxInProcess) throws ConnectionException {
         this.uri = uri;
         this.cluster = pool.getCluster();
@@ -100,6 +113,7 @@ final class Connection {
         this.pool = pool;
         this.maxInProcess = maxInProcess;
         this.keepAliveInterval = pool.settings().keepAliveInterval;
+        this.coalesceWrites = pool.settings().coalesceWrites;
 
         connectionLabel = String.format("Connection{host=%s}", pool.host);
 
@@ -201,18 +215,29 @@ final class Connection {
         // the promise so that the client knows that that it can start checking for results.
         final Connection thisConnection = this;
 
+        // requests that stream back results are sent with the credit the server may spend before more is granted
+        final int credit = creditFor(requestMessage);
+
+        // the host tracks the requests sent to it and how long they take so that load can be balanced on them
+        final long start = System.nanoTime();
+        pool.host.requestSent();
+
         final ChannelPromise requestPromise = channel.newPromise()
                 .addListener(f -> {
                     if (!f.isSuccess()) {
                         if (logger.isDebugEnabled())
                             logger.debug(String.format("Write on connection %s failed", thisConnection.getConnectionInfo()), f.cause());
                         thisConnection.isDead = true;
+                        pool.host.requestFailed();
                         thisConnection.returnToPool();
                         cluster.executor().submit(() -> future.completeExceptionally(f.cause()));
                     } else {
                         final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
                         final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
 
+                        // record how long the host took to respond whether it succeeded or not
+                        readCompleted.whenComplete((v, t) -> pool.host.responseCompleted(System.nanoTime() - start));
+
                         // the callback for when the read was successful, meaning that ResultQueue.markComplete()
                         // was called
                         readCompleted.thenAcceptAsync(v -> {
@@ -248,13 +273,16 @@ final class Connection {
                             return null;
                         });
 
-                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
+                        final ResultQueue handler = 0 == credit ?
+                                new ResultQueue(resultLinkedBlockingQueue, readCompleted) :
+                                new ResultQueue(resultLinkedBlockingQueue, readCompleted, credit, c -> grantCredit(requestMessage, c));
                         pending.put(requestMessage.getRequestId(), handler);
                         cluster.executor().submit(() -> future.complete(
                                 new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
                     }
                 });
-        channel.writeAndFlush(requestMessage, requestPromise);
+        writeToChannel(0 == credit || requestMessage.getArgs().containsKey(Tokens.ARGS_CREDIT) ? requestMessage :
+                RequestMessage.from(requestMessage).addArg(Tokens.ARGS_CREDIT, credit).create(), requestPromise);
 
         // try to keep the connection alive if the channel allows such things - websockets will
         if (channelizer.supportsKeepAlive() && keepAliveInterval > 0) {
@@ -279,6 +307,59 @@ final class Connection {
         return requestPromise;
     }
 
+    /**
+     * Gets the credit a request is sent with, which is the credit it was given explicitly or the configured
+     * {@link Settings.ConnectionPoolSettings#resultCredit} for requests that stream back results.
+     */
+    private int creditFor(final RequestMessage requestMessage) {
+        final Optional<Number> credit = requestMessage.optionalArgs(Tokens.ARGS_CREDIT);
+        if (credit.isPresent()) return credit.get().intValue();
+
+        final String op = requestMessage.getOp();
+        return op.equals(Tokens.OPS_EVAL) || op.equals(Tokens.OPS_BYTECODE) ? cluster.connectionPoolSettings().resultCredit : 0;
+    }
+
+    /**
+     * Sends the server more credit for a request that is under flow control. The server does not respond to it.
+     */
+    private void grantCredit(final RequestMessage requestMessage, final int credit) {
+        writeToChannel(RequestMessage.build(Tokens.OPS_CREDIT)
+                .overrideRequestId(requestMessage.getRequestId())
+                .processor(requestMessage.getProcessor())
+                .addArg(Tokens.ARGS_CREDIT, credit).create(), channel.newPromise());
+    }
+
+    /**
+     * Writes a message to the channel. If writes are coalesced the message is written from the event loop and the
+     * flush is left to a task queued behind it, so that every message written before that task runs goes out with
+     * the same flush.
+     */
+    private void writeToChannel(final Object msg, final ChannelPromise promise) {
+        if (!coalesceWrites) {
+            channel.writeAndFlush(msg, promise);
+            return;
+        }
+
+        final EventLoop eventLoop = channel.eventLoop();
+        try {
+            if (eventLoop.inEventLoop()) {
+                channel.write(msg, promise);
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    eventLoop.execute(() -> {
+                        flushScheduled = false;
+                        channel.flush();
+                    });
+                }
+            } else {
+                eventLoop.execute(() -> writeToChannel(msg, promise));
+            }
+        } catch (RejectedExecutionException ree) {
+            // the event loop is shutting down so the write can't happen
+            promise.tryFailure(ree);
+        }
+    }
+
     public void returnToPool() {
         try {
             if (pool != null) pool.returnConnection(this);
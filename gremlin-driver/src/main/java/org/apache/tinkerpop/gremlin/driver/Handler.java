@@ -208,6 +208,10 @@ final class Handler {
                 final ResponseStatusCode statusCode = response.getStatus().getCode();
                 final ResultQueue queue = pending.get(response.getRequestId());
                 if (statusCode == ResponseStatusCode.SUCCESS || statusCode == ResponseStatusCode.PARTIAL_CONTENT) {
+                    // the server acknowledges a request under flow control by returning the credit it has left
+                    if (response.getStatus().getAttributes().containsKey(Tokens.STATUS_ATTRIBUTE_CREDIT))
+                        queue.markCreditHonored();
+
                     final Object data = response.getResult().getData();
                     final Map<String,Object> meta = response.getResult().getMeta();
 
@@ -26,6 +26,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
@@ -36,12 +37,23 @@ import java.util.function.Function;
  */
 public final class Host {
     private static final Logger logger = LoggerFactory.getLogger(Host.class);
+
+    /**
+     * The time in nanoseconds over which the weight of a response latency decays, so that a host that responded
+     * slowly in the past is tried again once it has been left alone for a while.
+     */
+    private static final double LATENCY_DECAY_TIME = TimeUnit.SECONDS.toNanos(10);
+
     private final InetSocketAddress address;
     private final URI hostUri;
     private volatile boolean isAvailable;
     private final Cluster cluster;
     private final String hostLabel;
 
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private double latency = 0d;
+    private long lastLatencyUpdate = 0L;
+
     final AtomicReference<Boolean> retryInProgress = new AtomicReference<>(Boolean.FALSE);
     ScheduledFuture<?> retryThread = null;
 
@@ -64,6 +76,47 @@ public final class Host {
         return isAvailable;
     }
 
+    /**
+     * Gets the number of requests sent to this host that have not yet completed their response.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the exponentially weighted moving average of the time in nanoseconds that this host took to complete its
+     * responses. A response slower than the average replaces it outright and the average decays toward zero while
+     * the host is not responding to requests.
+     */
+    public synchronized double getLatency() {
+        if (0L == lastLatencyUpdate) return 0d;
+        return latency * Math.exp(-(System.nanoTime() - lastLatencyUpdate) / LATENCY_DECAY_TIME);
+    }
+
+    void requestSent() {
+        inFlight.incrementAndGet();
+    }
+
+    void requestFailed() {
+        inFlight.decrementAndGet();
+    }
+
+    void responseCompleted(final long latencyNanos) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            final long now = System.nanoTime();
+            if (0L == lastLatencyUpdate || latencyNanos > latency) {
+                // a slower response is taken as is so that a host that starts to struggle is avoided right away
+                latency = latencyNanos;
+            } else {
+                // weight the previous average by how recently it was last updated
+                final double weight = Math.exp(-(now - lastLatencyUpdate) / LATENCY_DECAY_TIME);
+                latency = latency * weight + latencyNanos * (1d - weight);
+            }
+            lastLatencyUpdate = now;
+        }
+    }
+
     void makeAvailable() {
         isAvailable = true;
     }
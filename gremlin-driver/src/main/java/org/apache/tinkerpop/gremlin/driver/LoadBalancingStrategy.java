@@ -22,10 +22,12 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -116,4 +118,64 @@ public interface LoadBalancingStrategy extends Host.Listener {
             onUnavailable(host);
         }
     }
+
+    /**
+     * A strategy that prefers the {@link Host} that is responding fastest with the least requests outstanding. It
+     * picks two available hosts at random and selects the one with the lower cost, where the cost is the
+     * {@link Host#getLatency()} of the host scaled by its {@link Host#getInFlight()} requests. Comparing two random
+     * hosts rather than all of them keeps a burst of requests from all landing on the host that looked best at
+     * that moment, while a host that is paused or overloaded quickly loses out to its peers.
+     */
+    public static class LatencyAware implements LoadBalancingStrategy {
+
+        private final CopyOnWriteArrayList<Host> availableHosts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void initialize(final Cluster cluster, final Collection<Host> hosts) {
+            this.availableHosts.addAll(hosts);
+        }
+
+        @Override
+        public Iterator<Host> select(final RequestMessage msg) {
+            final List<Host> hosts = new ArrayList<>();
+
+            // a host could be marked as dead in which case we dont need to send messages to it - just skip it for
+            // now. it might come back online later
+            availableHosts.iterator().forEachRemaining(host -> {
+                if (host.isAvailable()) hosts.add(host);
+            });
+
+            if (hosts.size() < 2) return hosts.iterator();
+
+            // the remaining hosts are ordered at random after the two that were compared
+            Collections.shuffle(hosts, ThreadLocalRandom.current());
+            if (cost(hosts.get(1)) < cost(hosts.get(0))) Collections.swap(hosts, 0, 1);
+            return hosts.iterator();
+        }
+
+        private static double cost(final Host host) {
+            // hosts without a recorded latency are still told apart by the requests they have outstanding
+            return (host.getLatency() + 1d) * (host.getInFlight() + 1);
+        }
+
+        @Override
+        public void onAvailable(final Host host) {
+            this.availableHosts.addIfAbsent(host);
+        }
+
+        @Override
+        public void onUnavailable(final Host host) {
+            this.availableHosts.remove(host);
+        }
+
+        @Override
+        public void onNew(final Host host) {
+            onAvailable(host);
+        }
+
+        @Override
+        public void onRemove(final Host host) {
+            onUnavailable(host);
+        }
+    }
 }
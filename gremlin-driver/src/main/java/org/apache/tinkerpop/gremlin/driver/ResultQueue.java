@@ -36,6 +36,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 /**
  * A queue of incoming {@link Result} objects.  The queue is updated by the {@link Handler.GremlinResponseHandler}
@@ -56,9 +57,39 @@ final class ResultQueue {
 
     private final Queue<Pair<CompletableFuture<List<Result>>,Integer>> waiting = new ConcurrentLinkedQueue<>();
 
+    /**
+     * The number of results the server may send ahead of what has been consumed, where zero means that the request
+     * is not under flow control.
+     */
+    private final int credit;
+
+    private final IntConsumer creditGranter;
+
+    private long granted;
+
+    private long consumed = 0;
+
+    private boolean creditHonored = false;
+
+    private boolean creditReleased = false;
+
     public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
+        this(resultLinkedBlockingQueue, readComplete, 0, c -> {});
+    }
+
+    /**
+     * Creates a queue for a request under flow control.
+     *
+     * @param credit the number of results the request granted the server when it was sent
+     * @param creditGranter sends more credit for the request to the server
+     */
+    public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete,
+                       final int credit, final IntConsumer creditGranter) {
         this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
         this.readComplete = readComplete;
+        this.credit = credit;
+        this.creditGranter = creditGranter;
+        this.granted = credit;
     }
 
     /**
@@ -158,9 +189,29 @@ final class ResultQueue {
         return readComplete.isDone();
     }
 
-    void drainTo(final Collection<Result> collection) {
+    synchronized void drainTo(final Collection<Result> collection) {
         if (error.get() != null) throw new RuntimeException(error.get());
-        resultLinkedBlockingQueue.drainTo(collection);
+        consumed += resultLinkedBlockingQueue.drainTo(collection);
+        tryGrantCredit();
+    }
+
+    /**
+     * Called when the server acknowledges that it is spending the credit of the request. Credit is only replenished
+     * after this acknowledgement as a server that does not support flow control would not understand the message.
+     */
+    synchronized void markCreditHonored() {
+        if (creditHonored) return;
+        creditHonored = true;
+        tryGrantCredit();
+    }
+
+    /**
+     * Lifts the credit limit of the request so that the server sends everything that is left, which is needed when
+     * the caller waits for the entire result before consuming any of it.
+     */
+    synchronized void releaseCredit() {
+        creditReleased = true;
+        tryGrantCredit();
     }
 
     void markComplete() {
@@ -191,7 +242,7 @@ final class ResultQueue {
             final int items = nextWaiting.getValue1();
             final CompletableFuture<List<Result>> future = nextWaiting.getValue0();
             final List<Result> results = new ArrayList<>(items);
-            resultLinkedBlockingQueue.drainTo(results, items);
+            consumed += resultLinkedBlockingQueue.drainTo(results, items);
 
             // it's important to check for error here because a future may have already been queued in "waiting" prior
             // to the first response back from the server. if that happens, any "waiting" futures should be completed
@@ -203,6 +254,30 @@ final class ResultQueue {
 
             waiting.remove(nextWaiting);
         }
+
+        tryGrantCredit();
+    }
+
+    /**
+     * Grants the server more credit once the results it may still send fall to half of the credit of the request or
+     * when a waiting future needs more results than the server may send.
+     */
+    private synchronized void tryGrantCredit() {
+        if (0 == credit || !creditHonored || readComplete.isDone() || granted == Long.MAX_VALUE) return;
+
+        if (creditReleased) {
+            creditGranter.accept(Integer.MAX_VALUE);
+            granted = Long.MAX_VALUE;
+            return;
+        }
+
+        final Pair<CompletableFuture<List<Result>>, Integer> nextWaiting = waiting.peek();
+        final long required = consumed + (null == nextWaiting ? 0 : nextWaiting.getValue1());
+        if (granted < required || granted - consumed <= credit / 2) {
+            final long target = Math.max(consumed + credit, required);
+            creditGranter.accept((int) (target - granted));
+            granted = target;
+        }
     }
 
     /**
@@ -81,7 +81,9 @@ public final class ResultSet implements Iterable<Result> {
     }
 
     /**
-     * Returns a future that will complete when all items have been returned from the server.
+     * Returns a future that will complete when all items have been returned from the server. If the request is
+     * under flow control by way of {@link Settings.ConnectionPoolSettings#resultCredit} then the server only
+     * returns the last items once the ones before them are consumed.
      */
     public CompletableFuture<Void> allItemsAvailableAsync() {
         final CompletableFuture<Void> allAvailable = new CompletableFuture<>();
@@ -124,9 +126,12 @@ public final class ResultSet implements Iterable<Result> {
      * The returned {@link CompletableFuture} completes when all reads are complete for this request and the
      * entire result has been accounted for on the client. While this method is named "all" it really refers to
      * retrieving all remaining items in the set.  For large result sets it is preferred to use
-     * {@link Iterator} or {@link Stream} options, as the results will be held in memory at once.
+     * {@link Iterator} or {@link Stream} options, as the results will be held in memory at once. If the request
+     * is under flow control by way of {@link Settings.ConnectionPoolSettings#resultCredit} then calling this method
+     * lets the server send all the remaining results without waiting for them to be consumed.
      */
     public CompletableFuture<List<Result>> all() {
+        resultQueue.releaseCredit();
         return readCompleted.thenApplyAsync(it -> {
             final List<Result> list = new ArrayList<>();
             resultQueue.drainTo(list);
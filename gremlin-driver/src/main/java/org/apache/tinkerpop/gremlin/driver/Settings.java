@@ -205,6 +205,12 @@ final class Settings {
             if (connectionPoolConf.containsKey("resultIterationBatchSize"))
                 cpSettings.resultIterationBatchSize = connectionPoolConf.getInt("resultIterationBatchSize");
 
+            if (connectionPoolConf.containsKey("resultCredit"))
+                cpSettings.resultCredit = connectionPoolConf.getInt("resultCredit");
+
+            if (connectionPoolConf.containsKey("coalesceWrites"))
+                cpSettings.coalesceWrites = connectionPoolConf.getBoolean("coalesceWrites");
+
             if (connectionPoolConf.containsKey("keepAliveInterval"))
                 cpSettings.keepAliveInterval = connectionPoolConf.getLong("keepAliveInterval");
 
@@ -320,6 +326,21 @@ final class Settings {
          */
         public int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
 
+        /**
+         * The number of results the server may send for a request before the client has consumed them. The client
+         * grants more credit as results are taken from the {@link ResultSet}, so at most this many results are held
+         * on the client for a request. Calling {@link ResultSet#all()} lifts the limit for that request. This value
+         * is set to 0 by default, which disables flow control.
+         */
+        public int resultCredit = Connection.RESULT_CREDIT;
+
+        /**
+         * Determines if requests written to a connection are flushed together once per turn of its event loop rather
+         * than each with a flush of its own. Under high request rates this sends many small requests with a single
+         * system call. This value is set to {@code false} by default.
+         */
+        public boolean coalesceWrites = Connection.COALESCE_WRITES;
+
         /**
          * The constructor for the channel that connects to the server. This value should be the fully qualified
          * class name of a Gremlin Driver {@link Channelizer} implementation.  By default this value is set to
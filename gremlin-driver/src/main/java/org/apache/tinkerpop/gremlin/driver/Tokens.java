@@ -36,6 +36,7 @@ public final class Tokens {
     public static final String OPS_GATHER = "gather";
     public static final String OPS_KEYS = "keys";
     public static final String OPS_CLOSE = "close";
+    public static final String OPS_CREDIT = "credit";
 
     /**
      * @deprecated As for release 3.2.2, not replaced as this feature was never really published as official.
@@ -69,6 +70,7 @@ public final class Tokens {
 
     public static final String ARGS_BATCH_SIZE = "batchSize";
     public static final String ARGS_BINDINGS = "bindings";
+    public static final String ARGS_CREDIT = "credit";
     public static final String ARGS_ALIASES = "aliases";
     public static final String ARGS_FORCE = "force";
     public static final String ARGS_GREMLIN = "gremlin";
@@ -156,6 +158,7 @@ public final class Tokens {
 
     public static final String VAL_TRAVERSAL_SOURCE_ALIAS = "g";
 
+    public static final String STATUS_ATTRIBUTE_CREDIT = "credit";
     public static final String STATUS_ATTRIBUTE_EXCEPTIONS = "exceptions";
     public static final String STATUS_ATTRIBUTE_STACK_TRACE = "stackTrace";
 }
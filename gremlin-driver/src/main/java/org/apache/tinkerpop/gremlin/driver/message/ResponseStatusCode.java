@@ -64,6 +64,12 @@ public enum ResponseStatusCode {
      */
     AUTHENTICATE(407),
 
+    /**
+     * The server will not start the request because the user or the traversal source it targets already has as many
+     * requests in progress as it allows. The request may be retried later.
+     */
+    TOO_MANY_REQUESTS(429),
+
     /**
      * The request message was not properly formatted which means it could not be parsed at all or the "op" code was
      * not recognized such that Gremlin Server could properly route it for processing.  Check the message format and
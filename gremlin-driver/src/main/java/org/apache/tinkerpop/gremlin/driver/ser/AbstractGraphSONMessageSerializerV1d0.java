@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import groovy.json.JsonBuilder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONTokens;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONUtil;
@@ -45,6 +46,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -58,6 +60,9 @@ public abstract class AbstractGraphSONMessageSerializerV1d0 extends AbstractMess
     protected ObjectMapper mapper;
 
     public static final String TOKEN_USE_MAPPER_FROM_GRAPH = "useMapperFromGraph";
+    public static final String TOKEN_BUFFER_SIZE = "bufferSize";
+
+    private int bufferSize = 4096;
 
     protected final TypeReference<Map<String, Object>> mapTypeReference = new TypeReference<Map<String, Object>>() {
     };
@@ -100,6 +105,8 @@ public abstract class AbstractGraphSONMessageSerializerV1d0 extends AbstractMess
 
         addIoRegistries(config, initialBuilder);
 
+        this.bufferSize = Integer.parseInt(config.getOrDefault(TOKEN_BUFFER_SIZE, "4096").toString());
+
         mapper = configureBuilder(initialBuilder).create().createMapper();
     }
 
@@ -107,9 +114,10 @@ public abstract class AbstractGraphSONMessageSerializerV1d0 extends AbstractMess
     public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
         try {
-            final byte[] payload = mapper.writeValueAsBytes(responseMessage);
-            encodedMessage = allocator.buffer(payload.length);
-            encodedMessage.writeBytes(payload);
+            // the generator writes each result into the buffer as it goes rather than building the whole payload in
+            // memory first and copying it in. the buffer starts at the configured size and grows as needed
+            encodedMessage = allocator.buffer(bufferSize);
+            mapper.writeValue((OutputStream) new ByteBufOutputStream(encodedMessage), responseMessage);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -125,11 +133,10 @@ public abstract class AbstractGraphSONMessageSerializerV1d0 extends AbstractMess
         ByteBuf encodedMessage = null;
         try {
             final byte[] header = obtainHeader();
-            final byte[] payload = mapper.writeValueAsBytes(requestMessage);
 
-            encodedMessage = allocator.buffer(header.length + payload.length);
+            encodedMessage = allocator.buffer();
             encodedMessage.writeBytes(header);
-            encodedMessage.writeBytes(payload);
+            mapper.writeValue((OutputStream) new ByteBufOutputStream(encodedMessage), requestMessage);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.driver.ser;
 import groovy.json.JsonBuilder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -44,6 +45,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.UUID;
 
@@ -56,6 +58,9 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
     protected ObjectMapper mapper;
 
     protected static final String TOKEN_USE_MAPPER_FROM_GRAPH = "useMapperFromGraph";
+    public static final String TOKEN_BUFFER_SIZE = "bufferSize";
+
+    private int bufferSize = 4096;
 
     protected final TypeReference<Map<String, Object>> mapTypeReference = new TypeReference<Map<String, Object>>() {
     };
@@ -98,6 +103,8 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
 
         addIoRegistries(config, initialBuilder);
 
+        this.bufferSize = Integer.parseInt(config.getOrDefault(TOKEN_BUFFER_SIZE, "4096").toString());
+
         mapper = configureBuilder(initialBuilder).create().createMapper();
     }
 
@@ -105,9 +112,10 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
     public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
         try {
-            final byte[] payload = mapper.writeValueAsBytes(responseMessage);
-            encodedMessage = allocator.buffer(payload.length);
-            encodedMessage.writeBytes(payload);
+            // the generator writes each result into the buffer as it goes rather than building the whole payload in
+            // memory first and copying it in. the buffer starts at the configured size and grows as needed
+            encodedMessage = allocator.buffer(bufferSize);
+            mapper.writeValue((OutputStream) new ByteBufOutputStream(encodedMessage), responseMessage);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -123,11 +131,10 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
         ByteBuf encodedMessage = null;
         try {
             final byte[] header = obtainHeader();
-            final byte[] payload = mapper.writeValueAsBytes(requestMessage);
 
-            encodedMessage = allocator.buffer(header.length + payload.length);
+            encodedMessage = allocator.buffer();
             encodedMessage.writeBytes(header);
-            encodedMessage.writeBytes(payload);
+            mapper.writeValue((OutputStream) new ByteBufOutputStream(encodedMessage), requestMessage);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
 import org.apache.tinkerpop.gremlin.structure.io.Mapper;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -44,8 +45,18 @@ public abstract class AbstractMessageSerializer implements MessageSerializer {
      * it can be instantiated.
      */
     protected void addIoRegistries(final Map<String, Object> config, final Mapper.Builder builder) {
+        getIoRegistries(config).forEach(builder::addRegistry);
+    }
+
+    /**
+     * Creates the {@link IoRegistry} instances named by the value of the {@link #TOKEN_IO_REGISTRIES} configuration
+     * key in the same way as {@link #addIoRegistries(Map, Mapper.Builder)} does for serializers that do not have a
+     * {@link org.apache.tinkerpop.gremlin.structure.io.Mapper.Builder} to assign them to.
+     */
+    protected List<IoRegistry> getIoRegistries(final Map<String, Object> config) {
         final List<String> classNameList = getListStringFromConfig(TOKEN_IO_REGISTRIES, config);
 
+        final List<IoRegistry> registries = new ArrayList<>(classNameList.size());
         classNameList.stream().forEach(className -> {
             try {
                 final Class<?> clazz = Class.forName(className);
@@ -53,17 +64,19 @@ public abstract class AbstractMessageSerializer implements MessageSerializer {
                     // try instance() first and then instance() which was deprecated in 3.2.4
                     final Method instanceMethod = tryInstanceMethod(clazz);
                     if (IoRegistry.class.isAssignableFrom(instanceMethod.getReturnType()))
-                        builder.addRegistry((IoRegistry) instanceMethod.invoke(null));
+                        registries.add((IoRegistry) instanceMethod.invoke(null));
                     else
                         throw new Exception();
                 } catch (Exception methodex) {
                     // tried instance() and that failed so try newInstance() no-arg constructor
-                    builder.addRegistry((IoRegistry) clazz.newInstance());
+                    registries.add((IoRegistry) clazz.newInstance());
                 }
             } catch (Exception ex) {
                 throw new IllegalStateException(ex);
             }
         });
+
+        return registries;
     }
 
     protected Method tryInstanceMethod(final Class clazz) {
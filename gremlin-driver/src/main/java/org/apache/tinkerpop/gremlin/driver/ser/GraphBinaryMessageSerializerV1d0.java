@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.CustomTypeSerializer;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serializes messages to GraphBinary, a compact binary format where each value is written as a type code followed by
+ * the value with any variable length part of it prefixed by its length. Unlike Gryo, it requires no class registration
+ * to be shared between the client and the server and, unlike GraphSON, it requires no parsing of text. Types that it
+ * does not know can be supplied by the {@link CustomTypeSerializer} instances of the configured {@code ioRegistries}.
+ */
+public final class GraphBinaryMessageSerializerV1d0 extends AbstractMessageSerializer {
+    private static final Logger logger = LoggerFactory.getLogger(GraphBinaryMessageSerializerV1d0.class);
+    private static final String MIME_TYPE = SerTokens.MIME_GRAPHBINARY_V1D0;
+    private static final byte[] header = MIME_TYPE.getBytes(CharsetUtil.UTF_8);
+
+    public static final String TOKEN_BUFFER_SIZE = "bufferSize";
+
+    /**
+     * The version of the message format written at the start of each message.
+     */
+    private static final byte VERSION = 0x01;
+
+    private GraphBinaryWriter writer = new GraphBinaryWriter();
+    private GraphBinaryReader reader = new GraphBinaryReader();
+
+    private int bufferSize = 4096;
+
+    @Override
+    public String[] mimeTypesSupported() {
+        return new String[]{MIME_TYPE};
+    }
+
+    @Override
+    public void configure(final Map<String, Object> config, final Map<String, Graph> graphs) {
+        this.bufferSize = Integer.parseInt(config.getOrDefault(TOKEN_BUFFER_SIZE, "4096").toString());
+
+        final List<IoRegistry> registries = getIoRegistries(config);
+        this.writer = new GraphBinaryWriter(registries);
+        this.reader = new GraphBinaryReader(registries);
+    }
+
+    @Override
+    public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        final ByteBuf encodedMessage = allocator.buffer(bufferSize);
+        try {
+            encodedMessage.writeByte(VERSION);
+            writer.write(responseMessage.getRequestId(), encodedMessage);
+            encodedMessage.writeInt(responseMessage.getStatus().getCode().getValue());
+            writer.write(responseMessage.getStatus().getMessage(), encodedMessage);
+            writer.write(responseMessage.getStatus().getAttributes(), encodedMessage);
+            writer.write(responseMessage.getResult().getMeta(), encodedMessage);
+            writer.write(responseMessage.getResult().getData(), encodedMessage);
+            return encodedMessage;
+        } catch (Exception ex) {
+            ReferenceCountUtil.release(encodedMessage);
+
+            logger.warn("Response [{}] could not be serialized by {}.", responseMessage.toString(), GraphBinaryMessageSerializerV1d0.class.getName());
+            throw new SerializationException(ex);
+        }
+    }
+
+    @Override
+    public ResponseMessage deserializeResponse(final ByteBuf msg) throws SerializationException {
+        try {
+            readVersion(msg);
+            final UUID requestId = (UUID) reader.read(msg);
+            final ResponseStatusCode code = ResponseStatusCode.getFromValue(msg.readInt());
+            final String statusMessage = (String) reader.read(msg);
+            final Map<String, Object> attributes = (Map<String, Object>) reader.read(msg);
+            final Map<String, Object> meta = (Map<String, Object>) reader.read(msg);
+            return ResponseMessage.build(requestId)
+                    .code(code)
+                    .statusMessage(statusMessage)
+                    .statusAttributes(attributes)
+                    .responseMetaData(meta)
+                    .result(reader.read(msg)).create();
+        } catch (Exception ex) {
+            logger.warn("Response [{}] could not be deserialized by {}.", msg, GraphBinaryMessageSerializerV1d0.class.getName());
+            throw new SerializationException(ex);
+        }
+    }
+
+    @Override
+    public ByteBuf serializeRequestAsBinary(final RequestMessage requestMessage, final ByteBufAllocator allocator) throws SerializationException {
+        final ByteBuf encodedMessage = allocator.buffer(bufferSize);
+        try {
+            encodedMessage.writeByte(header.length);
+            encodedMessage.writeBytes(header);
+
+            encodedMessage.writeByte(VERSION);
+            writer.writeUUID(requestMessage.getRequestId(), encodedMessage);
+            writer.writeString(requestMessage.getOp(), encodedMessage);
+            writer.writeString(requestMessage.getProcessor(), encodedMessage);
+            writer.writeMap(requestMessage.getArgs(), encodedMessage);
+            return encodedMessage;
+        } catch (Exception ex) {
+            ReferenceCountUtil.release(encodedMessage);
+
+            logger.warn("Request [{}] could not be serialized by {}.", requestMessage.toString(), GraphBinaryMessageSerializerV1d0.class.getName());
+            throw new SerializationException(ex);
+        }
+    }
+
+    @Override
+    public RequestMessage deserializeRequest(final ByteBuf msg) throws SerializationException {
+        try {
+            // by the time the message gets here, the mime length/type have been already read, so this part just
+            // needs to process the payload.
+            readVersion(msg);
+            final UUID requestId = reader.readUUID(msg);
+            final RequestMessage.Builder builder = RequestMessage.build(reader.readString(msg))
+                    .overrideRequestId(requestId)
+                    .processor(reader.readString(msg));
+            reader.readMap(msg).forEach((k, v) -> builder.addArg((String) k, v));
+            return builder.create();
+        } catch (Exception ex) {
+            logger.warn("Request [{}] could not be deserialized by {}.", msg, GraphBinaryMessageSerializerV1d0.class.getName());
+            throw new SerializationException(ex);
+        }
+    }
+
+    private static void readVersion(final ByteBuf msg) throws SerializationException {
+        final byte version = msg.readByte();
+        if (version != VERSION)
+            throw new SerializationException(String.format("GraphBinary message version [%s] is not supported", version));
+    }
+}
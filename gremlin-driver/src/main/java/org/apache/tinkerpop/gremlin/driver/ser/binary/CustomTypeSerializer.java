@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+
+/**
+ * Writes and reads a type that GraphBinary does not know, such as the identifier of a graph provider. Instances are
+ * registered to an {@link IoRegistry} against {@link GraphBinaryIo} and the class they serialize. On the wire, a
+ * custom value is the {@link DataType#CUSTOM} code, the type name, the length of the value and the value itself.
+ */
+public interface CustomTypeSerializer<T> {
+
+    /**
+     * The name that identifies the type on the wire. It must be the same on the client and the server.
+     */
+    public String getTypeName();
+
+    public void write(final T value, final ByteBuf buffer, final GraphBinaryWriter writer) throws SerializationException;
+
+    public T read(final ByteBuf buffer, final GraphBinaryReader reader) throws SerializationException;
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+/**
+ * The type codes of the GraphBinary format. Every fully qualified value is written as one of these codes followed by
+ * the value itself, where the value layout is determined by the type and any variable length part of it is prefixed
+ * with its length.
+ */
+public enum DataType {
+    CUSTOM(0x00),
+    INT(0x01),
+    LONG(0x02),
+    STRING(0x03),
+    DATE(0x04),
+    TIMESTAMP(0x05),
+    CLASS(0x06),
+    DOUBLE(0x07),
+    FLOAT(0x08),
+    LIST(0x09),
+    MAP(0x0A),
+    SET(0x0B),
+    UUID(0x0C),
+    EDGE(0x0D),
+    PATH(0x0E),
+    PROPERTY(0x0F),
+    VERTEX(0x11),
+    VERTEXPROPERTY(0x12),
+    BARRIER(0x13),
+    BINDING(0x14),
+    BYTECODE(0x15),
+    CARDINALITY(0x16),
+    COLUMN(0x17),
+    DIRECTION(0x18),
+    OPERATOR(0x19),
+    ORDER(0x1A),
+    PICK(0x1B),
+    POP(0x1C),
+    LAMBDA(0x1D),
+    P(0x1E),
+    SCOPE(0x1F),
+    T(0x20),
+    TRAVERSER(0x21),
+    BIGDECIMAL(0x22),
+    BIGINTEGER(0x23),
+    BYTE(0x24),
+    BYTEARRAY(0x25),
+    SHORT(0x26),
+    BOOLEAN(0x27),
+    TRAVERSALSTRATEGY(0x29),
+    BULKSET(0x2A),
+    TREE(0x2B),
+    METRICS(0x2C),
+    TRAVERSALMETRICS(0x2D),
+    TRAVERSALEXPLANATION(0x2E),
+    CHAR(0x80),
+    NULL(0xFE);
+
+    private static final DataType[] byCode = new DataType[256];
+
+    static {
+        for (DataType dataType : values()) {
+            byCode[dataType.code & 0xFF] = dataType;
+        }
+    }
+
+    private final byte code;
+
+    DataType(final int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the {@code DataType} for a type code read from the wire.
+     *
+     * @throws IllegalArgumentException if the code does not belong to any type
+     */
+    public static DataType fromCode(final byte code) {
+        final DataType dataType = byCode[code & 0xFF];
+        if (null == dataType)
+            throw new IllegalArgumentException(String.format("Unknown GraphBinary type code [0x%02X]", code));
+        return dataType;
+    }
+}
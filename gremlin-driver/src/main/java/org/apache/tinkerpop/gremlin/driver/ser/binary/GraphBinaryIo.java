@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
+import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
+import org.apache.tinkerpop.gremlin.structure.io.Io;
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.Mapper;
+
+/**
+ * GraphBinary is only a message format and does not read or write whole graphs, so this {@link Io} exists only as the
+ * key under which an {@link IoRegistry} registers {@link CustomTypeSerializer} instances for it.
+ */
+public final class GraphBinaryIo implements Io<GraphReader.ReaderBuilder, GraphWriter.WriterBuilder, Mapper.Builder> {
+
+    private GraphBinaryIo() {
+    }
+
+    @Override
+    public GraphReader.ReaderBuilder reader() {
+        throw new UnsupportedOperationException("GraphBinary does not read graphs");
+    }
+
+    @Override
+    public GraphWriter.WriterBuilder writer() {
+        throw new UnsupportedOperationException("GraphBinary does not write graphs");
+    }
+
+    @Override
+    public Mapper.Builder mapper() {
+        throw new UnsupportedOperationException("GraphBinary does not have a mapper");
+    }
+
+    @Override
+    public void writeGraph(final String file) {
+        throw new UnsupportedOperationException("GraphBinary does not write graphs");
+    }
+
+    @Override
+    public void readGraph(final String file) {
+        throw new UnsupportedOperationException("GraphBinary does not read graphs");
+    }
+}
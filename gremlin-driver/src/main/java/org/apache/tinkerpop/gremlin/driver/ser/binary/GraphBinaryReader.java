@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.SackFunctions;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalOptionParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
+import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONTokens;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedProperty;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.javatuples.Pair;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads objects from a {@code ByteBuf} that were written in the GraphBinary format by the {@link GraphBinaryWriter}.
+ * Graph elements are read back as detached elements and traversers as {@link DefaultRemoteTraverser} instances. A
+ * {@code TraversalExplanation} is read back as a {@code Map} of its steps as it is with GraphSON, since the
+ * strategies and traversals it was made from are not available to the reader.
+ */
+public class GraphBinaryReader {
+
+    private final Map<String, CustomTypeSerializer> customSerializers = new HashMap<>();
+
+    public GraphBinaryReader() {
+        this(Collections.emptyList());
+    }
+
+    public GraphBinaryReader(final List<IoRegistry> registries) {
+        for (IoRegistry registry : registries) {
+            for (Pair<Class, CustomTypeSerializer> pair : registry.find(GraphBinaryIo.class, CustomTypeSerializer.class)) {
+                customSerializers.put(pair.getValue1().getTypeName(), pair.getValue1());
+            }
+        }
+    }
+
+    /**
+     * Reads a {@link DataType} code followed by the value it describes.
+     */
+    public Object read(final ByteBuf buffer) throws SerializationException {
+        final DataType dataType;
+        try {
+            dataType = DataType.fromCode(buffer.readByte());
+        } catch (IllegalArgumentException iae) {
+            throw new SerializationException(iae);
+        }
+
+        return readValue(dataType, buffer);
+    }
+
+    public String readString(final ByteBuf buffer) {
+        return buffer.readSlice(buffer.readInt()).toString(CharsetUtil.UTF_8);
+    }
+
+    public UUID readUUID(final ByteBuf buffer) {
+        return new UUID(buffer.readLong(), buffer.readLong());
+    }
+
+    public Map<Object, Object> readMap(final ByteBuf buffer) throws SerializationException {
+        final int size = buffer.readInt();
+        final Map<Object, Object> map = new LinkedHashMap<>(capacityFor(size));
+        for (int ix = 0; ix < size; ix++) {
+            map.put(read(buffer), read(buffer));
+        }
+        return map;
+    }
+
+    private Object readValue(final DataType dataType, final ByteBuf buffer) throws SerializationException {
+        switch (dataType) {
+            case NULL:
+                return null;
+            case CUSTOM:
+                return readCustom(buffer);
+            case INT:
+                return buffer.readInt();
+            case LONG:
+                return buffer.readLong();
+            case STRING:
+                return readString(buffer);
+            case DATE:
+                return new Date(buffer.readLong());
+            case TIMESTAMP:
+                return new Timestamp(buffer.readLong());
+            case CLASS:
+                final String className = readString(buffer);
+                try {
+                    return Class.forName(className);
+                } catch (ClassNotFoundException cnfe) {
+                    throw new SerializationException(cnfe);
+                }
+            case DOUBLE:
+                return buffer.readDouble();
+            case FLOAT:
+                return buffer.readFloat();
+            case LIST:
+                return readList(buffer);
+            case SET:
+                final int setSize = buffer.readInt();
+                final Set<Object> set = new LinkedHashSet<>(capacityFor(setSize));
+                for (int ix = 0; ix < setSize; ix++) {
+                    set.add(read(buffer));
+                }
+                return set;
+            case MAP:
+                return readMap(buffer);
+            case UUID:
+                return readUUID(buffer);
+            case BIGDECIMAL:
+                final int scale = buffer.readInt();
+                return new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+            case BIGINTEGER:
+                return new BigInteger(readBytes(buffer));
+            case BYTE:
+                return buffer.readByte();
+            case BYTEARRAY:
+                return readBytes(buffer);
+            case SHORT:
+                return buffer.readShort();
+            case BOOLEAN:
+                return buffer.readBoolean();
+            case CHAR:
+                return buffer.readChar();
+            case VERTEX:
+                return readVertex(buffer);
+            case EDGE:
+                return readEdge(buffer);
+            case VERTEXPROPERTY:
+                final Object id = read(buffer);
+                final String label = readString(buffer);
+                final Object value = read(buffer);
+                final Map<String, Object> properties = readProperties(buffer);
+                final Vertex host = (Vertex) read(buffer);
+                return null == host ?
+                        new DetachedVertexProperty<>(id, label, value, properties) :
+                        new DetachedVertexProperty<>(id, label, value, properties, host);
+            case PROPERTY:
+                return new DetachedProperty<>(readString(buffer), read(buffer));
+            case PATH:
+                return readPath(buffer);
+            case TRAVERSER:
+                final long bulk = buffer.readLong();
+                return new DefaultRemoteTraverser<>(read(buffer), bulk);
+            case BULKSET:
+                final int bulkSetSize = buffer.readInt();
+                final BulkSet<Object> bulkSet = new BulkSet<>();
+                for (int ix = 0; ix < bulkSetSize; ix++) {
+                    bulkSet.add(read(buffer), buffer.readLong());
+                }
+                return bulkSet;
+            case TREE:
+                return readTree(buffer);
+            case METRICS:
+                return readMetrics(buffer);
+            case TRAVERSALMETRICS:
+                final long duration = buffer.readLong();
+                final int metricsCount = buffer.readInt();
+                final List<MutableMetrics> metrics = new ArrayList<>(metricsCount);
+                for (int ix = 0; ix < metricsCount; ix++) {
+                    metrics.add(readMetrics(buffer));
+                }
+                return new DefaultTraversalMetrics(duration, metrics);
+            case TRAVERSALEXPLANATION:
+                return readExplanation(buffer);
+            case BYTECODE:
+                return readBytecode(buffer);
+            case BINDING:
+                return new Bytecode.Binding<>(readString(buffer), read(buffer));
+            case P:
+                return readP(buffer);
+            case LAMBDA:
+                final String script = readString(buffer);
+                final String language = readString(buffer);
+                final int arguments = buffer.readInt();
+                if (-1 == arguments || arguments > 2)
+                    return new Lambda.UnknownArgLambda(script, language, arguments);
+                else if (0 == arguments)
+                    return new Lambda.ZeroArgLambda<>(script, language);
+                else if (1 == arguments)
+                    return new Lambda.OneArgLambda<>(script, language);
+                else
+                    return new Lambda.TwoArgLambda<>(script, language);
+            case TRAVERSALSTRATEGY:
+                final String strategyClassName = readString(buffer);
+                final Map<Object, Object> configuration = readMap(buffer);
+                try {
+                    return new TraversalStrategyProxy(Class.forName(strategyClassName), new MapConfiguration((Map) configuration));
+                } catch (ClassNotFoundException cnfe) {
+                    throw new SerializationException(cnfe);
+                }
+            case BARRIER:
+                return SackFunctions.Barrier.valueOf(readString(buffer));
+            case CARDINALITY:
+                return VertexProperty.Cardinality.valueOf(readString(buffer));
+            case COLUMN:
+                return Column.valueOf(readString(buffer));
+            case DIRECTION:
+                return Direction.valueOf(readString(buffer));
+            case OPERATOR:
+                return Operator.valueOf(readString(buffer));
+            case ORDER:
+                return Order.valueOf(readString(buffer));
+            case PICK:
+                return TraversalOptionParent.Pick.valueOf(readString(buffer));
+            case POP:
+                return Pop.valueOf(readString(buffer));
+            case SCOPE:
+                return Scope.valueOf(readString(buffer));
+            case T:
+                return T.valueOf(readString(buffer));
+            default:
+                throw new SerializationException(String.format("GraphBinary does not support deserialization of %s", dataType));
+        }
+    }
+
+    private static int capacityFor(final int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
+    private Object readCustom(final ByteBuf buffer) throws SerializationException {
+        final String typeName = readString(buffer);
+        final CustomTypeSerializer serializer = customSerializers.get(typeName);
+        if (null == serializer)
+            throw new SerializationException(String.format("GraphBinary has no serializer registered for the custom type [%s]", typeName));
+        return serializer.read(buffer.readSlice(buffer.readInt()), this);
+    }
+
+    private byte[] readBytes(final ByteBuf buffer) {
+        final byte[] bytes = new byte[buffer.readInt()];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+
+    private List<Object> readList(final ByteBuf buffer) throws SerializationException {
+        final int size = buffer.readInt();
+        final List<Object> list = new ArrayList<>(size);
+        for (int ix = 0; ix < size; ix++) {
+            list.add(read(buffer));
+        }
+        return list;
+    }
+
+    private Map<String, Object> readProperties(final ByteBuf buffer) throws SerializationException {
+        final int size = buffer.readInt();
+        final Map<String, Object> properties = new LinkedHashMap<>(capacityFor(size));
+        for (int ix = 0; ix < size; ix++) {
+            properties.put(readString(buffer), read(buffer));
+        }
+        return properties;
+    }
+
+    private DetachedVertex readVertex(final ByteBuf buffer) throws SerializationException {
+        final Object id = read(buffer);
+        final String label = readString(buffer);
+
+        // vertex properties are grouped by key as the DetachedVertex expects a list of them for each key
+        final int size = buffer.readInt();
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        for (int ix = 0; ix < size; ix++) {
+            final Object propertyId = read(buffer);
+            final String key = readString(buffer);
+            final Object value = read(buffer);
+            final VertexProperty<Object> vertexProperty = new DetachedVertexProperty<>(propertyId, key, value, readProperties(buffer));
+            ((List<Object>) properties.computeIfAbsent(key, k -> new ArrayList<>())).add(vertexProperty);
+        }
+
+        return new DetachedVertex(id, label, properties);
+    }
+
+    private DetachedEdge readEdge(final ByteBuf buffer) throws SerializationException {
+        final Object id = read(buffer);
+        final String label = readString(buffer);
+        final Object outVId = read(buffer);
+        final String outVLabel = readString(buffer);
+        final Object inVId = read(buffer);
+        final String inVLabel = readString(buffer);
+        return new DetachedEdge(id, label, readProperties(buffer), outVId, outVLabel, inVId, inVLabel);
+    }
+
+    private Path readPath(final ByteBuf buffer) throws SerializationException {
+        final int size = buffer.readInt();
+        Path path = MutablePath.make();
+        for (int ix = 0; ix < size; ix++) {
+            final int labelCount = buffer.readInt();
+            final Set<String> labels = new LinkedHashSet<>(capacityFor(labelCount));
+            for (int iy = 0; iy < labelCount; iy++) {
+                labels.add(readString(buffer));
+            }
+            path = path.extend(read(buffer), labels);
+        }
+        return path;
+    }
+
+    private Tree<Object> readTree(final ByteBuf buffer) throws SerializationException {
+        final int size = buffer.readInt();
+        final Tree<Object> tree = new Tree<>();
+        for (int ix = 0; ix < size; ix++) {
+            tree.put(read(buffer), readTree(buffer));
+        }
+        return tree;
+    }
+
+    private MutableMetrics readMetrics(final ByteBuf buffer) throws SerializationException {
+        final MutableMetrics metrics = new MutableMetrics(readString(buffer), readString(buffer));
+        metrics.setDuration(buffer.readLong(), TimeUnit.NANOSECONDS);
+        readMap(buffer).forEach((k, v) -> metrics.setCount((String) k, (Long) v));
+        readMap(buffer).forEach((k, v) -> metrics.setAnnotation((String) k, v));
+        final int nestedCount = buffer.readInt();
+        for (int ix = 0; ix < nestedCount; ix++) {
+            metrics.addNested(readMetrics(buffer));
+        }
+        return metrics;
+    }
+
+    private Map<String, Object> readExplanation(final ByteBuf buffer) {
+        final Map<String, Object> explanation = new LinkedHashMap<>();
+        explanation.put(GraphSONTokens.ORIGINAL, readSteps(buffer));
+
+        final int intermediateCount = buffer.readInt();
+        final List<Map<String, Object>> intermediates = new ArrayList<>(intermediateCount);
+        for (int ix = 0; ix < intermediateCount; ix++) {
+            final Map<String, Object> intermediate = new LinkedHashMap<>();
+            intermediate.put(GraphSONTokens.STRATEGY, readString(buffer));
+            intermediate.put(GraphSONTokens.CATEGORY, readString(buffer));
+            intermediate.put(GraphSONTokens.TRAVERSAL, readSteps(buffer));
+            intermediates.add(intermediate);
+        }
+        explanation.put(GraphSONTokens.INTERMEDIATE, intermediates);
+
+        explanation.put(GraphSONTokens.FINAL, readSteps(buffer));
+        return explanation;
+    }
+
+    private List<String> readSteps(final ByteBuf buffer) {
+        final int size = buffer.readInt();
+        final List<String> steps = new ArrayList<>(size);
+        for (int ix = 0; ix < size; ix++) {
+            steps.add(readString(buffer));
+        }
+        return steps;
+    }
+
+    private Bytecode readBytecode(final ByteBuf buffer) throws SerializationException {
+        final Bytecode bytecode = new Bytecode();
+        final int sourceInstructionCount = buffer.readInt();
+        for (int ix = 0; ix < sourceInstructionCount; ix++) {
+            bytecode.addSource(readString(buffer), readArguments(buffer));
+        }
+
+        final int stepInstructionCount = buffer.readInt();
+        for (int ix = 0; ix < stepInstructionCount; ix++) {
+            bytecode.addStep(readString(buffer), readArguments(buffer));
+        }
+
+        return bytecode;
+    }
+
+    private Object[] readArguments(final ByteBuf buffer) throws SerializationException {
+        final Object[] arguments = new Object[buffer.readInt()];
+        for (int ix = 0; ix < arguments.length; ix++) {
+            arguments[ix] = read(buffer);
+        }
+        return arguments;
+    }
+
+    private P readP(final ByteBuf buffer) throws SerializationException {
+        final String predicate = readString(buffer);
+        final Object value = buffer.readBoolean() ? readList(buffer) : read(buffer);
+
+        try {
+            if (predicate.equals("and") || predicate.equals("or"))
+                return predicate.equals("and") ? new AndP((List<P>) value) : new OrP((List<P>) value);
+            else if (value instanceof Collection) {
+                if (predicate.equals("between"))
+                    return P.between(((List) value).get(0), ((List) value).get(1));
+                else if (predicate.equals("inside"))
+                    return P.inside(((List) value).get(0), ((List) value).get(1));
+                else if (predicate.equals("outside"))
+                    return P.outside(((List) value).get(0), ((List) value).get(1));
+                else if (predicate.equals("within"))
+                    return P.within((Collection) value);
+                else if (predicate.equals("without"))
+                    return P.without((Collection) value);
+                else
+                    return (P) P.class.getMethod(predicate, Collection.class).invoke(null, (Collection) value);
+            } else
+                return (P) P.class.getMethod(predicate, Object.class).invoke(null, value);
+        } catch (final Exception e) {
+            throw new SerializationException(e);
+        }
+    }
+}
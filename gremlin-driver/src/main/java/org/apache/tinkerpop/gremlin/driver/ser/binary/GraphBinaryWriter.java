@@ -0,0 +1,532 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+import org.apache.commons.configuration.ConfigurationConverter;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.SackFunctions;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalOptionParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes objects to a {@code ByteBuf} in the GraphBinary format. A fully qualified value is a {@link DataType} code
+ * followed by the value, while the value forms of the methods here leave the code off for places in the format where
+ * the type is already known. Graph elements are written with their properties regardless of their implementation so
+ * that they are read back as detached elements. Types that GraphBinary does not know are written by the
+ * {@link CustomTypeSerializer} instances of the {@link IoRegistry} list that the writer is given.
+ */
+public class GraphBinaryWriter {
+
+    private static final Map<Class<?>, DataType> types = new HashMap<>();
+
+    static {
+        types.put(Integer.class, DataType.INT);
+        types.put(Long.class, DataType.LONG);
+        types.put(String.class, DataType.STRING);
+        types.put(Date.class, DataType.DATE);
+        types.put(Timestamp.class, DataType.TIMESTAMP);
+        types.put(Class.class, DataType.CLASS);
+        types.put(Double.class, DataType.DOUBLE);
+        types.put(Float.class, DataType.FLOAT);
+        types.put(UUID.class, DataType.UUID);
+        types.put(BigDecimal.class, DataType.BIGDECIMAL);
+        types.put(BigInteger.class, DataType.BIGINTEGER);
+        types.put(Byte.class, DataType.BYTE);
+        types.put(byte[].class, DataType.BYTEARRAY);
+        types.put(Short.class, DataType.SHORT);
+        types.put(Boolean.class, DataType.BOOLEAN);
+        types.put(Character.class, DataType.CHAR);
+        types.put(Bytecode.class, DataType.BYTECODE);
+        types.put(Bytecode.Binding.class, DataType.BINDING);
+        types.put(BulkSet.class, DataType.BULKSET);
+        types.put(ArrayList.class, DataType.LIST);
+        types.put(HashMap.class, DataType.MAP);
+        types.put(LinkedHashMap.class, DataType.MAP);
+        types.put(HashSet.class, DataType.SET);
+        types.put(LinkedHashSet.class, DataType.SET);
+
+        // enums are looked up by their declaring class as the constants that carry a body are subclasses
+        types.put(SackFunctions.Barrier.class, DataType.BARRIER);
+        types.put(VertexProperty.Cardinality.class, DataType.CARDINALITY);
+        types.put(Column.class, DataType.COLUMN);
+        types.put(Direction.class, DataType.DIRECTION);
+        types.put(Operator.class, DataType.OPERATOR);
+        types.put(Order.class, DataType.ORDER);
+        types.put(TraversalOptionParent.Pick.class, DataType.PICK);
+        types.put(Pop.class, DataType.POP);
+        types.put(Scope.class, DataType.SCOPE);
+        types.put(T.class, DataType.T);
+    }
+
+    private final Map<Class<?>, CustomTypeSerializer> customSerializers = new LinkedHashMap<>();
+
+    public GraphBinaryWriter() {
+        this(Collections.emptyList());
+    }
+
+    public GraphBinaryWriter(final List<IoRegistry> registries) {
+        for (IoRegistry registry : registries) {
+            for (Pair<Class, CustomTypeSerializer> pair : registry.find(GraphBinaryIo.class, CustomTypeSerializer.class)) {
+                customSerializers.put(pair.getValue0(), pair.getValue1());
+            }
+        }
+    }
+
+    /**
+     * Writes the {@link DataType} code of the object followed by its value.
+     */
+    public void write(final Object value, final ByteBuf buffer) throws SerializationException {
+        final DataType dataType = typeOf(value);
+        buffer.writeByte(dataType.getCode());
+        writeValue(dataType, value, buffer);
+    }
+
+    public void writeString(final String value, final ByteBuf buffer) {
+        final byte[] bytes = value.getBytes(CharsetUtil.UTF_8);
+        buffer.writeInt(bytes.length);
+        buffer.writeBytes(bytes);
+    }
+
+    public void writeUUID(final UUID value, final ByteBuf buffer) {
+        buffer.writeLong(value.getMostSignificantBits());
+        buffer.writeLong(value.getLeastSignificantBits());
+    }
+
+    public void writeMap(final Map<?, ?> value, final ByteBuf buffer) throws SerializationException {
+        buffer.writeInt(value.size());
+        for (Map.Entry<?, ?> entry : value.entrySet()) {
+            write(entry.getKey(), buffer);
+            write(entry.getValue(), buffer);
+        }
+    }
+
+    private void writeValue(final DataType dataType, final Object value, final ByteBuf buffer) throws SerializationException {
+        switch (dataType) {
+            case NULL:
+                break;
+            case CUSTOM:
+                writeCustom(value, buffer);
+                break;
+            case INT:
+                buffer.writeInt((Integer) value);
+                break;
+            case LONG:
+                buffer.writeLong((Long) value);
+                break;
+            case STRING:
+                writeString((String) value, buffer);
+                break;
+            case DATE:
+            case TIMESTAMP:
+                buffer.writeLong(((Date) value).getTime());
+                break;
+            case CLASS:
+                writeString(((Class) value).getName(), buffer);
+                break;
+            case DOUBLE:
+                buffer.writeDouble((Double) value);
+                break;
+            case FLOAT:
+                buffer.writeFloat((Float) value);
+                break;
+            case LIST:
+            case SET:
+                writeCollection(value instanceof Object[] ? Arrays.asList((Object[]) value) : (Collection<?>) value, buffer);
+                break;
+            case MAP:
+                writeMap(value instanceof Map.Entry ?
+                        Collections.singletonMap(((Map.Entry) value).getKey(), ((Map.Entry) value).getValue()) :
+                        (Map<?, ?>) value, buffer);
+                break;
+            case UUID:
+                writeUUID((UUID) value, buffer);
+                break;
+            case BIGDECIMAL:
+                buffer.writeInt(((BigDecimal) value).scale());
+                writeBytes(((BigDecimal) value).unscaledValue().toByteArray(), buffer);
+                break;
+            case BIGINTEGER:
+                writeBytes(((BigInteger) value).toByteArray(), buffer);
+                break;
+            case BYTE:
+                buffer.writeByte((Byte) value);
+                break;
+            case BYTEARRAY:
+                writeBytes((byte[]) value, buffer);
+                break;
+            case SHORT:
+                buffer.writeShort((Short) value);
+                break;
+            case BOOLEAN:
+                buffer.writeBoolean((Boolean) value);
+                break;
+            case CHAR:
+                buffer.writeChar((Character) value);
+                break;
+            case VERTEX:
+                writeVertex((Vertex) value, buffer);
+                break;
+            case EDGE:
+                writeEdge((Edge) value, buffer);
+                break;
+            case VERTEXPROPERTY:
+                writeVertexProperty((VertexProperty<?>) value, buffer);
+                final Vertex host = ((VertexProperty<?>) value).element();
+                if (null == host)
+                    buffer.writeByte(DataType.NULL.getCode());
+                else {
+                    // only a reference to the host is written as its properties include this one
+                    buffer.writeByte(DataType.VERTEX.getCode());
+                    write(host.id(), buffer);
+                    writeString(host.label(), buffer);
+                    buffer.writeInt(0);
+                }
+                break;
+            case PROPERTY:
+                writeString(((Property<?>) value).key(), buffer);
+                write(((Property<?>) value).value(), buffer);
+                break;
+            case PATH:
+                writePath((Path) value, buffer);
+                break;
+            case TRAVERSER:
+                buffer.writeLong(((Traverser<?>) value).bulk());
+                write(((Traverser<?>) value).get(), buffer);
+                break;
+            case BULKSET:
+                final Map<?, Long> bulk = ((BulkSet<?>) value).asBulk();
+                buffer.writeInt(bulk.size());
+                for (Map.Entry<?, Long> entry : bulk.entrySet()) {
+                    write(entry.getKey(), buffer);
+                    buffer.writeLong(entry.getValue());
+                }
+                break;
+            case TREE:
+                writeTree((Tree<?>) value, buffer);
+                break;
+            case METRICS:
+                writeMetrics((Metrics) value, buffer);
+                break;
+            case TRAVERSALMETRICS:
+                final TraversalMetrics traversalMetrics = (TraversalMetrics) value;
+                buffer.writeLong(traversalMetrics.getDuration(TimeUnit.NANOSECONDS));
+                buffer.writeInt(traversalMetrics.getMetrics().size());
+                for (Metrics metrics : traversalMetrics.getMetrics()) {
+                    writeMetrics(metrics, buffer);
+                }
+                break;
+            case TRAVERSALEXPLANATION:
+                writeExplanation((TraversalExplanation) value, buffer);
+                break;
+            case BYTECODE:
+                // a traversal, as can be found in a strategy configuration, is sent as the bytecode that produced it
+                final Bytecode bytecode = value instanceof Traversal ? ((Traversal) value).asAdmin().getBytecode() : (Bytecode) value;
+                writeInstructions(bytecode.getSourceInstructions(), buffer);
+                writeInstructions(bytecode.getStepInstructions(), buffer);
+                break;
+            case BINDING:
+                writeString(((Bytecode.Binding) value).variable(), buffer);
+                write(((Bytecode.Binding) value).value(), buffer);
+                break;
+            case P:
+                writeP((P<?>) value, buffer);
+                break;
+            case LAMBDA:
+                writeString(((Lambda) value).getLambdaScript(), buffer);
+                writeString(((Lambda) value).getLambdaLanguage(), buffer);
+                buffer.writeInt(((Lambda) value).getLambdaArguments());
+                break;
+            case TRAVERSALSTRATEGY:
+                if (value instanceof TraversalStrategyProxy) {
+                    final TraversalStrategyProxy<?> proxy = (TraversalStrategyProxy<?>) value;
+                    writeString(proxy.getStrategyClass().getName(), buffer);
+                    writeMap(ConfigurationConverter.getMap(proxy.getConfiguration()), buffer);
+                } else {
+                    final TraversalStrategy strategy = (TraversalStrategy) value;
+                    writeString(strategy.getClass().getName(), buffer);
+                    writeMap(ConfigurationConverter.getMap(strategy.getConfiguration()), buffer);
+                }
+                break;
+            default:
+                // everything else is an enum
+                writeString(((Enum) value).name(), buffer);
+        }
+    }
+
+    private DataType typeOf(final Object value) throws SerializationException {
+        if (null == value)
+            return DataType.NULL;
+
+        // the types of a registry come first so that a provider can take over how one of its classes is written
+        if (!customSerializers.isEmpty() && null != customSerializerFor(value.getClass()))
+            return DataType.CUSTOM;
+
+        final DataType dataType = types.get(value.getClass());
+        if (dataType != null)
+            return dataType;
+        else if (value instanceof Enum && types.containsKey(((Enum) value).getDeclaringClass()))
+            return types.get(((Enum) value).getDeclaringClass());
+        else if (value instanceof Vertex)
+            return DataType.VERTEX;
+        else if (value instanceof Edge)
+            return DataType.EDGE;
+        else if (value instanceof VertexProperty)
+            return DataType.VERTEXPROPERTY;
+        else if (value instanceof Property)
+            return DataType.PROPERTY;
+        else if (value instanceof Path)
+            return DataType.PATH;
+        else if (value instanceof Traverser)
+            return DataType.TRAVERSER;
+        else if (value instanceof Traversal)
+            return DataType.BYTECODE;
+        else if (value instanceof P)
+            return DataType.P;
+        else if (value instanceof Lambda)
+            return DataType.LAMBDA;
+        else if (value instanceof TraversalStrategy || value instanceof TraversalStrategyProxy)
+            return DataType.TRAVERSALSTRATEGY;
+        else if (value instanceof Tree)
+            return DataType.TREE;
+        else if (value instanceof TraversalMetrics)
+            return DataType.TRAVERSALMETRICS;
+        else if (value instanceof Metrics)
+            return DataType.METRICS;
+        else if (value instanceof TraversalExplanation)
+            return DataType.TRAVERSALEXPLANATION;
+        else if (value instanceof Map || value instanceof Map.Entry)
+            return DataType.MAP;
+        else if (value instanceof Set)
+            return DataType.SET;
+        else if (value instanceof List || value instanceof Collection || value instanceof Object[])
+            return DataType.LIST;
+        else if (value instanceof Date)
+            return DataType.DATE;
+
+        throw new SerializationException(String.format("GraphBinary does not support serialization of %s", value.getClass().getName()));
+    }
+
+    private CustomTypeSerializer customSerializerFor(final Class<?> clazz) {
+        final CustomTypeSerializer serializer = customSerializers.get(clazz);
+        if (serializer != null)
+            return serializer;
+
+        for (Map.Entry<Class<?>, CustomTypeSerializer> entry : customSerializers.entrySet()) {
+            if (entry.getKey().isAssignableFrom(clazz))
+                return entry.getValue();
+        }
+        return null;
+    }
+
+    private void writeCustom(final Object value, final ByteBuf buffer) throws SerializationException {
+        final CustomTypeSerializer serializer = customSerializerFor(value.getClass());
+        writeString(serializer.getTypeName(), buffer);
+
+        // the length is filled in once the value is written so that a reader can take the value as a slice
+        final int lengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
+        serializer.write(value, buffer, this);
+        buffer.setInt(lengthIndex, buffer.writerIndex() - lengthIndex - 4);
+    }
+
+    private void writeBytes(final byte[] bytes, final ByteBuf buffer) {
+        buffer.writeInt(bytes.length);
+        buffer.writeBytes(bytes);
+    }
+
+    private void writeCollection(final Collection<?> value, final ByteBuf buffer) throws SerializationException {
+        buffer.writeInt(value.size());
+        for (Object item : value) {
+            write(item, buffer);
+        }
+    }
+
+    private void writeVertex(final Vertex vertex, final ByteBuf buffer) throws SerializationException {
+        write(vertex.id(), buffer);
+        writeString(vertex.label(), buffer);
+
+        final List<VertexProperty<Object>> properties = IteratorUtils.list(vertex.properties());
+        buffer.writeInt(properties.size());
+        for (VertexProperty<Object> property : properties) {
+            writeVertexProperty(property, buffer);
+        }
+    }
+
+    private void writeVertexProperty(final VertexProperty<?> vertexProperty, final ByteBuf buffer) throws SerializationException {
+        write(vertexProperty.id(), buffer);
+        writeString(vertexProperty.label(), buffer);
+        write(vertexProperty.value(), buffer);
+        writeProperties(IteratorUtils.list(vertexProperty.properties()), buffer);
+    }
+
+    private void writeEdge(final Edge edge, final ByteBuf buffer) throws SerializationException {
+        write(edge.id(), buffer);
+        writeString(edge.label(), buffer);
+
+        final Vertex outV = edge.outVertex();
+        write(outV.id(), buffer);
+        writeString(outV.label(), buffer);
+        final Vertex inV = edge.inVertex();
+        write(inV.id(), buffer);
+        writeString(inV.label(), buffer);
+
+        writeProperties(IteratorUtils.list(edge.properties()), buffer);
+    }
+
+    private void writeProperties(final List<? extends Property<?>> properties, final ByteBuf buffer) throws SerializationException {
+        buffer.writeInt(properties.size());
+        for (Property<?> property : properties) {
+            writeString(property.key(), buffer);
+            write(property.value(), buffer);
+        }
+    }
+
+    private void writePath(final Path path, final ByteBuf buffer) throws SerializationException {
+        final List<Set<String>> labels = path.labels();
+        final List<Object> objects = path.objects();
+        buffer.writeInt(objects.size());
+        for (int ix = 0; ix < objects.size(); ix++) {
+            final Set<String> stepLabels = labels.get(ix);
+            buffer.writeInt(stepLabels.size());
+            for (String label : stepLabels) {
+                writeString(label, buffer);
+            }
+            write(objects.get(ix), buffer);
+        }
+    }
+
+    private void writeTree(final Tree<?> tree, final ByteBuf buffer) throws SerializationException {
+        buffer.writeInt(tree.size());
+        for (Map.Entry<?, ? extends Tree<?>> entry : tree.entrySet()) {
+            write(entry.getKey(), buffer);
+            writeTree(entry.getValue(), buffer);
+        }
+    }
+
+    private void writeMetrics(final Metrics metrics, final ByteBuf buffer) throws SerializationException {
+        writeString(metrics.getId(), buffer);
+        writeString(metrics.getName(), buffer);
+        buffer.writeLong(metrics.getDuration(TimeUnit.NANOSECONDS));
+        writeMap(metrics.getCounts(), buffer);
+        writeMap(metrics.getAnnotations(), buffer);
+        buffer.writeInt(metrics.getNested().size());
+        for (Metrics nested : metrics.getNested()) {
+            writeMetrics(nested, buffer);
+        }
+    }
+
+    /**
+     * An explanation is written as the steps of the original traversal, the strategy, category and steps of each
+     * intermediate traversal and the steps of the final traversal, which is what GraphSON gives for one as well.
+     */
+    private void writeExplanation(final TraversalExplanation explanation, final ByteBuf buffer) throws SerializationException {
+        writeSteps(explanation.getOriginalTraversal(), buffer);
+
+        final List<Pair<TraversalStrategy, Traversal.Admin<?, ?>>> strategyTraversals = explanation.getStrategyTraversals();
+        buffer.writeInt(strategyTraversals.size());
+        for (Pair<TraversalStrategy, Traversal.Admin<?, ?>> pair : strategyTraversals) {
+            writeString(pair.getValue0().toString(), buffer);
+            writeString(pair.getValue0().getTraversalCategory().getSimpleName(), buffer);
+            writeSteps(pair.getValue1(), buffer);
+        }
+
+        writeSteps(strategyTraversals.isEmpty() ?
+                explanation.getOriginalTraversal() :
+                strategyTraversals.get(strategyTraversals.size() - 1).getValue1(), buffer);
+    }
+
+    private void writeSteps(final Traversal.Admin<?, ?> traversal, final ByteBuf buffer) {
+        buffer.writeInt(traversal.getSteps().size());
+        traversal.getSteps().forEach(step -> writeString(step.toString(), buffer));
+    }
+
+    private void writeInstructions(final List<Bytecode.Instruction> instructions, final ByteBuf buffer) throws SerializationException {
+        buffer.writeInt(instructions.size());
+        for (Bytecode.Instruction instruction : instructions) {
+            writeString(instruction.getOperator(), buffer);
+            final Object[] arguments = instruction.getArguments();
+            buffer.writeInt(arguments.length);
+            for (Object argument : arguments) {
+                write(argument, buffer);
+            }
+        }
+    }
+
+    private void writeP(final P<?> p, final ByteBuf buffer) throws SerializationException {
+        writeString(p instanceof ConnectiveP ?
+                (p instanceof AndP ? "and" : "or") :
+                p.getBiPredicate().toString(), buffer);
+        if (p instanceof ConnectiveP || p.getValue() instanceof Collection) {
+            buffer.writeBoolean(true);
+            writeCollection(p instanceof ConnectiveP ?
+                    ((ConnectiveP<?>) p).getPredicates() : (Collection<?>) p.getValue(), buffer);
+        } else {
+            buffer.writeBoolean(false);
+            write(p.getValue(), buffer);
+        }
+    }
+}
@@ -23,6 +23,9 @@ import org.junit.Test;
 import java.net.InetSocketAddress;
 import java.net.URI;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -38,4 +41,37 @@ public class HostTest {
         assertEquals("ws://localhost:8182/gremlin", webSocketUri.toString());
     }
 
+    @Test
+    public void shouldTrackRequestsInFlight() {
+        final Host host = new Host(new InetSocketAddress("localhost", 8182), Cluster.open());
+        host.requestSent();
+        host.requestSent();
+        host.requestSent();
+        assertEquals(3, host.getInFlight());
+
+        host.requestFailed();
+        host.responseCompleted(1000);
+        assertEquals(1, host.getInFlight());
+    }
+
+    @Test
+    public void shouldTakeSlowerLatencyRightAwayAndDecayFasterLatency() {
+        final Host host = new Host(new InetSocketAddress("localhost", 8182), Cluster.open());
+        assertEquals(0d, host.getLatency(), 0d);
+
+        host.requestSent();
+        host.responseCompleted(1000000);
+        assertThat(host.getLatency(), greaterThan(900000d));
+
+        host.requestSent();
+        host.responseCompleted(5000000);
+        assertThat(host.getLatency(), greaterThan(4900000d));
+
+        // a faster response only moves the average part of the way
+        host.requestSent();
+        host.responseCompleted(1000);
+        assertThat(host.getLatency(), greaterThan(1000d));
+        assertThat(host.getLatency(), lessThan(5000000d));
+    }
+
 }
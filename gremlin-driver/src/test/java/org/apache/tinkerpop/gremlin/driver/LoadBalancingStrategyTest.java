@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class LoadBalancingStrategyTest {
+
+    private final Cluster cluster = Cluster.open();
+    private final RequestMessage msg = RequestMessage.build(Tokens.OPS_EVAL).create();
+
+    @Test
+    public void shouldSelectFasterOfTwoHosts() {
+        final Host fast = makeHost(8182);
+        final Host slow = makeHost(8183);
+        fast.requestSent();
+        fast.responseCompleted(1000);
+        slow.requestSent();
+        slow.responseCompleted(1000000000);
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, Arrays.asList(slow, fast));
+
+        for (int ix = 0; ix < 100; ix++) {
+            final List<Host> selected = IteratorUtils.list(strategy.select(msg));
+            assertEquals(Arrays.asList(fast, slow), selected);
+        }
+    }
+
+    @Test
+    public void shouldSelectHostWithLeastRequestsInFlightWithoutLatency() {
+        final Host busy = makeHost(8182);
+        final Host idle = makeHost(8183);
+        busy.requestSent();
+        busy.requestSent();
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, Arrays.asList(busy, idle));
+
+        for (int ix = 0; ix < 100; ix++) {
+            assertEquals(idle, strategy.select(msg).next());
+        }
+    }
+
+    @Test
+    public void shouldSkipUnavailableHosts() {
+        final Host available = makeHost(8182);
+        final Host unavailable = new Host(new InetSocketAddress("localhost", 8183), cluster);
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, Arrays.asList(available, unavailable));
+
+        final List<Host> selected = IteratorUtils.list(strategy.select(msg));
+        assertEquals(1, selected.size());
+        assertEquals(available, selected.get(0));
+
+        strategy.onUnavailable(available);
+        assertFalse(strategy.select(msg).hasNext());
+    }
+
+    private Host makeHost(final int port) {
+        final Host host = new Host(new InetSocketAddress("localhost", port), cluster);
+        host.makeAvailable();
+        return host;
+    }
+}
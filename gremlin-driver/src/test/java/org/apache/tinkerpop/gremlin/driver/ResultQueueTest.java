@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +32,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -406,4 +408,73 @@ public class ResultQueueTest extends AbstractResultQueueTest {
         assertEquals("daniel", list.get("d"));
         assertEquals("marko", list.get("m"));
     }
+
+    @Test
+    public void shouldOnlyGrantCreditOnceHonored() throws Exception {
+        final List<Integer> grants = new ArrayList<>();
+        final ResultQueue creditedQueue = new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>(), 4, grants::add);
+
+        for (int ix = 0; ix < 4; ix++) {
+            creditedQueue.add(new Result("test" + ix));
+        }
+
+        assertEquals(4, creditedQueue.await(4).get().size());
+        assertThat(grants.isEmpty(), is(true));
+
+        creditedQueue.markCreditHonored();
+        assertEquals(Collections.singletonList(4), grants);
+    }
+
+    @Test
+    public void shouldGrantCreditAsResultsAreConsumed() throws Exception {
+        final List<Integer> grants = new ArrayList<>();
+        final ResultQueue creditedQueue = new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>(), 4, grants::add);
+        creditedQueue.markCreditHonored();
+
+        for (int ix = 0; ix < 4; ix++) {
+            creditedQueue.add(new Result("test" + ix));
+        }
+
+        // the server may still send two results so nothing is granted yet
+        assertEquals(1, creditedQueue.await(1).get().size());
+        assertThat(grants.isEmpty(), is(true));
+
+        // half the credit is spent so top it back up to four
+        assertEquals(1, creditedQueue.await(1).get().size());
+        assertEquals(Collections.singletonList(2), grants);
+    }
+
+    @Test
+    public void shouldGrantCreditForWaitingFutureThatNeedsMoreThanTheCredit() throws Exception {
+        final List<Integer> grants = new ArrayList<>();
+        final ResultQueue creditedQueue = new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>(), 4, grants::add);
+        creditedQueue.markCreditHonored();
+
+        final CompletableFuture<List<Result>> future = creditedQueue.await(10);
+        assertEquals(Collections.singletonList(6), grants);
+
+        for (int ix = 0; ix < 10; ix++) {
+            creditedQueue.add(new Result("test" + ix));
+        }
+
+        assertEquals(10, future.get().size());
+    }
+
+    @Test
+    public void shouldGrantAllCreditWhenReleased() throws Exception {
+        final List<Integer> grants = new ArrayList<>();
+        final ResultQueue creditedQueue = new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>(), 4, grants::add);
+        creditedQueue.markCreditHonored();
+        creditedQueue.releaseCredit();
+        assertEquals(Collections.singletonList(Integer.MAX_VALUE), grants);
+
+        for (int ix = 0; ix < 10; ix++) {
+            creditedQueue.add(new Result("test" + ix));
+        }
+
+        final List<Result> drain = new ArrayList<>();
+        creditedQueue.drainTo(drain);
+        assertEquals(10, drain.size());
+        assertEquals(1, grants.size());
+    }
 }
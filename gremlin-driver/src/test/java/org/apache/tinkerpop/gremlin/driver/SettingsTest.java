@@ -57,6 +57,8 @@ public class SettingsTest {
         conf.setProperty("connectionPool.reconnectInterval", 900);
         conf.setProperty("connectionPool.reconnectInitialDelay", 1000);
         conf.setProperty("connectionPool.resultIterationBatchSize", 1100);
+        conf.setProperty("connectionPool.resultCredit", 1200);
+        conf.setProperty("connectionPool.coalesceWrites", true);
         conf.setProperty("connectionPool.channelizer", "channelizer0");
 
         final Settings settings = Settings.from(conf);
@@ -83,6 +85,8 @@ public class SettingsTest {
         assertEquals(900, settings.connectionPool.reconnectInterval);
         assertEquals(1000, settings.connectionPool.reconnectInitialDelay);
         assertEquals(1100, settings.connectionPool.resultIterationBatchSize);
+        assertEquals(1200, settings.connectionPool.resultCredit);
+        assertEquals(true, settings.connectionPool.coalesceWrites);
         assertEquals("channelizer0", settings.connectionPool.channelizer);
     }
 }
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.CharsetUtil;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.CustomTypeSerializer;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryIo;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.AbstractIoRegistry;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class GraphBinaryMessageSerializerV1d0Test {
+
+    private final UUID requestId = UUID.fromString("6457272A-4018-4538-B9AE-08DD5DDC0AA1");
+    private final ResponseMessage.Builder responseMessageBuilder = ResponseMessage.build(requestId);
+    private static final ByteBufAllocator allocator = UnpooledByteBufAllocator.DEFAULT;
+
+    private final MessageSerializer serializer = new GraphBinaryMessageSerializerV1d0();
+
+    @Test
+    public void shouldSerializeStandardTypes() throws Exception {
+        final Date d = new Date();
+        final List<Object> list = Arrays.asList(1, 100L, "test", 1.5d, 2.5f, (short) 3, (byte) 4, true, 'x', d,
+                new BigDecimal("123.456"), new BigInteger("123456789012345678901234567890"), requestId, String.class, null);
+
+        final ResponseMessage response = convert(list);
+        assertCommon(response);
+        assertEquals(list, response.getResult().getData());
+    }
+
+    @Test
+    public void shouldSerializeByteArray() throws Exception {
+        final byte[] bytes = new byte[]{ 1, 2, 3 };
+        final ResponseMessage response = convert(bytes);
+        assertCommon(response);
+        assertArrayEquals(bytes, (byte[]) response.getResult().getData());
+    }
+
+    @Test
+    public void shouldSerializeMap() throws Exception {
+        final Map<String, Object> map = new HashMap<>();
+        final Map<String, String> innerMap = new HashMap<>();
+        innerMap.put("a", "b");
+
+        map.put("x", 1);
+        map.put("y", "some");
+        map.put("z", innerMap);
+
+        final ResponseMessage response = convert(map);
+        assertCommon(response);
+
+        final Map<String, Object> deserializedMap = (Map<String, Object>) response.getResult().getData();
+        assertEquals(3, deserializedMap.size());
+        assertEquals(1, deserializedMap.get("x"));
+        assertEquals("some", deserializedMap.get("y"));
+
+        final Map<String, String> deserializedInnerMap = (Map<String, String>) deserializedMap.get("z");
+        assertEquals(1, deserializedInnerMap.size());
+        assertEquals("b", deserializedInnerMap.get("a"));
+    }
+
+    @Test
+    public void shouldSerializeMapEntryAsMap() throws Exception {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("x", 1);
+
+        final ResponseMessage response = convert(IteratorUtils.asList(map.entrySet()));
+        assertCommon(response);
+
+        final List<Map<String, Object>> deserializedEntries = (List<Map<String, Object>>) response.getResult().getData();
+        assertEquals(1, deserializedEntries.size());
+        assertEquals(map, deserializedEntries.get(0));
+    }
+
+    @Test
+    public void shouldSerializeSet() throws Exception {
+        final Set<Object> set = new LinkedHashSet<>(Arrays.asList("a", 1, 2L));
+        final ResponseMessage response = convert(set);
+        assertCommon(response);
+        assertEquals(set, response.getResult().getData());
+    }
+
+    @Test
+    public void shouldSerializeVertexWithProperties() throws Exception {
+        final Graph graph = TinkerGraph.open();
+        final Vertex v = graph.addVertex(T.label, "person", "name", "marko");
+        v.property(VertexProperty.Cardinality.list, "location", "santa fe", "startTime", 2005);
+        v.property(VertexProperty.Cardinality.list, "location", "san diego", "startTime", 1997);
+
+        final ResponseMessage response = convert(Arrays.asList(v));
+        assertCommon(response);
+
+        final Vertex deserialized = (Vertex) ((List) response.getResult().getData()).get(0);
+        assertThat(deserialized, instanceOf(DetachedVertex.class));
+        assertEquals(v.id(), deserialized.id());
+        assertEquals("person", deserialized.label());
+        assertEquals("marko", deserialized.value("name"));
+
+        final List<VertexProperty<String>> locations = IteratorUtils.list(deserialized.properties("location"));
+        assertEquals(2, locations.size());
+        assertEquals("santa fe", locations.get(0).value());
+        assertEquals(2005, (int) locations.get(0).value("startTime"));
+        assertEquals("san diego", locations.get(1).value());
+        assertEquals(1997, (int) locations.get(1).value("startTime"));
+    }
+
+    @Test
+    public void shouldSerializeEdge() throws Exception {
+        final Graph graph = TinkerGraph.open();
+        final Vertex v1 = graph.addVertex(T.label, "person");
+        final Vertex v2 = graph.addVertex(T.label, "software");
+        final Edge e = v1.addEdge("created", v2, "weight", 0.5d);
+
+        final ResponseMessage response = convert(e);
+        assertCommon(response);
+
+        final Edge deserialized = (Edge) response.getResult().getData();
+        assertThat(deserialized, instanceOf(DetachedEdge.class));
+        assertEquals(e.id(), deserialized.id());
+        assertEquals("created", deserialized.label());
+        assertEquals(0.5d, deserialized.<Double>value("weight"), 0.0001d);
+        assertEquals(v1.id(), deserialized.outVertex().id());
+        assertEquals("person", deserialized.outVertex().label());
+        assertEquals(v2.id(), deserialized.inVertex().id());
+        assertEquals("software", deserialized.inVertex().label());
+    }
+
+    @Test
+    public void shouldSerializeReferenceVertexProperty() throws Exception {
+        final Graph graph = TinkerFactory.createModern();
+        final VertexProperty<Object> vp = graph.traversal().V().has("name", "marko").next().property("name");
+
+        final ResponseMessage response = convert(ReferenceFactory.detach(vp));
+        assertCommon(response);
+
+        final VertexProperty<Object> deserialized = (VertexProperty<Object>) response.getResult().getData();
+        assertEquals(vp.id(), deserialized.id());
+        assertEquals("name", deserialized.label());
+        assertEquals("marko", deserialized.value());
+        assertEquals(vp.element().id(), deserialized.element().id());
+    }
+
+    @Test
+    public void shouldSerializePath() throws Exception {
+        final Graph graph = TinkerFactory.createModern();
+        final Path p = graph.traversal().V().has("name", "marko").as("a").out("knows").as("b").has("name", "josh").path().next();
+
+        final ResponseMessage response = convert(p);
+        assertCommon(response);
+
+        final Path deserialized = (Path) response.getResult().getData();
+        assertEquals(p.labels(), deserialized.labels());
+        assertEquals(((Vertex) p.get("a")).id(), ((Vertex) deserialized.get("a")).id());
+        assertEquals(((Vertex) p.get("b")).id(), ((Vertex) deserialized.get("b")).id());
+    }
+
+    @Test
+    public void shouldSerializeTraverser() throws Exception {
+        final List<Object> traversers = Arrays.asList(new DefaultRemoteTraverser<>("marko", 2L), new DefaultRemoteTraverser<>(29, 1L));
+        final ResponseMessage response = convert(traversers);
+        assertCommon(response);
+
+        final List<Traverser<Object>> deserialized = (List<Traverser<Object>>) response.getResult().getData();
+        assertEquals(2, deserialized.size());
+        assertEquals("marko", deserialized.get(0).get());
+        assertEquals(2L, deserialized.get(0).bulk());
+        assertEquals(29, deserialized.get(1).get());
+        assertEquals(1L, deserialized.get(1).bulk());
+    }
+
+    @Test
+    public void shouldSerializeBulkSet() throws Exception {
+        final BulkSet<String> bulkSet = new BulkSet<>();
+        bulkSet.add("marko", 3);
+        bulkSet.add("josh", 1);
+
+        final ResponseMessage response = convert(bulkSet);
+        assertCommon(response);
+        assertEquals(bulkSet.asBulk(), ((BulkSet) response.getResult().getData()).asBulk());
+    }
+
+    @Test
+    public void shouldSerializeTree() throws Exception {
+        final Graph graph = TinkerFactory.createModern();
+        final Tree<?> tree = graph.traversal().V(1).out().out().tree().by("name").next();
+
+        final ResponseMessage response = convert(tree);
+        assertCommon(response);
+
+        final Tree<?> deserialized = (Tree<?>) response.getResult().getData();
+        assertEquals(tree, deserialized);
+        assertEquals(2, deserialized.getObjectsAtDepth(3).size());
+        assertThat(deserialized.get("marko"), instanceOf(Tree.class));
+    }
+
+    @Test
+    public void shouldSerializeTraversalMetrics() throws Exception {
+        final Graph graph = TinkerFactory.createModern();
+        final TraversalMetrics metrics = graph.traversal().V().out().values("name").profile().next();
+
+        final ResponseMessage response = convert(metrics);
+        assertCommon(response);
+
+        final TraversalMetrics deserialized = (TraversalMetrics) response.getResult().getData();
+        assertEquals(metrics.getDuration(TimeUnit.NANOSECONDS), deserialized.getDuration(TimeUnit.NANOSECONDS));
+        assertEquals(metrics.getMetrics().size(), deserialized.getMetrics().size());
+
+        final List<? extends Metrics> expected = new ArrayList<>(metrics.getMetrics());
+        final List<? extends Metrics> actual = new ArrayList<>(deserialized.getMetrics());
+        for (int ix = 0; ix < expected.size(); ix++) {
+            assertEquals(expected.get(ix).getId(), actual.get(ix).getId());
+            assertEquals(expected.get(ix).getName(), actual.get(ix).getName());
+            assertEquals(expected.get(ix).getDuration(TimeUnit.NANOSECONDS), actual.get(ix).getDuration(TimeUnit.NANOSECONDS));
+            assertEquals(expected.get(ix).getCounts(), actual.get(ix).getCounts());
+            assertEquals(expected.get(ix).getAnnotations(), actual.get(ix).getAnnotations());
+            assertEquals(expected.get(ix).getNested().size(), actual.get(ix).getNested().size());
+        }
+    }
+
+    @Test
+    public void shouldSerializeTraversalExplanation() throws Exception {
+        final Graph graph = TinkerFactory.createModern();
+        final TraversalExplanation explanation = graph.traversal().V().out().values("name").explain();
+
+        final ResponseMessage response = convert(explanation);
+        assertCommon(response);
+
+        final Map<String, Object> deserialized = (Map<String, Object>) response.getResult().getData();
+        final List<String> original = new ArrayList<>();
+        explanation.getOriginalTraversal().getSteps().forEach(step -> original.add(step.toString()));
+        assertEquals(original, deserialized.get("original"));
+
+        final List<Map<String, Object>> intermediate = (List<Map<String, Object>>) deserialized.get("intermediate");
+        assertEquals(explanation.getStrategyTraversals().size(), intermediate.size());
+        assertEquals(explanation.getStrategyTraversals().get(0).getValue0().toString(), intermediate.get(0).get("strategy"));
+        assertEquals(explanation.getStrategyTraversals().get(0).getValue0().getTraversalCategory().getSimpleName(), intermediate.get(0).get("category"));
+
+        final List<String> last = new ArrayList<>();
+        explanation.getStrategyTraversals().get(explanation.getStrategyTraversals().size() - 1).getValue1().getSteps().forEach(step -> last.add(step.toString()));
+        assertEquals(last, deserialized.get("final"));
+    }
+
+    @Test
+    public void shouldConfigureIoRegistry() throws Exception {
+        final GraphBinaryMessageSerializerV1d0 serializer = new GraphBinaryMessageSerializerV1d0();
+        final Map<String, Object> config = new HashMap<String, Object>() {{
+            put(AbstractMessageSerializer.TOKEN_IO_REGISTRIES, Arrays.asList(ColorIoRegistry.class.getName()));
+        }};
+        serializer.configure(config, null);
+
+        final ResponseMessage toSerialize = responseMessageBuilder.result(Arrays.asList(Color.RED, 1, new Color(1, 2, 3))).create();
+        final ResponseMessage deserialized = serializer.deserializeResponse(serializer.serializeResponseAsBinary(toSerialize, allocator));
+        assertEquals(Arrays.asList(Color.RED, 1, new Color(1, 2, 3)), deserialized.getResult().getData());
+
+        // without the registry there is nothing to read the type with
+        try {
+            this.serializer.deserializeResponse(serializer.serializeResponseAsBinary(toSerialize, allocator));
+            fail("Should have thrown an exception as the custom type is not registered");
+        } catch (SerializationException se) {
+            // ok
+        }
+    }
+
+    @Test
+    public void shouldSerializeRequestWithBytecode() throws Exception {
+        final GraphTraversalSource g = TinkerGraph.open().traversal().withoutStrategies(ReadOnlyStrategy.class);
+        final Bytecode bytecode = g.V().has("age", P.gt(30)).has("name", P.within("marko", "josh"))
+                .order().by("name", Order.decr).values("name").asAdmin().getBytecode();
+
+        final RequestMessage request = RequestMessage.build("bytecode").processor("traversal")
+                .addArg("gremlin", bytecode)
+                .addArg("aliases", new HashMap<String, String>() {{ put("g", "g"); }}).create();
+
+        final ByteBuf bb = serializer.serializeRequestAsBinary(request, allocator);
+        final int mimeLength = bb.readByte();
+        assertEquals(SerTokens.MIME_GRAPHBINARY_V1D0, bb.readSlice(mimeLength).toString(CharsetUtil.UTF_8));
+
+        final RequestMessage deserialized = serializer.deserializeRequest(bb);
+        assertEquals(request.getRequestId(), deserialized.getRequestId());
+        assertEquals("bytecode", deserialized.getOp());
+        assertEquals("traversal", deserialized.getProcessor());
+        assertEquals(request.getArgs().get("aliases"), deserialized.getArgs().get("aliases"));
+        assertEquals(bytecode, deserialized.getArgs().get("gremlin"));
+    }
+
+    @Test
+    public void shouldSerializeErrorResponse() throws Exception {
+        final ResponseMessage toSerialize = ResponseMessage.build(requestId)
+                .code(ResponseStatusCode.SERVER_ERROR)
+                .statusMessage("something went wrong")
+                .statusAttribute("exceptions", Arrays.asList("java.lang.IllegalStateException")).create();
+        final ResponseMessage deserialized = serializer.deserializeResponse(serializer.serializeResponseAsBinary(toSerialize, allocator));
+
+        assertEquals(requestId, deserialized.getRequestId());
+        assertEquals(ResponseStatusCode.SERVER_ERROR, deserialized.getStatus().getCode());
+        assertEquals("something went wrong", deserialized.getStatus().getMessage());
+        assertEquals(Arrays.asList("java.lang.IllegalStateException"), deserialized.getStatus().getAttributes().get("exceptions"));
+        assertNull(deserialized.getResult().getData());
+    }
+
+    @Test
+    public void shouldNotSerializeUnsupportedType() throws Exception {
+        try {
+            convert(new Object());
+            fail("Should have thrown an exception as there is no GraphBinary type for Object");
+        } catch (SerializationException se) {
+            // ok
+        }
+    }
+
+    public static class ColorIoRegistry extends AbstractIoRegistry {
+        public ColorIoRegistry() {
+            register(GraphBinaryIo.class, Color.class, new ColorSerializer());
+        }
+    }
+
+    public static class ColorSerializer implements CustomTypeSerializer<Color> {
+        @Override
+        public String getTypeName() {
+            return "test.Color";
+        }
+
+        @Override
+        public void write(final Color value, final ByteBuf buffer, final GraphBinaryWriter writer) {
+            buffer.writeInt(value.getRGB());
+        }
+
+        @Override
+        public Color read(final ByteBuf buffer, final GraphBinaryReader reader) {
+            return new Color(buffer.readInt(), true);
+        }
+    }
+
+    private void assertCommon(final ResponseMessage response) {
+        assertEquals(requestId, response.getRequestId());
+        assertEquals(ResponseStatusCode.SUCCESS, response.getStatus().getCode());
+    }
+
+    private ResponseMessage convert(final Object toSerialize) throws SerializationException {
+        final ByteBuf bb = serializer.serializeResponseAsBinary(responseMessageBuilder.result(toSerialize).create(), allocator);
+        return serializer.deserializeResponse(bb);
+    }
+}
@@ -18,6 +18,9 @@
  */
 package org.apache.tinkerpop.gremlin.driver.ser;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.CharsetUtil;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
@@ -51,8 +54,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -371,6 +377,27 @@ public class GraphSONMessageSerializerV1d0Test {
         SERIALIZER.deserializeRequest("{\"requestId\":\"%s\",\"op\":\"eval\",\"args\":{\"x\":\"y\"}}");
     }
 
+    @Test
+    public void shouldSerializeResponseAsBinaryLargerThanBufferSize() throws Exception {
+        final GraphSONMessageSerializerV1d0 serializer = new GraphSONMessageSerializerV1d0();
+        final Map<String, Object> config = new HashMap<String, Object>() {{
+            put(AbstractGraphSONMessageSerializerV1d0.TOKEN_BUFFER_SIZE, 16);
+        }};
+        serializer.configure(config, null);
+
+        final List<Integer> results = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        final ResponseMessage response = ResponseMessage.build(msg).result(results).create();
+
+        // the buffer grows past its initial size and holds the same json that would be written to a string
+        final ByteBuf bb = serializer.serializeResponseAsBinary(response, UnpooledByteBufAllocator.DEFAULT);
+        try {
+            assertEquals(serializer.serializeResponseAsString(response), bb.toString(CharsetUtil.UTF_8));
+            assertEquals(results, serializer.deserializeResponse(bb).getResult().getData());
+        } finally {
+            bb.release();
+        }
+    }
+
     @Test
     public void shouldSerializeFullResponseMessage() throws Exception {
         final UUID id = UUID.randomUUID();
@@ -25,8 +25,13 @@ import org.apache.tinkerpop.gremlin.jsr223.CachedGremlinScriptEngineManager;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinPlugin;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngineManager;
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.util.function.ThrowingFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -243,6 +248,35 @@ public class GremlinExecutor implements AutoCloseable {
 
         logger.debug("Preparing to evaluate script - {} - in thread [{}]", script, Thread.currentThread().getName());
 
+        return eval(script, boundVars, lifeCycle, bindings -> gremlinScriptEngineManager.getEngineByName(lang).eval(script, bindings));
+    }
+
+    /**
+     * Evaluate {@link Bytecode} into a {@link Traversal} spawned from a {@link TraversalSource} and allow for the
+     * submission of alteration to the entire evaluation execution lifecycle. The bytecode is subject to the same
+     * {@code scriptEvaluationTimeout} and lifecycle functions as a script. Bytecode that holds lambdas is
+     * translated by the script engine of the language the lambdas are written in and otherwise by the
+     * {@link JavaTranslator}.
+     *
+     * @param bytecode the bytecode to evaluate
+     * @param traversalSource the traversal source to spawn the traversal from
+     * @param lifeCycle a set of functions that can be applied at various stages of the evaluation process
+     */
+    public CompletableFuture<Object> eval(final Bytecode bytecode, final TraversalSource traversalSource, final LifeCycle lifeCycle) {
+        logger.debug("Preparing to evaluate bytecode - {} - in thread [{}]", bytecode, Thread.currentThread().getName());
+
+        final Bindings boundVars = new SimpleBindings();
+        boundVars.put("g", traversalSource);
+        return eval(bytecode.toString(), boundVars, lifeCycle, bindings -> {
+            final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
+            return lambdaLanguage.isPresent() ?
+                    eval(bytecode, bindings, lambdaLanguage.get()) :
+                    JavaTranslator.of(traversalSource).translate(bytecode);
+        });
+    }
+
+    private CompletableFuture<Object> eval(final String script, final Bindings boundVars, final LifeCycle lifeCycle,
+                                           final ThrowingFunction<Bindings, Object> evaluation) {
         final Bindings bindings = new SimpleBindings();
         bindings.putAll(globalBindings);
         bindings.putAll(boundVars);
@@ -282,8 +316,7 @@ public class GremlinExecutor implements AutoCloseable {
 
                 logger.debug("Evaluating script - {} - in thread [{}]", script, Thread.currentThread().getName());
 
-                // do this weirdo check until the now deprecated ScriptEngines is gutted
-                final Object o = gremlinScriptEngineManager.getEngineByName(lang).eval(script, bindings);
+                final Object o = evaluation.apply(bindings);
 
                 // apply a transformation before sending back the result - useful when trying to force serialization
                 // in the same thread that the eval took place given ThreadLocal nature of graphs as well as some
@@ -307,8 +340,9 @@ public class GremlinExecutor implements AutoCloseable {
                 final Throwable root = null == ex.getCause() ? ex : ExceptionUtils.getRootCause(ex);
 
                 // thread interruptions will typically come as the result of a timeout, so in those cases,
-                // check for that situation and convert to TimeoutException
-                if (root instanceof InterruptedException) {
+                // check for that situation and convert to TimeoutException. a traversal that is iterated in the
+                // transform notices the interruption between steps and raises it as its own exception
+                if (root instanceof InterruptedException || root instanceof TraversalInterruptedException) {
                     lifeCycle.getAfterTimeout().orElse(afterTimeout).accept(bindings);
                     evaluationFuture.completeExceptionally(new TimeoutException(
                             String.format("Script evaluation exceeded the configured 'scriptEvaluationTimeout' threshold of %s ms or evaluation was otherwise cancelled directly for request [%s]: %s", scriptEvalTimeOut, script, root.getMessage())));
@@ -463,6 +497,7 @@ public class GremlinExecutor implements AutoCloseable {
 
         private ExecutorService executorService = null;
         private ScheduledExecutorService scheduledExecutorService = null;
+        private boolean useVirtualThreads = false;
         private Consumer<Bindings> beforeEval = (b) -> {
         };
         private Consumer<Bindings> afterSuccess = (b) -> {
@@ -518,6 +553,16 @@ public class GremlinExecutor implements AutoCloseable {
             return this;
         }
 
+        /**
+         * When no {@link #executorService(ExecutorService)} is supplied, evaluate each script on its own virtual
+         * thread rather than on a pool of platform threads. This setting is ignored if the JVM does not support
+         * virtual threads. Timeouts are still scheduled on platform threads.
+         */
+        public Builder useVirtualThreads(final boolean useVirtualThreads) {
+            this.useVirtualThreads = useVirtualThreads;
+            return this;
+        }
+
         /**
          * The thread pool used to schedule timeouts on scripts.
          */
@@ -568,8 +613,11 @@ public class GremlinExecutor implements AutoCloseable {
             final AtomicBoolean suppliedScheduledExecutor = new AtomicBoolean(true);
 
             final ExecutorService es = Optional.ofNullable(executorService).orElseGet(() -> {
-                poolCreatedByBuilder.set(true);
                 suppliedExecutor.set(false);
+                if (useVirtualThreads && VirtualThreads.isSupported())
+                    return VirtualThreads.createThreadPerTaskExecutor("gremlin-executor-virtual-");
+
+                poolCreatedByBuilder.set(true);
                 return Executors.newScheduledThreadPool(4, threadFactory);
             });
             executorService = es;
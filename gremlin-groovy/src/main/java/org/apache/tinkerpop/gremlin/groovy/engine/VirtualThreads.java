@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.engine;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates executors that run their tasks on virtual threads when the JVM supports them. TinkerPop builds against
+ * Java 8 so the virtual thread API is looked up reflectively and {@link #isSupported()} should be checked before
+ * any of the factory methods are called.
+ */
+public final class VirtualThreads {
+
+    private static final Method ofVirtual;
+    private static final Method name;
+    private static final Method factory;
+    private static final Method newThreadPerTaskExecutor;
+
+    static {
+        Method ofVirtualMethod = null;
+        Method nameMethod = null;
+        Method factoryMethod = null;
+        Method newThreadPerTaskExecutorMethod = null;
+        try {
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+
+            // the builder returned is not a public class so its methods have to be called through the interface
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            nameMethod = builder.getMethod("name", String.class, long.class);
+            factoryMethod = builder.getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+            // virtual threads were a preview feature before Java 21 and calling this will throw unless preview
+            // features are enabled
+            ofVirtualMethod.invoke(null);
+        } catch (Exception ex) {
+            ofVirtualMethod = null;
+        }
+
+        ofVirtual = ofVirtualMethod;
+        name = nameMethod;
+        factory = factoryMethod;
+        newThreadPerTaskExecutor = newThreadPerTaskExecutorMethod;
+    }
+
+    private VirtualThreads() {}
+
+    /**
+     * Determines if the running JVM is able to create virtual threads.
+     */
+    public static boolean isSupported() {
+        return ofVirtual != null;
+    }
+
+    /**
+     * Creates a {@code ThreadFactory} that produces virtual threads named with the {@code prefix} followed by a
+     * counter.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public static ThreadFactory createThreadFactory(final String prefix) {
+        if (!isSupported())
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+
+        try {
+            return (ThreadFactory) factory.invoke(name.invoke(ofVirtual.invoke(null), prefix, 0L));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not create a factory for virtual threads", ex);
+        }
+    }
+
+    /**
+     * Creates an {@code ExecutorService} that starts a new virtual thread for each task it is given, so the number of
+     * tasks that can be running at once is not bound by a number of platform threads.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public static ExecutorService createThreadPerTaskExecutor(final String prefix) {
+        final ThreadFactory threadFactory = createThreadFactory(prefix);
+        try {
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not create an executor for virtual threads", ex);
+        }
+    }
+}
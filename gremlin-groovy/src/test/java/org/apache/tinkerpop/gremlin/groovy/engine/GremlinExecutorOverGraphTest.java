@@ -20,20 +20,31 @@ package org.apache.tinkerpop.gremlin.groovy.engine;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -110,4 +121,46 @@ public class GremlinExecutorOverGraphTest {
         iterationExecutor.shutdown();
         iterationExecutor.awaitTermination(30000, TimeUnit.MILLISECONDS);
     }
+
+    @Test
+    public void shouldEvalBytecode() throws Exception {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final AtomicBoolean successCalled = new AtomicBoolean(false);
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
+                .afterSuccess(b -> successCalled.set(true)).create();
+
+        final Bytecode bytecode = g.V().has("name", "marko").out("knows").values("name").asAdmin().getBytecode();
+        final Object names = gremlinExecutor.eval(bytecode, g, GremlinExecutor.LifeCycle.build()
+                .transformResult(o -> ((Traversal) o).toList()).create()).get();
+
+        assertEquals(2, ((List) names).size());
+        assertTrue(((List) names).containsAll(Arrays.asList("vadas", "josh")));
+        assertTrue(successCalled.get());
+        gremlinExecutor.close();
+    }
+
+    @Test
+    public void shouldTimeoutBytecode() throws Exception {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final AtomicBoolean successCalled = new AtomicBoolean(false);
+        final CountDownLatch timeOutCount = new CountDownLatch(1);
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build()
+                .scriptEvaluationTimeout(250)
+                .afterSuccess(b -> successCalled.set(true))
+                .afterTimeout(b -> timeOutCount.countDown()).create();
+
+        // the traversal is iterated while transforming the result so the timeout covers the whole of it
+        final Bytecode bytecode = g.inject(1).map(Lambda.function("Thread.sleep(1000);it.get()")).asAdmin().getBytecode();
+        try {
+            gremlinExecutor.eval(bytecode, g, GremlinExecutor.LifeCycle.build()
+                    .transformResult(o -> ((Traversal) o).toList()).create()).get();
+            fail("This traversal should have timed out with an exception");
+        } catch (Exception ex) {
+            assertEquals(TimeoutException.class, ex.getCause().getClass());
+        }
+
+        assertTrue(timeOutCount.await(2000, TimeUnit.MILLISECONDS));
+        assertFalse(successCalled.get());
+        gremlinExecutor.close();
+    }
 }
@@ -45,6 +45,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -60,6 +61,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -465,6 +467,48 @@ public class GremlinExecutorTest {
         executorService.awaitTermination(30000, TimeUnit.MILLISECONDS);
     }
 
+    @Test
+    public void shouldEvalOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build().useVirtualThreads(true).create();
+        final List<CompletableFuture<Object>> futures = IntStream.range(0, 1000)
+                .mapToObj(i -> gremlinExecutor.eval("Thread.sleep(100);Thread.currentThread().getName()"))
+                .collect(Collectors.toList());
+
+        for (CompletableFuture<Object> f : futures) {
+            assertThat(f.get(30000, TimeUnit.MILLISECONDS).toString().startsWith("gremlin-executor-virtual-"), is(true));
+        }
+
+        gremlinExecutor.close();
+    }
+
+    @Test
+    public void shouldEvalOnPlatformThreadsWhenVirtualThreadsAreNotSupported() throws Exception {
+        // runs on every JVM - where virtual threads are missing the builder has to fall back to its default pool
+        final String expectedPrefix = VirtualThreads.isSupported() ? "gremlin-executor-virtual-" : "gremlin-executor-default-";
+
+        final GremlinExecutor gremlinExecutor = GremlinExecutor.build().useVirtualThreads(true).create();
+        final List<CompletableFuture<Object>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> gremlinExecutor.eval("Thread.currentThread().getName()"))
+                .collect(Collectors.toList());
+
+        for (CompletableFuture<Object> f : futures) {
+            assertThat(f.get(30000, TimeUnit.MILLISECONDS).toString().startsWith(expectedPrefix), is(true));
+        }
+
+        gremlinExecutor.close();
+
+        if (!VirtualThreads.isSupported()) {
+            try {
+                VirtualThreads.createThreadPerTaskExecutor("gremlin-executor-virtual-");
+                fail("Should have thrown as virtual threads are not supported");
+            } catch (Exception ex) {
+                assertThat(ex, instanceOf(UnsupportedOperationException.class));
+            }
+        }
+    }
+
     @Test
     public void shouldInitializeWithScript() throws Exception {
         final Map<String, Map<String,Object>> config = new HashMap<>();
@@ -93,6 +93,24 @@ class VertexProgramStrategy(TraversalStrategy):
 # FINALIZATION STRATEGIES #
 ###########################
 
+class AdaptiveBarrierStrategy(TraversalStrategy):
+    def __init__(self, min_barrier_size=None, max_barrier_size=None, barrier_budget=None):
+        TraversalStrategy.__init__(self)
+        if min_barrier_size is not None:
+            self.configuration["minBarrierSize"] = min_barrier_size
+        if max_barrier_size is not None:
+            self.configuration["maxBarrierSize"] = max_barrier_size
+        if barrier_budget is not None:
+            self.configuration["barrierBudget"] = barrier_budget
+
+
+class BatchStrategy(TraversalStrategy):
+    def __init__(self, batch_size=None):
+        TraversalStrategy.__init__(self)
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
 class MatchAlgorithmStrategy(TraversalStrategy):
     def __init__(self, match_algorithm=None):
         TraversalStrategy.__init__(self)
@@ -22,6 +22,8 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import io.netty.channel.ChannelHandlerContext;
 
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -36,22 +38,39 @@ public final class Context {
     private final GraphManager graphManager;
     private final GremlinExecutor gremlinExecutor;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final ExecutorService serializationExecutorService;
 
     public Context(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                    final Settings settings, final GraphManager graphManager,
                    final GremlinExecutor gremlinExecutor, final ScheduledExecutorService scheduledExecutorService) {
+        this(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService, null);
+    }
+
+    public Context(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
+                   final Settings settings, final GraphManager graphManager,
+                   final GremlinExecutor gremlinExecutor, final ScheduledExecutorService scheduledExecutorService,
+                   final ExecutorService serializationExecutorService) {
         this.requestMessage = requestMessage;
         this.channelHandlerContext = ctx;
         this.settings = settings;
         this.graphManager = graphManager;
         this.gremlinExecutor = gremlinExecutor;
         this.scheduledExecutorService = scheduledExecutorService;
+        this.serializationExecutorService = serializationExecutorService;
     }
 
     public ScheduledExecutorService getScheduledExecutorService() {
         return scheduledExecutorService;
     }
 
+    /**
+     * Gets the pool that serializes batches of results if one is configured by way of
+     * {@link Settings#serializationPool}.
+     */
+    public Optional<ExecutorService> getSerializationExecutorService() {
+        return Optional.ofNullable(serializationExecutorService);
+    }
+
     /**
      * Gets the current request to Gremlin Server.
      */
@@ -130,9 +130,15 @@ public class GremlinServer {
             final ServerBootstrap b = new ServerBootstrap();
 
             // when high value is reached then the channel becomes non-writable and stays like that until the
-            // low value is so that there is time to recover
-            b.childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, settings.writeBufferHighWaterMark);
-            b.childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, settings.writeBufferLowWaterMark);
+            // low value is so that there is time to recover. netty validates each value against the current value
+            // of the other so a low value below the default low has to be set before the high value
+            if (settings.writeBufferLowWaterMark < 32 * 1024) {
+                b.childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, settings.writeBufferLowWaterMark);
+                b.childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, settings.writeBufferHighWaterMark);
+            } else {
+                b.childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, settings.writeBufferHighWaterMark);
+                b.childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, settings.writeBufferLowWaterMark);
+            }
             b.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
 
             // fire off any lifecycle scripts that were provided by the user. hooks get initialized during
@@ -237,6 +243,15 @@ public class GremlinServer {
             logger.debug("Shutdown Gremlin thread pool.");
         }
 
+        final ExecutorService serializationExecutorService = serverGremlinExecutor.getSerializationExecutorService();
+        if (serializationExecutorService != null) {
+            try {
+                serializationExecutorService.shutdown();
+            } finally {
+                logger.debug("Shutdown serialization thread pool.");
+            }
+        }
+
         try {
             workerGroup.shutdownGracefully().addListener((GenericFutureListener) f -> servicesLeftToShutdown.countDown());
         } finally {
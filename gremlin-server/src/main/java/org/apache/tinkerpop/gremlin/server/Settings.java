@@ -90,6 +90,20 @@ public class Settings {
      */
     public int gremlinPool = 0;
 
+    /**
+     * Size of the thread pool that serializes batches of results. When set above 0, a batch of results is detached
+     * and handed to this pool to be serialized while the Gremlin thread iterates the next batch. Defaults to a
+     * setting of 0 which serializes results on the Gremlin thread that iterated them.
+     */
+    public int serializationPool = 0;
+
+    /**
+     * When set to {@code true} and the JVM supports virtual threads, scripts and traversals are evaluated on a new
+     * virtual thread per request rather than on the {@link #gremlinPool}, and each session evaluates its requests on
+     * a single virtual thread of its own rather than a platform thread. Defaults to {@code false}.
+     */
+    public boolean useVirtualThreads = false;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -117,6 +131,13 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * When set to {@code true}, the HTTP endpoint writes its responses with chunked transfer encoding as a JSON array
+     * of response messages, one for each batch of {@link #resultIterationBatchSize} results, rather than as a single
+     * response message holding all of the results. Defaults to {@code false}.
+     */
+    public boolean streamHttpResponses = false;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -209,6 +230,11 @@ public class Settings {
 
     public AuthenticationSettings authentication = new AuthenticationSettings();
 
+    /**
+     * Configures the limits on the requests each user and traversal source may have in progress at once.
+     */
+    public AdmissionSettings admission = new AdmissionSettings();
+
     /**
      * Custom settings for {@link OpProcessor} implementations. Implementations are loaded via
      * {@link ServiceLoader} but custom configurations can be supplied through this configuration.
@@ -280,6 +306,9 @@ public class Settings {
         final TypeDescription authenticationSettings = new TypeDescription(AuthenticationSettings.class);
         constructor.addTypeDescription(authenticationSettings);
 
+        final TypeDescription admissionSettings = new TypeDescription(AdmissionSettings.class);
+        constructor.addTypeDescription(admissionSettings);
+
         final TypeDescription serverMetricsDescription = new TypeDescription(ServerMetrics.class);
         constructor.addTypeDescription(serverMetricsDescription);
 
@@ -421,6 +450,41 @@ public class Settings {
         public Map<String, Object> config = null;
     }
 
+    /**
+     * Settings for admission control which limits the requests that evaluate Gremlin that each user and traversal
+     * source may have in progress at once.
+     */
+    public static class AdmissionSettings {
+        /**
+         * Enables admission control along with the metrics it reports for each user and traversal source.
+         */
+        public boolean enabled = false;
+
+        /**
+         * The number of requests a single user may have in progress at once where the user is the one that
+         * authenticated on the connection. Set to zero for no limit.
+         */
+        public int maxInFlightPerUser = 0;
+
+        /**
+         * The number of requests that may be in progress at once against a single traversal source as named by the
+         * "g" alias of the request. Set to zero for no limit.
+         */
+        public int maxInFlightPerTraversalSource = 0;
+
+        /**
+         * The number of requests from a single user that may wait for their turn once a limit is reached. Requests
+         * past this number are rejected. Defaults to zero which rejects requests as soon as a limit is reached.
+         */
+        public int maxQueuedPerUser = 0;
+
+        /**
+         * The time in milliseconds a request may wait for its turn before it is rejected. Set to zero to wait
+         * without a limit.
+         */
+        public long maxQueueTime = 30000;
+    }
+
     /**
      * Settings to configure SSL support.
      */
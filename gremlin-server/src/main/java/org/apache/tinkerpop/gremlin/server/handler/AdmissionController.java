@@ -0,0 +1,374 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Limits the number of requests that each user and each traversal source may have in progress at once so that the
+ * expensive requests of one tenant cannot take every thread of the {@code gremlinPool}. A request past a limit
+ * waits in a queue for its turn if the user has room in the queue and is otherwise rejected with
+ * {@link ResponseStatusCode#TOO_MANY_REQUESTS}. A request that waits for longer than the
+ * {@link Settings.AdmissionSettings#maxQueueTime} is rejected in the same way.
+ * <p/>
+ * A request is in progress from the time it is admitted until its final response is written. The in-flight and
+ * queued requests, the time spent queued, the CPU time spent iterating results and the rejections of each user and
+ * traversal source are reported through the {@link MetricManager}.
+ */
+public final class AdmissionController {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private static final Counter queuedCounter = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "admission", "queued"));
+    private static final Meter rejectedMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "admission", "rejected"));
+    private static final Timer queueTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "admission", "queue"));
+
+    private final Settings.AdmissionSettings settings;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    // all the state below is guarded by this controller
+    private final Map<String, Integer> inFlightByUser = new HashMap<>();
+    private final Map<String, Integer> inFlightBySource = new HashMap<>();
+    private final Map<String, Integer> queuedByUser = new HashMap<>();
+    private final LinkedList<Pending> pending = new LinkedList<>();
+
+    public AdmissionController(final Settings.AdmissionSettings settings,
+                               final ScheduledExecutorService scheduledExecutorService) {
+        this.settings = settings;
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
+    /**
+     * Determines if a request is subject to admission control. Only requests that evaluate Gremlin are, so that
+     * requests which close sessions or read side-effects are never held behind them.
+     */
+    public static boolean isAdmissible(final RequestMessage msg) {
+        return msg.getOp().equals(Tokens.OPS_EVAL) || msg.getOp().equals(Tokens.OPS_BYTECODE);
+    }
+
+    /**
+     * Runs the {@code dispatch} for the request now if the user and traversal source are within their limits, runs
+     * it later once they are if there is room for it in the queue and otherwise writes back a rejection.
+     */
+    public void admit(final ChannelHandlerContext ctx, final RequestMessage msg, final Runnable dispatch) {
+        final Ticket ticket = new Ticket(this, ctx.channel(), msg.getRequestId(), userOf(ctx.channel()), sourceOf(msg));
+
+        final Pending queued;
+        synchronized (this) {
+            // a request may not go ahead of those from the same user that are already waiting
+            if (getOrZero(queuedByUser, ticket.user) == 0 && canRun(ticket)) {
+                start(ticket);
+                queued = null;
+            } else if (getOrZero(queuedByUser, ticket.user) < settings.maxQueuedPerUser) {
+                queued = new Pending(ticket, ctx, msg, dispatch);
+                pending.add(queued);
+                increment(queuedByUser, ticket.user);
+                queuedCounter.inc();
+                userCounter(ticket.user, "queued").inc();
+            } else {
+                reject(ctx, msg, ticket, "the limit of requests in progress has been reached");
+                return;
+            }
+        }
+
+        if (null == queued) {
+            // the channel may have closed after the ticket was registered but before releaseAll() could see it
+            if (!ctx.channel().isActive())
+                release(ctx.channel(), ticket.requestId);
+            else
+                dispatch.run();
+        } else if (settings.maxQueueTime > 0) {
+            queued.timeout = scheduledExecutorService.schedule(() -> expire(queued), settings.maxQueueTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Marks the request as no longer in progress so that waiting requests may be started. Releasing a request that
+     * is not in progress does nothing.
+     */
+    public static void release(final Channel channel, final UUID requestId) {
+        final Ticket ticket = tickets(channel).remove(requestId);
+        if (ticket != null) ticket.controller.finish(ticket);
+    }
+
+    /**
+     * Releases every request in progress on the channel, which is needed when the channel closes as the final
+     * responses for them may never be written.
+     */
+    public static void releaseAll(final Channel channel) {
+        new ArrayList<>(tickets(channel).keySet()).forEach(requestId -> release(channel, requestId));
+    }
+
+    /**
+     * Adds the CPU time the current thread spent since {@code startCpuTime} to the request in progress.
+     *
+     * @param startCpuTime the value of {@link #currentThreadCpuTime()} taken on the current thread
+     */
+    public static void recordCpuTime(final Channel channel, final UUID requestId, final long startCpuTime) {
+        final Ticket ticket = tickets(channel).get(requestId);
+        if (ticket != null && startCpuTime >= 0) ticket.addCpuTime(currentThreadCpuTime() - startCpuTime);
+    }
+
+    /**
+     * Gets the CPU time of the current thread in nanoseconds or {@code -1} if the JVM does not measure it.
+     */
+    public static long currentThreadCpuTime() {
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private void finish(final Ticket ticket) {
+        final List<Pending> started = new ArrayList<>();
+        synchronized (this) {
+            decrement(inFlightByUser, ticket.user);
+            userCounter(ticket.user, "inFlight").dec();
+            ticket.source.ifPresent(source -> {
+                decrement(inFlightBySource, source);
+                sourceCounter(source, "inFlight").dec();
+            });
+
+            // the requests of a user start in the order they were queued so once one of them can't run (e.g. because
+            // its traversal source is busy) the later ones from that user have to keep waiting behind it
+            final Set<String> blockedUsers = new HashSet<>();
+            final Iterator<Pending> itty = pending.iterator();
+            while (itty.hasNext()) {
+                final Pending p = itty.next();
+                if (!p.ctx.channel().isActive()) {
+                    itty.remove();
+                    dequeue(p);
+                } else if (blockedUsers.contains(p.ticket.user)) {
+                    continue;
+                } else if (canRun(p.ticket)) {
+                    itty.remove();
+                    dequeue(p);
+                    start(p.ticket);
+                    started.add(p);
+                } else {
+                    blockedUsers.add(p.ticket.user);
+                }
+            }
+        }
+
+        final long cpuTime = ticket.cpuTime;
+        if (cpuTime > 0) {
+            userTimer(ticket.user, "cpu").update(cpuTime, TimeUnit.NANOSECONDS);
+            ticket.source.ifPresent(source -> sourceTimer(source, "cpu").update(cpuTime, TimeUnit.NANOSECONDS));
+        }
+
+        // the requests are dispatched on the event loop of their channel as they would have been had they not waited
+        started.forEach(p -> {
+            if (p.timeout != null) p.timeout.cancel(false);
+            final long queuedTime = System.nanoTime() - p.queuedAt;
+            queueTimer.update(queuedTime, TimeUnit.NANOSECONDS);
+            userTimer(p.ticket.user, "queue").update(queuedTime, TimeUnit.NANOSECONDS);
+
+            // the channel may have closed since it was checked above, in which case releaseAll() may have run
+            // before the ticket was registered
+            if (!p.ctx.channel().isActive())
+                release(p.ticket.channel, p.ticket.requestId);
+            else
+                p.ctx.executor().execute(p.dispatch);
+        });
+    }
+
+    private void expire(final Pending p) {
+        synchronized (this) {
+            if (!pending.remove(p)) return;
+            dequeue(p);
+            reject(p.ctx, p.msg, p.ticket, String.format("the request waited more than %s ms to start", settings.maxQueueTime));
+        }
+    }
+
+    private boolean canRun(final Ticket ticket) {
+        if (settings.maxInFlightPerUser > 0 && getOrZero(inFlightByUser, ticket.user) >= settings.maxInFlightPerUser)
+            return false;
+
+        return !(ticket.source.isPresent() && settings.maxInFlightPerTraversalSource > 0 &&
+                getOrZero(inFlightBySource, ticket.source.get()) >= settings.maxInFlightPerTraversalSource);
+    }
+
+    /**
+     * Counts the request as in progress and registers it with its channel in the same critical section, so that
+     * there is no point at which it is counted but {@link #releaseAll(Channel)} can't find it.
+     */
+    private void start(final Ticket ticket) {
+        register(ticket);
+        increment(inFlightByUser, ticket.user);
+        userCounter(ticket.user, "inFlight").inc();
+        ticket.source.ifPresent(source -> {
+            increment(inFlightBySource, source);
+            sourceCounter(source, "inFlight").inc();
+        });
+    }
+
+    private void dequeue(final Pending p) {
+        decrement(queuedByUser, p.ticket.user);
+        queuedCounter.dec();
+        userCounter(p.ticket.user, "queued").dec();
+    }
+
+    private static void reject(final ChannelHandlerContext ctx, final RequestMessage msg, final Ticket ticket,
+                               final String reason) {
+        rejectedMeter.mark();
+        MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "admission", "user", ticket.user, "rejected")).mark();
+        ticket.source.ifPresent(source ->
+                MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "admission", "source", source, "rejected")).mark());
+
+        final String errorMessage = String.format("Request [%s] for user [%s] was rejected as %s", msg, ticket.user, reason);
+        logger.warn(errorMessage);
+        ctx.writeAndFlush(ResponseMessage.build(msg)
+                .code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                .statusMessage(errorMessage).create());
+    }
+
+    private static void register(final Ticket ticket) {
+        tickets(ticket.channel).put(ticket.requestId, ticket);
+    }
+
+    private static String userOf(final Channel channel) {
+        final AuthenticatedUser user = channel.attr(StateKey.AUTHENTICATED_USER).get();
+        return null == user ? AuthenticatedUser.ANONYMOUS_USERNAME : user.getName();
+    }
+
+    /**
+     * The traversal source of a request is the one aliased to "g" or else the first one it aliases. A request
+     * without aliases is only counted against the limit of its user.
+     */
+    private static Optional<String> sourceOf(final RequestMessage msg) {
+        final Optional<Map<String, String>> aliases = msg.optionalArgs(Tokens.ARGS_ALIASES);
+        if (!aliases.isPresent() || aliases.get().isEmpty()) return Optional.empty();
+        final Map<String, String> a = aliases.get();
+        return Optional.of(a.containsKey("g") ? a.get("g") : a.values().iterator().next());
+    }
+
+    private static ConcurrentMap<UUID, Ticket> tickets(final Channel channel) {
+        final ConcurrentMap<UUID, Ticket> tickets = channel.attr(StateKey.ADMISSION_TICKETS).get();
+        if (tickets != null) return tickets;
+        final ConcurrentMap<UUID, Ticket> created = new ConcurrentHashMap<>();
+        final ConcurrentMap<UUID, Ticket> existing = channel.attr(StateKey.ADMISSION_TICKETS).setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    private static Counter userCounter(final String user, final String metric) {
+        return MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "admission", "user", user, metric));
+    }
+
+    private static Counter sourceCounter(final String source, final String metric) {
+        return MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "admission", "source", source, metric));
+    }
+
+    private static Timer userTimer(final String user, final String metric) {
+        return MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "admission", "user", user, metric));
+    }
+
+    private static Timer sourceTimer(final String source, final String metric) {
+        return MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "admission", "source", source, metric));
+    }
+
+    private static int getOrZero(final Map<String, Integer> counts, final String key) {
+        return counts.getOrDefault(key, 0);
+    }
+
+    private static void increment(final Map<String, Integer> counts, final String key) {
+        counts.merge(key, 1, Integer::sum);
+    }
+
+    private static void decrement(final Map<String, Integer> counts, final String key) {
+        // drop the key when it reaches zero so that users and sources that come and go are not held forever
+        counts.computeIfPresent(key, (k, v) -> v > 1 ? v - 1 : null);
+    }
+
+    /**
+     * A request that has been admitted and is in progress.
+     */
+    static final class Ticket {
+        private final AdmissionController controller;
+        private final Channel channel;
+        private final UUID requestId;
+        private final String user;
+        private final Optional<String> source;
+        private volatile long cpuTime = 0;
+
+        private Ticket(final AdmissionController controller, final Channel channel, final UUID requestId,
+                       final String user, final Optional<String> source) {
+            this.controller = controller;
+            this.channel = channel;
+            this.requestId = requestId;
+            this.user = user;
+            this.source = source;
+        }
+
+        private synchronized void addCpuTime(final long nanos) {
+            cpuTime += nanos;
+        }
+    }
+
+    /**
+     * A request that is waiting for its user and traversal source to be within their limits.
+     */
+    private static final class Pending {
+        private final Ticket ticket;
+        private final ChannelHandlerContext ctx;
+        private final RequestMessage msg;
+        private final Runnable dispatch;
+        private final long queuedAt = System.nanoTime();
+        private volatile ScheduledFuture<?> timeout;
+
+        private Pending(final Ticket ticket, final ChannelHandlerContext ctx, final RequestMessage msg,
+                        final Runnable dispatch) {
+            this.ticket = ticket;
+            this.ctx = ctx;
+            this.msg = msg;
+            this.dispatch = dispatch;
+        }
+    }
+}
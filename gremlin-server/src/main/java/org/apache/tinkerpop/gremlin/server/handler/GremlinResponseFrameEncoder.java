@@ -56,6 +56,10 @@ public class GremlinResponseFrameEncoder extends MessageToMessageEncoder<Respons
         final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
         final Session session = ctx.channel().attr(StateKey.SESSION).get();
 
+        // every status but partial content ends the request
+        if (o.getStatus().getCode() != ResponseStatusCode.PARTIAL_CONTENT)
+            AdmissionController.release(ctx.channel(), o.getRequestId());
+
         try {
             if (!o.getStatus().getCode().isSuccess())
                 errorMeter.mark();
@@ -27,25 +27,34 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.util.function.FunctionUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.util.CharsetUtil;
@@ -62,7 +71,6 @@ import org.slf4j.LoggerFactory;
 import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -72,7 +80,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -101,7 +111,6 @@ import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
     private static final Logger logger = LoggerFactory.getLogger(HttpGremlinEndpointHandler.class);
     private static final Logger auditLogger = LoggerFactory.getLogger(GremlinServer.AUDIT_LOGGER_NAME);
-    private static final Charset UTF8 = Charset.forName("UTF-8");
     static final Meter errorMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "errors"));
 
     private static final String ARGS_BINDINGS_DOT = Tokens.ARGS_BINDINGS + ".";
@@ -126,6 +135,13 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
      */
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    /**
+     * Reads bytecode submitted in place of a script.
+     */
+    private static final ObjectMapper bytecodeMapper = GraphSONMapper.build().version(GraphSONVersion.V2_0).create().createMapper();
+
+    private static final byte[] CLOSE_ARRAY = new byte[] { ']' };
+
     private final GremlinExecutor gremlinExecutor;
     private final GraphManager graphManager;
     private final Settings settings;
@@ -163,7 +179,7 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 return;
             }
 
-            final Quartet<String, Map<String, Object>, String, Map<String, String>> requestArguments;
+            final Quartet<Object, Map<String, Object>, String, Map<String, String>> requestArguments;
             try {
                 requestArguments = getRequestArguments(req);
             } catch (IllegalArgumentException iae) {
@@ -198,8 +214,9 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 final AtomicReference<Object> resultHolder = new AtomicReference<>();
                 promise.addListener(future -> {
                     // if failed then the error was already written back to the client as part of the eval future
-                    // processing of the exception
-                    if (future.isSuccess()) {
+                    // processing of the exception. a streamed response has already been written by the time the
+                    // promise completes so there is nothing left to hold
+                    if (future.isSuccess() && resultHolder.get() != null) {
                         logger.debug("Preparing HTTP response for request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                 requestArguments.getValue0(), requestArguments.getValue1(), resultHolder.get(), Thread.currentThread().getName());
                         final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, (ByteBuf) resultHolder.get());
@@ -218,6 +235,19 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                     }
                 });
 
+                // bytecode is always spawned from the one traversal source it is aliased to
+                final TraversalSource g;
+                if (requestArguments.getValue0() instanceof Bytecode) {
+                    g = graphManager.getTraversalSource(requestArguments.getValue3().values().iterator().next());
+                    if (null == g) {
+                        sendError(ctx, BAD_REQUEST, String.format("Bytecode must be aliased to a TraversalSource but [%s] is not one",
+                                requestArguments.getValue3().values().iterator().next()));
+                        return;
+                    }
+                } else {
+                    g = null;
+                }
+
                 final Timer.Context timerContext = evalOpTimer.time();
 
                 final Bindings bindings;
@@ -229,36 +259,68 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                     return;
                 }
 
+                // once a streamed response has started its status has been sent so errors after that point go into
+                // its body rather than into a response of their own
+                final AtomicBoolean responseStarted = new AtomicBoolean(false);
+
                 // provide a transform function to serialize to message - this will force serialization to occur
                 // in the same thread as the eval. after the CompletableFuture is returned from the eval the result
                 // is ready to be written as a ByteBuf directly to the response.  nothing should be blocking here.
-                final CompletableFuture<Object> evalFuture = gremlinExecutor.eval(requestArguments.getValue0(), requestArguments.getValue2(), bindings,
-                        FunctionUtils.wrapFunction(o -> {
-                            // stopping the timer here is roughly equivalent to where the timer would have been stopped for
-                            // this metric in other contexts.  we just want to measure eval time not serialization time.
-                            timerContext.stop();
-
-                            logger.debug("Transforming result of request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
-                                    requestArguments.getValue0(), requestArguments.getValue1(), o, Thread.currentThread().getName());
-                            final ResponseMessage responseMessage = ResponseMessage.build(UUID.randomUUID())
-                                    .code(ResponseStatusCode.SUCCESS)
-                                    .result(IteratorUtils.asList(o)).create();
-
-                            // http server is sessionless and must handle commit on transactions. the commit occurs
-                            // before serialization to be consistent with how things work for websocket based
-                            // communication.  this means that failed serialization does not mean that you won't get
-                            // a commit to the database
-                            attemptCommit(requestArguments.getValue3(), graphManager, settings.strictTransactionManagement);
-
-                            try {
-                                return Unpooled.wrappedBuffer(serializer.getValue1().serializeResponseAsString(responseMessage).getBytes(UTF8));
-                            } catch (Exception ex) {
-                                logger.warn(String.format("Error during serialization for %s", responseMessage), ex);
-                                throw ex;
-                            }
-                        }));
+                // when streaming, the transform writes the response itself as the results are iterated
+                final Function<Object, Object> transform = FunctionUtils.wrapFunction(o -> {
+                    // stopping the timer here is roughly equivalent to where the timer would have been stopped for
+                    // this metric in other contexts.  we just want to measure eval time not serialization time.
+                    timerContext.stop();
+
+                    logger.debug("Transforming result of request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
+                            requestArguments.getValue0(), requestArguments.getValue1(), o, Thread.currentThread().getName());
+
+                    if (settings.streamHttpResponses) {
+                        streamResponse(ctx, IteratorUtils.asIterator(o), serializer, requestArguments.getValue3(), origin,
+                                keepAlive, responseStarted);
+                        return null;
+                    }
+
+                    final ResponseMessage responseMessage = ResponseMessage.build(UUID.randomUUID())
+                            .code(ResponseStatusCode.SUCCESS)
+                            .result(IteratorUtils.asList(o)).create();
+
+                    // http server is sessionless and must handle commit on transactions. the commit occurs
+                    // before serialization to be consistent with how things work for websocket based
+                    // communication.  this means that failed serialization does not mean that you won't get
+                    // a commit to the database
+                    attemptCommit(requestArguments.getValue3(), graphManager, settings.strictTransactionManagement);
+
+                    // serialize straight to a buffer from the channel allocator rather than building a string and
+                    // then copying its bytes
+                    try {
+                        return serializer.getValue1().serializeResponseAsBinary(responseMessage, ctx.alloc());
+                    } catch (Exception ex) {
+                        logger.warn(String.format("Error during serialization for %s", responseMessage), ex);
+                        throw ex;
+                    }
+                });
+
+                // a request over http is not checked to be read-only so the result cache is dropped on both sides
+                // of it just as it is for scripts submitted over websockets
+                TraversalOpProcessor.invalidateResultCache();
+
+                // bytecode goes through the GremlinExecutor just as a script does so that it gets the same timeout
+                // and the same lifecycle hooks that roll back the transaction on failure
+                final CompletableFuture<Object> evalFuture = null == g ?
+                        gremlinExecutor.eval((String) requestArguments.getValue0(), requestArguments.getValue2(), bindings, transform) :
+                        gremlinExecutor.eval((Bytecode) requestArguments.getValue0(), g,
+                                GremlinExecutor.LifeCycle.build().transformResult(transform).create());
+
+                evalFuture.whenComplete((r, t) -> TraversalOpProcessor.invalidateResultCache());
 
                 evalFuture.exceptionally(t -> {		
+                    // a streamed response that started already ends with the error as its last message
+                    if (responseStarted.get()) {
+                        promise.setFailure(t);
+                        return null;
+                    }
+
 					if (t.getMessage() != null)
 						sendError(ctx, INTERNAL_SERVER_ERROR, t.getMessage(), Optional.of(t));
 					else
@@ -282,6 +344,20 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        // wake any worker that paused streaming results because the client was not keeping up
+        if (ctx.channel().isWritable()) WritabilityMonitor.of(ctx.channel()).signal();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // wake any worker that is waiting to stream results to a client that is now gone
+        WritabilityMonitor.of(ctx.channel()).signal();
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
         logger.error("Error processing HTTP Request", cause);
@@ -323,6 +399,101 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         return bindings;
     }
 
+    /**
+     * Writes the results as a chunked HTTP response holding a JSON array of response messages, one for each
+     * {@link Settings#resultIterationBatchSize} results, so that the whole result never has to be held in memory.
+     * All messages but the last have a {@link ResponseStatusCode#PARTIAL_CONTENT} status. The worker waits for the
+     * channel to drain whenever the client falls behind. An error that occurs once the response has started is
+     * written as the last message of the array, the transaction is rolled back, the connection is closed and the
+     * error is rethrown so that the evaluation fails as it would have had the response not been streamed.
+     *
+     * @param started set once the response status has been written
+     */
+    private void streamResponse(final ChannelHandlerContext ctx, final Iterator itty,
+                                final Pair<String, MessageTextSerializer> serializer,
+                                final Map<String, String> aliases, final String origin,
+                                final boolean keepAlive, final AtomicBoolean started) throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        final int resultIterationBatchSize = settings.resultIterationBatchSize;
+        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+
+        try {
+            // a first empty batch still gets a message so that the array always ends with a success status
+            boolean hasMore = itty.hasNext();
+            do {
+                while (hasMore && aggregate.size() < resultIterationBatchSize) {
+                    aggregate.add(itty.next());
+                    hasMore = itty.hasNext();
+                }
+
+                // commit before the final message just as a response that is not streamed commits before it is
+                // serialized
+                if (!hasMore) attemptCommit(aliases, graphManager, settings.strictTransactionManagement);
+
+                final ResponseMessage responseMessage = ResponseMessage.build(requestId)
+                        .code(hasMore ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS)
+                        .result(aggregate).create();
+                final ByteBuf chunk = serializeChunk(ctx, serializer.getValue1(), responseMessage, started.get() ? ',' : '[');
+
+                if (!started.get()) {
+                    final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+                    response.headers().set(CONTENT_TYPE, serializer.getValue0());
+                    response.headers().set(TRANSFER_ENCODING, HttpHeaders.Values.CHUNKED);
+                    if (origin != null) response.headers().set(ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+                    if (keepAlive) response.headers().set(CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+                    ctx.write(response);
+                    started.set(true);
+                }
+
+                ctx.writeAndFlush(new DefaultHttpContent(chunk));
+                aggregate = new ArrayList<>(resultIterationBatchSize);
+
+                // since the client is lagging we hold here until the channel drains. this isn't blocking the IO
+                // thread - just a worker
+                while (hasMore && !ctx.channel().isWritable()) {
+                    if (!ctx.channel().isActive())
+                        throw new IllegalStateException("The client closed the connection before all results were written");
+                    WritabilityMonitor.of(ctx.channel()).awaitWritable(ctx.channel(), 1000);
+                }
+            } while (hasMore);
+        } catch (Exception ex) {
+            // before the response has started the error goes back through the eval future like any other
+            if (!started.get()) throw ex;
+
+            logger.warn(String.format("Error while streaming the HTTP response for request [%s]", requestId), ex);
+            errorMeter.mark();
+
+            // the results written so far may have come from changes that must not be committed now
+            attemptRollback(aliases, graphManager, settings.strictTransactionManagement);
+
+            final ResponseMessage error = ResponseMessage.build(requestId)
+                    .code(ResponseStatusCode.SERVER_ERROR)
+                    .statusMessage(null == ex.getMessage() ? ex.getClass().getName() : ex.getMessage())
+                    .statusAttributeException(ex).create();
+            ctx.write(new DefaultHttpContent(serializeChunk(ctx, serializer.getValue1(), error, ',')));
+            ctx.writeAndFlush(new DefaultLastHttpContent(Unpooled.wrappedBuffer(CLOSE_ARRAY)))
+                    .addListener(ChannelFutureListener.CLOSE);
+            throw ex;
+        }
+
+        final ChannelFuture f = ctx.writeAndFlush(new DefaultLastHttpContent(Unpooled.wrappedBuffer(CLOSE_ARRAY)));
+        if (!keepAlive) f.addListener(ChannelFutureListener.CLOSE);
+    }
+
+    private static ByteBuf serializeChunk(final ChannelHandlerContext ctx, final MessageTextSerializer serializer,
+                                          final ResponseMessage responseMessage, final char separator) throws Exception {
+        final ByteBuf message;
+        try {
+            message = serializer.serializeResponseAsBinary(responseMessage, ctx.alloc());
+        } catch (Exception ex) {
+            logger.warn(String.format("Error during serialization for %s", responseMessage), ex);
+            throw ex;
+        }
+
+        // the separator leads the message in the same chunk so that the two are written to the socket together
+        return Unpooled.wrappedBuffer(ctx.alloc().buffer(1).writeByte(separator), message);
+    }
+
     private Pair<String,MessageTextSerializer> chooseSerializer(final String acceptString) {
         final List<Pair<String,Double>> ordered = Stream.of(acceptString.split(",")).map(mediaType -> {
             // parse out each mediaType with its params - keeping it simple and just looking for "quality".  if
@@ -343,7 +514,7 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         return null;
     }
 
-    private static Quartet<String, Map<String, Object>, String, Map<String,String>> getRequestArguments(final FullHttpRequest request) {
+    private static Quartet<Object, Map<String, Object>, String, Map<String,String>> getRequestArguments(final FullHttpRequest request) {
         if (request.getMethod() == GET) {
             final QueryStringDecoder decoder = new QueryStringDecoder(request.getUri());
             final List<String> gremlinParms = decoder.parameters().get(Tokens.ARGS_GREMLIN);
@@ -374,7 +545,7 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             final List<String> languageParms = decoder.parameters().get(Tokens.ARGS_LANGUAGE);
             final String language = (null == languageParms || languageParms.size() == 0) ? null : languageParms.get(0);
 
-            return Quartet.with(script, bindings, language, aliases);
+            return Quartet.with((Object) script, bindings, language, aliases);
         } else {
             final JsonNode body;
             try {
@@ -386,6 +557,19 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             final JsonNode scriptNode = body.get(Tokens.ARGS_GREMLIN);
             if (null == scriptNode) throw new IllegalArgumentException("no gremlin script supplied");
 
+            // a json object in place of the script is taken to be bytecode in the same GraphSON form that the
+            // TraversalOpProcessor accepts
+            final Object gremlin;
+            if (scriptNode.isObject()) {
+                try {
+                    gremlin = bytecodeMapper.readValue(scriptNode.toString(), Bytecode.class);
+                } catch (IOException ioe) {
+                    throw new IllegalArgumentException("gremlin could not be parsed as bytecode", ioe);
+                }
+            } else {
+                gremlin = scriptNode.asText();
+            }
+
             final JsonNode bindingsNode = body.get(Tokens.ARGS_BINDINGS);
             if (bindingsNode != null && !bindingsNode.isObject())
                 throw new IllegalArgumentException("bindings must be a Map");
@@ -411,10 +595,13 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             if (aliasesNode != null)
                 aliasesNode.fields().forEachRemaining(kv -> aliases.put(kv.getKey(), kv.getValue().asText()));
 
+            if (gremlin instanceof Bytecode && aliases.size() != 1)
+                throw new IllegalArgumentException("bytecode requires aliases with a single entry naming the TraversalSource to use");
+
             final JsonNode languageNode = body.get(Tokens.ARGS_LANGUAGE);
             final String language = null == languageNode ? null : languageNode.asText();
 
-            return Quartet.with(scriptNode.asText(), bindings, language, aliases);
+            return Quartet.with(gremlin, bindings, language, aliases);
         }
     }
 
@@ -486,4 +673,11 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         else
             graphManager.commitAll();
     }
+
+    private static void attemptRollback(final Map<String, String> aliases, final GraphManager graphManager, final boolean strict) {
+        if (strict)
+            graphManager.rollback(new HashSet<>(aliases.values()));
+        else
+            graphManager.rollbackAll();
+    }
 }
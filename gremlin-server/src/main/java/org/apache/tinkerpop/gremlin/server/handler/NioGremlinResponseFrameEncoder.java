@@ -19,29 +19,35 @@
 package org.apache.tinkerpop.gremlin.server.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 import io.netty.util.CharsetUtil;
 
+import java.util.List;
+
 /**
- * Encodes {@code ByteBuf} and {@code String} values to bytes to be written over NIO.
+ * Encodes {@code ByteBuf} and {@code String} values to bytes to be written over NIO. The length that prefixes each
+ * message is written to a buffer of its own and joined with the message in a composite buffer, so that the
+ * serialized message is written as it is rather than copied.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 @ChannelHandler.Sharable
-public class NioGremlinResponseFrameEncoder extends MessageToByteEncoder<Frame> {
+public class NioGremlinResponseFrameEncoder extends MessageToMessageEncoder<Frame> {
     @Override
-    protected void encode(final ChannelHandlerContext ctx, final Frame frame, final ByteBuf byteBuf) throws Exception {
-        if (frame.getMsg() instanceof ByteBuf) {
-            final ByteBuf bytes = (ByteBuf) frame.getMsg();
-            byteBuf.writeInt(bytes.capacity());
-            byteBuf.writeBytes(bytes);
-            bytes.release();
-        } else if (frame.getMsg() instanceof String) {
-            final byte [] bytes = ((String) frame.getMsg()).getBytes(CharsetUtil.UTF_8);
-            byteBuf.writeInt(bytes.length);
-            byteBuf.writeBytes(bytes);
-        }
+    protected void encode(final ChannelHandlerContext ctx, final Frame frame, final List<Object> objects) throws Exception {
+        final ByteBuf bytes;
+        if (frame.getMsg() instanceof ByteBuf)
+            bytes = (ByteBuf) frame.getMsg();
+        else if (frame.getMsg() instanceof String)
+            bytes = Unpooled.wrappedBuffer(((String) frame.getMsg()).getBytes(CharsetUtil.UTF_8));
+        else
+            return;
+
+        // the composite takes ownership of both buffers and releases them once it is written
+        final ByteBuf length = ctx.alloc().buffer(4).writeInt(bytes.readableBytes());
+        objects.add(Unpooled.wrappedBuffer(length, bytes));
     }
 }
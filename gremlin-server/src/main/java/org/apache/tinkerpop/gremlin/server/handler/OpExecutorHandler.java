@@ -35,6 +35,7 @@ import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -47,22 +48,53 @@ public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestM
     private final Settings settings;
     private final GraphManager graphManager;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final ExecutorService serializationExecutorService;
     private final GremlinExecutor gremlinExecutor;
+    private final AdmissionController admissionController;
 
     public OpExecutorHandler(final Settings settings, final GraphManager graphManager, final GremlinExecutor gremlinExecutor,
                              final ScheduledExecutorService scheduledExecutorService) {
+        this(settings, graphManager, gremlinExecutor, scheduledExecutorService, null);
+    }
+
+    public OpExecutorHandler(final Settings settings, final GraphManager graphManager, final GremlinExecutor gremlinExecutor,
+                             final ScheduledExecutorService scheduledExecutorService,
+                             final ExecutorService serializationExecutorService) {
+        this(settings, graphManager, gremlinExecutor, scheduledExecutorService, serializationExecutorService, null);
+    }
+
+    public OpExecutorHandler(final Settings settings, final GraphManager graphManager, final GremlinExecutor gremlinExecutor,
+                             final ScheduledExecutorService scheduledExecutorService,
+                             final ExecutorService serializationExecutorService,
+                             final AdmissionController admissionController) {
         this.settings = settings;
         this.graphManager = graphManager;
         this.gremlinExecutor = gremlinExecutor;
         this.scheduledExecutorService = scheduledExecutorService;
+        this.serializationExecutorService = serializationExecutorService;
+        this.admissionController = admissionController;
     }
 
     @Override
     protected void channelRead0(final ChannelHandlerContext ctx, final Pair<RequestMessage, ThrowingConsumer<Context>> objects) throws Exception {
         final RequestMessage msg = objects.getValue0();
         final ThrowingConsumer<Context> op = objects.getValue1();
+
+        try {
+            // a request past the limits of its user or traversal source is either executed later, once a request
+            // ahead of it finishes, or rejected
+            if (admissionController != null && AdmissionController.isAdmissible(msg))
+                admissionController.admit(ctx, msg, () -> execute(ctx, msg, op));
+            else
+                execute(ctx, msg, op);
+        } finally {
+            ReferenceCountUtil.release(objects);
+        }
+    }
+
+    private void execute(final ChannelHandlerContext ctx, final RequestMessage msg, final ThrowingConsumer<Context> op) {
         final Context gremlinServerContext = new Context(msg, ctx,
-                settings, graphManager, gremlinExecutor, scheduledExecutorService);
+                settings, graphManager, gremlinExecutor, scheduledExecutorService, serializationExecutorService);
 
         try {
             op.accept(gremlinServerContext);
@@ -79,8 +111,26 @@ public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestM
                     .code(ResponseStatusCode.SERVER_ERROR)
                     .statusAttributeException(ex)
                     .statusMessage(ex.getMessage()).create());
-        } finally {
-            ReferenceCountUtil.release(objects);
         }
     }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        // wake any worker that paused writing results because the client was not keeping up and resume any
+        // request that gave up its worker for the same reason
+        if (ctx.channel().isWritable()) WritabilityMonitor.of(ctx.channel()).signal();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // wake any worker that is waiting on credit from a client that is now gone or on a channel that will never
+        // be writable again
+        ResultCredit.signalAll(ctx.channel());
+        WritabilityMonitor.of(ctx.channel()).signal();
+
+        // the final responses of requests in progress may never be written so they are released here
+        AdmissionController.releaseAll(ctx.channel());
+        super.channelInactive(ctx);
+    }
 }
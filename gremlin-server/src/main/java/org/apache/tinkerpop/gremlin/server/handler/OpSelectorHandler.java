@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
@@ -37,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -51,20 +53,36 @@ public class OpSelectorHandler extends MessageToMessageDecoder<RequestMessage> {
 
     private final GremlinExecutor gremlinExecutor;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final ExecutorService serializationExecutorService;
 
     public OpSelectorHandler(final Settings settings, final GraphManager graphManager, final GremlinExecutor gremlinExecutor,
                              final ScheduledExecutorService scheduledExecutorService) {
+        this(settings, graphManager, gremlinExecutor, scheduledExecutorService, null);
+    }
+
+    public OpSelectorHandler(final Settings settings, final GraphManager graphManager, final GremlinExecutor gremlinExecutor,
+                             final ScheduledExecutorService scheduledExecutorService,
+                             final ExecutorService serializationExecutorService) {
         this.settings = settings;
         this.graphManager = graphManager;
         this.gremlinExecutor = gremlinExecutor;
         this.scheduledExecutorService = scheduledExecutorService;
+        this.serializationExecutorService = serializationExecutorService;
     }
 
     @Override
     protected void decode(final ChannelHandlerContext ctx, final RequestMessage msg,
                           final List<Object> objects) throws Exception {
+        // credit replenishes a request that is already iterating so it is applied right here rather than being
+        // passed to an OpProcessor. there is no response to a credit message.
+        if (msg.getOp().equals(Tokens.OPS_CREDIT)) {
+            final Optional<Number> credit = msg.optionalArgs(Tokens.ARGS_CREDIT);
+            if (credit.isPresent()) ResultCredit.grant(ctx.channel(), msg.getRequestId(), credit.get().longValue());
+            return;
+        }
+
         final Context gremlinServerContext = new Context(msg, ctx, settings,
-                graphManager, gremlinExecutor, this.scheduledExecutorService);
+                graphManager, gremlinExecutor, this.scheduledExecutorService, this.serializationExecutorService);
         try {
             // choose a processor to do the work based on the request message.
             final Optional<OpProcessor> processor = OpLoader.getProcessor(msg.getProcessor());
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import io.netty.channel.Channel;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The number of results that a client is willing to receive for a request. A client opts into flow control by
+ * sending {@link Tokens#ARGS_CREDIT} with its request and then replenishes the credit with {@link Tokens#OPS_CREDIT}
+ * messages as it consumes results. The worker iterating the results registers the credit, spends it as it writes
+ * each batch and waits when it runs out, so that a client only ever holds the results it has room for.
+ */
+public final class ResultCredit {
+
+    private final Object lock = new Object();
+    private final Channel channel;
+    private final UUID requestId;
+    private long available;
+
+    private ResultCredit(final Channel channel, final UUID requestId, final long available) {
+        this.channel = channel;
+        this.requestId = requestId;
+        this.available = available;
+    }
+
+    /**
+     * Registers the initial credit given with a request so that later grants for the request can be applied to it.
+     */
+    public static ResultCredit register(final Channel channel, final UUID requestId, final long credit) {
+        final ResultCredit resultCredit = new ResultCredit(channel, requestId, credit);
+        credits(channel).put(requestId, resultCredit);
+        return resultCredit;
+    }
+
+    /**
+     * Adds credit to a request. Credit for a request that is no longer iterating is ignored.
+     */
+    public static void grant(final Channel channel, final UUID requestId, final long credit) {
+        final ResultCredit resultCredit = credits(channel).get(requestId);
+        if (resultCredit != null) resultCredit.grant(credit);
+    }
+
+    /**
+     * Wakes all the workers waiting for credit on the channel, which is needed when the channel closes as no more
+     * credit will arrive.
+     */
+    public static void signalAll(final Channel channel) {
+        credits(channel).values().forEach(ResultCredit::signal);
+    }
+
+    private static ConcurrentMap<UUID, ResultCredit> credits(final Channel channel) {
+        final ConcurrentMap<UUID, ResultCredit> credits = channel.attr(StateKey.RESULT_CREDITS).get();
+        if (credits != null) return credits;
+        final ConcurrentMap<UUID, ResultCredit> created = new ConcurrentHashMap<>();
+        final ConcurrentMap<UUID, ResultCredit> existing = channel.attr(StateKey.RESULT_CREDITS).setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    /**
+     * Gets the number of results that may be written before more credit is needed.
+     */
+    public long available() {
+        synchronized (lock) {
+            return available;
+        }
+    }
+
+    /**
+     * Spends credit for results that were written.
+     */
+    public void consume(final int results) {
+        synchronized (lock) {
+            available -= results;
+        }
+    }
+
+    /**
+     * Blocks until there is credit available, the channel closes or the time has elapsed.
+     *
+     * @param maxWait the time in milliseconds to wait where zero or less waits until there is credit
+     * @return {@code true} if there is credit available
+     */
+    public boolean awaitCredit(final long maxWait) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + maxWait;
+        synchronized (lock) {
+            while (available <= 0 && channel.isActive()) {
+                if (maxWait > 0) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) return false;
+                    lock.wait(remaining);
+                } else {
+                    lock.wait();
+                }
+            }
+
+            return available > 0;
+        }
+    }
+
+    /**
+     * Removes the credit from the channel once the request is done iterating.
+     */
+    public void unregister() {
+        credits(channel).remove(requestId, this);
+    }
+
+    private void grant(final long credit) {
+        synchronized (lock) {
+            // a client asking for everything that is left may grant enough to overflow
+            available = available + credit < available ? Long.MAX_VALUE : available + credit;
+            lock.notifyAll();
+        }
+    }
+
+    private void signal() {
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+}
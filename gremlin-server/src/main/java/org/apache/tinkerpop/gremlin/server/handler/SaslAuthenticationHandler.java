@@ -103,6 +103,7 @@ public class SaslAuthenticationHandler extends AbstractAuthenticationHandler {
                         final byte[] saslMessage = negotiator.get().evaluateResponse(saslResponse);
                         if (negotiator.get().isComplete()) {
                             final AuthenticatedUser user = negotiator.get().getAuthenticatedUser();
+                            ctx.channel().attr(StateKey.AUTHENTICATED_USER).set(user);
                             // User name logged with the remote socket address and authenticator classname for audit logging
                             if (authenticationSettings.enableAuditLog) {
                                 String address = ctx.channel().remoteAddress().toString();
@@ -20,10 +20,14 @@ package org.apache.tinkerpop.gremlin.server.handler;
 
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.op.session.Session;
 import io.netty.util.AttributeKey;
 
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Keys used in the various handlers to store state in the pipeline.
  *
@@ -54,4 +58,24 @@ public class StateKey {
      * The key for the current request.
      */
     public static final AttributeKey<RequestMessage> REQUEST_MESSAGE = AttributeKey.valueOf("request");
+
+    /**
+     * The key for the {@link WritabilityMonitor} of the channel.
+     */
+    public static final AttributeKey<WritabilityMonitor> WRITABILITY_MONITOR = AttributeKey.valueOf("writabilityMonitor");
+
+    /**
+     * The key for the {@link ResultCredit} of each request on the channel that is under flow control.
+     */
+    public static final AttributeKey<ConcurrentMap<UUID, ResultCredit>> RESULT_CREDITS = AttributeKey.valueOf("resultCredits");
+
+    /**
+     * The key for the user that authenticated on the channel.
+     */
+    public static final AttributeKey<AuthenticatedUser> AUTHENTICATED_USER = AttributeKey.valueOf("authenticatedUser");
+
+    /**
+     * The key for the requests on the channel that the {@link AdmissionController} considers to be in progress.
+     */
+    public static final AttributeKey<ConcurrentMap<UUID, AdmissionController.Ticket>> ADMISSION_TICKETS = AttributeKey.valueOf("admissionTickets");
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lets a thread that is writing results to a {@link Channel} wait for the channel to drain below its
+ * {@code writeBufferLowWaterMark} rather than polling {@link Channel#isWritable()}, or lets it hand over a callback
+ * and stop waiting altogether. The {@link OpExecutorHandler} signals the monitor from
+ * {@code channelWritabilityChanged} events so that a waiting thread or callback resumes as soon as the client catches
+ * up and from {@code channelInactive} so that it gives up as soon as the client goes away.
+ */
+public final class WritabilityMonitor {
+
+    /**
+     * The longest time in milliseconds that a thread waits on the monitor before it checks the {@link Channel} again
+     * on its own, which bounds the wait even where a signal is missed.
+     */
+    static final long RECHECK_INTERVAL = 1000;
+
+    private final Object lock = new Object();
+
+    private final List<Runnable> callbacks = new ArrayList<>();
+
+    private WritabilityMonitor() {
+    }
+
+    /**
+     * Gets the monitor for the {@link Channel}, creating it if it does not yet exist.
+     */
+    public static WritabilityMonitor of(final Channel channel) {
+        final WritabilityMonitor monitor = channel.attr(StateKey.WRITABILITY_MONITOR).get();
+        if (monitor != null) return monitor;
+        final WritabilityMonitor created = new WritabilityMonitor();
+        final WritabilityMonitor existing = channel.attr(StateKey.WRITABILITY_MONITOR).setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    /**
+     * Blocks until the {@link Channel} is writable, until it is no longer active or until the time has elapsed.
+     *
+     * @param maxWait the time in milliseconds to wait where zero or less waits until the channel is writable or
+     *                closed
+     * @return {@code true} if the channel is writable
+     */
+    public boolean awaitWritable(final Channel channel, final long maxWait) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + maxWait;
+        synchronized (lock) {
+            // a closed channel is never writable again so there is no point in waiting on it
+            while (!channel.isWritable() && channel.isActive()) {
+                if (maxWait > 0) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) return false;
+                    lock.wait(Math.min(remaining, RECHECK_INTERVAL));
+                } else {
+                    lock.wait(RECHECK_INTERVAL);
+                }
+            }
+
+            return channel.isWritable();
+        }
+    }
+
+    /**
+     * Runs the callback once the {@link Channel} is writable or no longer active. If it already is the callback runs
+     * right away on the calling thread, otherwise it runs on the thread that signals the monitor, which is usually the
+     * event loop of the channel, so it should do no more than hand the work off to another thread.
+     */
+    public void whenWritable(final Channel channel, final Runnable callback) {
+        synchronized (lock) {
+            // a signal can't be missed between this check and adding the callback as signal() takes the same lock
+            if (!channel.isWritable() && channel.isActive()) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * Wakes threads that are waiting on the channel so that they can check its writability again and runs the
+     * callbacks that were waiting on it.
+     */
+    public void signal() {
+        final List<Runnable> ready;
+        synchronized (lock) {
+            lock.notifyAll();
+            if (callbacks.isEmpty()) return;
+            ready = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        ready.forEach(Runnable::run);
+    }
+}
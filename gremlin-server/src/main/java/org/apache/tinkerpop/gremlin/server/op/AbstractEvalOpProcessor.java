@@ -35,6 +35,7 @@ import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -230,6 +231,8 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                     if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
                 })
                 .beforeEval(b -> {
+                    // a script can change any graph so nothing cached for bytecode can be trusted once it starts
+                    TraversalOpProcessor.invalidateResultCache();
                     try {
                         b.putAll(bindingsSupplier.get());
                     } catch (OpProcessorException ope) {
@@ -283,6 +286,9 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
         evalFuture.handle((v, t) -> {
             timerContext.stop();
 
+            // drop whatever was cached while the script ran, whether it finished or not
+            TraversalOpProcessor.invalidateResultCache();
+
             if (t != null) {
                 if (t instanceof OpProcessorException) {
                     ctx.writeAndFlush(((OpProcessorException) t).getResponseMessage());
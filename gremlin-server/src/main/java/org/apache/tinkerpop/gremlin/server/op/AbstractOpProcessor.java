@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.op;
 
+import com.codahale.metrics.Timer;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.commons.lang.time.StopWatch;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
@@ -26,24 +27,48 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.AdmissionController;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.ResultCredit;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityMonitor;
 import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * A base {@link OpProcessor} implementation that processes an {@code Iterator} of results in a generalized way while
@@ -79,6 +104,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final Settings settings = context.getSettings();
         final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
         final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        final long startCpuTime = AdmissionController.currentThreadCpuTime();
         boolean warnOnce = false;
 
         // sessionless requests are always transaction managed, but in-session requests are configurable.
@@ -90,6 +116,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
             // as there is nothing left to iterate if we are transaction managed then we should execute a
             // commit here before we send back a NO_CONTENT which implies success
             if (managedTransactionsForRequest) attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
+            AdmissionController.recordCpuTime(ctx.channel(), msg.getRequestId(), startCpuTime);
             ctx.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
                     .create());
@@ -105,119 +132,248 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                 .orElse(settings.resultIterationBatchSize);
         List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
 
+        // a client that asked for flow control is sent no more results than the credit it has granted
+        final ResultCredit credit = msg.optionalArgs(Tokens.ARGS_CREDIT)
+                .map(c -> ResultCredit.register(ctx.channel(), msg.getRequestId(), ((Number) c).longValue()))
+                .orElse(null);
+
+        // with a serialization pool each batch is serialized there while the next one is iterated. the batch that is
+        // in the pool is held here until it is written
+        final ExecutorService serializationExecutor = context.getSerializationExecutorService().orElse(null);
+        CompletableFuture<Frame> pendingFrame = null;
+
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
         boolean hasMore = itty.hasNext();
 
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // check if an implementation needs to force flush the aggregated results before the iteration batch
-            // size is reached.
-            final boolean forceFlush = isForceFlushed(ctx, msg, itty);
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-
-                    // serialize here because in sessionless requests the serialization must occur in the same
-                    // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
-                    // thread that processed the eval of the script so, we have to push serialization down into that
-                    Frame frame = null;
-                    try {
-                        frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code, generateMetaData(ctx, msg, code, itty));
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
-                        break;
-                    }
+        try {
+            while (hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // check if an implementation needs to force flush the aggregated results before the iteration batch
+                // size is reached.
+                final boolean forceFlush = isForceFlushed(ctx, msg, itty);
+
+                // a batch can't be bigger than the credit that is left. results already in the aggregate were counted
+                // against that credit so the limit never falls below the size of the aggregate.
+                final int batchLimit = null == credit ? resultIterationBatchSize :
+                        (int) Math.min(resultIterationBatchSize, credit.available());
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (aggregate.size() < batchLimit && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                if (batchLimit <= 0) {
+                    // the client has consumed all the credit it granted so hold here until it grants more or until
+                    // the time left for serialization runs out.
+                    pauseUntilCredited(ctx, settings, stopWatch, credit);
+                } else if (ctx.channel().isWritable()) {
+                    if (forceFlush || aggregate.size() == batchLimit || !itty.hasNext()) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+
+                        // serialize here because in sessionless requests the serialization must occur in the same
+                        // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
+                        // thread that processed the eval of the script so, we have to push serialization down into that.
+                        // the exception is the serialization pool which gets detached results so it can serialize them
+                        // anywhere - there the frame to write is that of the previous batch which was serialized
+                        // while this one was iterated
+                        Frame frame = null;
+                        try {
+                            if (null == serializationExecutor) {
+                                frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code,
+                                        generateMetaData(ctx, msg, code, itty), generateStatusAttributes(credit, aggregate));
+                            } else {
+                                final CompletableFuture<Frame> previousFrame = pendingFrame;
+                                pendingFrame = makeFrameAsync(ctx, msg, serializer, useBinary, aggregate, code,
+                                        generateMetaData(ctx, msg, code, itty), generateStatusAttributes(credit, aggregate),
+                                        serializationExecutor);
+                                if (previousFrame != null) frame = awaitFrame(ctx, msg, previousFrame);
+                            }
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                            break;
+                        }
 
-                    // track whether there is anything left in the iterator because it needs to be accessed after
-                    // the transaction could be closed - in that case a call to hasNext() could open a new transaction
-                    // unintentionally
-                    final boolean moreInIterator = itty.hasNext();
-
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (moreInIterator)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        else {
-                            // iteration and serialization are both complete which means this finished successfully. note that
-                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                            // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
-                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                            // there are no more items to iterate and serialization is complete
-                            if (managedTransactionsForRequest)
-                                attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
-
-                            // exit the result iteration loop as there are no more results left.  using this external control
-                            // because of the above commit.  some graphs may open a new transaction on the call to
-                            // hasNext()
-                            hasMore = false;
+                        // track whether there is anything left in the iterator because it needs to be accessed after
+                        // the transaction could be closed - in that case a call to hasNext() could open a new transaction
+                        // unintentionally
+                        final boolean moreInIterator = itty.hasNext();
+
+                        try {
+                            if (credit != null) credit.consume(aggregate.size());
+
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (moreInIterator)
+                                aggregate = new ArrayList<>(resultIterationBatchSize);
+                            else {
+                                // iteration and serialization are both complete which means this finished successfully. note that
+                                // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                                // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
+                                // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                                // there are no more items to iterate and serialization is complete
+                                if (managedTransactionsForRequest)
+                                    attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
+
+                                // exit the result iteration loop as there are no more results left.  using this external control
+                                // because of the above commit.  some graphs may open a new transaction on the call to
+                                // hasNext()
+                                hasMore = false;
+                            }
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+                            throw ex;
                         }
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-                        throw ex;
-                    }
 
-                    if (!moreInIterator) iterateComplete(ctx, msg, itty);
+                        if (!moreInIterator) iterateComplete(ctx, msg, itty);
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    ctx.writeAndFlush(frame);
+                        // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                        // required then it will be 100% complete before the client receives it. the "frame" at this point
+                        // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                        // so a new one should not be opened on the flush down the netty pipeline
+                        if (frame != null) {
+                            if (!moreInIterator && null == pendingFrame) releaseAdmission(ctx, msg, startCpuTime);
+                            ctx.writeAndFlush(frame);
+                        }
+
+                        // the last batch has no batch after it to wait on so it is written as soon as it is serialized
+                        if (!moreInIterator && pendingFrame != null) {
+                            final CompletableFuture<Frame> lastFrame = pendingFrame;
+                            pendingFrame = null;
+                            try {
+                                final Frame last = awaitFrame(ctx, msg, lastFrame);
+                                releaseAdmission(ctx, msg, startCpuTime);
+                                ctx.writeAndFlush(last);
+                            } catch (Exception ex) {
+                                // exception is handled in awaitFrame() - serialization error gets written back to
+                                // driver at that point. the transaction is already committed so there is nothing
+                                // to roll back
+                            }
+                        }
+                    }
+                } else {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        warnOnce = true;
+                    }
+
+                    // since the client is lagging we hold here until the channel signals that it has drained or
+                    // until the time left for serialization runs out. this isn't blocking the IO thread - just a worker.
+                    pauseUntilWritable(ctx, settings, stopWatch);
                 }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+
+                stopWatch.split();
+                if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
+                    final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
+                            warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
+                    throw new TimeoutException(timeoutMsg.trim());
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                stopWatch.unsplit();
             }
+        } finally {
+            if (credit != null) credit.unregister();
 
-            stopWatch.split();
-            if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
-                final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
-                        warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
-                throw new TimeoutException(timeoutMsg.trim());
-            }
+            // a batch still in the serialization pool won't be written so its frame needs to be released
+            if (pendingFrame != null) pendingFrame.thenAccept(Frame::tryRelease);
 
-            stopWatch.unsplit();
+            // a request that ended without writing its final frame (e.g. on error) still has to be released
+            releaseAdmission(ctx, msg, startCpuTime);
         }
 
         stopWatch.stop();
     }
 
+    /**
+     * Releases the request from admission control. The final frame goes out without passing through the response
+     * encoder so this is called just before it is written, as the client may send its next request as soon as it
+     * reads that frame. Releasing a request that was already released does nothing.
+     */
+    protected static void releaseAdmission(final ChannelHandlerContext ctx, final RequestMessage msg, final long startCpuTime) {
+        AdmissionController.recordCpuTime(ctx.channel(), msg.getRequestId(), startCpuTime);
+        AdmissionController.release(ctx.channel(), msg.getRequestId());
+    }
+
+    /**
+     * Blocks the worker until the channel is writable again or until the time remaining under
+     * {@link Settings#serializedResponseTimeout} has elapsed. The time spent waiting is recorded in the
+     * {@code op.paused} timer.
+     */
+    protected static void pauseUntilWritable(final ChannelHandlerContext ctx, final Settings settings,
+                                             final StopWatch stopWatch) throws InterruptedException {
+        final long maxWait;
+        if (settings.serializedResponseTimeout > 0) {
+            maxWait = settings.serializedResponseTimeout - stopWatch.getTime();
+            if (maxWait <= 0) return;
+        } else {
+            maxWait = 0;
+        }
+
+        final Timer.Context pausedContext = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "paused")).time();
+        try {
+            if (!WritabilityMonitor.of(ctx.channel()).awaitWritable(ctx.channel(), maxWait) && !ctx.channel().isActive())
+                throw new IllegalStateException("The connection closed while waiting for the client to catch up on results");
+        } finally {
+            pausedContext.stop();
+        }
+    }
+
+    /**
+     * Blocks the worker until the client grants more {@link ResultCredit} or until the time remaining under
+     * {@link Settings#serializedResponseTimeout} has elapsed. The time spent waiting is recorded in the
+     * {@code op.paused} timer.
+     */
+    protected static void pauseUntilCredited(final ChannelHandlerContext ctx, final Settings settings,
+                                             final StopWatch stopWatch, final ResultCredit credit) throws InterruptedException {
+        final long maxWait;
+        if (settings.serializedResponseTimeout > 0) {
+            maxWait = settings.serializedResponseTimeout - stopWatch.getTime();
+            if (maxWait <= 0) return;
+        } else {
+            maxWait = 0;
+        }
+
+        final Timer.Context pausedContext = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "paused")).time();
+        try {
+            if (!credit.awaitCredit(maxWait) && !ctx.channel().isActive())
+                throw new IllegalStateException("The connection closed while waiting for the client to grant more result credit");
+        } finally {
+            pausedContext.stop();
+        }
+    }
+
+    /**
+     * Generates the status attributes to put on a {@link ResponseMessage} carrying a batch of results. When the
+     * request is under flow control this includes the credit left after the batch, which lets the client know that
+     * its credit is being honored.
+     */
+    protected static Map<String,Object> generateStatusAttributes(final ResultCredit credit, final List<Object> aggregate) {
+        return null == credit ? Collections.emptyMap() :
+                Collections.singletonMap(Tokens.STATUS_ATTRIBUTE_CREDIT, credit.available() - aggregate.size());
+    }
+
     /**
      * Called when iteration within {@link #handleIterator(Context, Iterator)} is on its final pass and the final
      * frame is about to be sent back to the client. This method only gets called on successful iteration of the
@@ -261,10 +417,125 @@ public abstract class AbstractOpProcessor implements OpProcessor {
     protected static Frame makeFrame(final ChannelHandlerContext ctx, final RequestMessage msg,
                                    final MessageSerializer serializer, final boolean useBinary, final List<Object> aggregate,
                                    final ResponseStatusCode code, final Map<String,Object> responseMetaData) throws Exception {
+        return makeFrame(ctx, msg, serializer, useBinary, aggregate, code, responseMetaData, Collections.emptyMap());
+    }
+
+    protected static Frame makeFrame(final ChannelHandlerContext ctx, final RequestMessage msg,
+                                     final MessageSerializer serializer, final boolean useBinary, final List<Object> aggregate,
+                                     final ResponseStatusCode code, final Map<String,Object> responseMetaData,
+                                     final Map<String,Object> statusAttributes) throws Exception {
+        try {
+            return serializeFrame(ctx, msg, serializer, useBinary, aggregate, code, responseMetaData, statusAttributes);
+        } catch (Exception ex) {
+            logger.warn("The result [{}] in the request {} could not be serialized and returned.", aggregate, msg.getRequestId(), ex);
+            ctx.writeAndFlush(makeSerializationError(msg, ex));
+            throw ex;
+        }
+    }
+
+    /**
+     * Hands a batch of results to the serialization pool so that the worker can go on to iterate the next batch
+     * while this one is serialized. The results are detached first as the pool thread is not the one that holds the
+     * transaction they came from. The returned {@link Frame} is meant to be written by way of
+     * {@link #awaitFrame(ChannelHandlerContext, RequestMessage, CompletableFuture)} so that frames go out in
+     * the order the batches were iterated. The time a batch waits for a pool thread is recorded in the
+     * {@code op.serialization.queued} timer.
+     */
+    protected static CompletableFuture<Frame> makeFrameAsync(final ChannelHandlerContext ctx, final RequestMessage msg,
+                                                             final MessageSerializer serializer, final boolean useBinary,
+                                                             final List<Object> aggregate, final ResponseStatusCode code,
+                                                             final Map<String,Object> responseMetaData,
+                                                             final Map<String,Object> statusAttributes,
+                                                             final ExecutorService serializationExecutor) {
+        final List<Object> detached = aggregate.stream()
+                .map(AbstractOpProcessor::detach)
+                .collect(Collectors.toList());
+        final Timer.Context queuedContext = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "serialization", "queued")).time();
+        return CompletableFuture.supplyAsync(() -> {
+            queuedContext.stop();
+            try {
+                return serializeFrame(ctx, msg, serializer, useBinary, detached, code, responseMetaData, statusAttributes);
+            } catch (Exception ex) {
+                logger.warn("The result [{}] in the request {} could not be serialized and returned.", detached, msg.getRequestId(), ex);
+                throw new CompletionException(ex);
+            }
+        }, serializationExecutor);
+    }
+
+    /**
+     * Detaches a result so that it can be serialized on a thread other than the one that holds its transaction. The
+     * result is detached all the way down so that elements held in collections, maps, paths, trees and traversers
+     * are detached too. Elements that are already detached or referenced are left as they are.
+     */
+    @SuppressWarnings("unchecked")
+    static Object detach(final Object object) {
+        if (object instanceof Traverser) {
+            final Traverser<?> traverser = (Traverser<?>) object;
+            return new DefaultRemoteTraverser<>(detach(traverser.get()), traverser.bulk());
+        } else if (object instanceof Attachable)
+            return object;
+        else if (object instanceof Element || object instanceof Property || object instanceof Path)
+            return DetachedFactory.detach(object, true);
+        else if (object instanceof Tree) {
+            final Tree<Object> tree = new Tree<>();
+            ((Tree<?>) object).forEach((k, v) -> tree.put(detach(k), (Tree<Object>) detach(v)));
+            return tree;
+        } else if (object instanceof Map) {
+            final Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) object).forEach((k, v) -> map.put(detach(k), detach(v)));
+            return map;
+        } else if (object instanceof Map.Entry) {
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            return new AbstractMap.SimpleImmutableEntry<>(detach(entry.getKey()), detach(entry.getValue()));
+        } else if (object instanceof BulkSet) {
+            final BulkSet<Object> bulkSet = new BulkSet<>();
+            ((BulkSet<?>) object).forEach((k, bulk) -> bulkSet.add(detach(k), bulk));
+            return bulkSet;
+        } else if (object instanceof Set) {
+            final Set<Object> set = new LinkedHashSet<>();
+            ((Set<?>) object).forEach(o -> set.add(detach(o)));
+            return set;
+        } else if (object instanceof List) {
+            final List<Object> list = new ArrayList<>(((List<?>) object).size());
+            ((List<?>) object).forEach(o -> list.add(detach(o)));
+            return list;
+        } else
+            return object;
+    }
+
+    /**
+     * Blocks the worker until a batch handed to {@link #makeFrameAsync} is serialized. If serialization failed the
+     * error is written back to the client and the exception is thrown. The time spent waiting is recorded in the
+     * {@code op.serialization.awaited} timer, which grows when the serialization pool can't keep up with the workers.
+     */
+    protected static Frame awaitFrame(final ChannelHandlerContext ctx, final RequestMessage msg,
+                                      final CompletableFuture<Frame> frame) throws Exception {
+        final Timer.Context awaitedContext = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "serialization", "awaited")).time();
+        try {
+            return frame.get();
+        } catch (ExecutionException ee) {
+            final Exception ex = ee.getCause() instanceof Exception ? (Exception) ee.getCause() : ee;
+            ctx.writeAndFlush(makeSerializationError(msg, ex));
+            throw ex;
+        } finally {
+            awaitedContext.stop();
+        }
+    }
+
+    /**
+     * Serializes a batch of results to a {@link Frame}. The time taken is recorded in the {@code op.serialization}
+     * timer.
+     */
+    private static Frame serializeFrame(final ChannelHandlerContext ctx, final RequestMessage msg,
+                                        final MessageSerializer serializer, final boolean useBinary, final List<Object> aggregate,
+                                        final ResponseStatusCode code, final Map<String,Object> responseMetaData,
+                                        final Map<String,Object> statusAttributes) throws Exception {
+        final Timer.Context serializationContext = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "serialization")).time();
         try {
             if (useBinary) {
                 return new Frame(serializer.serializeResponseAsBinary(ResponseMessage.build(msg)
                         .code(code)
+                        .statusAttributes(statusAttributes)
                         .responseMetaData(responseMetaData)
                         .result(aggregate).create(), ctx.alloc()));
             } else {
@@ -273,21 +544,23 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                 final MessageTextSerializer textSerializer = (MessageTextSerializer) serializer;
                 return new Frame(textSerializer.serializeResponseAsString(ResponseMessage.build(msg)
                         .code(code)
+                        .statusAttributes(statusAttributes)
                         .responseMetaData(responseMetaData)
                         .result(aggregate).create()));
             }
-        } catch (Exception ex) {
-            logger.warn("The result [{}] in the request {} could not be serialized and returned.", aggregate, msg.getRequestId(), ex);
-            final String errorMessage = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
-            final ResponseMessage error = ResponseMessage.build(msg.getRequestId())
-                    .statusMessage(errorMessage)
-                    .statusAttributeException(ex)
-                    .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
-            ctx.writeAndFlush(error);
-            throw ex;
+        } finally {
+            serializationContext.stop();
         }
     }
 
+    private static ResponseMessage makeSerializationError(final RequestMessage msg, final Exception ex) {
+        final String errorMessage = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
+        return ResponseMessage.build(msg.getRequestId())
+                .statusMessage(errorMessage)
+                .statusAttributeException(ex)
+                .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
+    }
+
     protected static void attemptCommit(final RequestMessage msg, final GraphManager graphManager, final boolean strict) {
         if (strict) {
             // validations should have already been performed in StandardOpProcessor, but a failure in bindings maker
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.server.op.session;
 
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.engine.VirtualThreads;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
@@ -69,13 +70,12 @@ public class Session {
      */
     private final GremlinExecutor gremlinExecutor;
 
-    private final ThreadFactory threadFactoryWorker = ThreadFactoryUtil.create("session-%d");
-
     /**
      * By binding the session to run ScriptEngine evaluations in a specific thread, each request will respect
-     * the ThreadLocal nature of Graph implementations.
+     * the ThreadLocal nature of Graph implementations. When virtual threads are in use that thread is a single
+     * virtual thread, which keeps that affinity without holding a platform thread while the session is idle.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactoryWorker);
+    private final ExecutorService executor;
 
     private final ConcurrentHashMap<String, Session> sessions;
 
@@ -88,6 +88,10 @@ public class Session {
         this.scheduledExecutorService = context.getScheduledExecutorService();
         this.sessions = sessions;
 
+        final ThreadFactory threadFactoryWorker = settings.useVirtualThreads && VirtualThreads.isSupported() ?
+                ThreadFactoryUtil.createVirtual("session-virtual-") : ThreadFactoryUtil.create("session-%d");
+        this.executor = Executors.newSingleThreadExecutor(threadFactoryWorker);
+
         final Settings.ProcessorSettings processorSettings = this.settings.optionalProcessor(SessionOpProcessor.class).
                 orElse(SessionOpProcessor.DEFAULT_SETTINGS);
         this.configuredSessionTimeout = Long.parseLong(processorSettings.config.getOrDefault(
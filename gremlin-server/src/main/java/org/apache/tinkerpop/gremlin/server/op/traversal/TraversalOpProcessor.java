@@ -30,17 +30,24 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.AdmissionController;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.ResultCredit;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityMonitor;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
@@ -51,6 +58,7 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,8 +71,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -101,16 +116,101 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
      */
     public static final long DEFAULT_CACHE_MAX_SIZE = 1000;
 
+    /**
+     * Configuration setting for how long a compiled traversal will be available before it is evicted from the cache.
+     */
+    public static final String CONFIG_TRAVERSAL_CACHE_EXPIRATION_TIME = "traversalCacheExpirationTime";
+
+    /**
+     * Default timeout for a compiled traversal is ten minutes.
+     */
+    public static final long DEFAULT_TRAVERSAL_CACHE_EXPIRATION_TIME = 600000;
+
+    /**
+     * Configuration setting for the maximum number of compiled traversals the cache will have. Setting this value to
+     * zero disables the cache.
+     */
+    public static final String CONFIG_TRAVERSAL_CACHE_MAX_SIZE = "traversalCacheMaxSize";
+
+    /**
+     * Default size of the max size of the compiled traversal cache.
+     */
+    public static final long DEFAULT_TRAVERSAL_CACHE_MAX_SIZE = 1000;
+
+    /**
+     * Configuration setting for how long the results of a read-only traversal will be available before they are
+     * evicted from the cache.
+     */
+    public static final String CONFIG_RESULT_CACHE_EXPIRATION_TIME = "resultCacheExpirationTime";
+
+    /**
+     * Default timeout for cached results is ten seconds.
+     */
+    public static final long DEFAULT_RESULT_CACHE_EXPIRATION_TIME = 10000;
+
+    /**
+     * Configuration setting for the maximum number of traversals the result cache will hold results for. Setting
+     * this value to zero disables the cache.
+     */
+    public static final String CONFIG_RESULT_CACHE_MAX_SIZE = "resultCacheMaxSize";
+
+    /**
+     * Default size of the max size of the result cache, which leaves it disabled.
+     */
+    public static final long DEFAULT_RESULT_CACHE_MAX_SIZE = 0;
+
+    /**
+     * Configuration setting for the maximum number of results a traversal can return and still have them cached.
+     */
+    public static final String CONFIG_RESULT_CACHE_MAX_RESULTS = "resultCacheMaxResults";
+
+    /**
+     * Default maximum number of results for a traversal to be cached.
+     */
+    public static final int DEFAULT_RESULT_CACHE_MAX_RESULTS = 1000;
+
     static {
         DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
         DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
             put(CONFIG_CACHE_EXPIRATION_TIME, DEFAULT_CACHE_EXPIRATION_TIME);
             put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+            put(CONFIG_TRAVERSAL_CACHE_EXPIRATION_TIME, DEFAULT_TRAVERSAL_CACHE_EXPIRATION_TIME);
+            put(CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE);
+            put(CONFIG_RESULT_CACHE_EXPIRATION_TIME, DEFAULT_RESULT_CACHE_EXPIRATION_TIME);
+            put(CONFIG_RESULT_CACHE_MAX_SIZE, DEFAULT_RESULT_CACHE_MAX_SIZE);
+            put(CONFIG_RESULT_CACHE_MAX_RESULTS, DEFAULT_RESULT_CACHE_MAX_RESULTS);
         }};
     }
 
     protected static Cache<UUID, TraversalSideEffects> cache = null;
 
+    /**
+     * Holds traversals that have had their strategies applied keyed by the {@link TraversalSource} instance they were
+     * spawned from and the shape of their {@link Bytecode}. The shape leaves out the values given to {@code has()}, so
+     * a request that only differs from an earlier one in those values gets a clone of the cached traversal with its
+     * own values bound into it rather than translating the {@link Bytecode} and applying strategies again. Bytecode
+     * whose values can't be bound once strategies are applied is keyed by the exact {@link Bytecode} instead. The key
+     * holds the instance rather than its name so that a graph that is replaced under the same name never gets a stale
+     * traversal.
+     */
+    protected static Cache<Pair<TraversalSource, Bytecode>, TraversalTemplate> traversalCache = null;
+
+    /**
+     * Holds the results of read-only traversals keyed by the {@link TraversalSource} instance and the exact
+     * {@link Bytecode}. A request for the same {@link Bytecode} is answered from here without the traversal being
+     * compiled or iterated again. The results are held in the form they are serialized from, so elements are already
+     * detached or referenced.
+     */
+    protected static Cache<Pair<TraversalSource, Bytecode>, List<Object>> resultCache = null;
+
+    /**
+     * Counts invalidations of the {@link #resultCache} so that results gathered while an invalidation happened are
+     * not added to the cache afterward.
+     */
+    private static final AtomicLong resultCacheGeneration = new AtomicLong();
+
+    private static int resultCacheMaxResults = DEFAULT_RESULT_CACHE_MAX_RESULTS;
+
     public TraversalOpProcessor() {
         super(false);
     }
@@ -140,6 +240,66 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         logger.info("Initialized cache for {} with size {} and expiration time of {} ms",
                 TraversalOpProcessor.class.getSimpleName(), maxSize, expirationTime);
+
+        final long traversalCacheMaxSize = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE).toString());
+        final long traversalCacheExpirationTime = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_TRAVERSAL_CACHE_EXPIRATION_TIME, DEFAULT_TRAVERSAL_CACHE_EXPIRATION_TIME).toString());
+
+        if (traversalCacheMaxSize > 0) {
+            traversalCache = Caffeine.newBuilder()
+                    .expireAfterWrite(traversalCacheExpirationTime, TimeUnit.MILLISECONDS)
+                    .maximumSize(traversalCacheMaxSize)
+                    .recordStats()
+                    .build();
+            MetricManager.INSTANCE.registerCacheMetrics(traversalCache, "op", "traversal", "traversal-cache");
+
+            logger.info("Initialized compiled traversal cache for {} with size {} and expiration time of {} ms",
+                    TraversalOpProcessor.class.getSimpleName(), traversalCacheMaxSize, traversalCacheExpirationTime);
+        } else {
+            traversalCache = null;
+        }
+
+        final long resultCacheMaxSize = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_RESULT_CACHE_MAX_SIZE, DEFAULT_RESULT_CACHE_MAX_SIZE).toString());
+        final long resultCacheExpirationTime = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_RESULT_CACHE_EXPIRATION_TIME, DEFAULT_RESULT_CACHE_EXPIRATION_TIME).toString());
+        resultCacheMaxResults = Integer.parseInt(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_RESULT_CACHE_MAX_RESULTS, DEFAULT_RESULT_CACHE_MAX_RESULTS).toString());
+
+        if (resultCacheMaxSize > 0) {
+            resultCache = Caffeine.newBuilder()
+                    .expireAfterWrite(resultCacheExpirationTime, TimeUnit.MILLISECONDS)
+                    .maximumSize(resultCacheMaxSize)
+                    .recordStats()
+                    .build();
+            MetricManager.INSTANCE.registerCacheMetrics(resultCache, "op", "traversal", "result-cache");
+
+            logger.info("Initialized result cache for {} with size {} and expiration time of {} ms",
+                    TraversalOpProcessor.class.getSimpleName(), resultCacheMaxSize, resultCacheExpirationTime);
+        } else {
+            resultCache = null;
+        }
+    }
+
+    /**
+     * Removes all results from the result cache. This should be called when the graphs served are changed by
+     * something other than a request to Gremlin Server, e.g. a bulk load, so that the changes are seen before the
+     * cached results expire. Scripts can't be shown to be read-only, so Gremlin Server calls this before and after
+     * every script it evaluates, whether over websockets, in a session or over HTTP.
+     */
+    public static void invalidateResultCache() {
+        resultCacheGeneration.incrementAndGet();
+        if (resultCache != null) resultCache.invalidateAll();
+    }
+
+    /**
+     * Removes the results of traversals spawned from any traversal source of the {@code graph} from the result
+     * cache. Traversals submitted to this processor that mutate a graph call this on their own.
+     */
+    public static void invalidateResultCache(final Graph graph) {
+        resultCacheGeneration.incrementAndGet();
+        if (resultCache != null) resultCache.asMap().keySet().removeIf(key -> key.getValue0().getGraph() == graph);
     }
 
     @Override
@@ -253,6 +413,83 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         return aliases;
     }
 
+    /**
+     * Determines if a traversal compiled from the {@link Bytecode} can be reused by later requests. Side-effects and
+     * sacks may be initialized with mutable values that a clone would share and traversals submitted to a
+     * {@code GraphComputer} are not cloned in a way that makes them safe to reuse.
+     */
+    private static boolean isCacheable(final Bytecode bytecode) {
+        return traversalCache != null && hasCacheableSource(bytecode);
+    }
+
+    /**
+     * Applies strategies to a traversal that was not bound from the {@link #traversalCache} and adds it to the cache
+     * under the key it was looked up with. A traversal translated from the shape of the {@link Bytecode} is only a
+     * template so the traversal that gets iterated is a clone of it with the values of the request bound into it. If
+     * the values can't be bound the shape is marked as such in the cache and the exact {@link Bytecode} is compiled
+     * and cached instead.
+     */
+    private static Traversal.Admin<?, ?> compile(final TraversalSource g, final Bytecode bytecode,
+                                                 final Traversal.Admin<?, ?> traversal,
+                                                 final Pair<TraversalSource, Bytecode> cacheKey,
+                                                 final List<Object> values) {
+        if (traversal.isLocked())
+            return traversal;
+
+        traversal.applyStrategies();
+        if (null == cacheKey)
+            return traversal;
+
+        final TraversalTemplate template = TraversalTemplate.of(traversal, values.size());
+        traversalCache.put(cacheKey, template);
+        if (template.isBindable())
+            return template.bind(values);
+
+        final Traversal.Admin<?, ?> exact = JavaTranslator.of(g).translate(bytecode);
+        exact.applyStrategies();
+        traversalCache.put(Pair.with(g, bytecode), TraversalTemplate.of(exact, 0));
+        return exact;
+    }
+
+    /**
+     * Determines if the results of the request could come from the result cache. The traversal itself still has to
+     * be shown to be read-only once it is compiled before its results are added to the cache. Requests under flow
+     * control are not answered from the cache as the cached results are written without waiting on credit. Random
+     * steps like {@code coin()}, {@code sample()} and {@code order().by(shuffle)} are expected to give a different
+     * answer each time so they are not cached either.
+     */
+    private static boolean isResultCacheable(final RequestMessage msg, final Bytecode bytecode) {
+        return resultCache != null && !msg.getArgs().containsKey(Tokens.ARGS_CREDIT) &&
+                !BytecodeHelper.getLambdaLanguage(bytecode).isPresent() && hasCacheableSource(bytecode) &&
+                !hasRandomStep(bytecode);
+    }
+
+    private static boolean hasRandomStep(final Bytecode bytecode) {
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            final String operator = instruction.getOperator();
+            if (operator.equals(GraphTraversal.Symbols.coin) || operator.equals(GraphTraversal.Symbols.sample))
+                return true;
+            for (final Object argument : instruction.getArguments()) {
+                final Object object = argument instanceof Bytecode.Binding ? ((Bytecode.Binding) argument).value() : argument;
+                if (object == Order.shuffle)
+                    return true;
+                else if (object instanceof Bytecode && hasRandomStep((Bytecode) object))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCacheableSource(final Bytecode bytecode) {
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            final String operator = instruction.getOperator();
+            if (operator.equals(TraversalSource.Symbols.withSideEffect) || operator.equals(TraversalSource.Symbols.withSack) ||
+                    operator.equals(TraversalSource.Symbols.withComputer))
+                return false;
+        }
+        return true;
+    }
+
     private void gatherSideEffect(final Context context) throws OpProcessorException {
         final RequestMessage msg = context.getRequestMessage();
         logger.debug("Side-effect request {} for in thread {}", msg.getRequestId(), Thread.currentThread().getName());
@@ -350,12 +587,43 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final String traversalSourceName = aliases.entrySet().iterator().next().getValue();
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
+        // a read-only traversal that was answered recently is answered again from the result cache rather than being
+        // compiled and iterated again
+        final Pair<TraversalSource, Bytecode> resultCacheKey = isResultCacheable(msg, bytecode) ? Pair.with(g, bytecode) : null;
+        if (resultCacheKey != null) {
+            final List<Object> cachedResults = resultCache.getIfPresent(resultCacheKey);
+            if (cachedResults != null) {
+                writeCachedResults(context, g.getGraph(), cachedResults);
+                return;
+            }
+        }
+
         final Traversal.Admin<?, ?> traversal;
+        final Pair<TraversalSource, Bytecode> cacheKey;
+        final List<Object> values = new ArrayList<>();
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
-                traversal = JavaTranslator.of(g).translate(bytecode);
-            else {
+            if (!lambdaLanguage.isPresent()) {
+                TraversalTemplate template = null;
+                if (isCacheable(bytecode)) {
+                    final Pair<TraversalSource, Bytecode> shapeKey = Pair.with(g, TraversalTemplate.parameterize(bytecode, values));
+                    template = traversalCache.getIfPresent(shapeKey);
+                    if (template != null && !template.isBindable()) {
+                        // the values of this shape can't be bound once strategies are applied
+                        values.clear();
+                        cacheKey = Pair.with(g, bytecode);
+                        template = traversalCache.getIfPresent(cacheKey);
+                    } else {
+                        cacheKey = shapeKey;
+                    }
+                } else {
+                    cacheKey = null;
+                }
+                traversal = null == template ?
+                        JavaTranslator.of(g).translate(null == cacheKey ? bytecode : cacheKey.getValue1()) :
+                        template.bind(values);
+            } else {
+                cacheKey = null;
                 final SimpleBindings b = new SimpleBindings();
                 b.put(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS, g);
                 traversal = context.getGremlinExecutor().eval(bytecode, b, lambdaLanguage.get());
@@ -376,36 +644,44 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             context.getGremlinExecutor().getExecutorService().submit(() -> {
                 try {
                     beforeProcessing(graph, context);
-
-                    try {
-                        // compile the traversal - without it getEndStep() has nothing in it
-                        traversal.applyStrategies();
-                        handleIterator(context, new TraverserIterator(traversal), graph);
-                    } catch (TimeoutException ex) {
-                        final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg.getRequestId(), ex.getMessage());
-                        logger.warn(errorMessage);
-                        ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
-                                .statusMessage(errorMessage)
-                                .statusAttributeException(ex).create());
-                        onError(graph, context);
-                        return;
-                    } catch (Exception ex) {
-                        logger.warn(String.format("Exception processing a Traversal on iteration for request [%s].", msg.getRequestId()), ex);
-                        ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
-                                .statusMessage(ex.getMessage())
-                                .statusAttributeException(ex).create());
-                        onError(graph, context);
-                        return;
-                    }
                 } catch (Exception ex) {
                     logger.warn(String.format("Exception processing a Traversal on request [%s].", msg.getRequestId()), ex);
                     ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
                             .statusMessage(ex.getMessage())
                             .statusAttributeException(ex).create());
                     onError(graph, context);
-                } finally {
                     timerContext.stop();
+                    return;
+                }
+
+                final Iterator<?> itty;
+                final boolean mutating;
+                try {
+                    // compile the traversal - without it getEndStep() has nothing in it. a traversal bound
+                    // from the cache is already compiled
+                    final Traversal.Admin<?, ?> compiled = compile(g, bytecode, traversal, cacheKey, values);
+
+                    // results are only cached for traversals that can't change the graph. those that can change
+                    // it invalidate the results cached for the graph both before and after they are iterated
+                    // so that a read that overlaps the change can't cache what it saw before the commit
+                    mutating = TraversalHelper.hasStepOfAssignableClassRecursively(Mutating.class, compiled);
+                    if (mutating && resultCache != null) invalidateResultCache(graph);
+                    itty = mutating || null == resultCacheKey ?
+                            new TraverserIterator(compiled) :
+                            new RecordingTraverserIterator(compiled, resultCacheKey);
+                } catch (Exception ex) {
+                    onIterationFailure(context, graph, ex);
+                    timerContext.stop();
+                    return;
                 }
+
+                // without transactions nothing ties the iteration to this thread, so the stream can give it back
+                // to the pool while the client catches up and carry on in another one
+                new ResultStream(context, itty, graph, !graph.features().graph().supportsTransactions(), ex -> {
+                    if (mutating && resultCache != null) invalidateResultCache(graph);
+                    if (ex != null) onIterationFailure(context, graph, ex);
+                    timerContext.stop();
+                }).run();
             });
 
         } catch (Exception ex) {
@@ -423,7 +699,65 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             final Traversal.Admin traversal = ((TraverserIterator) itty).getTraversal();
             if (!traversal.getSideEffects().isEmpty()) {
                 cache.put(msg.getRequestId(), traversal.getSideEffects());
+            } else if (itty instanceof RecordingTraverserIterator) {
+                // the client may ask for side-effects by the request id so only traversals without them are cached
+                ((RecordingTraverserIterator) itty).cacheResults();
+            }
+        }
+    }
+
+    /**
+     * Writes the results of a traversal from the result cache in batches just as {@link #handleIterator} would. They
+     * are written from the {@code gremlinPool} so that a large answer is held back while the client is slow to take
+     * it rather than being serialized all at once on the thread that received the request. The cached results are
+     * detached and belong to no transaction, so the stream gives its worker back while it waits on the client.
+     */
+    private void writeCachedResults(final Context context, final Graph graph, final List<Object> results)
+            throws OpProcessorException {
+        final Timer.Context timerContext = traversalOpTimer.time();
+        try {
+            context.getGremlinExecutor().getExecutorService().submit(new ResultStream(context, results.iterator(), graph, true, ex -> {
+                if (ex != null) onIterationFailure(context, graph, ex);
+                timerContext.stop();
+            }));
+        } catch (Exception ex) {
+            timerContext.stop();
+            throw new OpProcessorException("Could not iterate the Traversal instance",
+                    ResponseMessage.build(context.getRequestMessage()).code(ResponseStatusCode.SERVER_ERROR)
+                            .statusMessage(ex.getMessage())
+                            .statusAttributeException(ex).create());
+        }
+    }
+
+    /**
+     * A {@link TraverserIterator} that holds on to the results it returns so that they can be put in the result cache
+     * once iteration completes. It stops holding them once there are more than {@code resultCacheMaxResults} of them.
+     */
+    private static final class RecordingTraverserIterator extends TraverserIterator {
+        private final Pair<TraversalSource, Bytecode> key;
+        private final long generation = resultCacheGeneration.get();
+        private List<Object> results = new ArrayList<>();
+
+        RecordingTraverserIterator(final Traversal.Admin traversal, final Pair<TraversalSource, Bytecode> key) {
+            super(traversal);
+            this.key = key;
+        }
+
+        @Override
+        public Object next() {
+            final Object result = super.next();
+            if (results != null) {
+                if (results.size() < resultCacheMaxResults)
+                    results.add(result);
+                else
+                    results = null;
             }
+            return result;
+        }
+
+        void cacheResults() {
+            if (results != null && resultCache != null && generation == resultCacheGeneration.get())
+                resultCache.put(key, results);
         }
     }
 
@@ -463,138 +797,352 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     }
 
     protected void handleIterator(final Context context, final Iterator itty, final Graph graph) throws TimeoutException, InterruptedException {
+        new ResultStream(context, itty, graph, false, null).iterate();
+    }
+
+    /**
+     * Writes the failure of a traversal back to the client and rolls back the transaction if there is one.
+     */
+    private void onIterationFailure(final Context context, final Graph graph, final Exception ex) {
         final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
-        final Settings settings = context.getSettings();
-        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
-        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
-
-
-        // we have an empty iterator - happens on stuff like: g.V().iterate()
-        if (!itty.hasNext()) {
-            // as there is nothing left to iterate if we are transaction managed then we should execute a
-            // commit here before we send back a NO_CONTENT which implies success
-            onTraversalSuccess(graph, context);
-            ctx.writeAndFlush(ResponseMessage.build(msg)
-                    .code(ResponseStatusCode.NO_CONTENT)
-                    .create());
-            return;
+        if (ex instanceof TimeoutException) {
+            final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg.getRequestId(), ex.getMessage());
+            logger.warn(errorMessage);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
+                    .statusMessage(errorMessage)
+                    .statusAttributeException(ex).create());
+        } else {
+            logger.warn(String.format("Exception processing a Traversal on iteration for request [%s].", msg.getRequestId()), ex);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                    .statusMessage(ex.getMessage())
+                    .statusAttributeException(ex).create());
         }
+        onError(graph, context);
+    }
+
+    /**
+     * Iterates the results of a traversal and writes them to the client in batches. When the client falls behind a
+     * stream that is allowed to suspend gives its worker back to the {@code gremlinPool} and is submitted to the pool
+     * again once the channel is writable, the channel closes or the time left under
+     * {@link Settings#serializedResponseTimeout} runs out. A stream for a graph with transactions can't do that as the
+     * transaction belongs to the thread that opened it, so it blocks the worker while it waits instead.
+     */
+    private final class ResultStream implements Runnable {
+        private final Context context;
+        private final ChannelHandlerContext ctx;
+        private final RequestMessage msg;
+        private final Settings settings;
+        private final Iterator itty;
+        private final Graph graph;
+        private final MessageSerializer serializer;
+        private final boolean useBinary;
+        private final int resultIterationBatchSize;
+        private final ExecutorService serializationExecutor;
+        private final boolean suspendable;
+        private final Consumer<Exception> onComplete;
 
         // timer for the total serialization time
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
-
-        // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
-        // prevent situations where auto transactions create a new transaction after calls to commit() withing
-        // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
-
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // check if an implementation needs to force flush the aggregated results before the iteration batch
-            // size is reached.
-            final boolean forceFlush = isForceFlushed(ctx, msg, itty);
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-
-                    // serialize here because in sessionless requests the serialization must occur in the same
-                    // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
-                    // thread that processed the eval of the script so, we have to push serialization down into that
-                    Frame frame = null;
-                    try {
-                        frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code, generateMetaData(ctx, msg, code, itty));
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
+        private final StopWatch stopWatch = new StopWatch();
+
+        private long startCpuTime;
+        private boolean started = false;
+        private boolean warnOnce = false;
+        private boolean hasMore;
+        private List<Object> aggregate;
+        private ResultCredit credit;
+        private CompletableFuture<Frame> pendingFrame = null;
+        private Timer.Context pausedContext = null;
+        private ScheduledFuture<?> timeoutFuture = null;
+
+        /**
+         * @param suspendable determines if the stream can give up its worker while the client catches up
+         * @param onComplete  called with the failure, if there was one, once a stream that was started with
+         *                    {@link #run()} finishes
+         */
+        ResultStream(final Context context, final Iterator itty, final Graph graph, final boolean suspendable,
+                     final Consumer<Exception> onComplete) {
+            this.context = context;
+            this.ctx = context.getChannelHandlerContext();
+            this.msg = context.getRequestMessage();
+            this.settings = context.getSettings();
+            this.itty = itty;
+            this.graph = graph;
+            this.serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+            this.useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+
+            // the batch size can be overridden by the request
+            this.resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
+                    .orElse(settings.resultIterationBatchSize);
+
+            // with a serialization pool each batch is serialized there while the next one is iterated. the batch
+            // that is in the pool is held here until it is written
+            this.serializationExecutor = context.getSerializationExecutorService().orElse(null);
+            this.suspendable = suspendable;
+            this.onComplete = onComplete;
+        }
 
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        onError(graph, context);
-                        break;
-                    }
+        /**
+         * Iterates the stream on the current thread and then on the threads of the {@code gremlinPool} that it is
+         * resumed on, passing the outcome to the callback once it is done.
+         */
+        @Override
+        public void run() {
+            if (pausedContext != null) {
+                pausedContext.stop();
+                pausedContext = null;
+            }
 
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (itty.hasNext())
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        else {
-                            // iteration and serialization are both complete which means this finished successfully. note that
-                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                            // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
-                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                            // there are no more items to iterate and serialization is complete
-                            onTraversalSuccess(graph, context);
-
-                            // exit the result iteration loop as there are no more results left.  using this external control
-                            // because of the above commit.  some graphs may open a new transaction on the call to
-                            // hasNext()
-                            hasMore = false;
+            try {
+                if (!iterate()) return;
+            } catch (Exception ex) {
+                onComplete.accept(ex);
+                return;
+            }
+            onComplete.accept(null);
+        }
+
+        /**
+         * Iterates and writes results until all of them are written or until the stream suspends itself to wait on
+         * the client.
+         *
+         * @return {@code true} if the stream is done or {@code false} if it is suspended
+         */
+        boolean iterate() throws TimeoutException, InterruptedException {
+            startCpuTime = AdmissionController.currentThreadCpuTime();
+            if (!started) {
+                started = true;
+
+                // we have an empty iterator - happens on stuff like: g.V().iterate()
+                if (!itty.hasNext()) {
+                    // as there is nothing left to iterate if we are transaction managed then we should execute a
+                    // commit here before we send back a NO_CONTENT which implies success
+                    onTraversalSuccess(graph, context);
+                    AdmissionController.recordCpuTime(ctx.channel(), msg.getRequestId(), startCpuTime);
+                    ctx.writeAndFlush(ResponseMessage.build(msg)
+                            .code(ResponseStatusCode.NO_CONTENT)
+                            .create());
+                    return true;
+                }
+
+                stopWatch.start();
+                aggregate = new ArrayList<>(resultIterationBatchSize);
+
+                // a client that asked for flow control is sent no more results than the credit it has granted
+                credit = msg.optionalArgs(Tokens.ARGS_CREDIT)
+                        .map(c -> ResultCredit.register(ctx.channel(), msg.getRequestId(), ((Number) c).longValue()))
+                        .orElse(null);
+
+                // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
+                // prevent situations where auto transactions create a new transaction after calls to commit() withing
+                // the loop on calls to hasNext().
+                hasMore = itty.hasNext();
+            }
+
+            boolean suspended = false;
+            try {
+                while (hasMore) {
+                    if (Thread.interrupted()) throw new InterruptedException();
+
+                    // check if an implementation needs to force flush the aggregated results before the iteration batch
+                    // size is reached.
+                    final boolean forceFlush = isForceFlushed(ctx, msg, itty);
+
+                    // a batch can't be bigger than the credit that is left. results already in the aggregate were counted
+                    // against that credit so the limit never falls below the size of the aggregate.
+                    final int batchLimit = null == credit ? resultIterationBatchSize :
+                            (int) Math.min(resultIterationBatchSize, credit.available());
+
+                    // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                    // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                    // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                    // effect so if the client is "slow" it may simply timeout.
+                    //
+                    // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                    // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                    // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                    // require a forced flush which can be forced by sub-classes.
+                    //
+                    // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                    // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                    // while waiting for the client to catch up
+                    if (aggregate.size() < batchLimit && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+
+                    // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                    // also check writeability of the channel to prevent OOME for slow clients.
+                    if (batchLimit <= 0) {
+                        // the client has consumed all the credit it granted so hold here until it grants more or until
+                        // the time left for serialization runs out.
+                        pauseUntilCredited(ctx, settings, stopWatch, credit);
+                    } else if (ctx.channel().isWritable()) {
+                        if (forceFlush || aggregate.size() == batchLimit || !itty.hasNext()) {
+                            final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+
+                            // serialize here because in sessionless requests the serialization must occur in the same
+                            // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
+                            // thread that processed the eval of the script so, we have to push serialization down into that.
+                            // the exception is the serialization pool which gets detached results so it can serialize them
+                            // anywhere - there the frame to write is that of the previous batch which was serialized
+                            // while this one was iterated
+                            Frame frame = null;
+                            try {
+                                if (null == serializationExecutor) {
+                                    frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code,
+                                            generateMetaData(ctx, msg, code, itty), generateStatusAttributes(credit, aggregate));
+                                } else {
+                                    final CompletableFuture<Frame> previousFrame = pendingFrame;
+                                    pendingFrame = makeFrameAsync(ctx, msg, serializer, useBinary, aggregate, code,
+                                            generateMetaData(ctx, msg, code, itty), generateStatusAttributes(credit, aggregate),
+                                            serializationExecutor);
+                                    if (previousFrame != null) frame = awaitFrame(ctx, msg, previousFrame);
+                                }
+                            } catch (Exception ex) {
+                                // a frame may use a Bytebuf which is a countable release - if it does not get written
+                                // downstream it needs to be released here
+                                if (frame != null) frame.tryRelease();
+
+                                // exception is handled in makeFrame() - serialization error gets written back to driver
+                                // at that point
+                                onError(graph, context);
+                                break;
+                            }
+
+                            try {
+                                if (credit != null) credit.consume(aggregate.size());
+
+                                // only need to reset the aggregation list if there's more stuff to write
+                                if (itty.hasNext())
+                                    aggregate = new ArrayList<>(resultIterationBatchSize);
+                                else {
+                                    // iteration and serialization are both complete which means this finished successfully. note that
+                                    // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                                    // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
+                                    // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                                    // there are no more items to iterate and serialization is complete
+                                    onTraversalSuccess(graph, context);
+
+                                    // exit the result iteration loop as there are no more results left.  using this external control
+                                    // because of the above commit.  some graphs may open a new transaction on the call to
+                                    // hasNext()
+                                    hasMore = false;
+                                }
+                            } catch (Exception ex) {
+                                // a frame may use a Bytebuf which is a countable release - if it does not get written
+                                // downstream it needs to be released here
+                                if (frame != null) frame.tryRelease();
+                                throw ex;
+                            }
+
+                            if (!itty.hasNext()) iterateComplete(ctx, msg, itty);
+
+                            // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                            // required then it will be 100% complete before the client receives it. the "frame" at this point
+                            // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                            // so a new one should not be opened on the flush down the netty pipeline
+                            if (frame != null) {
+                                if (!hasMore && null == pendingFrame) releaseAdmission(ctx, msg, startCpuTime);
+                                ctx.writeAndFlush(frame);
+                            }
+
+                            // the last batch has no batch after it to wait on so it is written as soon as it is serialized
+                            if (!hasMore && pendingFrame != null) {
+                                final CompletableFuture<Frame> lastFrame = pendingFrame;
+                                pendingFrame = null;
+                                try {
+                                    final Frame last = awaitFrame(ctx, msg, lastFrame);
+                                    releaseAdmission(ctx, msg, startCpuTime);
+                                    ctx.writeAndFlush(last);
+                                } catch (Exception ex) {
+                                    // exception is handled in awaitFrame() - serialization error gets written back to
+                                    // driver at that point. the traversal already succeeded so there is nothing to roll back
+                                }
+                            }
                         }
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-                        throw ex;
+                    } else {
+                        // don't keep triggering this warning over and over again for the same request
+                        if (!warnOnce) {
+                            logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                            warnOnce = true;
+                        }
+
+                        if (suspendable) {
+                            // a closed channel is never writable again so there is nothing to wait for
+                            if (!ctx.channel().isActive())
+                                throw new IllegalStateException("The connection closed while waiting for the client to catch up on results");
+
+                            // give the worker back to the pool until the channel drains. nothing may touch the stream
+                            // once suspend() returns as it may already be running on another worker
+                            suspended = true;
+                            suspend();
+                            return false;
+                        }
+
+                        // since the client is lagging we hold here until the channel signals that it has drained or
+                        // until the time left for serialization runs out. this isn't blocking the IO thread - just a worker.
+                        pauseUntilWritable(ctx, settings, stopWatch);
                     }
 
-                    if (!itty.hasNext()) iterateComplete(ctx, msg, itty);
+                    stopWatch.split();
+                    if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
+                        final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
+                                warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
+                        throw new TimeoutException(timeoutMsg.trim());
+                    }
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    ctx.writeAndFlush(frame);
-                }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+                    stopWatch.unsplit();
                 }
-
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+            } finally {
+                if (!suspended) close();
             }
 
-            stopWatch.split();
-            if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
-                final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
-                        warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
-                throw new TimeoutException(timeoutMsg.trim());
-            }
+            stopWatch.stop();
+            return true;
+        }
+
+        /**
+         * Releases what the stream holds once it won't write anything more.
+         */
+        private void close() {
+            if (credit != null) credit.unregister();
 
-            stopWatch.unsplit();
+            // a batch still in the serialization pool won't be written so its frame needs to be released
+            if (pendingFrame != null) pendingFrame.thenAccept(Frame::tryRelease);
+
+            // a request that ended without writing its final frame (e.g. on error) still has to be released
+            releaseAdmission(ctx, msg, startCpuTime);
         }
 
-        stopWatch.stop();
+        /**
+         * Arranges for the stream to be submitted to the {@code gremlinPool} once the channel is writable or closed or
+         * once the time left under {@link Settings#serializedResponseTimeout} has elapsed, whichever comes first. The
+         * time until then is recorded in the {@code op.paused} timer.
+         */
+        private void suspend() {
+            // CPU time is measured per thread so the time used so far is recorded before another worker takes over
+            AdmissionController.recordCpuTime(ctx.channel(), msg.getRequestId(), startCpuTime);
+            pausedContext = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "paused")).time();
+
+            // the stream is resumed by whichever comes first and the other one does nothing
+            final AtomicBoolean resumed = new AtomicBoolean(false);
+            final Runnable resume = () -> {
+                if (!resumed.compareAndSet(false, true)) return;
+                if (timeoutFuture != null) timeoutFuture.cancel(false);
+                try {
+                    context.getGremlinExecutor().getExecutorService().submit(this);
+                } catch (RejectedExecutionException ex) {
+                    // the pool is shutting down so the stream won't get to finish. its CPU time was recorded when
+                    // it suspended so nothing is counted against this thread
+                    startCpuTime = AdmissionController.currentThreadCpuTime();
+                    close();
+                    onComplete.accept(ex);
+                }
+            };
+
+            timeoutFuture = settings.serializedResponseTimeout > 0 ?
+                    context.getScheduledExecutorService().schedule(resume,
+                            Math.max(0, settings.serializedResponseTimeout - stopWatch.getTime()), TimeUnit.MILLISECONDS) :
+                    null;
+            WritabilityMonitor.of(ctx.channel()).whenWritable(ctx.channel(), resume);
+        }
     }
 }
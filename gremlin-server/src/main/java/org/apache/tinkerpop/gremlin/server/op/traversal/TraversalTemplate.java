@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * A traversal that has had its strategies applied and that is shared by every request with the same shape of
+ * {@link Bytecode}. The shape is the {@link Bytecode} with the value of each {@code has(key, value)} replaced by a
+ * {@link Parameter}, so {@code g.V().has('age',20)} and {@code g.V().has('age',21)} share a template. A request gets
+ * a clone of the template with its own values bound into the predicates of the {@link HasContainer} objects that the
+ * parameters ended up in.
+ * <p/>
+ * A template is only bindable if every parameter can still be found in a {@link HasContainer} once strategies are
+ * applied and if a clone of the template gets its own copy of each of them. Otherwise the values were folded into
+ * something else, like the edge labels of a {@code VertexStep}, or a provider step shares its containers between
+ * clones, and requests of that shape have to be cached by their exact {@link Bytecode} instead.
+ */
+final class TraversalTemplate {
+
+    private static final TraversalTemplate UNBINDABLE = new TraversalTemplate(null, 0);
+
+    private final Traversal.Admin<?, ?> traversal;
+    private final int parameters;
+
+    private TraversalTemplate(final Traversal.Admin<?, ?> traversal, final int parameters) {
+        this.traversal = traversal;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Creates a template from a clone of a traversal that was translated from a shape of {@link Bytecode} and that
+     * has had its strategies applied.
+     *
+     * @param compiled   the traversal to create the template from which is not held by the template
+     * @param parameters the number of values taken out of the {@link Bytecode} by {@link #parameterize}
+     */
+    static TraversalTemplate of(final Traversal.Admin<?, ?> compiled, final int parameters) {
+        final Traversal.Admin<?, ?> template = compiled.clone();
+        if (parameters > 0) {
+            final List<Parameter<?>> found = parametersOf(template);
+            final BitSet indices = new BitSet(parameters);
+            found.forEach(parameter -> indices.set(parameter.index));
+            if (indices.cardinality() != parameters)
+                return UNBINDABLE;
+
+            final Set<Parameter<?>> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+            owned.addAll(found);
+            for (final Parameter<?> parameter : parametersOf(template.clone())) {
+                if (owned.contains(parameter))
+                    return UNBINDABLE;
+            }
+        }
+        return new TraversalTemplate(template, parameters);
+    }
+
+    /**
+     * Determines if the values of a request can be bound into a clone of the template.
+     */
+    boolean isBindable() {
+        return this.traversal != null;
+    }
+
+    /**
+     * Gets a clone of the template with the values of a request bound into it.
+     *
+     * @param values the values gathered by {@link #parameterize} for the request
+     */
+    Traversal.Admin<?, ?> bind(final List<Object> values) {
+        final Traversal.Admin<?, ?> bound = this.traversal.clone();
+        if (this.parameters > 0) {
+            for (final Parameter parameter : parametersOf(bound)) {
+                parameter.bind(values.get(parameter.index));
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Gets the shape of the {@link Bytecode} where the value of each {@code has()} step that takes a property key is
+     * replaced by a {@link Parameter}. The values are added to the list in the order of the parameters. Keys of
+     * {@link T} are left as they are as strategies fold them into other steps, like the ids of a {@code GraphStep}.
+     */
+    static Bytecode parameterize(final Bytecode bytecode, final List<Object> values) {
+        final Bytecode shape = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            shape.addSource(instruction.getOperator(), instruction.getArguments());
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            final Object[] arguments = instruction.getArguments();
+            final Object[] shaped = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                shaped[i] = arguments[i] instanceof Bytecode ? parameterize((Bytecode) arguments[i], values) : arguments[i];
+            }
+            if (isParameterizable(instruction)) {
+                final int last = arguments.length - 1;
+                final Object value = valueOf(arguments[last]);
+                if (value instanceof P) {
+                    shaped[last] = new Parameter<>(((P) value).getBiPredicate(), values.size());
+                    values.add(((P) value).getValue());
+                } else {
+                    shaped[last] = new Parameter<>(Compare.eq, values.size());
+                    values.add(value);
+                }
+            }
+            shape.addStep(instruction.getOperator(), shaped);
+        }
+        return shape;
+    }
+
+    private static boolean isParameterizable(final Bytecode.Instruction instruction) {
+        final Object[] arguments = instruction.getArguments();
+        if (!instruction.getOperator().equals(GraphTraversal.Symbols.has) || arguments.length < 2 || arguments.length > 3)
+            return false;
+
+        // has(key, value) and has(label, key, value)
+        for (int i = 0; i < arguments.length - 1; i++) {
+            if (!(arguments[i] instanceof String))
+                return false;
+        }
+        final String key = (String) arguments[arguments.length - 2];
+        for (final T t : T.values()) {
+            if (t.getAccessor().equals(key))
+                return false;
+        }
+
+        final Object value = valueOf(arguments[arguments.length - 1]);
+        if (value instanceof P)
+            return value.getClass().equals(P.class) && !(((P) value).getValue() instanceof Bytecode);
+        return !(value instanceof Bytecode) && !(value instanceof Traversal);
+    }
+
+    private static Object valueOf(final Object argument) {
+        return argument instanceof Bytecode.Binding ? ((Bytecode.Binding) argument).value() : argument;
+    }
+
+    private static List<Parameter<?>> parametersOf(final Traversal.Admin<?, ?> traversal) {
+        final List<Parameter<?>> parameters = new ArrayList<>();
+        for (final HasContainerHolder holder : TraversalHelper.getStepsOfAssignableClassRecursively(HasContainerHolder.class, traversal)) {
+            for (final HasContainer hasContainer : holder.getHasContainers()) {
+                addParameters(hasContainer.getPredicate(), parameters);
+            }
+        }
+        return parameters;
+    }
+
+    private static void addParameters(final P<?> predicate, final List<Parameter<?>> parameters) {
+        if (predicate instanceof Parameter)
+            parameters.add((Parameter<?>) predicate);
+        else if (predicate instanceof ConnectiveP) {
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                addParameters(p, parameters);
+            }
+        }
+    }
+
+    /**
+     * A predicate in the shape of {@link Bytecode} that stands in for the value at its index until a value is bound
+     * into it.
+     */
+    static final class Parameter<V> extends P<V> {
+
+        private final int index;
+
+        Parameter(final BiPredicate<V, V> biPredicate, final int index) {
+            super(biPredicate, null);
+            this.index = index;
+        }
+
+        private void bind(final V value) {
+            this.value = value;
+            this.originalValue = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.biPredicate.hashCode() ^ this.index;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Parameter &&
+                    ((Parameter) other).index == this.index &&
+                    ((Parameter) other).biPredicate.equals(this.biPredicate) &&
+                    Objects.equals(((Parameter) other).originalValue, this.originalValue);
+        }
+    }
+}
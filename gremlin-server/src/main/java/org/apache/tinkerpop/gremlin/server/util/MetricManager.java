@@ -32,6 +32,7 @@ import com.codahale.metrics.Timer;
 import com.codahale.metrics.ganglia.GangliaReporter;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
+import com.github.benmanes.caffeine.cache.Cache;
 import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
@@ -432,6 +433,21 @@ public enum MetricManager {
         return getRegistry().histogram(MetricRegistry.name(prefix, names));
     }
 
+    /**
+     * Registers the statistics of a {@link Cache} that was built to record them. Metrics previously registered for
+     * the same prefix are replaced so that a re-initialized cache reports its own statistics.
+     */
+    public void registerCacheMetrics(final Cache<?, ?> cache, final String... prefix) {
+        final String base = MetricRegistry.name(GremlinServer.class, prefix);
+        getRegistry().removeMatching((name, metric) -> name.startsWith(base + "."));
+        getRegistry().register(MetricRegistry.name(base, "estimated-size"), (Gauge<Long>) cache::estimatedSize);
+        getRegistry().register(MetricRegistry.name(base, "eviction-count"), (Gauge<Long>) () -> cache.stats().evictionCount());
+        getRegistry().register(MetricRegistry.name(base, "hit-count"), (Gauge<Long>) () -> cache.stats().hitCount());
+        getRegistry().register(MetricRegistry.name(base, "hit-rate"), (Gauge<Double>) () -> cache.stats().hitRate());
+        getRegistry().register(MetricRegistry.name(base, "miss-count"), (Gauge<Long>) () -> cache.stats().missCount());
+        getRegistry().register(MetricRegistry.name(base, "miss-rate"), (Gauge<Double>) () -> cache.stats().missRate());
+    }
+
     /**
      * Registers metrics from a {@link GremlinScriptEngine}. At this point, this only works for the
      * {@link GremlinGroovyScriptEngine} as it is the only one that collects metrics at this point. As the
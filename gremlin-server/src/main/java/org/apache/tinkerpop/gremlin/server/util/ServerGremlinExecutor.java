@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.server.util;
 
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.engine.VirtualThreads;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.Channelizer;
@@ -59,6 +60,7 @@ public class ServerGremlinExecutor {
 
     private final ScheduledExecutorService scheduledExecutorService;
     private final ExecutorService gremlinExecutorService;
+    private final ExecutorService serializationExecutorService;
     private final GremlinExecutor gremlinExecutor;
 
     private final Map<String,Object> hostOptions = new ConcurrentHashMap<>();
@@ -67,7 +69,8 @@ public class ServerGremlinExecutor {
      * Create a new object from {@link Settings} where thread pools are externally assigned. Note that if the
      * {@code scheduleExecutorServiceClass} is set to {@code null} it will be created via
      * {@link Executors#newScheduledThreadPool(int, ThreadFactory)}.  If either of the {@link ExecutorService}
-     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size.
+     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size. The
+     * {@link Settings#useVirtualThreads} value only applies when the {@code gremlinExecutorService} is not supplied.
      */
     public ServerGremlinExecutor(final Settings settings, final ExecutorService gremlinExecutorService,
                                  final ScheduledExecutorService scheduledExecutorService) {
@@ -91,8 +94,15 @@ public class ServerGremlinExecutor {
         }
 
         if (null == gremlinExecutorService) {
-            final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
-            this.gremlinExecutorService = Executors.newFixedThreadPool(settings.gremlinPool, threadFactoryGremlin);
+            if (settings.useVirtualThreads && !VirtualThreads.isSupported())
+                logger.warn("The useVirtualThreads setting is enabled but this JVM does not support virtual threads - using the gremlinPool instead");
+
+            if (settings.useVirtualThreads && VirtualThreads.isSupported()) {
+                this.gremlinExecutorService = ThreadFactoryUtil.createVirtualThreadPerTaskExecutor("exec-virtual-");
+            } else {
+                final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
+                this.gremlinExecutorService = Executors.newFixedThreadPool(settings.gremlinPool, threadFactoryGremlin);
+            }
         } else {
             this.gremlinExecutorService = gremlinExecutorService;
         }
@@ -106,6 +116,14 @@ public class ServerGremlinExecutor {
 
         logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
 
+        if (settings.serializationPool > 0) {
+            final ThreadFactory threadFactorySerialization = ThreadFactoryUtil.create("serialization-%d");
+            this.serializationExecutorService = Executors.newFixedThreadPool(settings.serializationPool, threadFactorySerialization);
+            logger.info("Initialized serialization thread pool.  Threads in pool named with pattern gremlin-server-serialization-*");
+        } else {
+            this.serializationExecutorService = null;
+        }
+
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .scriptEvaluationTimeout(settings.scriptEvaluationTimeout)
                 .afterFailure((b, e) -> this.graphManager.rollbackAll())
@@ -197,6 +215,14 @@ public class ServerGremlinExecutor {
         return gremlinExecutorService;
     }
 
+    /**
+     * Gets the pool that serializes batches of results, which is {@code null} unless
+     * {@link Settings#serializationPool} is greater than zero.
+     */
+    public ExecutorService getSerializationExecutorService() {
+        return serializationExecutorService;
+    }
+
     public GraphManager getGraphManager() {
         return graphManager;
     }
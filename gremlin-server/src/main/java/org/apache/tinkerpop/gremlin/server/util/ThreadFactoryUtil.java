@@ -19,7 +19,9 @@
 package org.apache.tinkerpop.gremlin.server.util;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.groovy.engine.VirtualThreads;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 
 /**
@@ -32,4 +34,20 @@ public final class ThreadFactoryUtil {
     public static ThreadFactory create(final String pattern) {
         return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).build();
     }
+
+    /**
+     * Creates a factory of virtual threads named with the {@code prefix} followed by a counter. Callers should first
+     * check {@link VirtualThreads#isSupported()}.
+     */
+    public static ThreadFactory createVirtual(final String prefix) {
+        return VirtualThreads.createThreadFactory(SERVER_THREAD_PREFIX + prefix);
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread named with the {@code prefix} followed by a
+     * counter. Callers should first check {@link VirtualThreads#isSupported()}.
+     */
+    public static ExecutorService createVirtualThreadPerTaskExecutor(final String prefix) {
+        return VirtualThreads.createThreadPerTaskExecutor(SERVER_THREAD_PREFIX + prefix);
+    }
 }
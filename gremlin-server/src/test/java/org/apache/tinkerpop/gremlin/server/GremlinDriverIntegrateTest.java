@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.driver.Channelizer;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.LoadBalancingStrategy;
 import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.ResultSet;
 import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
@@ -145,6 +146,7 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
                 }
                 break;
             case "shouldWorkOverNioTransport":
+            case "shouldCoalesceWritesOverNioTransport":
                 settings.channelizer = NioChannelizer.class.getName();
                 break;
             case "shouldFailWithBadClientSideSerialization":
@@ -292,6 +294,21 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldEventuallySucceedWithLatencyAware() throws Exception {
+        final String noGremlinServer = "74.125.225.19";
+        final Cluster cluster = TestClientFactory.build().addContactPoint(noGremlinServer)
+                .loadBalancingStrategy(new LoadBalancingStrategy.LatencyAware()).create();
+        final Client client = cluster.connect();
+
+        // the first host is dead on init.  request should succeed on localhost
+        for (int ix = 0; ix < 5; ix++) {
+            assertEquals(2, client.submit("1+1").all().join().get(0).getInt());
+        }
+
+        cluster.close();
+    }
+
     @Test
     public void shouldHandleResultsOfAllSizes() throws Exception {
         final Cluster cluster = TestClientFactory.open();
@@ -476,6 +493,56 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldCoalesceWrites() throws Exception {
+        final Cluster cluster = TestClientFactory.build().coalesceWrites(true).create();
+        assertCoalescedWrites(cluster);
+    }
+
+    @Test
+    public void shouldCoalesceWritesOverNioTransport() throws Exception {
+        final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.NioChannelizer.class.getName())
+                .coalesceWrites(true).create();
+        assertCoalescedWrites(cluster);
+    }
+
+    private static void assertCoalescedWrites(final Cluster cluster) throws Exception {
+        final Client client = cluster.connect();
+
+        // submit requests faster than they can be flushed one at a time so that several go out together
+        final List<CompletableFuture<List<Result>>> futures = IntStream.range(0, 100)
+                .mapToObj(i -> client.submitAsync(i + "+1").thenCompose(ResultSet::all))
+                .collect(Collectors.toList());
+
+        for (int ix = 0; ix < futures.size(); ix++) {
+            assertEquals(ix + 1, futures.get(ix).get(30, TimeUnit.SECONDS).get(0).getInt());
+        }
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldLimitResultsHeldOnClientToCredit() throws Exception {
+        final Cluster cluster = TestClientFactory.build().resultIterationBatchSize(4).resultCredit(16).create();
+        final Client client = cluster.connect();
+
+        final ResultSet results = client.submit("(0..<1000)");
+
+        // nothing is consumed so the server stops once it has spent the credit the request was sent with
+        Thread.sleep(1000);
+        assertFalse(results.allItemsAvailable());
+        assertThat(results.getAvailableItemCount(), lessThanOrEqualTo(16));
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        results.stream().forEach(r -> assertEquals(counter.getAndIncrement(), r.getInt()));
+        assertEquals(1000, counter.get());
+
+        // all() waits for everything so the credit limit is lifted
+        assertEquals(1000, client.submit("(0..<1000)").all().get().size());
+
+        cluster.close();
+    }
+
     @Test
     public void shouldStream() throws Exception {
         final Cluster cluster = TestClientFactory.open();
@@ -751,6 +818,25 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldWorkWithGraphBinarySerialization() throws Exception {
+        final Cluster cluster = TestClientFactory.build().serializer(Serializers.GRAPHBINARY_V1D0).create();
+        final Client client = cluster.connect();
+
+        final List<Result> r = client.submit("TinkerFactory.createModern().traversal().V(1)").all().join();
+        assertEquals(1, r.size());
+
+        final Vertex v = r.get(0).get(DetachedVertex.class);
+        assertEquals(1, v.id());
+        assertEquals("person", v.label());
+
+        assertEquals(2, IteratorUtils.count(v.properties()));
+        assertEquals("marko", v.value("name"));
+        assertEquals(29, (int) v.value("age"));
+
+        cluster.close();
+    }
+
     @Test
     public void shouldWorkWithGraphSONExtendedV2Serialization() throws Exception {
         final Cluster cluster = TestClientFactory.build().serializer(Serializers.GRAPHSON_V2D0).create();
@@ -48,6 +48,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertEquals;
 
@@ -73,10 +75,25 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
             case "should200OnPOSTWithGremlinJsonEndcodedBodyWithIteratorResult":
             case "should200OnPOSTWithGremlinJsonEndcodedBodyWithIteratorResultAndAliases":
             case "should200OnGETWithGremlinQueryStringArgumentWithIteratorResultAndAliases":
+            case "should200OnPOSTWithBytecode":
                 final Map<String,Object> m = new HashMap<>();
                 m.put("files", Collections.singletonList("scripts/generate-classic.groovy"));
                 settings.scriptEngines.get("gremlin-groovy").plugins.put(ScriptFileGremlinPlugin.class.getName(), m);
                 break;
+            case "should500OnPOSTWithBytecodeThatExceedsTimeout":
+                settings.scriptEvaluationTimeout = 250;
+                break;
+            case "should200OnPOSTWithStreamedResponse":
+            case "should200OnPOSTWithStreamedResponseEndingInError":
+                settings.streamHttpResponses = true;
+                settings.resultIterationBatchSize = 2;
+                break;
+            case "shouldRollbackOnPOSTWithStreamedResponseEndingInError":
+                settings.streamHttpResponses = true;
+                settings.resultIterationBatchSize = 2;
+                deleteDirectory(new File("/tmp/neo4j"));
+                settings.graphs.put("graph", "conf/neo4j-empty.properties");
+                break;
             case "should200OnPOSTTransactionalGraph":
                 deleteDirectory(new File("/tmp/neo4j"));
                 settings.graphs.put("graph", "conf/neo4j-empty.properties");
@@ -594,6 +611,119 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test
+    public void should200OnPOSTWithBytecode() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":{\"@type\":\"g:Bytecode\",\"@value\":{\"step\":[[\"V\"],[\"count\"]]}},\"aliases\":{\"g\":\"g\"}}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("application/json", response.getEntity().getContentType().getValue());
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+            assertEquals(6, node.get("result").get("data").get(0).asInt());
+        }
+    }
+
+    @Test
+    public void should400OnPOSTWithBytecodeAndNoAliases() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":{\"@type\":\"g:Bytecode\",\"@value\":{\"step\":[[\"V\"]]}}}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(400, response.getStatusLine().getStatusCode());
+        }
+    }
+
+    @Test
+    public void should500OnPOSTWithBytecodeThatExceedsTimeout() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":{\"@type\":\"g:Bytecode\",\"@value\":{\"step\":[[\"inject\",1],[\"map\",{\"@type\":\"g:Lambda\",\"@value\":{\"script\":\"Thread.sleep(30000);it.get()\",\"language\":\"gremlin-groovy\",\"arguments\":1}}]]}},\"aliases\":{\"g\":\"g\"}}", Consts.UTF_8));
+
+        // bytecode is held to the scriptEvaluationTimeout just as a script is
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(500, response.getStatusLine().getStatusCode());
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+            assertThat(node.get("message").asText(), containsString("scriptEvaluationTimeout"));
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithStreamedResponse() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"[1,2,3,4,5]\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("application/json", response.getEntity().getContentType().getValue());
+            assertThat(response.getEntity().isChunked(), is(true));
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+
+            // five results in batches of two
+            assertEquals(3, node.size());
+            assertEquals(206, node.get(0).get("status").get("code").asInt());
+            assertEquals(206, node.get(1).get("status").get("code").asInt());
+            assertEquals(200, node.get(2).get("status").get("code").asInt());
+            assertEquals(2, node.get(0).get("result").get("data").size());
+            assertEquals(5, node.get(2).get("result").get("data").get(0).get("@value").intValue());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithStreamedResponseEndingInError() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"g.inject(1,2,3,0).map{1/it.get()}\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            // the status was sent with the first batch so the error is the last message in the body
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+            assertEquals(500, node.get(node.size() - 1).get("status").get("code").asInt());
+        }
+    }
+
+    @Test
+    public void shouldRollbackOnPOSTWithStreamedResponseEndingInError() throws Exception {
+        assumeNeo4jIsPresent();
+
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"graph.addVertex('name','stephen');g.inject(1,2,3,0).map{1/it.get()}\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            // the first batch went out before the error so the failure is in the body
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+            assertEquals(206, node.get(0).get("status").get("code").asInt());
+            assertEquals(500, node.get(node.size() - 1).get("status").get("code").asInt());
+        }
+
+        // the vertex added ahead of the failure was rolled back
+        final HttpGet httpget = new HttpGet(TestClientFactory.createURLString("?gremlin=g.V().count()"));
+        httpget.addHeader("Accept", "application/json");
+        try (final CloseableHttpResponse response = httpclient.execute(httpget)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final String json = EntityUtils.toString(response.getEntity());
+            final JsonNode node = mapper.readTree(json);
+            assertEquals(0, node.get(0).get("result").get("data").get(0).get("@value").intValue());
+        }
+    }
+
     @Test
     public void should200OnPOSTWithGremlinJsonEndcodedBodyWithIteratorResultAndAliases() throws Exception {
         // we can remove this first test when rebindings are completely removed
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import com.codahale.metrics.Gauge;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -41,17 +42,23 @@ import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteTraversalSideEffects;
 import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
 import org.apache.tinkerpop.gremlin.driver.simple.SimpleClient;
+import org.apache.tinkerpop.gremlin.groovy.engine.VirtualThreads;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.SimpleSandboxExtension;
 import org.apache.tinkerpop.gremlin.jsr223.ScriptFileGremlinPlugin;
 import org.apache.tinkerpop.gremlin.process.remote.RemoteGraph;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.channel.NioChannelizer;
@@ -68,6 +75,8 @@ import org.junit.Test;
 import java.lang.reflect.Field;
 import java.nio.channels.ClosedChannelException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -79,15 +88,19 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC;
 import static org.apache.tinkerpop.gremlin.process.traversal.TraversalSource.GREMLIN_REMOTE_CONNECTION_CLASS;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.StringEndsWith.endsWith;
@@ -96,6 +109,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
 
 /**
  * Integration tests for server-side settings and processing.
@@ -155,6 +169,13 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.writeBufferHighWaterMark = 64;
                 settings.writeBufferLowWaterMark = 32;
                 break;
+            case "shouldFreeTheWorkerWhileTraversalResultsWaitOnASlowClient":
+                // one worker so that a second request can only run if the first one gives it up
+                settings.gremlinPool = 1;
+                settings.writeBufferHighWaterMark = 64;
+                settings.writeBufferLowWaterMark = 32;
+                settings.serializedResponseTimeout = 120000;
+                break;
             case "shouldReceiveFailureTimeOutOnScriptEval":
                 settings.scriptEvaluationTimeout = 200;
                 break;
@@ -167,6 +188,41 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldBatchResultsByTwos":
                 settings.resultIterationBatchSize = 2;
                 break;
+            case "shouldBatchResultsInOrderWithSerializationPool":
+                settings.resultIterationBatchSize = 2;
+                settings.serializationPool = 2;
+                break;
+            case "shouldDetachNestedResultsWithSerializationPool":
+                settings.serializationPool = 2;
+                break;
+            case "shouldEvaluateOnVirtualThreads":
+                settings.useVirtualThreads = true;
+                break;
+            case "shouldRejectRequestsPastAdmissionLimit":
+                settings.admission.enabled = true;
+                settings.admission.maxInFlightPerUser = 1;
+                break;
+            case "shouldQueueRequestsPastAdmissionLimit":
+                settings.admission.enabled = true;
+                settings.admission.maxInFlightPerUser = 1;
+                settings.admission.maxQueuedPerUser = 1;
+                break;
+            case "shouldStartQueuedRequestsOfAUserInOrder":
+                // the requests that are admitted have to be able to run at the same time
+                settings.gremlinPool = 4;
+                settings.admission.enabled = true;
+                settings.admission.maxInFlightPerUser = 2;
+                settings.admission.maxInFlightPerTraversalSource = 1;
+                settings.admission.maxQueuedPerUser = 2;
+                break;
+            case "shouldCacheResultsOfReadOnlyTraversalsUsingWithRemote":
+                final Settings.ProcessorSettings processorSettingsResultCache = new Settings.ProcessorSettings();
+                processorSettingsResultCache.className = TraversalOpProcessor.class.getName();
+                processorSettingsResultCache.config = new HashMap<>(TraversalOpProcessor.DEFAULT_SETTINGS.config);
+                processorSettingsResultCache.config.put(TraversalOpProcessor.CONFIG_RESULT_CACHE_MAX_SIZE, 100);
+                processorSettingsResultCache.config.put(TraversalOpProcessor.CONFIG_RESULT_CACHE_EXPIRATION_TIME, 600000);
+                settings.processors.add(processorSettingsResultCache);
+                break;
             case "shouldWorkOverNioTransport":
                 settings.channelizer = NioChannelizer.class.getName();
                 break;
@@ -315,6 +371,24 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldEvaluateOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+        assertThat(client.submit("Thread.currentThread().getName()").all().get().get(0).getString(),
+                startsWith("gremlin-server-exec-virtual-"));
+
+        // every request in a session must run on the same thread so that its transaction follows it
+        final Client session = cluster.connect(name.getMethodName());
+        final String threadName = session.submit("Thread.currentThread().getName()").all().get().get(0).getString();
+        assertThat(threadName, startsWith("gremlin-server-session-virtual-"));
+        assertEquals(threadName, session.submit("Thread.currentThread().getName()").all().get().get(0).getString());
+
+        cluster.close();
+    }
+
     @Test
     public void shouldNotUseInterpreterMode() throws Exception {
         final Cluster cluster = TestClientFactory.open();
@@ -515,6 +589,58 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldFreeTheWorkerWhileTraversalResultsWaitOnASlowClient() throws Exception {
+        final String fatty = String.join("", Collections.nCopies(8000, "x"));
+        final Integer[] starts = IntStream.range(0, 8000).boxed().toArray(Integer[]::new);
+        // each result has to be distinct or the server bulks them, and together they have to be well past what the
+        // socket buffers on loopback can take in before the server sees the channel back up
+        final RequestMessage slowRequest = RequestMessage.build(Tokens.OPS_BYTECODE).processor("traversal")
+                .addArg(Tokens.ARGS_GREMLIN, EmptyGraph.instance().traversal().inject(starts)
+                        .project("i", "s").by(__.identity()).by(__.constant(fatty)).asAdmin().getBytecode())
+                .addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "g"))
+                .addArg(Tokens.ARGS_BATCH_SIZE, 8).create();
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch slowDone = new CountDownLatch(1);
+        final AtomicLong results = new AtomicLong();
+        final AtomicReference<ResponseStatusCode> slowCode = new AtomicReference<>();
+
+        try (SimpleClient slowClient = TestClientFactory.createWebSocketClient();
+             SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            slowClient.submit(slowRequest, response -> {
+                for (Object traverser : (List<?>) response.getResult().getData()) {
+                    results.addAndGet(((Traverser) traverser).bulk());
+                }
+
+                // the callback runs on the event loop of the client so holding it up on the first batch stops the
+                // client from reading and the server backs up behind it
+                try {
+                    release.await(60, TimeUnit.SECONDS);
+                } catch (InterruptedException ie) {
+                    throw new RuntimeException(ie);
+                }
+
+                if (response.getStatus().getCode() != ResponseStatusCode.PARTIAL_CONTENT) {
+                    slowCode.set(response.getStatus().getCode());
+                    slowDone.countDown();
+                }
+            });
+
+            // with one worker in the gremlinPool this only gets an answer if the traversal gave it up
+            final List<ResponseMessage> responses = client.submitAsync(RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "1+1").create()).get(20, TimeUnit.SECONDS);
+            assertEquals(2, ((List<?>) responses.get(0).getResult().getData()).get(0));
+
+            release.countDown();
+            assertTrue(slowDone.await(60, TimeUnit.SECONDS));
+            assertEquals(ResponseStatusCode.SUCCESS, slowCode.get());
+            assertEquals(starts.length, results.get());
+        } finally {
+            release.countDown();
+        }
+    }
+
     @Test
     public void shouldReturnInvalidRequestArgsWhenGremlinArgIsNotSupplied() throws Exception {
         try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
@@ -680,6 +806,137 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldBatchResultsInOrderWithSerializationPool() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "(0..<100)").create();
+
+            // batches are serialized in parallel with iteration but must still come back in the order iterated
+            final List<ResponseMessage> msgs = client.submit(request);
+            assertEquals(50, msgs.size());
+            for (int ix = 0; ix < msgs.size(); ix++) {
+                final List<Integer> batch = (List<Integer>) msgs.get(ix).getResult().getData();
+                assertEquals(ix * 2, batch.get(0).intValue());
+                assertEquals(ix * 2 + 1, batch.get(1).intValue());
+                assertEquals(ix == msgs.size() - 1 ? ResponseStatusCode.SUCCESS : ResponseStatusCode.PARTIAL_CONTENT,
+                        msgs.get(ix).getStatus().getCode());
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDetachNestedResultsWithSerializationPool() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            // the map of lists of vertices is iterated as entries which the pool must detach all the way down
+            final List<ResponseMessage> msgs = client.submit("g = TinkerFactory.createModern().traversal();" +
+                    "g.V().hasLabel('person').group().by('name').by(__.out().fold())");
+            assertEquals(1, msgs.size());
+            assertEquals(ResponseStatusCode.SUCCESS, msgs.get(0).getStatus().getCode());
+
+            final Map<String, List<Vertex>> results = new HashMap<>();
+            ((List<Map<String, List<Vertex>>>) msgs.get(0).getResult().getData()).forEach(results::putAll);
+            assertEquals(4, results.size());
+            assertEquals(3, results.get("marko").size());
+            assertEquals(2, results.get("josh").size());
+            assertEquals(0, results.get("vadas").size());
+            assertEquals("lop", results.get("peter").get(0).value("name"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRejectRequestsPastAdmissionLimit() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            // requests on a connection are admitted in the order they arrive so the first holds the only slot
+            final RequestMessage slow = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "Thread.sleep(2000);'slow'").create();
+            final RequestMessage rejected = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "1+1").create();
+            final List<ResponseMessage> responses = submitConcurrently(client, slow, rejected);
+
+            // the rejection is written straight away while the first request is still running
+            assertEquals(rejected.getRequestId(), responses.get(0).getRequestId());
+            assertEquals(ResponseStatusCode.TOO_MANY_REQUESTS, responses.get(0).getStatus().getCode());
+            assertEquals(slow.getRequestId(), responses.get(1).getRequestId());
+            assertEquals("slow", ((List<String>) responses.get(1).getResult().getData()).get(0));
+
+            // the slot is given back once the first request is done
+            final List<ResponseMessage> admitted = client.submit("1+1");
+            assertEquals(2, ((List<Integer>) admitted.get(0).getResult().getData()).get(0).intValue());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldQueueRequestsPastAdmissionLimit() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final RequestMessage slow = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "Thread.sleep(2000);'slow'").create();
+            final RequestMessage queued = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "1+1").create();
+            final List<ResponseMessage> responses = submitConcurrently(client, slow, queued);
+
+            // the queued request could only start once the first was done
+            assertEquals(slow.getRequestId(), responses.get(0).getRequestId());
+            assertEquals("slow", ((List<String>) responses.get(0).getResult().getData()).get(0));
+            assertEquals(queued.getRequestId(), responses.get(1).getRequestId());
+            assertEquals(2, ((List<Integer>) responses.get(1).getResult().getData()).get(0).intValue());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStartQueuedRequestsOfAUserInOrder() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            // the first two requests take both slots of the user and one each of the "g" and "graph" sources. the
+            // third waits on "g" and the fourth could run on "graph" once the second is done but must not go ahead
+            // of the third
+            final List<ResponseMessage> responses = submitConcurrently(client,
+                    createAliasedRequest("Thread.sleep(2000);'first'", "g"),
+                    createAliasedRequest("Thread.sleep(500);'second'", "graph"),
+                    createAliasedRequest("'third'", "g"),
+                    createAliasedRequest("'fourth'", "graph"));
+
+            final List<String> order = responses.stream()
+                    .map(r -> ((List<String>) r.getResult().getData()).get(0))
+                    .collect(Collectors.toList());
+            assertEquals(Arrays.asList("second", "first"), order.subList(0, 2));
+            assertThat(order.subList(2, 4), containsInAnyOrder("third", "fourth"));
+        }
+    }
+
+    private static RequestMessage createAliasedRequest(final String gremlin, final String source) {
+        final Map<String, String> aliases = new HashMap<>();
+        aliases.put("g", source);
+        return RequestMessage.build(Tokens.OPS_EVAL)
+                .addArg(Tokens.ARGS_GREMLIN, gremlin)
+                .addArg(Tokens.ARGS_ALIASES, aliases).create();
+    }
+
+    /**
+     * Sends the requests on the connection without waiting for each to finish and returns their final responses in
+     * the order they were received.
+     */
+    private static List<ResponseMessage> submitConcurrently(final SimpleClient client, final RequestMessage... requests) throws Exception {
+        final List<ResponseMessage> responses = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(requests.length);
+        for (RequestMessage request : requests) {
+            client.submit(request, response -> {
+                if (response.getStatus().getCode() != ResponseStatusCode.PARTIAL_CONTENT) {
+                    responses.add(response);
+                    latch.countDown();
+                }
+            });
+        }
+
+        if (!latch.await(30000, TimeUnit.MILLISECONDS))
+            fail("Requests should have all returned, but instead timed out");
+        return responses;
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void shouldBatchResultsByOnesByOverridingFromClientSide() throws Exception {
@@ -1151,6 +1408,87 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         assertEquals(3, g.V().promise(Traversal::toList).join().size());
     }
 
+    @Test
+    public void shouldReuseCompiledTraversalsUsingWithRemote() throws Exception {
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+        final Gauge<Long> hits = MetricManager.INSTANCE.getRegistry().getGauges().get(
+                name(GremlinServer.class, "op", "traversal", "traversal-cache", "hit-count"));
+        final long hitsBefore = hits.getValue();
+
+        g.addV("person").property("age", 20).iterate();
+        g.addV("person").property("age", 20).iterate();
+        g.addV("person").property("age", 10).iterate();
+        assertEquals(2L, g.V().has("age", 20).count().next().longValue());
+        assertEquals(2L, g.V().has("age", 20).count().next().longValue());
+        assertEquals(1L, g.V().has("age", 10).count().next().longValue());
+        assertEquals(0L, g.V().has("age", 30).count().next().longValue());
+
+        // the second addV() is the same bytecode as the first. the counts after the first one only differ in the
+        // value given to has() so they are bound from the same compiled traversal
+        assertEquals(4L, hits.getValue() - hitsBefore);
+    }
+
+    @Test
+    public void shouldCacheResultsOfReadOnlyTraversalsUsingWithRemote() throws Exception {
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+        final Gauge<Long> hits = MetricManager.INSTANCE.getRegistry().getGauges().get(
+                name(GremlinServer.class, "op", "traversal", "result-cache", "hit-count"));
+        final long hitsBefore = hits.getValue();
+
+        g.addV("person").property("age", 20).iterate();
+        g.addV("person").property("age", 20).iterate();
+        assertEquals(2L, g.V().has("age", 20).count().next().longValue());
+        assertEquals(2L, g.V().has("age", 20).count().next().longValue());
+
+        // the second addV() is not cached and the second count() came from the cache
+        assertEquals(1L, hits.getValue() - hitsBefore);
+
+        // adding a vertex removes the cached count so the next one sees it
+        g.addV("person").property("age", 20).iterate();
+        assertEquals(3L, g.V().has("age", 20).count().next().longValue());
+        assertEquals(1L, hits.getValue() - hitsBefore);
+
+        // a script might change the graph so it removes the cached count as well
+        assertEquals(3L, g.V().has("age", 20).count().next().longValue());
+        assertEquals(2L, hits.getValue() - hitsBefore);
+        final Cluster cluster = TestClientFactory.open();
+        try {
+            final Client client = cluster.connect();
+            client.submit("g.addV('person').property('age', 20)").all().get();
+            assertEquals(4L, g.V().has("age", 20).count().next().longValue());
+            assertEquals(2L, hits.getValue() - hitsBefore);
+        } finally {
+            cluster.close();
+        }
+
+        // random steps are expected to give a new answer each time
+        g.V().coin(0.5).count().next();
+        g.V().coin(0.5).count().next();
+        g.V().local(__.sample(1)).count().next();
+        g.V().local(__.sample(1)).count().next();
+        g.V().order().by(Order.shuffle).values("age").toList();
+        g.V().order().by(Order.shuffle).values("age").toList();
+        assertEquals(2L, hits.getValue() - hitsBefore);
+
+        // cached results that take several batches come back whole and in order
+        final Integer[] numbers = IntStream.range(0, 500).boxed().toArray(Integer[]::new);
+        assertEquals(Arrays.asList(numbers), g.inject(numbers).toList());
+        assertEquals(Arrays.asList(numbers), g.inject(numbers).toList());
+        assertEquals(3L, hits.getValue() - hitsBefore);
+    }
+
+    @Test
+    public void shouldStreamTraversalUnderCreditUsingWithRemote() throws Exception {
+        conf.setProperty("clusterConfiguration.connectionPool.resultCredit", 8);
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+
+        final Integer[] numbers = IntStream.range(0, 1000).boxed().toArray(Integer[]::new);
+        assertEquals(Arrays.asList(numbers), g.inject(numbers).toList());
+    }
+
     @Test
     public void shouldProvideBetterExceptionForMethodCodeTooLarge() {
         final int numberOfParameters = 4000;
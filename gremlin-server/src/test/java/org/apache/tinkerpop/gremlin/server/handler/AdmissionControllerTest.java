@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void shouldReleaseRequestAdmittedAfterChannelClosed() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightPerUser = 1;
+        settings.maxQueuedPerUser = 0;
+        final AdmissionController controller = new AdmissionController(settings, null);
+        final AtomicInteger dispatched = new AtomicInteger(0);
+
+        final EmbeddedChannel closed = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        final ChannelHandlerContext closedCtx = closed.pipeline().firstContext();
+        closed.close();
+        controller.admit(closedCtx, createRequest(), dispatched::incrementAndGet);
+        assertEquals(0, dispatched.get());
+
+        // the user only gets to run this one if the request on the closed channel was not left in flight
+        final EmbeddedChannel open = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        controller.admit(open.pipeline().firstContext(), createRequest(), dispatched::incrementAndGet);
+        assertEquals(1, dispatched.get());
+    }
+
+    private static RequestMessage createRequest() {
+        return RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "1+1").create();
+    }
+}
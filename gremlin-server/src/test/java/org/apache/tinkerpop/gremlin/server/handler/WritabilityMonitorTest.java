@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WritabilityMonitorTest {
+
+    @Test
+    public void shouldNotWaitWhenChannelIsWritable() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        assertTrue(WritabilityMonitor.of(channel).awaitWritable(channel, 0));
+    }
+
+    @Test
+    public void shouldWaitUntilTimeoutWhenChannelIsNotWritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        assertFalse(WritabilityMonitor.of(channel).awaitWritable(channel, 100));
+    }
+
+    @Test
+    public void shouldStopWaitingWhenChannelCloses() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        channel.pipeline().addLast(new OpExecutorHandler(new Settings(), null, null, null, null));
+
+        // without a timeout the wait only ends because the handler signals the monitor once the channel is inactive
+        final CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return WritabilityMonitor.of(channel).awaitWritable(channel, 0);
+            } catch (InterruptedException ie) {
+                throw new RuntimeException(ie);
+            }
+        });
+
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        channel.close();
+        assertFalse(waiting.get(WritabilityMonitor.RECHECK_INTERVAL / 2, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldStopWaitingWhenChannelClosesWithoutSignal() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return WritabilityMonitor.of(channel).awaitWritable(channel, 0);
+            } catch (InterruptedException ie) {
+                throw new RuntimeException(ie);
+            }
+        });
+
+        Thread.sleep(100);
+        channel.close();
+
+        // the wait is bounded so the monitor notices the closed channel on its own
+        assertFalse(waiting.get(WritabilityMonitor.RECHECK_INTERVAL * 3, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldRunCallbackRightAwayWhenChannelIsWritable() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final AtomicInteger calls = new AtomicInteger();
+        WritabilityMonitor.of(channel).whenWritable(channel, calls::incrementAndGet);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldRunCallbackOnceWhenChannelBecomesWritable() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        channel.pipeline().addLast(new OpExecutorHandler(new Settings(), null, null, null, null));
+        final AtomicInteger calls = new AtomicInteger();
+        WritabilityMonitor.of(channel).whenWritable(channel, calls::incrementAndGet);
+        assertEquals(0, calls.get());
+
+        // draining the outbound buffer fires channelWritabilityChanged which the handler passes to the monitor
+        channel.flush();
+        assertTrue(channel.isWritable());
+        assertEquals(1, calls.get());
+
+        WritabilityMonitor.of(channel).signal();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldRunCallbackWhenChannelCloses() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        channel.pipeline().addLast(new OpExecutorHandler(new Settings(), null, null, null, null));
+        final AtomicInteger calls = new AtomicInteger();
+        WritabilityMonitor.of(channel).whenWritable(channel, calls::incrementAndGet);
+        assertEquals(0, calls.get());
+
+        channel.close();
+        assertEquals(1, calls.get());
+    }
+
+    private static EmbeddedChannel createUnwritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        channel.config().setWriteBufferLowWaterMark(1);
+        channel.config().setWriteBufferHighWaterMark(2);
+
+        // written but never flushed so the bytes stay in the outbound buffer
+        channel.write(Unpooled.wrappedBuffer(new byte[16]));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+}
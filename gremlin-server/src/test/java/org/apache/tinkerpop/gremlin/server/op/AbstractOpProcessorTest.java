@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class AbstractOpProcessorTest {
+
+    private final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @Test
+    public void shouldDetachElements() {
+        final Vertex v = g.V().has("name", "marko").next();
+        final Object detached = AbstractOpProcessor.detach(v);
+        assertThat(detached, instanceOf(DetachedVertex.class));
+        assertEquals(v, detached);
+        assertEquals("marko", ((Vertex) detached).value("name"));
+
+        assertThat(AbstractOpProcessor.detach(g.E().next()), instanceOf(DetachedEdge.class));
+        assertThat(AbstractOpProcessor.detach(v.property("name")), instanceOf(DetachedVertexProperty.class));
+    }
+
+    @Test
+    public void shouldLeaveDetachedAndReferencedElementsAndOtherValuesAsTheyAre() {
+        final ReferenceVertex reference = ReferenceFactory.detach(g.V().next());
+        assertSame(reference, AbstractOpProcessor.detach(reference));
+
+        final String name = "marko";
+        assertSame(name, AbstractOpProcessor.detach(name));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDetachElementsInLists() {
+        final List<Vertex> vertices = g.V().fold().next();
+        final List<Object> detached = (List<Object>) AbstractOpProcessor.detach(vertices);
+        assertEquals(vertices, detached);
+        detached.forEach(v -> assertThat(v, instanceOf(DetachedVertex.class)));
+
+        // the original result is left untouched
+        vertices.forEach(v -> assertThat(v, instanceOf(TinkerVertex.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDetachElementsInMaps() {
+        final Map<Vertex, List<Edge>> edges = g.V().hasLabel("person").<Vertex, List<Edge>>group().by().by(__.outE().fold()).next();
+        final Map<Object, Object> detached = (Map<Object, Object>) AbstractOpProcessor.detach(edges);
+        assertEquals(edges, detached);
+        detached.forEach((k, v) -> {
+            assertThat(k, instanceOf(DetachedVertex.class));
+            ((List<Object>) v).forEach(e -> assertThat(e, instanceOf(DetachedEdge.class)));
+        });
+
+        final Map.Entry<Object, Object> entry = (Map.Entry<Object, Object>) AbstractOpProcessor.detach(edges.entrySet().iterator().next());
+        assertThat(entry.getKey(), instanceOf(DetachedVertex.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDetachElementsInSets() {
+        final BulkSet<Vertex> bulkSet = (BulkSet<Vertex>) g.V().out().aggregate("x").cap("x").next();
+        final BulkSet<Object> detachedBulkSet = (BulkSet<Object>) AbstractOpProcessor.detach(bulkSet);
+        assertEquals(bulkSet.longSize(), detachedBulkSet.longSize());
+        assertEquals(3, detachedBulkSet.get(g.V().has("name", "lop").next()));
+        detachedBulkSet.forEach(v -> assertThat(v, instanceOf(DetachedVertex.class)));
+
+        final Set<Vertex> set = g.V().out().toSet();
+        final Set<Object> detachedSet = (Set<Object>) AbstractOpProcessor.detach(set);
+        assertEquals(set, detachedSet);
+        detachedSet.forEach(v -> assertThat(v, instanceOf(DetachedVertex.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDetachElementsInTrees() {
+        final Tree<Vertex> tree = g.V().has("name", "marko").out().tree().next();
+        final Tree<Object> detached = (Tree<Object>) AbstractOpProcessor.detach(tree);
+        assertEquals(tree, detached);
+        assertEquals(3, detached.getLeafObjects().size());
+        detached.getObjectsAtDepth(1).forEach(v -> assertThat(v, instanceOf(DetachedVertex.class)));
+        detached.getLeafObjects().forEach(v -> assertThat(v, instanceOf(DetachedVertex.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDetachElementsInPathsAndTraversers() {
+        final Path path = g.V().has("name", "marko").out().path().next();
+        assertThat(AbstractOpProcessor.detach(path), instanceOf(DetachedPath.class));
+
+        final Traverser<List<Vertex>> traverser = new DefaultRemoteTraverser<>(g.V().fold().next(), 2);
+        final Traverser<List<Object>> detached = (Traverser<List<Object>>) AbstractOpProcessor.detach(traverser);
+        assertEquals(2, detached.bulk());
+        assertEquals(6, detached.get().size());
+        detached.get().forEach(v -> assertThat(v, instanceOf(DetachedVertex.class)));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraversalTemplateTest {
+
+    private final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @Test
+    public void shouldGiveTheSameShapeToBytecodeThatOnlyDiffersInHasValues() {
+        final List<Object> values29 = new ArrayList<>();
+        final List<Object> values27 = new ArrayList<>();
+        final Bytecode shape29 = TraversalTemplate.parameterize(g.V().has("person", "age", 29).out().has("name", P.neq("lop")).asAdmin().getBytecode(), values29);
+        final Bytecode shape27 = TraversalTemplate.parameterize(g.V().has("person", "age", 27).out().has("name", P.neq("ripple")).asAdmin().getBytecode(), values27);
+
+        assertEquals(shape29, shape27);
+        assertEquals(shape29.hashCode(), shape27.hashCode());
+        assertEquals(Arrays.asList(29, "lop"), values29);
+        assertEquals(Arrays.asList(27, "ripple"), values27);
+    }
+
+    @Test
+    public void shouldNotGiveTheSameShapeToDifferentPredicatesOrSteps() {
+        assertNotEquals(TraversalTemplate.parameterize(g.V().has("age", 29).asAdmin().getBytecode(), new ArrayList<>()),
+                TraversalTemplate.parameterize(g.V().has("age", P.gt(29)).asAdmin().getBytecode(), new ArrayList<>()));
+        assertNotEquals(TraversalTemplate.parameterize(g.V().has("age", 29).asAdmin().getBytecode(), new ArrayList<>()),
+                TraversalTemplate.parameterize(g.V().has("weight", 29).asAdmin().getBytecode(), new ArrayList<>()));
+        assertNotEquals(TraversalTemplate.parameterize(g.V().has("age", 29).limit(1).asAdmin().getBytecode(), new ArrayList<>()),
+                TraversalTemplate.parameterize(g.V().has("age", 29).limit(2).asAdmin().getBytecode(), new ArrayList<>()));
+    }
+
+    @Test
+    public void shouldLeaveTokensAndTraversalsInTheShape() {
+        final List<Object> values = new ArrayList<>();
+        final Bytecode bytecode = g.V().has(T.label, "person").has("age", __.is(29)).asAdmin().getBytecode();
+        assertEquals(bytecode, TraversalTemplate.parameterize(bytecode, values));
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    public void shouldBindValuesIntoClonesOfTheTemplate() {
+        final TraversalTemplate template = compile(g.V().has("person", "age", 29).out().has("name", P.neq("lop")).values("name"));
+        assertTrue(template.isBindable());
+
+        assertEquals(Arrays.asList("vadas", "josh"), template.bind(Arrays.asList(29, "lop")).toList());
+        assertEquals(Collections.singletonList("lop"), template.bind(Arrays.asList(35, "ripple")).toList());
+        assertEquals(Arrays.asList("vadas", "josh"), template.bind(Arrays.asList(29, "lop")).toList());
+    }
+
+    @Test
+    public void shouldBindValuesIntoNestedAndConnectivePredicates() {
+        final TraversalTemplate template = compile(g.V().or(__.has("age", 29), __.has("age", 27)).where(__.out().has("name", P.within("lop"))).values("name"));
+        assertTrue(template.isBindable());
+
+        assertThat(template.bind(Arrays.asList(29, 27, Collections.singletonList("lop"))).toList(), containsInAnyOrder("marko"));
+        assertThat(template.bind(Arrays.asList(32, 35, Arrays.asList("lop", "ripple"))).toList(), containsInAnyOrder("josh", "peter"));
+    }
+
+    @Test
+    public void shouldNotBeBindableIfAParameterCanNotBeFound() {
+        final List<Object> values = new ArrayList<>();
+        final Traversal.Admin<?, ?> traversal = JavaTranslator.of(g).translate(
+                TraversalTemplate.parameterize(g.V().has("age", 29).asAdmin().getBytecode(), values));
+        traversal.applyStrategies();
+        assertFalse(TraversalTemplate.of(traversal, values.size() + 1).isBindable());
+    }
+
+    private TraversalTemplate compile(final Traversal<?, ?> traversal) {
+        final List<Object> values = new ArrayList<>();
+        final Traversal.Admin<?, ?> compiled = JavaTranslator.of(g).translate(
+                TraversalTemplate.parameterize(traversal.asAdmin().getBytecode(), values));
+        compiled.applyStrategies();
+        return TraversalTemplate.of(compiled, values.size());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1d0;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV3d0;
+import org.apache.tinkerpop.gremlin.driver.ser.GryoMessageSerializerV1d0;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the time taken by each of the binary capable {@link MessageSerializer} implementations to write and read
+ * the requests and responses of a typical small OLTP traversal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageSerializerBenchmark extends AbstractBenchmarkBase {
+
+    private static final ByteBufAllocator allocator = UnpooledByteBufAllocator.DEFAULT;
+
+    @Param({"graphbinary", "gryo", "graphson"})
+    public String serializerName;
+
+    private MessageSerializer serializer;
+    private RequestMessage request;
+    private ResponseMessage response;
+    private byte[] serializedRequest;
+    private byte[] serializedResponse;
+
+    @Setup
+    public void prepare() throws SerializationException {
+        switch (serializerName) {
+            case "graphbinary":
+                serializer = new GraphBinaryMessageSerializerV1d0();
+                break;
+            case "gryo":
+                serializer = new GryoMessageSerializerV1d0();
+                break;
+            case "graphson":
+                serializer = new GraphSONMessageSerializerV3d0();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown serializer " + serializerName);
+        }
+
+        final Graph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+        final Bytecode bytecode = g.V().has("person", "age", P.gt(27)).out("created").order().by("name", Order.decr)
+                .asAdmin().getBytecode();
+        request = RequestMessage.build("bytecode").processor("traversal")
+                .addArg("gremlin", bytecode)
+                .addArg("aliases", Collections.singletonMap("g", "g")).create();
+
+        // results are written as the server writes them from a traversal - detached and wrapped in a traverser
+        final List<Object> results = g.V().toStream()
+                .map(v -> new DefaultRemoteTraverser<>(DetachedFactory.detach(v, true), 1))
+                .collect(Collectors.<Object>toList());
+        response = ResponseMessage.build(UUID.randomUUID()).result(results).create();
+
+        serializedRequest = toBytes(serializer.serializeRequestAsBinary(request, allocator));
+        serializedResponse = toBytes(serializer.serializeResponseAsBinary(response, allocator));
+    }
+
+    @Benchmark
+    public ByteBuf serializeRequest() throws SerializationException {
+        final ByteBuf buffer = serializer.serializeRequestAsBinary(request, allocator);
+        buffer.release();
+        return buffer;
+    }
+
+    @Benchmark
+    public RequestMessage deserializeRequest() throws SerializationException {
+        // the server reads the mime type that prefixes the request before handing the rest to the serializer
+        final ByteBuf buffer = Unpooled.wrappedBuffer(serializedRequest);
+        buffer.skipBytes(buffer.readByte());
+        return serializer.deserializeRequest(buffer);
+    }
+
+    @Benchmark
+    public ByteBuf serializeResponse() throws SerializationException {
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        buffer.release();
+        return buffer;
+    }
+
+    @Benchmark
+    public ResponseMessage deserializeResponse() throws SerializationException {
+        return serializer.deserializeResponse(Unpooled.wrappedBuffer(serializedResponse));
+    }
+
+    private static byte[] toBytes(final ByteBuf buffer) {
+        try {
+            final byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.readBytes(bytes);
+            return bytes;
+        } finally {
+            buffer.release();
+        }
+    }
+}
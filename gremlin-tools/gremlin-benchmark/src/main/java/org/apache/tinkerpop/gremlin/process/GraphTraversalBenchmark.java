@@ -22,6 +22,7 @@ import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
 import org.apache.tinkerpop.gremlin.LoadGraphWith;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -46,16 +47,31 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().outE().inV().outE().inV().outE().inV().toList();
     }
 
+    @Benchmark
+    public List<Vertex> g_V_outE_inV_outE_inV_outE_inV_withBatchStrategy() throws Exception {
+        return g.withStrategies(BatchStrategy.instance()).V().outE().inV().outE().inV().outE().inV().toList();
+    }
+
     @Benchmark
     public List<Vertex> g_V_out_out_out() throws Exception {
         return g.V().out().out().out().toList();
     }
 
+    @Benchmark
+    public List<Vertex> g_V_out_out_out_withBatchStrategy() throws Exception {
+        return g.withStrategies(BatchStrategy.instance()).V().out().out().out().toList();
+    }
+
     @Benchmark
     public List<Path> g_V_out_out_out_path() throws Exception {
         return g.V().out().out().out().path().toList();
     }
 
+    @Benchmark
+    public List<Path> g_V_out_out_out_path_withBatchStrategy() throws Exception {
+        return g.withStrategies(BatchStrategy.instance()).V().out().out().out().path().toList();
+    }
+
     @Benchmark
     public List<Vertex> g_V_repeatXoutX_timesX2X() throws Exception {
         return g.V().repeat(out()).times(2).toList();
@@ -71,6 +87,11 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().local(out().out().values("name").fold()).toList();
     }
 
+    @Benchmark
+    public List<List<Object>> g_V_localXout_out_valuesXnameX_foldX_withBatchStrategy() throws Exception {
+        return g.withStrategies(BatchStrategy.instance()).V().local(out().out().values("name").fold()).toList();
+    }
+
     @Benchmark
     public List<List<Object>> g_V_out_localXout_out_valuesXnameX_foldX() throws Exception {
         return g.V().out().local(out().out().values("name").fold()).toList();
@@ -81,6 +102,21 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().out().map(v -> g.V(v.get()).out().out().values("name").toList()).toList();
     }
 
+    @Benchmark
+    public List<Long> g_V_both_barrier_both_barrier_both_barrier_count() throws Exception {
+        return g.V().both().barrier().both().barrier().both().barrier().count().toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_out_out_valuesXnameX_order() throws Exception {
+        return g.V().out().out().values("name").order().toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_out_out_aggregateXxX_capXxX() throws Exception {
+        return g.V().out().out().aggregate("x").cap("x").toList();
+    }
+
     @Benchmark
     public List<Map<Object, Long>> g_V_label_groupCount() throws Exception {
         return g.V().label().groupCount().toList();
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wall time of a single {@link PageRankVertexProgram} iteration on {@link TinkerGraphComputer} over a
+ * synthetic power-law graph where a few hub vertices hold most of the edges. The hubs have the lowest identifiers so
+ * that they are adjacent when the vertices are partitioned in iteration order, which is the worst case for a split
+ * of the vertices into equal-count lists. The computer uses its default of one worker per available processor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TinkerGraphComputerBenchmark extends AbstractBenchmarkBase {
+
+    private static final int ITERATIONS = 5;
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int edgesPerVertex;
+
+    private TinkerGraph graph;
+
+    @Setup
+    public void prepare() {
+        graph = TinkerGraph.open();
+        final Random random = new Random(123456789l);
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int ix = 0; ix < vertexCount; ix++) {
+            vertices[ix] = graph.addVertex(T.id, ix);
+        }
+
+        // half of the edges leave a hub and half of them arrive at a hub
+        for (int ix = 0; ix < vertexCount * edgesPerVertex; ix++) {
+            final Vertex hub = vertices[(int) (vertexCount * Math.pow(random.nextDouble(), 6))];
+            final Vertex other = vertices[random.nextInt(vertexCount)];
+            if (random.nextBoolean())
+                hub.addEdge("link", other);
+            else
+                other.addEdge("link", hub);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public ComputerResult pageRank() throws Exception {
+        return graph.compute(TinkerGraphComputer.class)
+                .program(PageRankVertexProgram.build().iterations(ITERATIONS).create(graph)).submit().get();
+    }
+}
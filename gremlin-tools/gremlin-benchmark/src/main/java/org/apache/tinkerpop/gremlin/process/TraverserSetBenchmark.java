@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the add, merge and poll operations of {@link TraverserSet} and {@link BulkSet} as the barriers of a
+ * traversal use them. Each operation works through a fixed number of traversers spread over a number of distinct
+ * values so that a low {@code distinct} mostly merges and a high one mostly inserts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TraverserSetBenchmark extends AbstractBenchmarkBase {
+
+    private static final int TRAVERSERS = 2500;
+
+    @Param({"16", "2500"})
+    public int distinct;
+
+    private Traverser.Admin<Integer>[] traversers;
+    private Integer[] values;
+    private TraverserSet<Integer> fullTraverserSet;
+    private BulkSet<Integer> fullBulkSet;
+
+    @Setup
+    public void prepare() {
+        traversers = new Traverser.Admin[TRAVERSERS];
+        values = new Integer[TRAVERSERS];
+        for (int i = 0; i < TRAVERSERS; i++) {
+            values[i] = i % distinct;
+            traversers[i] = new B_O_Traverser<>(values[i], 1L);
+        }
+
+        fullTraverserSet = new TraverserSet<>();
+        fullBulkSet = new BulkSet<>();
+        for (int i = 0; i < TRAVERSERS; i++) {
+            fullTraverserSet.add(new B_O_Traverser<>(values[i], 1L));
+            fullBulkSet.add(values[i]);
+        }
+    }
+
+    // merging adds to the bulk of the traverser that is kept, so the bulks of the prepared traversers grow over the
+    // run. that does not change the work done by the set.
+
+    @Benchmark
+    public TraverserSet<Integer> traverserSetAdd() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            set.add(traverser);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public long traverserSetAddThenPoll() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            set.add(traverser);
+        }
+        long bulk = 0L;
+        Traverser.Admin<Integer> traverser;
+        while (null != (traverser = set.poll())) {
+            bulk = bulk + traverser.bulk();
+        }
+        return bulk;
+    }
+
+    @Benchmark
+    public long traverserSetAddAndPoll() {
+        // the way the starts of a step move through a set as a queue that rarely holds more than a few traversers
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        long bulk = 0L;
+        for (int i = 0; i < TRAVERSERS; i++) {
+            set.add(traversers[i]);
+            if (i % 2 == 1)
+                bulk = bulk + set.remove().bulk() + set.remove().bulk();
+        }
+        return bulk;
+    }
+
+    @Benchmark
+    public TraverserSet<Integer> traverserSetAddAll() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        set.addAll(fullTraverserSet);
+        return set;
+    }
+
+    @Benchmark
+    public BulkSet<Integer> bulkSetAdd() {
+        final BulkSet<Integer> set = new BulkSet<>();
+        for (final Integer value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public BulkSet<Integer> bulkSetAddAll() {
+        final BulkSet<Integer> set = new BulkSet<>();
+        set.addAll(fullBulkSet);
+        set.addAll(fullBulkSet);
+        return set;
+    }
+
+    @Benchmark
+    public long bulkSetIterate() {
+        long sum = 0L;
+        for (final Integer value : fullBulkSet) {
+            sum = sum + value;
+        }
+        return sum;
+    }
+}
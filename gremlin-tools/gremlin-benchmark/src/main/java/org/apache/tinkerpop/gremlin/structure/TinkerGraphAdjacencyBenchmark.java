@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Compares the default {@code HashSet} based adjacency of {@link TinkerGraph} with the array based adjacency enabled
+ * by {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY}. The traversal benchmarks measure adjacency-heavy
+ * throughput while {@link #loadGraph()} builds a new graph on each call so that running it with the JMH {@code gc}
+ * profiler compares the memory each mode allocates for the same edges.
+ */
+@State(Scope.Thread)
+public class TinkerGraphAdjacencyBenchmark extends AbstractBenchmarkBase {
+
+    private static final String[] LABELS = new String[]{"knows", "created", "likes"};
+
+    @Param({"false", "true"})
+    public boolean compactAdjacency;
+
+    @Param({"10000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int edgesPerVertex;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup
+    public void prepare() {
+        graph = createGraph();
+        g = graph.traversal();
+    }
+
+    @Benchmark
+    public TinkerGraph loadGraph() {
+        return createGraph();
+    }
+
+    @Benchmark
+    public long g_V_out_out_count() {
+        return g.V().out().out().count().next();
+    }
+
+    @Benchmark
+    public long g_V_outXknowsX_inXknowsX_count() {
+        return g.V().out("knows").in("knows").count().next();
+    }
+
+    @Benchmark
+    public long g_V_bothE_count() {
+        return g.V().bothE().count().next();
+    }
+
+    private TinkerGraph createGraph() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, compactAdjacency);
+        final TinkerGraph created = TinkerGraph.open(conf);
+
+        final Random random = new Random(123456789l);
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int ix = 0; ix < vertexCount; ix++) {
+            vertices[ix] = created.addVertex(T.id, ix);
+        }
+
+        for (int ix = 0; ix < vertexCount; ix++) {
+            for (int iy = 0; iy < edgesPerVertex; iy++) {
+                // copy the label to mimic readers that produce a new String for every edge they deserialize
+                vertices[ix].addEdge(new String(LABELS[random.nextInt(LABELS.length)]), vertices[random.nextInt(vertexCount)]);
+            }
+        }
+
+        return created;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Compares a lookup on a label, a tenant and a status when {@link TinkerGraph} only has a single key index on
+ * "status" with the same lookup when it also has a composite index over all three keys.
+ */
+@State(Scope.Thread)
+public class TinkerGraphCompositeIndexBenchmark extends AbstractBenchmarkBase {
+
+    private static final String[] STATUSES = new String[]{"active", "suspended", "closed"};
+
+    @Param({"false", "true"})
+    public boolean composite;
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"100"})
+    public int tenantCount;
+
+    private GraphTraversalSource g;
+
+    @Setup
+    public void prepare() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("status", Vertex.class);
+        if (composite)
+            graph.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenantId", "status");
+        g = graph.traversal();
+
+        final Random random = new Random(123456789l);
+        for (int ix = 0; ix < vertexCount; ix++) {
+            graph.addVertex(T.label, random.nextBoolean() ? "account" : "user",
+                    "tenantId", random.nextInt(tenantCount),
+                    "status", STATUSES[random.nextInt(STATUSES.length)]);
+        }
+    }
+
+    @Benchmark
+    public long g_V_hasLabelXaccountX_hasXtenantId_1X_hasXstatus_activeX_count() {
+        return g.V().hasLabel("account").has("tenantId", 1).has("status", "active").count().next();
+    }
+
+    @Benchmark
+    public long g_V_hasXstatus_activeX_count() {
+        return g.V().has("status", "active").count().next();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to open a persisted {@link TinkerGraph} with each of the
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} values that are native to the JVM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TinkerGraphPersistenceBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"gryo", "snapshot"})
+    public String graphFormat;
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int edgesPerVertex;
+
+    private File file;
+    private Configuration conf;
+
+    @Setup
+    public void prepare() throws IOException {
+        file = File.createTempFile(TinkerGraphPersistenceBenchmark.class.getSimpleName(), "." + graphFormat);
+        file.delete();
+
+        conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, graphFormat);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, file.getAbsolutePath());
+
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Random random = new Random(123456789l);
+        final Vertex[] vertices = new Vertex[vertexCount];
+        for (int ix = 0; ix < vertexCount; ix++) {
+            vertices[ix] = graph.addVertex(T.id, (long) ix, T.label, "person", "name", "person" + ix, "age", random.nextInt(100));
+        }
+        for (int ix = 0; ix < vertexCount; ix++) {
+            for (int iy = 0; iy < edgesPerVertex; iy++) {
+                vertices[ix].addEdge("knows", vertices[random.nextInt(vertexCount)], "weight", random.nextDouble());
+            }
+        }
+        graph.close();
+    }
+
+    @TearDown
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Benchmark
+    public long openGraph() {
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        return graph.traversal().E().count().next();
+    }
+}
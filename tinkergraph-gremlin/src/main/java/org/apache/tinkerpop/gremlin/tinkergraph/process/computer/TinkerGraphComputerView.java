@@ -21,8 +21,8 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -34,71 +34,121 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.ArrayIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Holds the compute keys of a computation in columns, one per key, that are indexed by a dense slot assigned to each
+ * vertex when the view is created. Workers only ever write the slot of the vertex they are executing, so the columns
+ * are plain arrays of the raw values and a {@link VertexProperty} is only created when a value is read as one. The
+ * vertices that pass the {@link GraphFilter} are likewise held as bits of a {@link BitSet} and the edges that pass it
+ * as arrays kept in the slot of their vertex rather than sets of identifiers.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerGraphComputerView {
 
+    private static final Edge[] NO_EDGES = new Edge[0];
+
     private final TinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
-    private final Set<Object> legalVertices = new HashSet<>();
-    private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final String[] columnKeys;
+    private final Map<Object, Integer> vertexSlots = new HashMap<>();
+    private final TinkerVertex[] vertices;
+    // each entry is null, a raw value, a ComputeProperty once the value needed an identity of its own or a ValueList
+    // when the key has more than one value
+    private final Object[][] columns;
+    private final BitSet legalVertices = new BitSet();
+    private final Edge[][] legalOutEdges;
+    private final Edge[][] legalInEdges;
     private final GraphFilter graphFilter;
 
     public TinkerGraphComputerView(final TinkerGraph graph, final GraphFilter graphFilter, final Set<VertexComputeKey> computeKeys) {
         this.graph = graph;
         this.computeKeys = new HashMap<>();
-        computeKeys.forEach(key -> this.computeKeys.put(key.getKey(), key));
-        this.computeProperties = new ConcurrentHashMap<>();
+        this.columnKeys = new String[computeKeys.size()];
+        computeKeys.forEach(key -> {
+            this.computeKeys.put(key.getKey(), key);
+            this.columnKeys[this.columnIndex.size()] = key.getKey();
+            this.columnIndex.put(key.getKey(), this.columnIndex.size());
+        });
         this.graphFilter = graphFilter;
-        if (this.graphFilter.hasFilter()) {
-            graph.vertices().forEachRemaining(vertex -> {
+        final List<TinkerVertex> vertices = new ArrayList<>();
+        final List<Edge[]> outEdges = new ArrayList<>();
+        final List<Edge[]> inEdges = new ArrayList<>();
+        graph.vertices().forEachRemaining(vertex -> {
+            final int slot = vertices.size();
+            vertices.add((TinkerVertex) vertex);
+            this.vertexSlots.put(vertex.id(), slot);
+            if (this.graphFilter.hasFilter()) {
                 boolean legalVertex = false;
                 if (this.graphFilter.hasVertexFilter() && this.graphFilter.legalVertex(vertex)) {
-                    this.legalVertices.add(vertex.id());
+                    this.legalVertices.set(slot);
                     legalVertex = true;
                 }
                 if ((legalVertex || !this.graphFilter.hasVertexFilter()) && this.graphFilter.hasEdgeFilter()) {
-                    final Set<Object> edges = new HashSet<>();
-                    this.legalEdges.put(vertex.id(), edges);
-                    this.graphFilter.legalEdges(vertex).forEachRemaining(edge -> edges.add(edge.id()));
+                    final List<Edge> out = new ArrayList<>();
+                    final List<Edge> in = new ArrayList<>();
+                    this.graphFilter.legalEdges(vertex).forEachRemaining(edge -> {
+                        if (edge.outVertex().id().equals(vertex.id()))
+                            out.add(edge);
+                        if (edge.inVertex().id().equals(vertex.id()))
+                            in.add(edge);
+                    });
+                    outEdges.add(out.toArray(new Edge[out.size()]));
+                    inEdges.add(in.toArray(new Edge[in.size()]));
+                } else {
+                    outEdges.add(NO_EDGES);
+                    inEdges.add(NO_EDGES);
                 }
-            });
-        }
+            }
+        });
+        this.vertices = vertices.toArray(new TinkerVertex[vertices.size()]);
+        this.columns = new Object[this.columnKeys.length][this.vertices.length];
+        this.legalOutEdges = this.graphFilter.hasEdgeFilter() ? outEdges.toArray(new Edge[outEdges.size()][]) : null;
+        this.legalInEdges = this.graphFilter.hasEdgeFilter() ? inEdges.toArray(new Edge[inEdges.size()][]) : null;
     }
 
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
-            this.addValue(vertex, key, property);
-            return property;
+            this.addValue(vertex, key, value);
+            return new ComputeProperty<>(vertex, key, value);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
     }
 
+    /**
+     * Sets the only value of a compute key by overwriting its slot, which is what
+     * {@link VertexProperty.Cardinality#single} amounts to when the key is not also a property of the original vertex.
+     * Returns {@code null} if the key is also on the original vertex and its properties need to be removed first.
+     */
+    public <V> VertexProperty<V> setProperty(final TinkerVertex vertex, final String key, final V value) {
+        ElementHelper.validateProperty(key, value);
+        if (!isComputeKey(key))
+            throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        if (TinkerHelper.getProperties(vertex).containsKey(key))
+            return null;
+        this.columns[this.columnIndex.get(key)][this.slot(vertex)] = value;
+        return new ComputeProperty<>(vertex, key, value);
+    }
+
     public List<VertexProperty<?>> getProperty(final TinkerVertex vertex, final String key) {
         // if the vertex property is already on the vertex, use that.
         final List<VertexProperty<?>> vertexProperty = this.getValue(vertex, key);
         return vertexProperty.isEmpty() ? (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList()) : vertexProperty;
-        //return isComputeKey(key) ? this.getValue(vertex, key) : (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
     }
 
     public List<Property> getProperties(final TinkerVertex vertex) {
@@ -106,35 +156,55 @@ public final class TinkerGraphComputerView {
         for (final List<VertexProperty> properties : TinkerHelper.getProperties(vertex).values()) {
             list.addAll(properties);
         }
-        for (final List<VertexProperty<?>> properties : this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).values()) {
-            list.addAll(properties);
+        final int slot = this.slot(vertex);
+        for (int column = 0; column < this.columns.length; column++) {
+            this.collect(vertex, this.columnKeys[column], this.columns[column][slot], list);
         }
         return list;
     }
 
     public void removeProperty(final TinkerVertex vertex, final String key, final VertexProperty property) {
         if (isComputeKey(key)) {
-            this.removeValue(vertex, key, property);
+            this.removeValue(vertex, key, property instanceof ComputeProperty ? ((ComputeProperty) property).entry() : property);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
     }
 
     public boolean legalVertex(final Vertex vertex) {
-        return !this.graphFilter.hasVertexFilter() || this.legalVertices.contains(vertex.id());
+        return !this.graphFilter.hasVertexFilter() || this.legalVertices.get(this.slot(vertex));
     }
 
     public boolean legalEdge(final Vertex vertex, final Edge edge) {
-        return !this.graphFilter.hasEdgeFilter() || this.legalEdges.get(vertex.id()).contains(edge.id());
+        if (!this.graphFilter.hasEdgeFilter())
+            return true;
+        final int slot = this.slot(vertex);
+        return contains(this.legalOutEdges[slot], edge) || contains(this.legalInEdges[slot], edge);
+    }
+
+    /**
+     * Gets the edges of the vertex that pass the {@link GraphFilter} straight from its slot, so that they do not need
+     * to be looked up one at a time with {@link #legalEdge(Vertex, Edge)}.
+     */
+    public Iterator<Edge> legalEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (!this.graphFilter.hasEdgeFilter())
+            return (Iterator) TinkerHelper.getEdges(vertex, direction, edgeLabels);
+        final int slot = this.slot(vertex);
+        final Iterator<Edge> edges;
+        if (Direction.OUT == direction)
+            edges = new ArrayIterator<>(this.legalOutEdges[slot]);
+        else if (Direction.IN == direction)
+            edges = new ArrayIterator<>(this.legalInEdges[slot]);
+        else
+            edges = IteratorUtils.concat(new ArrayIterator<>(this.legalOutEdges[slot]), new ArrayIterator<>(this.legalInEdges[slot]));
+        return 0 == edgeLabels.length ? edges : IteratorUtils.filter(edges, edge -> ElementHelper.keyExists(edge.label(), edgeLabels));
     }
 
     protected void complete() {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
             if (computeKey.isTransient()) {
-                for (final Map<String, List<VertexProperty<?>>> properties : this.computeProperties.values()) {
-                    properties.remove(computeKey.getKey());
-                }
+                Arrays.fill(this.columns[this.columnIndex.get(computeKey.getKey())], null);
             }
         }
     }
@@ -193,17 +263,24 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
+        final List<VertexProperty<?>> vertexProperties = new ArrayList<>();
+        for (int column = 0; column < this.columns.length; column++) {
+            final Object[] values = this.columns[column];
+            for (int slot = 0; slot < values.length; slot++) {
+                if (null == values[slot])
+                    continue;
+                vertexProperties.clear();
+                final TinkerVertex vertex = this.vertices[slot];
+                this.collect(vertex, this.columnKeys[column], values[slot], vertexProperties);
                 vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+                    final VertexProperty<?> newVertexProperty = vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
                     vertexProperty.properties().forEachRemaining(property -> {
                         newVertexProperty.property(property.key(), property.value());
                     });
                 });
-            });
-        });
-        this.computeProperties.clear();
+            }
+            Arrays.fill(values, null);
+        }
     }
 
     //////////////////////
@@ -212,20 +289,156 @@ public final class TinkerGraphComputerView {
         return this.computeKeys.containsKey(key);
     }
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new HashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = new ArrayList<>();
-            v.add(property);
-            return v;
-        });
+    private int slot(final Vertex vertex) {
+        final Integer slot = this.vertexSlots.get(vertex.id());
+        if (null == slot)
+            throw new IllegalStateException(String.format("Vertex with id %s is not part of the computation", vertex.id()));
+        return slot;
+    }
+
+    private void addValue(final Vertex vertex, final String key, final Object entry) {
+        final Object[] column = this.columns[this.columnIndex.get(key)];
+        final int slot = this.slot(vertex);
+        final Object existing = column[slot];
+        if (null == existing) {
+            column[slot] = entry;
+        } else if (existing instanceof ValueList) {
+            ((ValueList) existing).add(entry);
+        } else {
+            final ValueList list = new ValueList();
+            list.add(existing);
+            list.add(entry);
+            column[slot] = list;
+        }
+    }
+
+    private boolean replaceValue(final Vertex vertex, final String key, final Object entry, final Object replacement) {
+        final Object[] column = this.columns[this.columnIndex.get(key)];
+        final int slot = this.slot(vertex);
+        final Object existing = column[slot];
+        if (existing == entry) {
+            column[slot] = replacement;
+            return true;
+        } else if (existing instanceof ValueList) {
+            final ValueList list = (ValueList) existing;
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == entry) {
+                    list.set(i, replacement);
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.<List<Map<String, VertexProperty<?>>>>getOrDefault(vertex, Collections.emptyMap()).get(key).remove(property);
+    private void removeValue(final Vertex vertex, final String key, final Object entry) {
+        final Object[] column = this.columns[this.columnIndex.get(key)];
+        final int slot = this.slot(vertex);
+        final Object existing = column[slot];
+        if (existing == entry) {
+            column[slot] = null;
+        } else if (existing instanceof ValueList) {
+            final ValueList list = (ValueList) existing;
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == entry) {
+                    list.remove(i);
+                    break;
+                }
+            }
+            if (list.isEmpty())
+                column[slot] = null;
+        }
+    }
+
+    private List<VertexProperty<?>> getValue(final TinkerVertex vertex, final String key) {
+        final Integer column = this.columnIndex.get(key);
+        if (null == column)
+            return Collections.emptyList();
+        final Object value = this.columns[column][this.slot(vertex)];
+        if (null == value)
+            return Collections.emptyList();
+        else if (value instanceof ValueList) {
+            final List<VertexProperty<?>> list = new ArrayList<>(((ValueList) value).size());
+            this.collect(vertex, key, value, list);
+            return list;
+        } else
+            return Collections.singletonList(this.view(vertex, key, value));
+    }
+
+    private void collect(final TinkerVertex vertex, final String key, final Object value, final List list) {
+        if (null == value)
+            return;
+        if (value instanceof ValueList) {
+            for (final Object entry : (ValueList) value) {
+                list.add(this.view(vertex, key, entry));
+            }
+        } else
+            list.add(this.view(vertex, key, value));
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    private VertexProperty<?> view(final TinkerVertex vertex, final String key, final Object entry) {
+        return entry instanceof ComputeProperty && ((ComputeProperty) entry).stored && ((ComputeProperty) entry).element() == vertex ?
+                (ComputeProperty<?>) entry :
+                new ComputeProperty<>(vertex, key, entry);
+    }
+
+    private static boolean contains(final Edge[] edges, final Edge edge) {
+        for (final Edge legalEdge : edges) {
+            if (legalEdge == edge || legalEdge.id().equals(edge.id()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * A view of a compute key value. It stays a view over the raw value held in the column until it is given an
+     * identifier or meta-properties, at which point it replaces the raw value in the column so that later reads see
+     * the same property.
+     */
+    private final class ComputeProperty<V> extends TinkerVertexProperty<V> {
+        private Object id;
+        private boolean stored;
+
+        private ComputeProperty(final TinkerVertex vertex, final String key, final V value) {
+            super(null, vertex, key, value);
+        }
+
+        @Override
+        public Object id() {
+            if (null == this.id) {
+                this.store();
+                this.id = TinkerHelper.getNextVertexPropertyId(graph);
+            }
+            return this.id;
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            this.store();
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            removeProperty((TinkerVertex) this.element(), this.key(), this);
+        }
+
+        private Object entry() {
+            return this.stored ? this : this.value();
+        }
+
+        private void store() {
+            if (!this.stored)
+                this.stored = replaceValue(this.element(), this.key(), this.value(), this);
+        }
+    }
+
+    /**
+     * Marks a slot that holds more than one value so that it can be told apart from a single value.
+     */
+    private static final class ValueList extends ArrayList<Object> {
+        private ValueList() {
+            super(2);
+        }
     }
-}
\ No newline at end of file
+}
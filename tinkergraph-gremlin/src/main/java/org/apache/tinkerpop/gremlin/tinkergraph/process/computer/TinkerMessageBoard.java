@@ -18,29 +18,207 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
+ * Holds the messages of a computation in arrays that are indexed by a dense slot assigned to each vertex when the
+ * board is created. Every worker thread writes to its own {@link Outbox}, so sending a message never contends with
+ * another worker, and a {@link MessageCombiner} folds messages into the slot as they arrive. At the end of an
+ * iteration the arrays that were written become the arrays that are read and the arrays that were read are cleared
+ * to be written again, so a computation allocates its arrays once rather than a queue per vertex per iteration.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
-    public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    private final Map<Object, Integer> slots = new HashMap<>();
+    private final Queue<Outbox<M>> outboxes = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Outbox<M>> outbox = ThreadLocal.withInitial(() -> {
+        final Outbox<M> outbox = new Outbox<>(this.slots.size());
+        this.outboxes.add(outbox);
+        return outbox;
+    });
+    private List<Inbox> receiveMessages = Collections.emptyList();
+
+    public TinkerMessageBoard(final Iterator<Vertex> vertices) {
+        while (vertices.hasNext()) {
+            this.slots.put(vertices.next().id(), this.slots.size());
+        }
+    }
+
+    /**
+     * Gets the slot of the vertex or {@code -1} if the vertex is not part of the computation.
+     */
+    public int slot(final Vertex vertex) {
+        final Integer slot = this.slots.get(vertex.id());
+        return null == slot ? -1 : slot;
+    }
+
+    /**
+     * Gets the outbox that the current worker thread sends messages to.
+     */
+    public Outbox<M> outbox() {
+        return this.outbox.get();
+    }
+
+    /**
+     * Gets the messages sent in the previous iteration grouped by {@link MessageScope}.
+     */
+    public List<Inbox> receiveMessages() {
+        return this.receiveMessages;
+    }
 
     public void completeIteration() {
-        this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
-        this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        final List<Inbox> receiveMessages = new ArrayList<>();
+        for (final Outbox<M> outbox : this.outboxes) {
+            for (final Mailbox mailbox : outbox.mailboxes) {
+                mailbox.swap();
+                if (!mailbox.receiveUsed)
+                    continue;
+                Inbox inbox = null;
+                for (final Inbox existing : receiveMessages) {
+                    if (existing.messageScope.equals(mailbox.messageScope)) {
+                        inbox = existing;
+                        break;
+                    }
+                }
+                if (null == inbox) {
+                    inbox = new Inbox(mailbox.messageScope);
+                    receiveMessages.add(inbox);
+                }
+                inbox.add(mailbox.receive);
+            }
+        }
+        this.receiveMessages = receiveMessages;
+    }
+
+    /**
+     * Adds the message found in a slot to the list, where the slot may hold a single message or a list of them.
+     */
+    static void collect(final Object messages, final List<Object> list) {
+        if (null == messages)
+            return;
+        if (messages instanceof MessageList)
+            list.addAll((MessageList) messages);
+        else
+            list.add(messages);
+    }
+
+    /**
+     * The messages sent by one worker thread, with a {@link Mailbox} for each {@link MessageScope} it has used.
+     */
+    static final class Outbox<M> {
+        private final int size;
+        private final List<Mailbox> mailboxes = new ArrayList<>();
+        // MessageScope.Local hashes by building its traversal so look up the scope instances by identity
+        private final Map<MessageScope, Mailbox> mailboxesByScope = new IdentityHashMap<>();
+
+        private Outbox(final int size) {
+            this.size = size;
+        }
+
+        public void send(final MessageScope messageScope, final int slot, final M message, final MessageCombiner<M> combiner) {
+            final Mailbox mailbox = this.mailbox(messageScope);
+            final Object[] messages = mailbox.send;
+            mailbox.sendUsed = true;
+            final Object existing = messages[slot];
+            if (null == existing) {
+                messages[slot] = message;
+            } else if (null != combiner) {
+                messages[slot] = combiner.combine((M) existing, message);
+            } else if (existing instanceof MessageList) {
+                ((MessageList) existing).add(message);
+            } else {
+                final MessageList list = new MessageList();
+                list.add(existing);
+                list.add(message);
+                messages[slot] = list;
+            }
+        }
+
+        private Mailbox mailbox(final MessageScope messageScope) {
+            Mailbox mailbox = this.mailboxesByScope.get(messageScope);
+            if (null == mailbox) {
+                for (final Mailbox existing : this.mailboxes) {
+                    if (existing.messageScope.equals(messageScope)) {
+                        mailbox = existing;
+                        break;
+                    }
+                }
+                if (null == mailbox) {
+                    mailbox = new Mailbox(messageScope, this.size);
+                    this.mailboxes.add(mailbox);
+                }
+                this.mailboxesByScope.put(messageScope, mailbox);
+            }
+            return mailbox;
+        }
+    }
+
+    /**
+     * The pair of arrays for a single {@link MessageScope} of an {@link Outbox}, one being written in the current
+     * iteration and one holding what was written in the previous iteration.
+     */
+    private static final class Mailbox {
+        private final MessageScope messageScope;
+        private Object[] send;
+        private Object[] receive;
+        private boolean sendUsed = false;
+        private boolean receiveUsed = false;
+
+        private Mailbox(final MessageScope messageScope, final int size) {
+            this.messageScope = messageScope;
+            this.send = new Object[size];
+            this.receive = new Object[size];
+        }
+
+        private void swap() {
+            final Object[] read = this.receive;
+            if (this.receiveUsed)
+                Arrays.fill(read, null);
+            this.receive = this.send;
+            this.receiveUsed = this.sendUsed;
+            this.send = read;
+            this.sendUsed = false;
+        }
+    }
+
+    /**
+     * The arrays of every worker that hold the messages sent in the previous iteration for a {@link MessageScope}.
+     */
+    static final class Inbox {
+        final MessageScope messageScope;
+        Object[][] messages = new Object[0][];
+
+        private Inbox(final MessageScope messageScope) {
+            this.messageScope = messageScope;
+        }
+
+        private void add(final Object[] messages) {
+            this.messages = Arrays.copyOf(this.messages, this.messages.length + 1);
+            this.messages[this.messages.length - 1] = messages;
+        }
+    }
+
+    /**
+     * Marks a slot that holds more than one message so that it can be told apart from a single message.
+     */
+    private static final class MessageList extends ArrayList<Object> {
+        private MessageList() {
+            super(4);
+        }
     }
 }
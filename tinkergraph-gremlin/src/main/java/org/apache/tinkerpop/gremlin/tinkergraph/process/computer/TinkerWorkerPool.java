@@ -26,20 +26,33 @@ import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
+ * Executes a {@link VertexProgram} or {@link MapReduce} job with a fixed number of workers, each with its own copy
+ * of the program and its own {@link TinkerWorkerMemory}. Rather than handing each worker an equal share of the
+ * vertices up front, the vertices are cut into many chunks of roughly equal total degree and the workers claim
+ * chunks from a shared counter until there are none left, so a worker that draws the high degree vertices of a
+ * power-law graph does not leave the others idle. Chunks are claimed in order of decreasing weight so that a
+ * vertex that is heavier than a chunk on its own is started first rather than last.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -47,6 +60,12 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The number of chunks to aim for per worker, which bounds the idle time at the end of an iteration to about
+     * the cost of one chunk.
+     */
+    private static final int CHUNKS_PER_WORKER = 16;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
@@ -54,7 +73,9 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final List<Vertex> vertices = new ArrayList<>();
+    private final int[][] chunks;
+    private final AtomicInteger nextChunk = new AtomicInteger();
 
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
@@ -62,26 +83,56 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
         }
-        int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
 
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
+        // the cost of a vertex is roughly the number of edges its program walks and the messages it handles
+        final int[] weights = new int[TinkerHelper.getVertices(graph).size()];
         final Iterator<Vertex> iterator = graph.vertices();
         while (iterator.hasNext()) {
             final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
+            final int weight = 1 + (vertex instanceof TinkerVertex ? TinkerHelper.getDegree((TinkerVertex) vertex) : 0);
+            weights[this.vertices.size()] = weight;
+            this.vertices.add(vertex);
+        }
+
+        // a graph filter may have left fewer vertices than the graph holds
+        this.chunks = chunk(Arrays.copyOf(weights, this.vertices.size()), this.numberOfWorkers * CHUNKS_PER_WORKER);
+    }
+
+    /**
+     * Cuts a run of vertices, given by their weights, into contiguous chunks that each close once they reach an
+     * equal share of the total weight for the target number of chunks, so a vertex that is heavier than a share
+     * ends its chunk on its own weight. The chunks are ordered by decreasing weight.
+     *
+     * @return the start (inclusive) and end (exclusive) position of each chunk
+     */
+    static int[][] chunk(final int[] weights, final int targetChunks) {
+        long totalWeight = 0;
+        for (final int weight : weights) {
+            totalWeight += weight;
+        }
+
+        final long chunkWeight = Math.max(1, totalWeight / Math.max(1, targetChunks));
+        final List<long[]> chunks = new ArrayList<>();
+        int start = 0;
+        long weight = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weight += weights[i];
+            if (weight >= chunkWeight) {
+                chunks.add(new long[]{start, i + 1, weight});
+                start = i + 1;
+                weight = 0;
             }
         }
+        if (start < weights.length)
+            chunks.add(new long[]{start, weights.length, weight});
+        chunks.sort(Comparator.comparingLong((long[] chunk) -> chunk[2]).reversed());
+
+        final int[][] positions = new int[chunks.size()][];
+        for (int i = 0; i < chunks.size(); i++) {
+            positions[i] = new int[]{(int) chunks.get(i)[0], (int) chunks.get(i)[1]};
+        }
+        return positions;
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -93,27 +144,27 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        this.nextChunk.set(0);
         for (int i = 0; i < this.numberOfWorkers; i++) {
-            final int index = i;
             this.completionService.submit(() -> {
                 final VertexProgram vp = this.vertexProgramPool.take();
                 final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
+                worker.accept(new ChunkIterator(), vp, workerMemory);
                 this.vertexProgramPool.offer(vp);
                 this.workerMemoryPool.offer(workerMemory);
                 return null;
             });
         }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
-        }
+        this.awaitWorkers();
+    }
+
+    /**
+     * Executes the map stage of a {@link MapReduce} job where each worker is given an iterator that claims chunks
+     * of the vertices in the same way as {@link #executeVertexProgram(TriConsumer)}.
+     */
+    public void executeMapReduce(final BiConsumer<Iterator<Vertex>, MapReduce> worker) throws InterruptedException {
+        this.nextChunk.set(0);
+        this.executeMapReduce(mr -> worker.accept(new ChunkIterator(), mr));
     }
 
     public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
@@ -125,6 +176,10 @@ public final class TinkerWorkerPool implements AutoCloseable {
                 return null;
             });
         }
+        this.awaitWorkers();
+    }
+
+    private void awaitWorkers() throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
             try {
                 this.completionService.take().get();
@@ -144,4 +199,32 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    /**
+     * Iterates the vertices of the chunks that it claims from the pool, claiming the next chunk only once the
+     * current one is exhausted.
+     */
+    private final class ChunkIterator implements Iterator<Vertex> {
+        private int current = 0;
+        private int end = 0;
+
+        @Override
+        public boolean hasNext() {
+            while (this.current == this.end) {
+                final int chunk = nextChunk.getAndIncrement();
+                if (chunk >= chunks.length)
+                    return false;
+                this.current = chunks[chunk][0];
+                this.end = chunks[chunk][1];
+            }
+            return true;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return vertices.get(this.current++);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link VertexStep} for incident edges that also holds the {@link HasContainer} objects that filter those edges so
+ * that the edges can be looked up in the vertex-centric indices of the {@link TinkerVertex}. Edges are filtered in
+ * full when there is no index that can answer the predicates.
+ */
+public final class TinkerVertexStep extends VertexStep<Edge> implements HasContainerHolder {
+
+    private List<HasContainer> hasContainers = new ArrayList<>();
+    private Map<String, List<P<?>>> predicatesByKey = null;
+
+    public TinkerVertexStep(final VertexStep<Edge> originalVertexStep) {
+        super(originalVertexStep.getTraversal(), Edge.class, originalVertexStep.getDirection(), originalVertexStep.getEdgeLabels());
+        originalVertexStep.getLabels().forEach(this::addLabel);
+    }
+
+    @Override
+    protected Iterator<Edge> flatMap(final Traverser.Admin<Vertex> traverser) {
+        final Vertex vertex = traverser.get();
+        final List<Edge> indexedEdges = vertex instanceof TinkerVertex ?
+                TinkerHelper.queryVertexCentricIndex((TinkerVertex) vertex, this.getDirection(), this.getEdgeLabels(), this.predicatesByKey()) :
+                null;
+        return IteratorUtils.filter(null == indexedEdges ? super.flatMap(traverser) : indexedEdges.iterator(),
+                edge -> HasContainer.testAll(edge, this.hasContainers));
+    }
+
+    private Map<String, List<P<?>>> predicatesByKey() {
+        if (null == this.predicatesByKey) {
+            final Map<String, List<P<?>>> predicatesByKey = new LinkedHashMap<>();
+            for (final HasContainer hasContainer : this.hasContainers) {
+                predicatesByKey.computeIfAbsent(hasContainer.getKey(), k -> new ArrayList<>()).add(hasContainer.getPredicate());
+            }
+            this.predicatesByKey = predicatesByKey;
+        }
+        return this.predicatesByKey;
+    }
+
+    @Override
+    public String toString() {
+        if (this.hasContainers.isEmpty())
+            return super.toString();
+        else
+            return StringFactory.stepString(this, this.getDirection(), Arrays.asList(this.getEdgeLabels()),
+                    this.getReturnClass().getSimpleName().toLowerCase(), this.hasContainers);
+    }
+
+    @Override
+    public List<HasContainer> getHasContainers() {
+        return Collections.unmodifiableList(this.hasContainers);
+    }
+
+    @Override
+    public void addHasContainer(final HasContainer hasContainer) {
+        if (hasContainer.getPredicate() instanceof AndP) {
+            for (final P<?> predicate : ((AndP<?>) hasContainer.getPredicate()).getPredicates()) {
+                this.addHasContainer(new HasContainer(hasContainer.getKey(), predicate));
+            }
+        } else {
+            this.hasContainers.add(hasContainer);
+            this.predicatesByKey = null;
+        }
+    }
+
+    @Override
+    public TinkerVertexStep clone() {
+        final TinkerVertexStep clone = (TinkerVertexStep) super.clone();
+        clone.hasContainers = new ArrayList<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        clone.predicatesByKey = null;
+        return clone;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.hasContainers.hashCode();
+    }
+}
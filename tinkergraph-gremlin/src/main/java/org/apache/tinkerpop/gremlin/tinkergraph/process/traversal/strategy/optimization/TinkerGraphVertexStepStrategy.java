@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerVertexStep;
+
+/**
+ * This strategy folds the {@link HasStep} steps that follow a {@link VertexStep} for incident edges of specific labels
+ * into a {@link TinkerVertexStep} so that the edges can be looked up in the vertex-centric indices of
+ * {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph}.
+ *
+ * @example <pre>
+ * g.V().outE("rated").has("stars", 5)              // is replaced by TinkerVertexStep
+ * g.V().bothE("rated").has("stars", gt(3)).inV()   // is replaced by TinkerVertexStep
+ * g.V().outE().has("stars", 5)                     // is not replaced as no edge label is specified
+ * </pre>
+ */
+public final class TinkerGraphVertexStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final TinkerGraphVertexStepStrategy INSTANCE = new TinkerGraphVertexStepStrategy();
+
+    private TinkerGraphVertexStepStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final VertexStep originalVertexStep : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+            if (originalVertexStep instanceof TinkerVertexStep || !originalVertexStep.returnsEdge() ||
+                    0 == originalVertexStep.getEdgeLabels().length || !followedByHasStep(originalVertexStep))
+                continue;
+
+            final TinkerVertexStep tinkerVertexStep = new TinkerVertexStep(originalVertexStep);
+            TraversalHelper.replaceStep(originalVertexStep, tinkerVertexStep, traversal);
+            Step<?, ?> currentStep = tinkerVertexStep.getNextStep();
+            while (currentStep instanceof HasStep || currentStep instanceof NoOpBarrierStep) {
+                if (currentStep instanceof HasStep) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) currentStep).getHasContainers()) {
+                        tinkerVertexStep.addHasContainer(hasContainer);
+                    }
+                    TraversalHelper.copyLabels(currentStep, currentStep.getPreviousStep(), false);
+                    traversal.removeStep(currentStep);
+                }
+                currentStep = currentStep.getNextStep();
+            }
+        }
+    }
+
+    private static boolean followedByHasStep(final Step<?, ?> step) {
+        Step<?, ?> currentStep = step.getNextStep();
+        while (currentStep instanceof NoOpBarrierStep) {
+            currentStep = currentStep.getNextStep();
+        }
+        return currentStep instanceof HasStep;
+    }
+
+    public static TinkerGraphVertexStepStrategy instance() {
+        return INSTANCE;
+    }
+}
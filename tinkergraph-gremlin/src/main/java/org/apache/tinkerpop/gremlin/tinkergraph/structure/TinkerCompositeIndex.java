@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index over the combined values of several keys of an element. A key may be {@link T#label} (by way of its
+ * accessor) to include the label of the element in the index. An element is only indexed if it has a value for each
+ * of the keys and an element with multiple values for a key is indexed under every combination of its values.
+ */
+final class TinkerCompositeIndex<E extends Element> {
+
+    private final List<String> keys;
+    private final Map<List<Object>, Set<E>> index = new ConcurrentHashMap<>();
+
+    /**
+     * The combinations each element is currently indexed under, which allows an element to be moved when any one of
+     * its indexed values changes without knowing the previous values of the other keys.
+     */
+    private final Map<E, Set<List<Object>>> entries = new ConcurrentHashMap<>();
+
+    public TinkerCompositeIndex(final List<String> keys) {
+        this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    public boolean isIndexed(final String key) {
+        return this.keys.contains(key);
+    }
+
+    public Set<E> get(final List<Object> values) {
+        final Set<E> elements = this.index.get(values);
+        return null == elements ? Collections.emptySet() : elements;
+    }
+
+    /**
+     * Re-indexes the element from its current values.
+     */
+    public void update(final E element) {
+        this.remove(element);
+        final Set<List<Object>> combinations = combinations(element);
+        if (combinations.isEmpty())
+            return;
+
+        for (final List<Object> combination : combinations) {
+            this.index.computeIfAbsent(combination, k -> ConcurrentHashMap.newKeySet()).add(element);
+        }
+        this.entries.put(element, combinations);
+    }
+
+    public void remove(final E element) {
+        final Set<List<Object>> combinations = this.entries.remove(element);
+        if (null == combinations)
+            return;
+
+        for (final List<Object> combination : combinations) {
+            final Set<E> elements = this.index.get(combination);
+            if (null != elements) {
+                elements.remove(element);
+                if (elements.isEmpty())
+                    this.index.remove(combination);
+            }
+        }
+    }
+
+    public void clear() {
+        this.index.clear();
+        this.entries.clear();
+    }
+
+    private Set<List<Object>> combinations(final E element) {
+        Set<List<Object>> combinations = Collections.singleton(Collections.emptyList());
+        for (final String key : this.keys) {
+            final List<Object> values = new ArrayList<>();
+            if (T.label.getAccessor().equals(key))
+                values.add(element.label());
+            else {
+                final Iterator<? extends Property<Object>> properties = element.properties(key);
+                while (properties.hasNext()) {
+                    values.add(properties.next().value());
+                }
+            }
+
+            if (values.isEmpty())
+                return Collections.emptySet();
+
+            final Set<List<Object>> expanded = new HashSet<>();
+            for (final List<Object> combination : combinations) {
+                for (final Object value : values) {
+                    final List<Object> next = new ArrayList<>(combination);
+                    next.add(value);
+                    expanded.add(next);
+                }
+            }
+            combinations = expanded;
+        }
+        return combinations;
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -55,12 +56,20 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     public <V> Property<V> property(final String key, final V value) {
         if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
         ElementHelper.validateProperty(key, value);
-        final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
-        return newProperty;
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.log) graph.log.beginMutation();
+        try {
+            final Property oldProperty = super.property(key);
+            final Property<V> newProperty = new TinkerProperty<>(this, key, value);
+            if (null == this.properties) this.properties = new HashMap<>();
+            this.properties.put(key, newProperty);
+            TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+            // properties attached while the edge is being added are logged with the edge itself
+            if (null != graph.log && graph.edges.get(this.id) == this) graph.log.addEdgeProperty(this, key, value);
+            return newProperty;
+        } finally {
+            if (null != graph.log) graph.log.endMutation();
+        }
 
     }
 
@@ -78,22 +87,28 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     public void remove() {
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
-
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+
+        if (null != graph.log) graph.log.beginMutation();
+        try {
+            if (null != outVertex && null != outVertex.outEdges) {
+                final Collection<Edge> edges = outVertex.outEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+            if (null != inVertex && null != inVertex.inEdges) {
+                final Collection<Edge> edges = inVertex.inEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+
+            TinkerHelper.removeElementIndex(this);
+            if (null != graph.edges.remove(this.id()) && null != graph.log) graph.log.removeEdge(this);
+            this.properties = null;
+            this.removed = true;
+        } finally {
+            if (null != graph.log) graph.log.endMutation();
         }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
-        }
-
-        TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
-        this.properties = null;
-        this.removed = true;
     }
 
     @Override
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable, array-backed collection of the edges incident to a {@link TinkerVertex} for a single edge label. It is
+ * used in place of a {@code HashSet} when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled and
+ * costs a single array slot per edge rather than a hash table entry. Edges are only ever added once by
+ * {@link TinkerHelper#addEdge(TinkerGraph, TinkerVertex, TinkerVertex, String, Object...)} so additions do not check
+ * for duplicates. Removal is linear in the number of edges for the label and does not preserve insertion order.
+ */
+final class TinkerEdgeArray extends AbstractCollection<Edge> {
+
+    private static final int DEFAULT_CAPACITY = 2;
+
+    private Edge[] edges = new Edge[DEFAULT_CAPACITY];
+    private int size = 0;
+    private int modCount = 0;
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.size == this.edges.length)
+            this.edges = Arrays.copyOf(this.edges, this.size + (this.size >> 1) + 1);
+        this.edges[this.size++] = edge;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object edge) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i] == edge) {
+                // swap the last edge into the vacated slot to avoid shifting the tail of the array
+                this.edges[i] = this.edges[--this.size];
+                this.edges[this.size] = null;
+                this.modCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(final Object edge) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i] == edge)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(this.edges, this.size, Object[].class);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.edges, 0, this.size, null);
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int current = 0;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.current < size;
+            }
+
+            @Override
+            public Edge next() {
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (this.current >= size) throw new NoSuchElementException();
+                this.last = this.current;
+                return edges[this.current++];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                TinkerEdgeArray.this.remove(edges[this.last]);
+                // the last edge was swapped into the removed slot so it must be visited next
+                this.current = this.last;
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+}
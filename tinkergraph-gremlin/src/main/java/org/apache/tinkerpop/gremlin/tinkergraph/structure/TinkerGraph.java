@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -37,6 +38,7 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphVertexStepStrategy;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
@@ -68,6 +70,7 @@ public final class TinkerGraph implements Graph {
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                 TinkerGraphStepStrategy.instance(),
+                TinkerGraphVertexStepStrategy.instance(),
                 TinkerGraphCountStrategy.instance()));
     }
 
@@ -81,6 +84,10 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL = "gremlin.tinkergraph.writeAheadLogSyncInterval";
+    public static final String GREMLIN_TINKERGRAPH_CHECKPOINT_SIZE = "gremlin.tinkergraph.checkpointSize";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
@@ -92,15 +99,20 @@ public final class TinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected Map<String, Set<String>> vertexCentricIndexKeys = new ConcurrentHashMap<>();
+    protected TinkerLog log = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final boolean compactAdjacency;
+    protected final Map<String, String> labels;
 
     private final Configuration configuration;
     private final String graphLocation;
     private final String graphFormat;
+    private long checkpointId = 0;
 
     /**
      * An empty private constructor that initializes {@link TinkerGraph}.
@@ -112,6 +124,8 @@ public final class TinkerGraph implements Graph {
         vertexPropertyIdManager = selectIdManager(configuration, GREMLIN_TINKERGRAPH_VERTEX_PROPERTY_ID_MANAGER, VertexProperty.class);
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
+        labels = compactAdjacency ? new ConcurrentHashMap<>() : null;
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -120,7 +134,26 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
+        final boolean writeAheadLog = configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false);
+        if (writeAheadLog && !TinkerSnapshot.FORMAT.equals(graphFormat))
+            throw new IllegalStateException(String.format("The %s requires the %s to be set to %s",
+                    GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerSnapshot.FORMAT));
+
         if (graphLocation != null) loadGraph();
+
+        // a snapshot may have a write-ahead log beside it even if the log is not enabled now
+        if (TinkerSnapshot.FORMAT.equals(graphFormat)) {
+            try {
+                if (writeAheadLog)
+                    log = TinkerLog.open(this, new File(graphLocation), checkpointId,
+                            configuration.getLong(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 100L),
+                            configuration.getLong(GREMLIN_TINKERGRAPH_CHECKPOINT_SIZE, 64L * 1024 * 1024));
+                else
+                    TinkerLog.recover(this, new File(graphLocation), checkpointId);
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not open the write-ahead log of the graph at %s", graphLocation), ex);
+            }
+        }
     }
 
     /**
@@ -158,20 +191,26 @@ public final class TinkerGraph implements Graph {
     public Vertex addVertex(final Object... keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
-        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        final String label = internLabel(ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL));
 
-        if (null != idValue) {
-            if (this.vertices.containsKey(idValue))
-                throw Exceptions.vertexWithIdAlreadyExists(idValue);
-        } else {
-            idValue = vertexIdManager.getNextId(this);
-        }
+        if (null != this.log) this.log.beginMutation();
+        try {
+            if (null != idValue) {
+                if (this.vertices.containsKey(idValue))
+                    throw Exceptions.vertexWithIdAlreadyExists(idValue);
+            } else {
+                idValue = vertexIdManager.getNextId(this);
+            }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+            final TinkerVertex vertex = new TinkerVertex(idValue, label, this);
+            this.vertices.put(vertex.id(), vertex);
+            if (null != this.log) this.log.addVertex(vertex);
 
-        ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
-        return vertex;
+            ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+            return vertex;
+        } finally {
+            if (null != this.log) this.log.endMutation();
+        }
     }
 
     @Override
@@ -204,23 +243,38 @@ public final class TinkerGraph implements Graph {
     }
 
     public void clear() {
-        this.vertices.clear();
-        this.edges.clear();
-        this.variables = null;
-        this.currentId.set(-1L);
-        this.vertexIndex = null;
-        this.edgeIndex = null;
-        this.graphComputerView = null;
+        if (null != this.log) this.log.beginMutation();
+        try {
+            this.vertices.clear();
+            this.edges.clear();
+            this.variables = null;
+            this.currentId.set(-1L);
+            this.vertexIndex = null;
+            this.edgeIndex = null;
+            this.vertexCentricIndexKeys.clear();
+            this.graphComputerView = null;
+            if (null != this.labels) this.labels.clear();
+            if (null != this.log) this.log.clear();
+        } finally {
+            if (null != this.log) this.log.endMutation();
+        }
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
-     * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * data in the graph is persisted to that location. When the {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is
+     * enabled the graph is already persisted, so the log is simply flushed to disk rather than the whole graph being
+     * written again. This method may be called multiple times and does not release resources.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (log != null) {
+            try {
+                log.close();
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not close the write-ahead log of the graph at %s", graphLocation), ex);
+            }
+        } else if (graphLocation != null) saveGraph();
     }
 
     @Override
@@ -243,6 +297,17 @@ public final class TinkerGraph implements Graph {
         return createElementIterator(Edge.class, edges, edgeIdManager, edgeIds);
     }
 
+    /**
+     * When {@link #GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled, returns a canonical instance of the label so
+     * that the many elements that share a label also share a single {@code String} and adjacency keys can be
+     * compared by reference. Otherwise, the label is returned unchanged.
+     */
+    protected String internLabel(final String label) {
+        if (null == this.labels) return label;
+        final String existing = this.labels.putIfAbsent(label, label);
+        return null == existing ? label : existing;
+    }
+
     private void loadGraph() {
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
@@ -253,6 +318,8 @@ public final class TinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals(TinkerSnapshot.FORMAT)) {
+                    checkpointId = TinkerSnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -282,6 +349,10 @@ public final class TinkerGraph implements Graph {
                 io(IoCore.graphson()).writeGraph(graphLocation);
             } else if (graphFormat.equals("gryo")) {
                 io(IoCore.gryo()).writeGraph(graphLocation);
+            } else if (graphFormat.equals(TinkerSnapshot.FORMAT)) {
+                // the snapshot holds everything that was in the write-ahead log so the log is no longer needed
+                TinkerSnapshot.write(this, f, ++checkpointId);
+                new File(graphLocation + ".wal").delete();
             } else {
                 io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
             }
@@ -465,12 +536,25 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different type, the index is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -510,6 +594,163 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the combined values of
+     * the specified keys. The label of the element may be included by way of {@code T.label.getAccessor()}. A
+     * composite index is used when a traversal has an equality predicate on each of its keys and, like other indices,
+     * it is maintained whenever the value of one of those keys is mutated.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys (and optionally the label) to index together
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the keys of the composite index in the order they were specified on creation
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the keys of each composite index for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of keys of each composite index
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Gets the {@link IndexType} of the index on said element class ({@link Vertex} or {@link Edge}) and key.
+     *
+     * @param key          the indexed property key
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the type of the index or {@code null} if the key is not indexed
+     */
+    public <E extends Element> IndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? null : this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? null : this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a vertex-centric index which orders the edges with the specified label that are incident to each vertex
+     * by the value of the specified edge property key. It allows a traversal like {@code outE(edgeLabel).has(key, 5)}
+     * to avoid a linear scan of the edges of a vertex with a large degree and can answer both equality and range
+     * predicates. Edges are indexed in both directions and the index is maintained as edges and their properties
+     * are mutated.
+     *
+     * @param edgeLabel the label of the edges to index
+     * @param key       the edge property key to order the edges by
+     */
+    public void createVertexCentricIndex(final String edgeLabel, final String key) {
+        if (null == edgeLabel)
+            throw Graph.Exceptions.argumentCanNotBeNull("edgeLabel");
+        if (null == key)
+            throw Graph.Exceptions.argumentCanNotBeNull("key");
+        if (edgeLabel.isEmpty() || key.isEmpty())
+            throw new IllegalArgumentException("The edge label and key for the vertex-centric index cannot be an empty string");
+
+        if (!this.vertexCentricIndexKeys.computeIfAbsent(edgeLabel, l -> ConcurrentHashMap.newKeySet()).add(key))
+            return;
+
+        this.edges.values().stream()
+                .filter(edge -> edge.label().equals(edgeLabel))
+                .forEach(edge -> {
+                    final Property<?> property = edge.property(key);
+                    if (property.isPresent())
+                        TinkerHelper.addVertexCentricIndex((TinkerEdge) edge, key, property.value());
+                });
+    }
+
+    /**
+     * Drop the vertex-centric index for the specified edge label and key.
+     *
+     * @param edgeLabel the label of the indexed edges
+     * @param key       the indexed edge property key
+     */
+    public void dropVertexCentricIndex(final String edgeLabel, final String key) {
+        final Set<String> keys = this.vertexCentricIndexKeys.get(edgeLabel);
+        if (null == keys || !keys.remove(key))
+            return;
+        if (keys.isEmpty())
+            this.vertexCentricIndexKeys.remove(edgeLabel);
+
+        this.vertices.values().forEach(v -> {
+            final TinkerVertex vertex = (TinkerVertex) v;
+            if (null != vertex.outEdgeIndex) {
+                vertex.outEdgeIndex.drop(edgeLabel, key);
+                if (vertex.outEdgeIndex.isEmpty()) vertex.outEdgeIndex = null;
+            }
+            if (null != vertex.inEdgeIndex) {
+                vertex.inEdgeIndex.drop(edgeLabel, key);
+                if (vertex.inEdgeIndex.isEmpty()) vertex.inEdgeIndex = null;
+            }
+        });
+    }
+
+    /**
+     * Return the edge property keys with a vertex-centric index for the specified edge label.
+     *
+     * @param edgeLabel the label of the indexed edges
+     * @return the set of keys with a vertex-centric index
+     */
+    public Set<String> getVertexCentricIndexedKeys(final String edgeLabel) {
+        final Set<String> keys = this.vertexCentricIndexKeys.get(edgeLabel);
+        return null == keys ? Collections.emptySet() : Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * The types of index that may be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash-based index which can answer equality and {@code within()} lookups.
+         */
+        HASH,
+
+        /**
+         * An ordered index which can answer equality and {@code within()} lookups as well as range lookups like
+         * {@code gt()}, {@code lte()}, {@code between()}, {@code inside()} and {@code outside()}.
+         */
+        SORTED
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
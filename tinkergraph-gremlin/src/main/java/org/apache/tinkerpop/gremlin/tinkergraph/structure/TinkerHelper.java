@@ -20,19 +20,23 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,44 +51,53 @@ public final class TinkerHelper {
     private TinkerHelper() {
     }
 
-    protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
-        ElementHelper.validateLabel(label);
+    protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String edgeLabel, final Object... keyValues) {
+        ElementHelper.validateLabel(edgeLabel);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
         Object idValue = graph.edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
 
-        final Edge edge;
-        if (null != idValue) {
-            if (graph.edges.containsKey(idValue))
-                throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
-        } else {
-            idValue = graph.edgeIdManager.getNextId(graph);
-        }
+        if (null != graph.log) graph.log.beginMutation();
+        try {
+            final Edge edge;
+            if (null != idValue) {
+                if (graph.edges.containsKey(idValue))
+                    throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
+            } else {
+                idValue = graph.edgeIdManager.getNextId(graph);
+            }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
-        return edge;
+            final String label = graph.internLabel(edgeLabel);
+            edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+            ElementHelper.attachProperties(edge, keyValues);
+            graph.edges.put(edge.id(), edge);
+            TinkerHelper.addOutEdge(outVertex, label, edge);
+            TinkerHelper.addInEdge(inVertex, label, edge);
+            if (null != graph.log) graph.log.addEdge((TinkerEdge) edge);
+            return edge;
+        } finally {
+            if (null != graph.log) graph.log.endMutation();
+        }
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
-        Set<Edge> edges = vertex.outEdges.get(label);
+        final boolean compact = ((TinkerGraph) vertex.graph()).compactAdjacency;
+        if (null == vertex.outEdges) vertex.outEdges = compact ? new HashMap<>(2) : new HashMap<>();
+        Collection<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerEdgeArray() : new HashSet<>();
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
-        Set<Edge> edges = vertex.inEdges.get(label);
+        final boolean compact = ((TinkerGraph) vertex.graph()).compactAdjacency;
+        if (null == vertex.inEdges) vertex.inEdges = compact ? new HashMap<>(2) : new HashMap<>();
+        Collection<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerEdgeArray() : new HashSet<>();
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
@@ -98,6 +111,22 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Gets the vertices that may satisfy the predicates, grouped by key, from the most selective vertex index or
+     * {@code null} if no index can answer those predicates. The returned vertices must still be filtered.
+     */
+    public static Collection<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final Map<String, List<P<?>>> predicatesByKey) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.get(predicatesByKey);
+    }
+
+    /**
+     * Gets the edges that may satisfy the predicates, grouped by key, from the most selective edge index or
+     * {@code null} if no index can answer those predicates. The returned edges must still be filtered.
+     */
+    public static Collection<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final Map<String, List<P<?>>> predicatesByKey) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.get(predicatesByKey);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -114,6 +143,10 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
+    public static Object getNextVertexPropertyId(final TinkerGraph graph) {
+        return graph.vertexPropertyIdManager.getNextId(graph);
+    }
+
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
@@ -122,6 +155,11 @@ public final class TinkerHelper {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.autoUpdate(key, newValue, oldValue, edge);
+        if (isVertexCentricIndexed(graph, edge.label, key)) {
+            if (null != oldValue)
+                removeVertexCentricIndex(edge, key, oldValue);
+            addVertexCentricIndex(edge, key, newValue);
+        }
     }
 
     public static void autoUpdateIndex(final TinkerVertex vertex, final String key, final Object newValue, final Object oldValue) {
@@ -140,6 +178,14 @@ public final class TinkerHelper {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.removeElement(edge);
+        final Set<String> keys = graph.vertexCentricIndexKeys.get(edge.label);
+        if (null != keys && null != edge.properties) {
+            for (final String key : keys) {
+                final Property<?> property = edge.properties.get(key);
+                if (null != property)
+                    removeVertexCentricIndex(edge, key, property.value());
+            }
+        }
     }
 
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
@@ -152,6 +198,95 @@ public final class TinkerHelper {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.remove(key, value, edge);
+        if (isVertexCentricIndexed(graph, edge.label, key))
+            removeVertexCentricIndex(edge, key, value);
+    }
+
+    private static boolean isVertexCentricIndexed(final TinkerGraph graph, final String edgeLabel, final String key) {
+        final Set<String> keys = graph.vertexCentricIndexKeys.get(edgeLabel);
+        return null != keys && keys.contains(key);
+    }
+
+    static void addVertexCentricIndex(final TinkerEdge edge, final String key, final Object value) {
+        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+        if (null == outVertex.outEdgeIndex) outVertex.outEdgeIndex = new TinkerVertexCentricIndex();
+        outVertex.outEdgeIndex.put(edge.label, key, value, edge);
+        if (null == inVertex.inEdgeIndex) inVertex.inEdgeIndex = new TinkerVertexCentricIndex();
+        inVertex.inEdgeIndex.put(edge.label, key, value, edge);
+    }
+
+    private static void removeVertexCentricIndex(final TinkerEdge edge, final String key, final Object value) {
+        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+        if (null != outVertex.outEdgeIndex) outVertex.outEdgeIndex.remove(edge.label, key, value, edge);
+        if (null != inVertex.inEdgeIndex) inVertex.inEdgeIndex.remove(edge.label, key, value, edge);
+    }
+
+    /**
+     * Gets the edges incident to the vertex that may satisfy the predicates, grouped by key, from the vertex-centric
+     * indices or {@code null} if any of the edge labels lacks an index that can answer one of the predicates. For
+     * each edge label the key with the fewest candidate edges is chosen. The returned edges must still be filtered.
+     */
+    public static List<Edge> queryVertexCentricIndex(final TinkerVertex vertex, final Direction direction, final String[] edgeLabels,
+                                                     final Map<String, List<P<?>>> predicatesByKey) {
+        final TinkerGraph graph = (TinkerGraph) vertex.graph();
+        if (0 == edgeLabels.length || graph.vertexCentricIndexKeys.isEmpty())
+            return null;
+
+        final List<Edge> edges = new ArrayList<>();
+        for (final String edgeLabel : edgeLabels) {
+            final Set<String> keys = graph.vertexCentricIndexKeys.get(edgeLabel);
+            if (null == keys)
+                return null;
+
+            List<Set<Edge>> outBest = null;
+            List<Set<Edge>> inBest = null;
+            long bestCount = Long.MAX_VALUE;
+            for (final Map.Entry<String, List<P<?>>> entry : predicatesByKey.entrySet()) {
+                if (!keys.contains(entry.getKey()))
+                    continue;
+
+                final List<Set<Edge>> outBuckets = Direction.IN == direction ? Collections.emptyList() :
+                        null == vertex.outEdgeIndex ? Collections.emptyList() : vertex.outEdgeIndex.get(edgeLabel, entry.getKey(), entry.getValue());
+                final List<Set<Edge>> inBuckets = Direction.OUT == direction ? Collections.emptyList() :
+                        null == vertex.inEdgeIndex ? Collections.emptyList() : vertex.inEdgeIndex.get(edgeLabel, entry.getKey(), entry.getValue());
+                if (null == outBuckets || null == inBuckets)
+                    continue;
+
+                final long count = count(outBuckets) + count(inBuckets);
+                if (count < bestCount) {
+                    outBest = outBuckets;
+                    inBest = inBuckets;
+                    bestCount = count;
+                }
+            }
+
+            if (null == outBest)
+                return null;
+            addAll(edges, outBest);
+            addAll(edges, inBest);
+        }
+        return edges;
+    }
+
+    private static long count(final List<Set<Edge>> buckets) {
+        long count = 0;
+        for (final Set<Edge> bucket : buckets) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private static void addAll(final List<Edge> edges, final List<Set<Edge>> buckets) {
+        if (buckets.size() == 1)
+            edges.addAll(buckets.get(0));
+        else if (buckets.size() > 1) {
+            // buckets may overlap when a within() repeats a value, so de-duplicate them
+            final Set<Edge> distinct = new LinkedHashSet<>();
+            buckets.forEach(distinct::addAll);
+            edges.addAll(distinct);
+        }
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
@@ -188,7 +323,7 @@ public final class TinkerHelper {
                 else if (edgeLabels.length == 1)
                     vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Collection::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
@@ -198,12 +333,31 @@ public final class TinkerHelper {
                 else if (edgeLabels.length == 1)
                     vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Collection::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
             }
         }
         return (Iterator) vertices.iterator();
     }
 
+    /**
+     * Gets the number of edges incident to the vertex in both directions without filtering them for a
+     * {@link TinkerGraphComputerView}.
+     */
+    public static int getDegree(final TinkerVertex vertex) {
+        int degree = 0;
+        if (null != vertex.outEdges) {
+            for (final Collection<Edge> edges : vertex.outEdges.values()) {
+                degree += edges.size();
+            }
+        }
+        if (null != vertex.inEdges) {
+            for (final Collection<Edge> edges : vertex.inEdges.values()) {
+                degree += edges.size();
+            }
+        }
+        return degree;
+    }
+
     public static Map<Object, Vertex> getVertices(final TinkerGraph graph) {
         return graph.vertices;
     }
@@ -18,18 +18,28 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -39,6 +49,8 @@ final class TinkerIndex<T extends Element> {
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
     private final Set<String> indexedKeys = new HashSet<>();
+    private final Map<String, TinkerGraph.IndexType> indexTypes = new HashMap<>();
+    private final Map<List<String>, TinkerCompositeIndex<T>> compositeIndices = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -49,7 +61,9 @@ final class TinkerIndex<T extends Element> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
+            keyMap = this.indexTypes.get(key) == TinkerGraph.IndexType.SORTED ?
+                    new ConcurrentSkipListMap<>(TinkerIndex::compareValues) :
+                    new ConcurrentHashMap<>();
             this.index.put(key, keyMap);
         }
         Set<T> objects = keyMap.get(value);
@@ -88,6 +102,11 @@ final class TinkerIndex<T extends Element> {
     }
 
     public void remove(final String key, final Object value, final T element) {
+        this.removeFromKeyIndex(key, value, element);
+        this.updateCompositeIndices(key, element);
+    }
+
+    private void removeFromKeyIndex(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
             Set<T> objects = keyMap.get(value);
@@ -107,31 +126,55 @@ final class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            for (TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+                compositeIndex.remove(element);
+            }
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
             if (oldValue != null)
-                this.remove(key, oldValue, element);
+                this.removeFromKeyIndex(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateCompositeIndices(key, element);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
-            this.remove(key, oldValue, element);
+            this.removeFromKeyIndex(key, oldValue, element);
+        this.updateCompositeIndices(key, element);
+    }
+
+    private void updateCompositeIndices(final String key, final T element) {
+        for (TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            if (compositeIndex.isIndexed(key))
+                compositeIndex.update(element);
+        }
     }
 
     public void createKeyIndex(final String key) {
+        createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if (this.indexTypes.get(key) == indexType)
+                return;
+
+            // rebuild the index with the newly requested type
+            this.dropKeyIndex(key);
+        }
         this.indexedKeys.add(key);
+        this.indexTypes.put(key, indexType);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().<T>parallelStream() :
@@ -146,9 +189,303 @@ final class TinkerIndex<T extends Element> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.indexTypes.remove(key);
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys");
+        if (keys.stream().anyMatch(k -> null == k || k.isEmpty()))
+            throw new IllegalArgumentException("The keys for the composite index cannot be null or an empty string");
+        if (keys.stream().allMatch(org.apache.tinkerpop.gremlin.structure.T.label.getAccessor()::equals) || new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys for the composite index must be distinct and include a property key");
+
+        final List<String> indexKeys = Collections.unmodifiableList(new ArrayList<>(keys));
+        if (this.compositeIndices.containsKey(indexKeys))
+            return;
+
+        final TinkerCompositeIndex<T> compositeIndex = new TinkerCompositeIndex<>(indexKeys);
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream())
+                .forEach(e -> compositeIndex.update((T) e));
+        this.compositeIndices.put(indexKeys, compositeIndex);
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        final TinkerCompositeIndex<T> compositeIndex = this.compositeIndices.remove(keys);
+        if (null != compositeIndex)
+            compositeIndex.clear();
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return Collections.unmodifiableSet(this.compositeIndices.keySet());
+    }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        return this.indexTypes.get(key);
+    }
+
+    /**
+     * Gets the elements that may satisfy the predicates, which are grouped by key, from the most selective index
+     * that can answer them. Every indexed key and every composite index whose keys all have an equality predicate is
+     * considered and the one with the fewest candidate elements is chosen. The returned elements are a superset of
+     * the matching elements and must still be filtered by the caller.
+     *
+     * @return the candidate elements or {@code null} if no index can answer the predicates
+     */
+    public Collection<T> get(final Map<String, List<P<?>>> predicatesByKey) {
+        List<Set<T>> best = null;
+        long bestCount = Long.MAX_VALUE;
+
+        for (final Map.Entry<String, List<P<?>>> entry : predicatesByKey.entrySet()) {
+            final List<Set<T>> buckets = this.buckets(entry.getKey(), entry.getValue());
+            if (null != buckets) {
+                final long count = count(buckets);
+                if (count < bestCount) {
+                    best = buckets;
+                    bestCount = count;
+                }
+            }
+        }
+
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            final List<Object> values = equalityValues(compositeIndex.getKeys(), predicatesByKey);
+            if (null != values) {
+                final Set<T> bucket = compositeIndex.get(values);
+                if (bucket.size() < bestCount) {
+                    best = Collections.singletonList(bucket);
+                    bestCount = bucket.size();
+                }
+            }
+        }
+
+        if (null == best)
+            return null;
+        else if (best.size() == 1)
+            return new ArrayList<>(best.get(0));
+        else {
+            final Set<T> elements = new LinkedHashSet<>();
+            best.forEach(elements::addAll);
+            return elements;
+        }
+    }
+
+    private static long count(final List<? extends Set<?>> buckets) {
+        long count = 0;
+        for (final Set<?> bucket : buckets) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private static List<Object> equalityValues(final List<String> keys, final Map<String, List<P<?>>> predicatesByKey) {
+        final List<Object> values = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            final List<P<?>> predicates = predicatesByKey.get(key);
+            if (null == predicates)
+                return null;
+            final Object value = predicates.stream()
+                    .filter(p -> p.getBiPredicate() == Compare.eq)
+                    .findFirst().map(P::getValue).orElse(null);
+            if (null == value)
+                return null;
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the sets of elements in the index for the key that may satisfy all of the predicates on the key.
+     * Equality and {@link Contains#within} are answered by any index, while {@link Compare#gt}, {@link Compare#gte},
+     * {@link Compare#lt}, {@link Compare#lte} and disjunctions of them (e.g. {@code outside()}) require a
+     * {@link TinkerGraph.IndexType#SORTED} index.
+     *
+     * @return the sets of candidate elements or {@code null} if the predicates cannot be answered by the index
+     */
+    private List<Set<T>> buckets(final String key, final List<P<?>> predicates) {
+        if (!this.indexedKeys.contains(key))
+            return null;
+
+        final boolean sorted = this.indexTypes.get(key) == TinkerGraph.IndexType.SORTED;
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        return buckets(null != keyMap ? keyMap : sorted ? Collections.emptyNavigableMap() : Collections.emptyMap(),
+                sorted, predicates);
+    }
+
+    /**
+     * Gets the sets of elements in the values of a key that may satisfy all of the predicates on the key, where the
+     * values must be a {@code NavigableMap} ordered by {@link #compareValues(Object, Object)} if {@code sorted}.
+     *
+     * @return the sets of candidate elements or {@code null} if the predicates cannot be answered by the map
+     */
+    static <E> List<Set<E>> buckets(final Map<Object, Set<E>> keyMap, final boolean sorted, final List<P<?>> predicates) {
+        // an exact match is always the most selective option so try that first
+        for (final P<?> predicate : predicates) {
+            if (predicate.getBiPredicate() == Compare.eq)
+                return Collections.singletonList(keyMap.getOrDefault(predicate.getValue(), Collections.emptySet()));
+            else if (predicate.getBiPredicate() == Contains.within && predicate.getValue() instanceof Collection) {
+                final List<Set<E>> buckets = new ArrayList<>();
+                for (final Object value : (Collection<?>) predicate.getValue()) {
+                    final Set<E> bucket = keyMap.get(value);
+                    if (null != bucket) buckets.add(bucket);
+                }
+                return buckets;
+            }
+        }
+
+        if (!sorted)
+            return null;
+
+        final Range range = new Range();
+        for (final P<?> predicate : predicates) {
+            range.restrict(predicate);
+        }
+        if (!range.isEmpty())
+            return bucketsInRange((NavigableMap<Object, Set<E>>) keyMap, range);
+
+        // a disjunction of ranges can only be answered if every branch is a range
+        for (final P<?> predicate : predicates) {
+            if (predicate instanceof OrP) {
+                final List<Set<E>> buckets = new ArrayList<>();
+                for (final P<?> branch : ((OrP<?>) predicate).getPredicates()) {
+                    final Range branchRange = new Range();
+                    if (!branchRange.restrict(branch))
+                        return null;
+                    final List<Set<E>> branchBuckets = bucketsInRange((NavigableMap<Object, Set<E>>) keyMap, branchRange);
+                    if (null == branchBuckets)
+                        return null;
+                    buckets.addAll(branchBuckets);
+                }
+                return buckets;
+            }
+        }
+
+        return null;
+    }
+
+    private static <E> List<Set<E>> bucketsInRange(final NavigableMap<Object, Set<E>> keyMap, final Range range) {
+        if (range.isEmpty() || (null != range.lower && null != range.upper && !sameType(range.lower, range.upper)))
+            return null;
+
+        if (keyMap.isEmpty())
+            return Collections.emptyList();
+        if (null != range.lower && null != range.upper && compareValues(range.lower, range.upper) > 0)
+            return Collections.emptyList();
+
+        final NavigableMap<Object, Set<E>> subMap;
+        if (null != range.lower && null != range.upper)
+            subMap = keyMap.subMap(range.lower, range.lowerInclusive, range.upper, range.upperInclusive);
+        else if (null != range.lower)
+            subMap = keyMap.tailMap(range.lower, range.lowerInclusive);
+        else
+            subMap = keyMap.headMap(range.upper, range.upperInclusive).descendingMap();
+
+        // values of the same type are contiguous in the index, so stop once a value of a different type is reached
+        final Object bound = null == range.lower ? range.upper : range.lower;
+        final List<Set<E>> buckets = new ArrayList<>();
+        for (final Map.Entry<Object, Set<E>> entry : subMap.entrySet()) {
+            if (!sameType(entry.getKey(), bound))
+                break;
+            buckets.add(entry.getValue());
+        }
+        return buckets;
+    }
+
+    private static boolean sameType(final Object first, final Object second) {
+        return first instanceof Number ? second instanceof Number : first.getClass().equals(second.getClass());
+    }
+
+    /**
+     * Orders values for a {@link TinkerGraph.IndexType#SORTED} index. Numbers are ordered by value regardless of
+     * their class (in the manner of {@link Compare}) and sort before all other values, which are grouped by class and
+     * then ordered naturally. Values that are not {@code Comparable} are ordered by hash code and may share an index
+     * entry with another value, which is acceptable as index results are always filtered by the caller.
+     */
+    static int compareValues(final Object first, final Object second) {
+        final boolean firstIsNumber = first instanceof Number;
+        final boolean secondIsNumber = second instanceof Number;
+        if (firstIsNumber && secondIsNumber)
+            return compareNumbers((Number) first, (Number) second);
+        else if (firstIsNumber)
+            return -1;
+        else if (secondIsNumber)
+            return 1;
+        else if (!first.getClass().equals(second.getClass()))
+            return first.getClass().getName().compareTo(second.getClass().getName());
+        else if (first instanceof Comparable)
+            return ((Comparable) first).compareTo(second);
+        else
+            return Integer.compare(first.hashCode(), second.hashCode());
+    }
+
+    private static int compareNumbers(final Number first, final Number second) {
+        if (first.getClass().equals(second.getClass()) && first instanceof Comparable)
+            return ((Comparable) first).compareTo(second);
+        else if (isSpecial(first) || isSpecial(second))
+            return Double.compare(first.doubleValue(), second.doubleValue());
+        else
+            return new BigDecimal(first.toString()).compareTo(new BigDecimal(second.toString()));
+    }
+
+    private static boolean isSpecial(final Number number) {
+        return (number instanceof Double && (((Double) number).isNaN() || ((Double) number).isInfinite())) ||
+                (number instanceof Float && (((Float) number).isNaN() || ((Float) number).isInfinite()));
+    }
+
+    /**
+     * The tightest bounds implied by a set of conjunctive range predicates on a single key.
+     */
+    private static final class Range {
+        private Object lower = null;
+        private boolean lowerInclusive = false;
+        private Object upper = null;
+        private boolean upperInclusive = false;
+
+        /**
+         * Narrows the range with the predicate and returns {@code true} if it is a range predicate. A bound whose
+         * type differs from an existing bound of the same side is ignored, which leaves the range wider than
+         * necessary but still correct as index results are always filtered.
+         */
+        private boolean restrict(final P<?> predicate) {
+            final Object value = predicate.getValue();
+            if (null == value || !(predicate.getBiPredicate() instanceof Compare))
+                return false;
+
+            switch ((Compare) predicate.getBiPredicate()) {
+                case gt:
+                case gte:
+                    if (null == this.lower || sameType(this.lower, value)) {
+                        final int compare = null == this.lower ? 1 : compareValues(value, this.lower);
+                        if (compare > 0 || (compare == 0 && predicate.getBiPredicate() == Compare.gt)) {
+                            this.lower = value;
+                            this.lowerInclusive = predicate.getBiPredicate() == Compare.gte;
+                        }
+                    }
+                    return true;
+                case lt:
+                case lte:
+                    if (null == this.upper || sameType(this.upper, value)) {
+                        final int compare = null == this.upper ? -1 : compareValues(value, this.upper);
+                        if (compare < 0 || (compare == 0 && predicate.getBiPredicate() == Compare.lt)) {
+                            this.upper = value;
+                            this.upperInclusive = predicate.getBiPredicate() == Compare.lte;
+                        }
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private boolean isEmpty() {
+            return null == this.lower && null == this.upper;
+        }
+    }
 }
@@ -0,0 +1,546 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * A write-ahead log of the mutations made to a {@link TinkerGraph} since its {@link TinkerSnapshot} was written. Each
+ * mutation is appended as a record after it is applied to the graph:
+ *
+ * <pre>
+ * magic, version, checkpointId
+ * (length, crc32, type, payload)*
+ * </pre>
+ *
+ * Records are buffered and written to the file with a single {@code fsync} per sync interval so that many mutations
+ * share the cost of a flush. When the log grows past the checkpoint size, the whole graph is written to a new snapshot
+ * with the next checkpoint identifier, the snapshot is atomically moved over the previous one and the log is reset.
+ * A checkpoint is therefore a full rewrite whose cost follows the size of the graph, not that of the log.
+ * On open, the log is only replayed if its checkpoint identifier matches the one of the snapshot, so a crash at any
+ * point of a checkpoint leaves either the old snapshot and its log or the new snapshot alone. Replay stops at the
+ * first torn or corrupt record, which is the tail of a write that was interrupted.
+ * <p/>
+ * Each mutation is applied to the graph and appended to the log between {@link #beginMutation()} and
+ * {@link #endMutation()}. A checkpoint is taken by the thread whose mutation filled the log once that mutation ends.
+ * It waits for the mutations in progress on other threads to end and holds off new ones until the snapshot is
+ * written, so that every mutation is either in the snapshot or in the log that follows it but never in both.
+ */
+final class TinkerLog {
+
+    private static final int MAGIC = 0x5447574c;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte VERTEX_PROPERTY = 3;
+    private static final byte META_PROPERTY = 4;
+    private static final byte EDGE_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX = 6;
+    private static final byte REMOVE_EDGE = 7;
+    private static final byte REMOVE_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_META_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private final TinkerGraph graph;
+    private final File snapshotFile;
+    private final File logFile;
+    private final long syncInterval;
+    private final long checkpointSize;
+    private final GryoMapper mapper;
+
+    private final TinkerSnapshot.ValueWriter record;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream pendingOut = new DataOutputStream(this.pending);
+    private final CRC32 crc = new CRC32();
+    private final ReentrantReadWriteLock mutations = new ReentrantReadWriteLock();
+
+    private long checkpointId;
+    private long fileSize = 0;
+    private FileChannel channel = null;
+    private ScheduledExecutorService flusher = null;
+    private IOException failure = null;
+    private volatile boolean checkpointDue = false;
+
+    private TinkerLog(final TinkerGraph graph, final File snapshotFile, final long checkpointId,
+                      final long syncInterval, final long checkpointSize) {
+        this.graph = graph;
+        this.snapshotFile = snapshotFile;
+        this.logFile = new File(snapshotFile.getPath() + ".wal");
+        this.checkpointId = checkpointId;
+        this.syncInterval = syncInterval;
+        this.checkpointSize = checkpointSize;
+        this.mapper = graph.io(IoCore.gryo()).mapper().create();
+        this.record = new TinkerSnapshot.ValueWriter(this.mapper, 256);
+    }
+
+    /**
+     * Opens the log that sits beside the snapshot file, replaying it into the graph if it was written after the
+     * snapshot with the specified checkpoint identifier.
+     */
+    public static TinkerLog open(final TinkerGraph graph, final File snapshotFile, final long checkpointId,
+                                 final long syncInterval, final long checkpointSize) throws IOException {
+        final File parent = snapshotFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists())
+            parent.mkdirs();
+
+        final TinkerLog log = new TinkerLog(graph, snapshotFile, checkpointId, syncInterval, checkpointSize);
+        final long validSize = log.logFile.exists() ? log.replay() : 0;
+        synchronized (log) {
+            log.openChannel(validSize);
+            if (log.fileSize >= checkpointSize)
+                log.checkpoint();
+        }
+        return log;
+    }
+
+    /**
+     * Replays the log that sits beside the snapshot file into the graph, if it was written after the snapshot with
+     * the specified checkpoint identifier, without opening it for further writes.
+     */
+    public static void recover(final TinkerGraph graph, final File snapshotFile, final long checkpointId) throws IOException {
+        final TinkerLog log = new TinkerLog(graph, snapshotFile, checkpointId, 0, Long.MAX_VALUE);
+        if (log.logFile.exists()) log.replay();
+    }
+
+    /**
+     * Marks the start of a mutation that is applied to the graph and then appended to the log. Mutations may nest
+     * and each call must be matched by a call to {@link #endMutation()}.
+     */
+    public void beginMutation() {
+        this.mutations.readLock().lock();
+    }
+
+    /**
+     * Marks the end of a mutation. If the log has grown past the checkpoint size, the checkpoint is taken here once
+     * the outermost mutation of the thread ends and no mutation is in progress on another thread.
+     */
+    public void endMutation() {
+        this.mutations.readLock().unlock();
+        if (!this.checkpointDue || this.mutations.getReadHoldCount() > 0)
+            return;
+
+        this.mutations.writeLock().lock();
+        try {
+            synchronized (this) {
+                // another thread may have taken the checkpoint while this one waited for the lock
+                if (this.checkpointDue) this.checkpoint();
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        } finally {
+            this.mutations.writeLock().unlock();
+        }
+    }
+
+    public void addVertex(final TinkerVertex vertex) {
+        synchronized (this) {
+            this.record.bytes.reset();
+            try {
+                this.record.writeValue(vertex.id());
+                this.record.writeString(vertex.label());
+                this.append(ADD_VERTEX);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    public void addEdge(final TinkerEdge edge) {
+        synchronized (this) {
+            this.record.bytes.reset();
+            try {
+                this.record.writeValue(edge.id());
+                this.record.writeString(edge.label());
+                this.record.writeValue(edge.outVertex.id());
+                this.record.writeValue(edge.inVertex.id());
+                this.record.writeProperties(edge.properties);
+                this.append(ADD_EDGE);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    public void addVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        synchronized (this) {
+            this.record.bytes.reset();
+            try {
+                this.record.writeValue(vertexProperty.element().id());
+                this.record.writeValue(vertexProperty.id());
+                this.record.writeString(vertexProperty.key());
+                this.record.writeValue(vertexProperty.value());
+                this.append(VERTEX_PROPERTY);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    public void addMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key, final Object value) {
+        synchronized (this) {
+            this.record.bytes.reset();
+            try {
+                this.record.writeValue(vertexProperty.element().id());
+                this.record.writeValue(vertexProperty.id());
+                this.record.writeString(key);
+                this.record.writeValue(value);
+                this.append(META_PROPERTY);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    public void addEdgeProperty(final TinkerEdge edge, final String key, final Object value) {
+        synchronized (this) {
+            this.record.bytes.reset();
+            try {
+                this.record.writeValue(edge.id());
+                this.record.writeString(key);
+                this.record.writeValue(value);
+                this.append(EDGE_PROPERTY);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    public void removeVertex(final TinkerVertex vertex) {
+        this.remove(REMOVE_VERTEX, vertex.id(), null, null);
+    }
+
+    public void removeEdge(final TinkerEdge edge) {
+        this.remove(REMOVE_EDGE, edge.id(), null, null);
+    }
+
+    public void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.remove(REMOVE_VERTEX_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), null);
+    }
+
+    public void removeMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key) {
+        this.remove(REMOVE_META_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), key);
+    }
+
+    public void removeEdgeProperty(final TinkerEdge edge, final String key) {
+        this.remove(REMOVE_EDGE_PROPERTY, edge.id(), null, key);
+    }
+
+    public void clear() {
+        synchronized (this) {
+            this.record.bytes.reset();
+            try {
+                this.append(CLEAR);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    /**
+     * Writes any buffered records to the file and forces them to disk, then releases the file and the flushing
+     * thread. The log reopens itself if the graph is mutated again.
+     */
+    public void close() throws IOException {
+        synchronized (this) {
+            if (null != this.flusher) {
+                this.flusher.shutdownNow();
+                this.flusher = null;
+            }
+            if (null != this.channel) {
+                this.flush();
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+    }
+
+    private void remove(final byte type, final Object id, final Object propertyId, final String key) {
+        synchronized (this) {
+            this.record.bytes.reset();
+            try {
+                this.record.writeValue(id);
+                if (null != propertyId) this.record.writeValue(propertyId);
+                if (null != key) this.record.writeString(key);
+                this.append(type);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    /**
+     * Frames the payload in {@link #record} as a record of the specified type and buffers it for the next flush.
+     * The caller must hold the monitor of the log.
+     */
+    private void append(final byte type) throws IOException {
+        if (null != this.failure) {
+            final IOException ioe = this.failure;
+            this.failure = null;
+            throw ioe;
+        }
+        if (null == this.channel)
+            this.openChannel(this.logFile.exists() ? this.logFile.length() : 0);
+
+        this.record.out.flush();
+        final byte[] payload = this.record.bytes.toByteArray();
+        this.crc.reset();
+        this.crc.update(type);
+        this.crc.update(payload, 0, payload.length);
+        this.pendingOut.writeInt(payload.length + 1);
+        this.pendingOut.writeInt((int) this.crc.getValue());
+        this.pendingOut.writeByte(type);
+        this.pendingOut.write(payload);
+
+        if (0 == this.syncInterval)
+            this.flush();
+        if (this.fileSize + this.pending.size() >= this.checkpointSize)
+            this.checkpointDue = true;
+    }
+
+    private void flush() throws IOException {
+        if (0 == this.pending.size() || null == this.channel)
+            return;
+        this.pendingOut.flush();
+        this.channel.position(this.fileSize);
+        this.pending.writeTo(Channels.newOutputStream(this.channel));
+        this.fileSize += this.pending.size();
+        this.pending.reset();
+        this.channel.force(false);
+    }
+
+    private void flushQuietly() {
+        synchronized (this) {
+            try {
+                this.flush();
+            } catch (IOException ioe) {
+                // surfaced to the next mutation as that is the first thread that can do anything about it
+                this.failure = ioe;
+            }
+        }
+    }
+
+    /**
+     * Writes the entire graph to a new snapshot, swaps it in for the old one and starts an empty log for it. The
+     * caller must hold the monitor of the log and no mutation may be in progress.
+     */
+    private void checkpoint() throws IOException {
+        final long nextCheckpointId = this.checkpointId + 1;
+        final File tmp = new File(this.snapshotFile.getPath() + ".tmp");
+        TinkerSnapshot.write(this.graph, tmp, nextCheckpointId);
+        try {
+            Files.move(tmp.toPath(), this.snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(tmp.toPath(), this.snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.checkpointId = nextCheckpointId;
+        this.checkpointDue = false;
+        this.pending.reset();
+        this.resetLog();
+    }
+
+    private void openChannel(final long validSize) throws IOException {
+        this.channel = FileChannel.open(this.logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (validSize < HEADER_SIZE) {
+            this.resetLog();
+        } else {
+            this.channel.truncate(validSize);
+            this.fileSize = validSize;
+        }
+
+        if (this.syncInterval > 0) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+                    .namingPattern("tinker-log-flush-%d").daemon(true).build());
+            this.flusher.scheduleWithFixedDelay(this::flushQuietly, this.syncInterval, this.syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void resetLog() throws IOException {
+        this.channel.truncate(0);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(this.checkpointId).flip();
+        this.channel.position(0);
+        while (header.hasRemaining()) {
+            this.channel.write(header);
+        }
+        this.channel.force(true);
+        this.fileSize = HEADER_SIZE;
+    }
+
+    /**
+     * Applies the records of the log to the graph if the log belongs to the current snapshot.
+     *
+     * @return the length of the valid part of the log or zero if it should be discarded
+     */
+    private long replay() throws IOException {
+        final ByteBuffer buffer;
+        try (final FileChannel in = FileChannel.open(this.logFile.toPath(), StandardOpenOption.READ)) {
+            if (in.size() > Integer.MAX_VALUE)
+                throw new IOException(String.format("%s is too large to replay", this.logFile));
+            buffer = ByteBuffer.allocate((int) in.size());
+            while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+                // keep reading until the buffer is full
+            }
+            buffer.flip();
+        }
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION ||
+                buffer.getLong() != this.checkpointId)
+            return 0;
+
+        final CRC32 check = new CRC32();
+        while (buffer.remaining() >= 8) {
+            final int start = buffer.position();
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            check.reset();
+            check.update(buffer.array(), buffer.position(), length);
+            if ((int) check.getValue() != checksum) {
+                buffer.position(start);
+                break;
+            }
+            final ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            this.apply(new TinkerSnapshot.ValueReader(this.mapper, payload));
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+
+    private void apply(final TinkerSnapshot.ValueReader reader) {
+        final byte type = reader.buffer.get();
+        switch (type) {
+            case ADD_VERTEX:
+                this.graph.addVertex(T.id, reader.readValue(), T.label, reader.readString());
+                break;
+            case ADD_EDGE: {
+                final Object id = reader.readValue();
+                final String label = reader.readString();
+                final Vertex outVertex = this.vertex(reader.readValue());
+                final Vertex inVertex = this.vertex(reader.readValue());
+                final int size = reader.buffer.getInt();
+                final List<Object> keyValues = new ArrayList<>(2 + size * 2);
+                keyValues.add(T.id);
+                keyValues.add(id);
+                for (int i = 0; i < size; i++) {
+                    keyValues.add(reader.readString());
+                    keyValues.add(reader.readValue());
+                }
+                outVertex.addEdge(label, inVertex, keyValues.toArray());
+                break;
+            }
+            case VERTEX_PROPERTY: {
+                final Vertex vertex = this.vertex(reader.readValue());
+                final Object id = reader.readValue();
+                vertex.property(VertexProperty.Cardinality.list, reader.readString(), reader.readValue(), T.id, id);
+                break;
+            }
+            case META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.vertexProperty(this.vertex(reader.readValue()), reader.readValue());
+                vertexProperty.property(reader.readString(), reader.readValue());
+                break;
+            }
+            case EDGE_PROPERTY:
+                this.edge(reader.readValue()).property(reader.readString(), reader.readValue());
+                break;
+            case REMOVE_VERTEX:
+                this.vertex(reader.readValue()).remove();
+                break;
+            case REMOVE_EDGE:
+                this.edge(reader.readValue()).remove();
+                break;
+            case REMOVE_VERTEX_PROPERTY:
+                this.vertexProperty(this.vertex(reader.readValue()), reader.readValue()).remove();
+                break;
+            case REMOVE_META_PROPERTY: {
+                final Property<?> property = this.vertexProperty(this.vertex(reader.readValue()), reader.readValue()).property(reader.readString());
+                if (property.isPresent()) property.remove();
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Property<?> property = this.edge(reader.readValue()).property(reader.readString());
+                if (property.isPresent()) property.remove();
+                break;
+            }
+            case CLEAR:
+                this.graph.clear();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown record type %s in TinkerGraph log %s", type, this.logFile));
+        }
+    }
+
+    private Vertex vertex(final Object id) {
+        final Vertex vertex = this.graph.vertices.get(id);
+        if (null == vertex)
+            throw new IllegalStateException(String.format("TinkerGraph log %s refers to vertex %s which does not exist", this.logFile, id));
+        return vertex;
+    }
+
+    private Edge edge(final Object id) {
+        final Edge edge = this.graph.edges.get(id);
+        if (null == edge)
+            throw new IllegalStateException(String.format("TinkerGraph log %s refers to edge %s which does not exist", this.logFile, id));
+        return edge;
+    }
+
+    private VertexProperty<?> vertexProperty(final Vertex vertex, final Object id) {
+        final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties();
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<?> vertexProperty = vertexProperties.next();
+            if (vertexProperty.id().equals(id))
+                return vertexProperty;
+        }
+        throw new IllegalStateException(String.format("TinkerGraph log %s refers to vertex property %s which does not exist", this.logFile, id));
+    }
+}
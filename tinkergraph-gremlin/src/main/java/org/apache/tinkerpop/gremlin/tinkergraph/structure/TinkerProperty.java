@@ -76,11 +76,21 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
-        } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+        final TinkerGraph graph = (TinkerGraph) this.element.graph();
+        if (null != graph.log) graph.log.beginMutation();
+        try {
+            if (this.element instanceof Edge) {
+                final TinkerEdge edge = (TinkerEdge) this.element;
+                edge.properties.remove(this.key);
+                TinkerHelper.removeIndex(edge, this.key, this.value);
+                if (null != graph.log) graph.log.removeEdgeProperty(edge, this.key);
+            } else {
+                final TinkerVertexProperty<?> vertexProperty = (TinkerVertexProperty<?>) this.element;
+                vertexProperty.properties.remove(this.key);
+                if (null != graph.log) graph.log.removeMetaProperty(vertexProperty, this.key);
+            }
+        } finally {
+            if (null != graph.log) graph.log.endMutation();
         }
     }
 }
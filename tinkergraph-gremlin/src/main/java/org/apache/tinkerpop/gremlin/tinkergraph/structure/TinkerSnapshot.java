@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Reads and writes the native "snapshot" format of {@link TinkerGraph} persistence. The file holds sections of
+ * vertices followed by sections of edges, each no larger than {@link #SECTION_SIZE} bytes, and a footer that records
+ * the offset and length of every section:
+ *
+ * <pre>
+ * magic, version, checkpointId
+ * section*                                       // vertex sections first, then edge sections
+ * sectionCount, (type, offset, length, count)*   // the footer
+ * footerOffset, magic
+ * </pre>
+ *
+ * On load, each section is memory-mapped and decoded directly into {@link TinkerVertex} and {@link TinkerEdge}
+ * instances, with sections of the same type decoded in parallel. Common property value types are written in a
+ * fixed binary form and any other value is written with Gryo. The checkpoint identifier in the header ties a snapshot
+ * to the {@link TinkerLog} that holds the mutations made since it was written.
+ */
+final class TinkerSnapshot {
+
+    static final String FORMAT = "snapshot";
+
+    private static final int MAGIC = 0x54475348;
+    private static final int VERSION = 1;
+    private static final int SECTION_SIZE = 4 * 1024 * 1024;
+
+    private static final byte VERTEX_SECTION = 1;
+    private static final byte EDGE_SECTION = 2;
+
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte UUID_VALUE = 9;
+    private static final byte GRYO = 127;
+
+    private TinkerSnapshot() {
+    }
+
+    public static void write(final TinkerGraph graph, final File file, final long checkpointId) throws IOException {
+        final GryoMapper mapper = graph.io(IoCore.gryo()).mapper().create();
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             final FileChannel channel = raf.getChannel()) {
+            channel.truncate(0);
+            final ByteBuffer header = ByteBuffer.allocate(16);
+            header.putInt(MAGIC).putInt(VERSION).putLong(checkpointId).flip();
+            writeFully(channel, header);
+
+            final List<SectionInfo> sections = new ArrayList<>();
+            final SectionWriter writer = new SectionWriter(mapper);
+            for (final Vertex vertex : graph.vertices.values()) {
+                writer.writeVertex((TinkerVertex) vertex);
+                if (writer.size() >= SECTION_SIZE)
+                    sections.add(writer.flush(channel, VERTEX_SECTION));
+            }
+            if (writer.count > 0)
+                sections.add(writer.flush(channel, VERTEX_SECTION));
+
+            for (final Edge edge : graph.edges.values()) {
+                writer.writeEdge((TinkerEdge) edge);
+                if (writer.size() >= SECTION_SIZE)
+                    sections.add(writer.flush(channel, EDGE_SECTION));
+            }
+            if (writer.count > 0)
+                sections.add(writer.flush(channel, EDGE_SECTION));
+
+            final long footerOffset = channel.position();
+            final ByteBuffer footer = ByteBuffer.allocate(4 + sections.size() * 17 + 12);
+            footer.putInt(sections.size());
+            for (final SectionInfo section : sections) {
+                footer.put(section.type).putLong(section.offset).putInt(section.length).putInt(section.count);
+            }
+            footer.putLong(footerOffset).putInt(MAGIC).flip();
+            writeFully(channel, footer);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads the snapshot into the graph.
+     *
+     * @return the checkpoint identifier that the snapshot was written with
+     */
+    public static long read(final TinkerGraph graph, final File file) throws IOException {
+        final GryoMapper mapper = graph.io(IoCore.gryo()).mapper().create();
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r");
+             final FileChannel channel = raf.getChannel()) {
+            final long size = channel.size();
+            if (size < 28)
+                throw new IOException(String.format("%s is not a TinkerGraph snapshot", file));
+
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 16);
+            final ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - 12, 12);
+            final long footerOffset = trailer.getLong();
+            if (header.getInt() != MAGIC || trailer.getInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph snapshot", file));
+            final int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(String.format("%s has an unsupported snapshot version of %s", file, version));
+            final long checkpointId = header.getLong();
+
+            final ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, size - 12 - footerOffset);
+            final int sectionCount = footer.getInt();
+            final List<SectionInfo> vertexSections = new ArrayList<>();
+            final List<SectionInfo> edgeSections = new ArrayList<>();
+            for (int i = 0; i < sectionCount; i++) {
+                final SectionInfo section = new SectionInfo(footer.get(), footer.getLong(), footer.getInt(), footer.getInt());
+                (section.type == VERTEX_SECTION ? vertexSections : edgeSections).add(section);
+            }
+
+            // vertices must all exist before the edges that reference them are decoded
+            vertexSections.parallelStream().forEach(section -> new SectionReader(graph, mapper, map(channel, section)).readVertices(section.count));
+            final List<TinkerEdge>[] edges = new List[edgeSections.size()];
+            IntStream.range(0, edges.length).parallel().forEach(i -> edges[i] =
+                    new SectionReader(graph, mapper, map(channel, edgeSections.get(i))).readEdges(edgeSections.get(i).count));
+
+            // adjacency is not thread-safe so link the decoded edges to their vertices in a single pass
+            for (final List<TinkerEdge> section : edges) {
+                for (final TinkerEdge edge : section) {
+                    TinkerHelper.addOutEdge((TinkerVertex) edge.outVertex, edge.label, edge);
+                    TinkerHelper.addInEdge((TinkerVertex) edge.inVertex, edge.label, edge);
+                }
+            }
+            return checkpointId;
+        }
+    }
+
+    private static ByteBuffer map(final FileChannel channel, final SectionInfo section) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, section.offset, section.length);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class SectionInfo {
+        private final byte type;
+        private final long offset;
+        private final int length;
+        private final int count;
+
+        private SectionInfo(final byte type, final long offset, final int length, final int count) {
+            this.type = type;
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Encodes strings, property maps and values into a growable buffer.
+     */
+    static class ValueWriter {
+        final ByteArrayOutputStream bytes;
+        final DataOutputStream out;
+        private final GryoMapper mapper;
+        private Kryo kryo = null;
+        private Output output = null;
+
+        ValueWriter(final GryoMapper mapper, final int initialSize) {
+            this.mapper = mapper;
+            this.bytes = new ByteArrayOutputStream(initialSize);
+            this.out = new DataOutputStream(this.bytes);
+        }
+
+        void writeProperties(final Map<String, Property> properties) throws IOException {
+            if (null == properties) {
+                this.out.writeInt(0);
+                return;
+            }
+            this.out.writeInt(properties.size());
+            for (final Property<?> property : properties.values()) {
+                this.writeString(property.key());
+                this.writeValue(property.value());
+            }
+        }
+
+        void writeString(final String string) throws IOException {
+            final byte[] utf = string.getBytes(StandardCharsets.UTF_8);
+            this.out.writeInt(utf.length);
+            this.out.write(utf);
+        }
+
+        void writeValue(final Object value) throws IOException {
+            if (value instanceof String) {
+                this.out.writeByte(STRING);
+                this.writeString((String) value);
+            } else if (value instanceof Integer) {
+                this.out.writeByte(INTEGER);
+                this.out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                this.out.writeByte(LONG);
+                this.out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                this.out.writeByte(DOUBLE);
+                this.out.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                this.out.writeByte(FLOAT);
+                this.out.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                this.out.writeByte(BOOLEAN);
+                this.out.writeBoolean((Boolean) value);
+            } else if (value instanceof Short) {
+                this.out.writeByte(SHORT);
+                this.out.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                this.out.writeByte(BYTE);
+                this.out.writeByte((Byte) value);
+            } else if (value instanceof UUID) {
+                this.out.writeByte(UUID_VALUE);
+                this.out.writeLong(((UUID) value).getMostSignificantBits());
+                this.out.writeLong(((UUID) value).getLeastSignificantBits());
+            } else {
+                if (null == this.kryo) {
+                    this.kryo = this.mapper.createMapper();
+                    this.output = new Output(1024, -1);
+                }
+                this.output.clear();
+                this.kryo.writeClassAndObject(this.output, value);
+                this.out.writeByte(GRYO);
+                this.out.writeInt(this.output.position());
+                this.out.write(this.output.getBuffer(), 0, this.output.position());
+            }
+        }
+    }
+
+    /**
+     * Buffers the encoded elements of a single section until it is flushed to the file.
+     */
+    private static final class SectionWriter extends ValueWriter {
+        private int count = 0;
+
+        private SectionWriter(final GryoMapper mapper) {
+            super(mapper, SECTION_SIZE + SECTION_SIZE / 4);
+        }
+
+        private int size() {
+            return this.bytes.size();
+        }
+
+        private SectionInfo flush(final FileChannel channel, final byte type) throws IOException {
+            final SectionInfo section = new SectionInfo(type, channel.position(), this.bytes.size(), this.count);
+            this.out.flush();
+            this.bytes.writeTo(Channels.newOutputStream(channel));
+            this.bytes.reset();
+            this.count = 0;
+            return section;
+        }
+
+        private void writeVertex(final TinkerVertex vertex) throws IOException {
+            this.writeValue(vertex.id());
+            this.writeString(vertex.label());
+            final Map<String, List<VertexProperty>> properties = null == vertex.properties ? new HashMap<>() : vertex.properties;
+            this.out.writeInt(properties.size());
+            for (final Map.Entry<String, List<VertexProperty>> entry : properties.entrySet()) {
+                this.writeString(entry.getKey());
+                this.out.writeInt(entry.getValue().size());
+                for (final VertexProperty<?> vertexProperty : entry.getValue()) {
+                    this.writeValue(vertexProperty.id());
+                    this.writeValue(vertexProperty.value());
+                    this.writeProperties(((TinkerVertexProperty<?>) vertexProperty).properties);
+                }
+            }
+            this.count++;
+        }
+
+        private void writeEdge(final TinkerEdge edge) throws IOException {
+            this.writeValue(edge.id());
+            this.writeString(edge.label());
+            this.writeValue(edge.outVertex.id());
+            this.writeValue(edge.inVertex.id());
+            this.writeProperties(edge.properties);
+            this.count++;
+        }
+    }
+
+    /**
+     * Decodes strings, property maps and values written by a {@link ValueWriter}.
+     */
+    static class ValueReader {
+        final ByteBuffer buffer;
+        private final GryoMapper mapper;
+        private byte[] scratch = new byte[256];
+        private Kryo kryo = null;
+
+        ValueReader(final GryoMapper mapper, final ByteBuffer buffer) {
+            this.mapper = mapper;
+            this.buffer = buffer;
+        }
+
+        Map<String, Property> readProperties(final Element element) {
+            final int size = this.buffer.getInt();
+            if (0 == size)
+                return null;
+            final Map<String, Property> properties = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                final String key = this.readString();
+                properties.put(key, new TinkerProperty<>(element, key, this.readValue()));
+            }
+            return properties;
+        }
+
+        String readString() {
+            final int length = this.buffer.getInt();
+            if (length > this.scratch.length)
+                this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+            this.buffer.get(this.scratch, 0, length);
+            return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        Object readValue() {
+            final byte type = this.buffer.get();
+            switch (type) {
+                case STRING:
+                    return this.readString();
+                case INTEGER:
+                    return this.buffer.getInt();
+                case LONG:
+                    return this.buffer.getLong();
+                case DOUBLE:
+                    return this.buffer.getDouble();
+                case FLOAT:
+                    return this.buffer.getFloat();
+                case BOOLEAN:
+                    return this.buffer.get() != 0;
+                case SHORT:
+                    return this.buffer.getShort();
+                case BYTE:
+                    return this.buffer.get();
+                case UUID_VALUE:
+                    return new UUID(this.buffer.getLong(), this.buffer.getLong());
+                case GRYO:
+                    if (null == this.kryo) this.kryo = this.mapper.createMapper();
+                    final byte[] bytes = new byte[this.buffer.getInt()];
+                    this.buffer.get(bytes);
+                    return this.kryo.readClassAndObject(new Input(bytes));
+                default:
+                    throw new IllegalStateException(String.format("Unknown value type %s in TinkerGraph snapshot", type));
+            }
+        }
+    }
+
+    /**
+     * Decodes the elements of a single memory-mapped section.
+     */
+    private static final class SectionReader extends ValueReader {
+        private final TinkerGraph graph;
+
+        private SectionReader(final TinkerGraph graph, final GryoMapper mapper, final ByteBuffer buffer) {
+            super(mapper, buffer);
+            this.graph = graph;
+        }
+
+        private void readVertices(final int count) {
+            for (int i = 0; i < count; i++) {
+                final Object id = this.readValue();
+                final TinkerVertex vertex = new TinkerVertex(id, this.graph.internLabel(this.readString()), this.graph);
+                final int keyCount = this.buffer.getInt();
+                if (keyCount > 0) {
+                    vertex.properties = new HashMap<>();
+                    for (int j = 0; j < keyCount; j++) {
+                        final String key = this.readString();
+                        final int propertyCount = this.buffer.getInt();
+                        final List<VertexProperty> list = new ArrayList<>(propertyCount);
+                        for (int k = 0; k < propertyCount; k++) {
+                            final TinkerVertexProperty<?> vertexProperty = new TinkerVertexProperty<>(this.readValue(), vertex, key, this.readValue());
+                            vertexProperty.properties = this.readProperties(vertexProperty);
+                            list.add(vertexProperty);
+                        }
+                        vertex.properties.put(key, list);
+                    }
+                }
+                this.graph.vertices.put(id, vertex);
+            }
+        }
+
+        private List<TinkerEdge> readEdges(final int count) {
+            final List<TinkerEdge> edges = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final Object id = this.readValue();
+                final String label = this.graph.internLabel(this.readString());
+                final Vertex outVertex = this.graph.vertices.get(this.readValue());
+                final Vertex inVertex = this.graph.vertices.get(this.readValue());
+                final TinkerEdge edge = new TinkerEdge(id, outVertex, label, inVertex);
+                edge.properties = this.readProperties(edge);
+                this.graph.edges.put(id, edge);
+                edges.add(edge);
+            }
+            return edges;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The edges incident to a {@link TinkerVertex} in one direction, ordered by the value of a property for each edge
+ * label and property key that has a vertex-centric index in the {@link TinkerGraph}. Values are ordered like a
+ * {@link TinkerGraph.IndexType#SORTED} index so both equality and range predicates can be answered.
+ */
+final class TinkerVertexCentricIndex {
+
+    private final Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> index = new ConcurrentHashMap<>();
+
+    public void put(final String label, final String key, final Object value, final Edge edge) {
+        this.index.computeIfAbsent(label, l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new ConcurrentSkipListMap<>(TinkerIndex::compareValues))
+                .computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet()).add(edge);
+    }
+
+    public void remove(final String label, final String key, final Object value, final Edge edge) {
+        final Map<String, NavigableMap<Object, Set<Edge>>> labelMap = this.index.get(label);
+        if (null == labelMap)
+            return;
+        final NavigableMap<Object, Set<Edge>> keyMap = labelMap.get(key);
+        if (null == keyMap)
+            return;
+        final Set<Edge> edges = keyMap.get(value);
+        if (null != edges) {
+            edges.remove(edge);
+            if (edges.isEmpty())
+                keyMap.remove(value);
+        }
+    }
+
+    public void drop(final String label, final String key) {
+        final Map<String, NavigableMap<Object, Set<Edge>>> labelMap = this.index.get(label);
+        if (null != labelMap) {
+            labelMap.remove(key);
+            if (labelMap.isEmpty())
+                this.index.remove(label);
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.index.isEmpty();
+    }
+
+    /**
+     * Gets the sets of edges with the label that may satisfy all of the predicates on the key.
+     *
+     * @return the sets of candidate edges or {@code null} if the predicates cannot be answered by the index
+     */
+    public List<Set<Edge>> get(final String label, final String key, final List<P<?>> predicates) {
+        final Map<String, NavigableMap<Object, Set<Edge>>> labelMap = this.index.get(label);
+        final NavigableMap<Object, Set<Edge>> keyMap = null == labelMap ? null : labelMap.get(key);
+        return TinkerIndex.buckets(null == keyMap ? Collections.emptyNavigableMap() : keyMap, true, predicates);
+    }
+}
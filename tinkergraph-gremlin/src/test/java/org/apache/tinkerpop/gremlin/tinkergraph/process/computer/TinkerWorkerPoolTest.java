@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TinkerWorkerPoolTest {
+
+    @Test
+    public void shouldPlaceEveryVertexInExactlyOneChunk() {
+        final Random random = new Random(123456789l);
+        final int[] weights = new int[10000];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 + random.nextInt(50);
+        }
+
+        final int[][] chunks = TinkerWorkerPool.chunk(weights, 64);
+        final int[] hits = new int[weights.length];
+        for (final int[] chunk : chunks) {
+            assertTrue(chunk[0] < chunk[1]);
+            for (int i = chunk[0]; i < chunk[1]; i++) {
+                hits[i]++;
+            }
+        }
+        for (int i = 0; i < hits.length; i++) {
+            assertEquals("vertex " + i, 1, hits[i]);
+        }
+    }
+
+    @Test
+    public void shouldSplitSkewedDegreesByWeight() {
+        // a power-law like distribution where a few vertices hold most of the edges
+        final int[] weights = new int[1000];
+        Arrays.fill(weights, 1);
+        weights[10] = 5000;
+        weights[500] = 2000;
+        final long totalWeight = Arrays.stream(weights).asLongStream().sum();
+        final int targetChunks = 32;
+        final long share = totalWeight / targetChunks;
+
+        final int[][] chunks = TinkerWorkerPool.chunk(weights, targetChunks);
+
+        // the light vertices are split across many chunks rather than handed out as one
+        assertTrue(chunks.length > 2);
+
+        // a chunk closes on the vertex that reaches its share, so it only exceeds the share by that last vertex
+        long previous = Long.MAX_VALUE;
+        for (final int[] chunk : chunks) {
+            final long weight = weight(weights, chunk);
+            assertTrue(weight - weights[chunk[1] - 1] < share);
+            assertTrue("chunks should be ordered by decreasing weight", weight <= previous);
+            previous = weight;
+        }
+
+        // the heaviest vertices are claimed first
+        assertTrue(contains(chunks[0], 10));
+        assertTrue(contains(chunks[1], 500));
+    }
+
+    @Test
+    public void shouldSplitEvenDegreesIntoTargetChunks() {
+        final int[] weights = new int[640];
+        Arrays.fill(weights, 3);
+        final int[][] chunks = TinkerWorkerPool.chunk(weights, 64);
+        assertEquals(64, chunks.length);
+        for (final int[] chunk : chunks) {
+            assertEquals(10, chunk[1] - chunk[0]);
+        }
+    }
+
+    @Test
+    public void shouldChunkNoVertices() {
+        assertEquals(0, TinkerWorkerPool.chunk(new int[0], 64).length);
+    }
+
+    @Test
+    public void shouldChunkSingleVertex() {
+        final int[][] chunks = TinkerWorkerPool.chunk(new int[]{7}, 64);
+        assertEquals(1, chunks.length);
+        assertEquals(0, chunks[0][0]);
+        assertEquals(1, chunks[0][1]);
+    }
+
+    @Test
+    public void shouldComputeOverEmptyAndSingleVertexGraphs() {
+        final TinkerGraph graph = TinkerGraph.open();
+        assertEquals(0L, graph.traversal().withComputer().V().count().next().longValue());
+
+        final Vertex v = graph.addVertex();
+        v.addEdge("self", v);
+        assertEquals(1L, graph.traversal().withComputer().V().count().next().longValue());
+        assertEquals(1L, graph.traversal().withComputer().V().out().count().next().longValue());
+    }
+
+    private static long weight(final int[] weights, final int[] chunk) {
+        long weight = 0;
+        for (int i = chunk[0]; i < chunk[1]; i++) {
+            weight += weights[i];
+        }
+        return weight;
+    }
+
+    private static boolean contains(final int[] chunk, final int position) {
+        return chunk[0] <= position && position < chunk[1];
+    }
+}
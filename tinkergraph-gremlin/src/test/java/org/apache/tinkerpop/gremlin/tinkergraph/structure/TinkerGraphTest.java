@@ -21,9 +21,18 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.AdaptiveBarrierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -56,17 +65,29 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -223,6 +244,334 @@ public class TinkerGraphTest {
         }, 35)).has("name", "stephen").count().next());
     }
 
+    @Test
+    public void shouldManageSortedIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("name", "marko", "age", 29);
+
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        g.createIndex("name", Vertex.class);
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(TinkerGraph.IndexType.SORTED, g.getIndexType("age", Vertex.class));
+        assertEquals(TinkerGraph.IndexType.HASH, g.getIndexType("name", Vertex.class));
+        assertEquals(TinkerGraph.IndexType.SORTED, g.getIndexType("weight", Edge.class));
+        assertNull(g.getIndexType("weight", Vertex.class));
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(20)).count().next());
+
+        // changing the type rebuilds the index
+        g.createIndex("age", Vertex.class);
+        assertEquals(TinkerGraph.IndexType.HASH, g.getIndexType("age", Vertex.class));
+        assertEquals(new Long(1), g.traversal().V().has("age", 29).count().next());
+        assertEquals(2, g.getIndexedKeys(Vertex.class).size());
+
+        g.dropIndex("age", Vertex.class);
+        assertNull(g.getIndexType("age", Vertex.class));
+    }
+
+    @Test
+    public void shouldUseSortedVertexIndexForRangeLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "stephen", "age", 35);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32L);
+        g.addVertex("name", "peter", "age", 35.0d);
+        g.addVertex("name", "lop", "age", "unknown");
+
+        // spy into the pipeline to ensure only the vertices selected by the range lookup on "age" are evaluated
+        assertEquals(new Long(3), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("stephen") || t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("vadas"));
+            return true;
+        }, "x")).has("age", P.between(27, 32)).count().next());
+
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.inside(27, 32)).count().next());
+
+        assertEquals(new Long(3), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("stephen") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.outside(28, 33)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("vadas"));
+            return true;
+        }, "x")).has("age", P.lte(29)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.within(29, 32L)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("age", P.eq(35)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gte("a")).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gt(40)).count().next());
+    }
+
+    @Test
+    public void shouldUpdateSortedEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+
+        final Vertex v = g.addVertex();
+        final Edge e1 = v.addEdge("self", v, "weight", 0.5d);
+        final Edge e2 = v.addEdge("self", v, "weight", 1.0d);
+        v.addEdge("self", v, "weight", 0.1d);
+
+        assertEquals(new Long(2), g.traversal().E().has("weight", P.gte(0.5d)).count().next());
+
+        e1.property("weight", 0.2d);
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.gte(0.5d)).count().next());
+        assertEquals(new Long(2), g.traversal().E().has("weight", P.lt(0.5d)).count().next());
+
+        e2.remove();
+        assertEquals(new Long(0), g.traversal().E().has("weight", P.gte(0.5d)).count().next());
+        assertEquals(new Long(2), g.traversal().E().has("weight", P.between(0.0d, 1.0d)).count().next());
+    }
+
+    @Test
+    public void shouldManageCompositeIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenantId", "status");
+        g.createCompositeIndex(Edge.class, "tenantId", "status");
+
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertTrue(g.getCompositeIndexedKeys(Vertex.class).contains(Arrays.asList(T.label.getAccessor(), "tenantId", "status")));
+        assertTrue(g.getCompositeIndexedKeys(Edge.class).contains(Arrays.asList("tenantId", "status")));
+
+        g.dropCompositeIndex(Vertex.class, T.label.getAccessor(), "tenantId", "status");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(1, g.getCompositeIndexedKeys(Edge.class).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        TinkerGraph.open().createCompositeIndex(Vertex.class, "tenantId");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithDuplicateKeys() {
+        TinkerGraph.open().createCompositeIndex(Vertex.class, "tenantId", "tenantId");
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex(T.label, "account", "name", "a", "tenantId", 1, "status", "active");
+        g.addVertex(T.label, "account", "name", "b", "tenantId", 1, "status", "closed");
+        g.addVertex(T.label, "account", "name", "c", "tenantId", 2, "status", "active");
+        g.addVertex(T.label, "user", "name", "d", "tenantId", 1, "status", "active");
+        g.addVertex(T.label, "account", "name", "e", "tenantId", 1);
+
+        // the index is populated from the existing vertices
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenantId", "status");
+
+        // spy into the pipeline to ensure only the vertex in the composite index entry is evaluated
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("a", t);
+            return true;
+        }, "x")).hasLabel("account").has("tenantId", 1).has("status", "active").count().next());
+
+        // the index is maintained as properties change
+        final Vertex b = g.traversal().V().has("name", "b").next();
+        b.property("status", "active");
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("a") || t.equals("b"));
+            return true;
+        }, "x")).hasLabel("account").has("tenantId", 1).has("status", "active").count().next());
+
+        final Vertex e = g.traversal().V().has("name", "e").next();
+        e.property("status", "active");
+        assertEquals(new Long(3), g.traversal().V().hasLabel("account").has("tenantId", 1).has("status", "active").count().next());
+
+        e.property("status").remove();
+        b.remove();
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("a", t);
+            return true;
+        }, "x")).hasLabel("account").has("tenantId", 1).has("status", "active").count().next());
+
+        // predicates other than equality on an indexed key cannot use the composite index
+        assertEquals(new Long(2), g.traversal().V().hasLabel("account").has("tenantId", P.lt(3)).has("status", "active").count().next());
+    }
+
+    @Test
+    public void shouldRemoveStaleEntriesFromCompositeIndexWithoutKeyIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, "tenantId", "status");
+        g.createCompositeIndex(Edge.class, "tenantId", "status");
+
+        final Vertex v = g.addVertex("tenantId", 1, "status", "active");
+        final Edge e = v.addEdge("knows", v, "tenantId", 1, "status", "active");
+        assertEquals(Collections.singletonList(v), compositeCandidates(g.vertexIndex, 1, "active"));
+        assertEquals(Collections.singletonList(e), compositeCandidates(g.edgeIndex, 1, "active"));
+
+        // lookups filter stale entries so the index itself has to be checked to see that they are gone
+        v.property("status", "closed");
+        e.property("status", "closed");
+        assertEquals(0, compositeCandidates(g.vertexIndex, 1, "active").size());
+        assertEquals(0, compositeCandidates(g.edgeIndex, 1, "active").size());
+        assertEquals(Collections.singletonList(v), compositeCandidates(g.vertexIndex, 1, "closed"));
+        assertEquals(Collections.singletonList(e), compositeCandidates(g.edgeIndex, 1, "closed"));
+
+        v.property("status").remove();
+        e.property("status").remove();
+        assertEquals(0, compositeCandidates(g.vertexIndex, 1, "closed").size());
+        assertEquals(0, compositeCandidates(g.edgeIndex, 1, "closed").size());
+
+        // removing a key that only a composite index covers still updates that index
+        v.property("status", "active");
+        assertEquals(Collections.singletonList(v), compositeCandidates(g.vertexIndex, 1, "active"));
+        ((TinkerVertex) v).properties.remove("tenantId");
+        g.vertexIndex.autoRemove("tenantId", 1, (TinkerVertex) v);
+        assertEquals(0, compositeCandidates(g.vertexIndex, 1, "active").size());
+    }
+
+    private static <T extends Element> List<T> compositeCandidates(final TinkerIndex<T> index, final Object tenantId, final String status) {
+        final Map<String, List<P<?>>> predicatesByKey = new HashMap<>();
+        predicatesByKey.put("tenantId", Collections.singletonList(P.eq(tenantId)));
+        predicatesByKey.put("status", Collections.singletonList(P.eq(status)));
+        return new ArrayList<>(index.get(predicatesByKey));
+    }
+
+    @Test
+    public void shouldUseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("status", Vertex.class);
+        g.createIndex("name", Vertex.class);
+        g.createCompositeIndex(Vertex.class, "tenantId", "status");
+
+        for (int ix = 0; ix < 10; ix++) {
+            g.addVertex("name", "v" + ix, "tenantId", ix % 2, "status", "active", "rank", ix);
+        }
+
+        // the composite index is more selective than the index on "status" alone
+        assertEquals(new Long(5), g.traversal().V().has("rank", P.test((t, u) -> {
+            assertTrue((int) t % 2 == 1);
+            return true;
+        }, "x")).has("status", "active").has("tenantId", 1).count().next());
+
+        // the index on "name" is more selective than the composite index
+        assertEquals(new Long(1), g.traversal().V().has("rank", P.test((t, u) -> {
+            assertEquals(3, t);
+            return true;
+        }, "x")).has("status", "active").has("tenantId", 1).has("name", "v3").count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Edge.class, T.label.getAccessor(), "since");
+
+        final Vertex v = g.addVertex();
+        final Edge e1 = v.addEdge("knows", v, "since", 2010, "weight", 0.5d);
+        v.addEdge("knows", v, "since", 2011, "weight", 0.6d);
+        v.addEdge("likes", v, "since", 2010, "weight", 0.7d);
+
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.test((t, u) -> {
+            assertEquals(0.5d, t);
+            return true;
+        }, "x")).hasLabel("knows").has("since", 2010).count().next());
+
+        e1.property("since", 2011);
+        assertEquals(new Long(0), g.traversal().E().hasLabel("knows").has("since", 2010).count().next());
+        assertEquals(new Long(2), g.traversal().E().hasLabel("knows").has("since", 2011).count().next());
+
+        e1.remove();
+        assertEquals(new Long(1), g.traversal().E().hasLabel("knows").has("since", 2011).count().next());
+    }
+
+    @Test
+    public void shouldManageVertexCentricIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createVertexCentricIndex("rated", "stars");
+        g.createVertexCentricIndex("rated", "ts");
+        g.createVertexCentricIndex("knows", "since");
+
+        assertEquals(2, g.getVertexCentricIndexedKeys("rated").size());
+        assertTrue(g.getVertexCentricIndexedKeys("rated").contains("stars"));
+        assertTrue(g.getVertexCentricIndexedKeys("knows").contains("since"));
+        assertEquals(0, g.getVertexCentricIndexedKeys("created").size());
+
+        g.dropVertexCentricIndex("rated", "stars");
+        assertEquals(1, g.getVertexCentricIndexedKeys("rated").size());
+        g.dropVertexCentricIndex("knows", "since");
+        assertEquals(0, g.getVertexCentricIndexedKeys("knows").size());
+    }
+
+    @Test
+    public void shouldUseVertexCentricIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex user = g.addVertex("name", "user");
+        for (int ix = 0; ix < 100; ix++) {
+            user.addEdge("rated", g.addVertex("name", "movie" + ix), "stars", ix % 5 + 1, "ts", ix);
+        }
+        user.addEdge("likes", user, "stars", 5, "ts", 1000);
+
+        // the index is populated from the existing edges
+        g.createVertexCentricIndex("rated", "stars");
+
+        // spy into the pipeline to ensure only the edges selected by the vertex-centric index are evaluated
+        assertEquals(new Long(20), g.traversal().V(user).outE("rated").has("ts", P.test((t, u) -> {
+            assertEquals(4, (int) t % 5);
+            return true;
+        }, "x")).has("stars", 5).count().next());
+
+        assertEquals(new Long(40), g.traversal().V(user).outE("rated").has("ts", P.test((t, u) -> {
+            assertTrue((int) t % 5 >= 3);
+            return true;
+        }, "x")).has("stars", P.gt(3)).count().next());
+
+        assertEquals(new Long(20), g.traversal().V().inE("rated").has("ts", P.test((t, u) -> {
+            assertEquals(0, (int) t % 5);
+            return true;
+        }, "x")).has("stars", 1).count().next());
+
+        // the "likes" label has no index so all of its edges are evaluated
+        assertEquals(new Long(21), g.traversal().V(user).outE("rated", "likes").has("stars", 5).count().next());
+        assertEquals(new Long(2), g.traversal().V(user).bothE("likes").has("stars", 5).count().next());
+        assertEquals(new Long(20), g.traversal().V(user).outE("rated").has("stars", 5).inV().dedup().count().next());
+    }
+
+    @Test
+    public void shouldUpdateVertexCentricIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createVertexCentricIndex("rated", "stars");
+
+        final Vertex user = g.addVertex("name", "user");
+        final Vertex movie = g.addVertex("name", "movie");
+        final Edge e1 = user.addEdge("rated", movie, "stars", 5);
+        final Edge e2 = user.addEdge("rated", movie, "stars", 4);
+        final Edge e3 = user.addEdge("rated", movie);
+
+        assertEquals(new Long(1), g.traversal().V(user).outE("rated").has("stars", 5).count().next());
+        assertEquals(new Long(2), g.traversal().V(movie).inE("rated").has("stars", P.gte(4)).count().next());
+
+        e2.property("stars", 5);
+        e3.property("stars", 5);
+        assertEquals(new Long(3), g.traversal().V(user).outE("rated").has("stars", 5).count().next());
+        assertEquals(new Long(0), g.traversal().V(movie).inE("rated").has("stars", 4).count().next());
+
+        e1.property("stars").remove();
+        e2.remove();
+        assertEquals(new Long(1), g.traversal().V(user).outE("rated").has("stars", 5).count().next());
+        assertEquals(new Long(1), g.traversal().V(movie).inE("rated").has("stars", P.within(4, 5)).count().next());
+
+        g.dropVertexCentricIndex("rated", "stars");
+        assertEquals(new Long(1), g.traversal().V(user).outE("rated").has("stars", 5).count().next());
+
+        movie.remove();
+        assertEquals(new Long(0), g.traversal().V(user).outE("rated").count().next());
+    }
+
     @Test
     public void shouldUpdateEdgeIndicesInNewGraph() {
         final TinkerGraph g = TinkerGraph.open();
@@ -370,6 +719,30 @@ public class TinkerGraphTest {
         TinkerGraph.open(conf);
     }
 
+    @Test
+    public void shouldTraverseAndRemoveEdgesWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        IoTest.assertModernGraph(graph, true, false);
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource modern = TinkerFactory.createModern().traversal();
+        assertEquals(modern.V().out().out().values("name").toSet(), g.V().out().out().values("name").toSet());
+        assertEquals(modern.V().both("knows", "created").count().next(), g.V().both("knows", "created").count().next());
+        assertEquals(3, IteratorUtils.count(g.V().has("name", "marko").next().edges(Direction.BOTH)));
+
+        g.V().has("name", "marko").outE("knows").where(__.inV().has("name", "josh")).drop().iterate();
+        assertEquals(1, IteratorUtils.count(g.V().has("name", "marko").next().edges(Direction.OUT, "knows")));
+        assertEquals(0, IteratorUtils.count(g.V().has("name", "josh").next().edges(Direction.IN)));
+        assertEquals(5, IteratorUtils.count(graph.edges()));
+
+        g.V().has("name", "josh").drop().iterate();
+        assertEquals(3, IteratorUtils.count(graph.edges()));
+        assertEquals(2, IteratorUtils.count(g.V().has("name", "lop").next().vertices(Direction.IN)));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldNotModifyAVertexThatWasRemoved() {
         final TinkerGraph graph = TinkerGraph.open();
@@ -484,6 +857,404 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToSnapshot.snapshot";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToSnapshotMulti.snapshot";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotWithManySectionsAndAnyValue() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToSnapshotLarge.snapshot";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        // enough data to be split across several sections of each type
+        final String padding = String.join("", Collections.nCopies(200, "x"));
+        Vertex previous = graph.addVertex(T.id, "v0", "padding", padding);
+        for (int ix = 1; ix < 30000; ix++) {
+            final Vertex next = graph.addVertex(T.id, "v" + ix, "padding", padding, "index", ix);
+            previous.addEdge("next", next, T.id, (long) ix, "weight", ix / 2.0d, "padding", padding);
+            previous = next;
+        }
+        final UUID uuid = UUID.randomUUID();
+        final Date date = new Date();
+        final Vertex v = graph.addVertex(T.id, 1, "uuid", uuid, "list", Arrays.asList(1, "two", 3.0d), "date", date);
+        v.addEdge("self", v, "short", (short) 1, "byte", (byte) 2, "float", 3.0f, "bool", true);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(30001, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(30000, IteratorUtils.count(reloadedGraph.edges()));
+        assertEquals(new Long(29999), reloadedGraph.traversal().V("v0").repeat(__.out("next")).emit().count().next());
+        assertEquals(14999.5d, reloadedGraph.traversal().V("v29998").outE("next").values("weight").next());
+
+        final Vertex reloaded = reloadedGraph.vertices(1).next();
+        assertEquals(uuid, reloaded.value("uuid"));
+        assertEquals(Arrays.asList(1, "two", 3.0d), reloaded.value("list"));
+        assertEquals(date, reloaded.value("date"));
+        final Edge self = reloaded.edges(Direction.IN, "self").next();
+        assertEquals((short) 1, (short) self.value("short"));
+        assertEquals((byte) 2, (byte) self.value("byte"));
+        assertEquals(3.0f, self.value("float"), 0.0f);
+        assertEquals(true, self.value("bool"));
+
+        // new elements do not collide with the loaded ones
+        reloadedGraph.addVertex(T.id, 2).addEdge("self", reloaded);
+        assertEquals(30002, IteratorUtils.count(reloadedGraph.vertices()));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldTraverseTheSameWithBatchStrategy() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource batched = g.withStrategies(BatchStrategy.of(2));
+
+        assertEquals(g.V().out().out().values("name").toList(), batched.V().out().out().values("name").toList());
+        assertEquals(g.V().outE().inV().has("age", P.gt(27)).id().toList(), batched.V().outE().inV().has("age", P.gt(27)).id().toList());
+        assertEquals(g.V().out().out().path().toList(), batched.V().out().out().path().toList());
+        assertEquals(g.V().as("a").out("created").as("b").select("a", "b").by("name").toList(),
+                batched.V().as("a").out("created").as("b").select("a", "b").by("name").toList());
+        assertEquals(g.V().out().in().values("name").limit(3).toList(), batched.V().out().in().values("name").limit(3).toList());
+        assertEquals(g.V().repeat(__.out()).times(2).values("name").toList(), batched.V().repeat(__.out()).times(2).values("name").toList());
+        assertEquals(g.V().local(__.bothE().otherV().values("name").fold()).toList(),
+                batched.V().local(__.bothE().otherV().values("name").fold()).toList());
+        assertEquals(g.V().out().out().values("name").profile().next().getMetrics().size(),
+                batched.V().out().out().values("name").profile().next().getMetrics().size());
+    }
+
+    @Test
+    public void shouldKeepLabelsLocalRepeatAndResetWithBatchStrategy() {
+        final GraphTraversalSource g = TinkerFactory.createTheCrew().traversal();
+        for (int batchSize = 2; batchSize < 6; batchSize++) {
+            final GraphTraversalSource batched = g.withStrategies(BatchStrategy.of(batchSize));
+
+            // labels set on steps inside a run are still on the path after the run
+            assertEquals(g.V().outE().as("e").inV().as("v").values("name").as("n").select("e", "v", "n").toList(),
+                    batched.V().outE().as("e").inV().as("v").values("name").as("n").select("e", "v", "n").toList());
+            assertEquals(g.V().as("a").out().as("b").out().as("c").path().from("a").to("c").toList(),
+                    batched.V().as("a").out().as("b").out().as("c").path().from("a").to("c").toList());
+
+            // a run inside local() is reset for each traverser so nothing left in a batch leaks into the next one
+            assertEquals(g.V().local(__.outE().inV().values("name").limit(1)).toList(),
+                    batched.V().local(__.outE().inV().values("name").limit(1)).toList());
+            assertEquals(g.V().local(__.properties("location").value().fold()).toList(),
+                    batched.V().local(__.properties("location").value().fold()).toList());
+
+            // runs inside repeat() see traversers loop back into them
+            assertEquals(g.V().repeat(__.out().in()).times(2).values("name").toList(),
+                    batched.V().repeat(__.out().in()).times(2).values("name").toList());
+            assertEquals(g.V().repeat(__.both().simplePath()).until(__.hasLabel("software")).path().by("name").toList(),
+                    batched.V().repeat(__.both().simplePath()).until(__.hasLabel("software")).path().by("name").toList());
+            assertEquals(g.V().repeat(__.outE().inV()).emit().values("name").toList(),
+                    batched.V().repeat(__.outE().inV()).emit().values("name").toList());
+
+            // a barrier still gathers everything before it rather than a batch at a time
+            assertEquals(g.withBulk(false).withSack(1, Operator.sum).V().out().barrier().sack().toList(),
+                    batched.withBulk(false).withSack(1, Operator.sum).V().out().barrier().sack().toList());
+
+            // a reset drops what is left of the current batch
+            final List<Object> expected = g.V().out().out().values("name").toList();
+            final Traversal.Admin<Vertex, Object> traversal = batched.V().out().out().values("name").asAdmin();
+            traversal.next();
+            traversal.reset();
+            assertEquals(expected, traversal.toList());
+        }
+    }
+
+    @Test
+    public void shouldTraverseTheSameWithAdaptiveBarrierStrategy() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource adaptive = g.withStrategies(AdaptiveBarrierStrategy.build().minBarrierSize(1).maxBarrierSize(4).barrierBudget(3).create());
+
+        assertEquals(g.V().repeat(__.both()).times(3).values("name").groupCount().next(),
+                adaptive.V().repeat(__.both()).times(3).values("name").groupCount().next());
+        assertEquals(g.V().out().out().out().count().next(), adaptive.V().out().out().out().count().next());
+        assertEquals(g.V().local(__.repeat(__.both()).times(2).count()).toList(),
+                adaptive.V().local(__.repeat(__.both()).times(2).count()).toList());
+
+        // the barriers of the parent and the child traversals share the one budget
+        final Traversal.Admin<?, ?> traversal = adaptive.V().repeat(__.both()).times(2).local(__.repeat(__.both()).times(2).count()).asAdmin();
+        traversal.applyStrategies();
+        final List<NoOpBarrierStep> barriers = TraversalHelper.getStepsOfAssignableClassRecursively(NoOpBarrierStep.class, traversal);
+        final int rootBarriers = TraversalHelper.getStepsOfClass(NoOpBarrierStep.class, traversal).size();
+        assertTrue(rootBarriers > 0);
+        assertTrue(barriers.size() > rootBarriers);
+        for (final NoOpBarrierStep barrier : barriers) {
+            assertTrue(barrier.isAdaptive());
+            assertSame(barriers.get(0).getBarrierBudget(), barrier.getBarrierBudget());
+        }
+        assertEquals(3, barriers.get(0).getBarrierBudget().get());
+
+        // the barriers of a clone share a budget of their own
+        final List<NoOpBarrierStep> clonedBarriers = TraversalHelper.getStepsOfAssignableClassRecursively(NoOpBarrierStep.class, traversal.clone());
+        assertEquals(barriers.size(), clonedBarriers.size());
+        for (final NoOpBarrierStep barrier : clonedBarriers) {
+            assertNotSame(barriers.get(0).getBarrierBudget(), barrier.getBarrierBudget());
+            assertSame(clonedBarriers.get(0).getBarrierBudget(), barrier.getBarrierBudget());
+        }
+        assertEquals(3, clonedBarriers.get(0).getBarrierBudget().get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireSnapshotFormatForWriteAheadLog() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldRequireSnapshotFormatForWriteAheadLog.kryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldRecoverFromWriteAheadLog() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldRecoverFromWriteAheadLog.snapshot";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+
+        // the graph is never closed, as if the process had crashed, so everything has to come back from the log
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(recoveredGraph, false);
+
+        final GraphTraversalSource g = recoveredGraph.traversal();
+        g.V().has("name", "daniel").drop().iterate();
+        g.E().hasLabel("develops").properties("since").drop().iterate();
+        g.V().has("name", "marko").properties("location").properties("endTime").drop().iterate();
+        g.V().has("name", "stephen").property("name", "steve").iterate();
+        g.V().has("name", "matthias").properties("location").property("verified", true).iterate();
+
+        final GraphTraversalSource h = TinkerGraph.open(conf).traversal();
+        assertEquals(5, h.V().count().next().intValue());
+        assertEquals(g.E().count().next(), h.E().count().next());
+        assertEquals(0, h.V().has("name", "daniel").count().next().intValue());
+        assertEquals(0, h.E().hasLabel("develops").has("since").count().next().intValue());
+        assertEquals(0, h.V().has("name", "marko").properties("location").has("endTime").count().next().intValue());
+        assertEquals(4, h.V().has("name", "marko").properties("location").has("startTime").count().next().intValue());
+        assertEquals(1, h.V().has("name", "steve").count().next().intValue());
+        assertEquals(0, h.V().has("name", "stephen").count().next().intValue());
+        assertEquals(4, h.V().has("name", "matthias").properties("location").has("verified", true).count().next().intValue());
+        assertEquals(g.V().has("name", "steve").id().next(), h.V().has("name", "steve").id().next());
+        assertEquals(g.V().has("name", "steve").properties("name").id().next(), h.V().has("name", "steve").properties("name").id().next());
+
+        graph.close();
+        recoveredGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLog() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldCheckpointWriteAheadLog.snapshot";
+        final File f = new File(graphLocation);
+        final File log = new File(graphLocation + ".wal");
+        f.delete();
+        log.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_SIZE, 4096);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        Vertex previous = graph.addVertex(T.id, 0);
+        for (int ix = 1; ix < 2000; ix++) {
+            final Vertex next = graph.addVertex(T.id, ix, "name", "v" + ix);
+            previous.addEdge("next", next, "weight", ix);
+            previous = next;
+        }
+
+        // the log was compacted into the snapshot as it grew
+        assertTrue(f.exists());
+        assertTrue(log.length() < 4096);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(2000, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(1999, IteratorUtils.count(reloadedGraph.edges()));
+        assertEquals("v1999", reloadedGraph.traversal().V(1998).out("next").values("name").next());
+        assertEquals(1999, reloadedGraph.traversal().V(1998).outE("next").values("weight").next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLogWhileMutatedConcurrently() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldCheckpointWriteAheadLogWhileMutatedConcurrently.snapshot";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_SIZE, 1024);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        // each thread mutates its own part of the graph while the others keep filling the log
+        final int threads = 4;
+        final int verticesPerThread = 500;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int tx = 0; tx < threads; tx++) {
+            final int offset = tx * verticesPerThread;
+            futures.add(executor.submit(() -> {
+                Vertex previous = graph.addVertex(T.id, offset, "name", "v" + offset);
+                for (int ix = offset + 1; ix < offset + verticesPerThread; ix++) {
+                    final Vertex next = graph.addVertex(T.id, ix);
+                    next.property("name", "v" + ix).property("since", ix);
+                    previous.addEdge("next", next).property("weight", ix);
+                    previous.property("temp", ix).remove();
+                    previous = next;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        graph.close();
+
+        // a mutation that made it into a snapshot and into the log after it would fail or be doubled on replay
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(threads * verticesPerThread, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(threads * (verticesPerThread - 1), IteratorUtils.count(reloadedGraph.edges()));
+        assertEquals(threads * verticesPerThread, reloadedGraph.traversal().V().properties("name").count().next().intValue());
+        assertEquals(0, reloadedGraph.traversal().V().values("temp").count().next().intValue());
+        assertEquals(1998, reloadedGraph.traversal().V(1998).properties("name").values("since").next());
+        assertEquals(1999, reloadedGraph.traversal().V(1998).outE("next").values("weight").next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldHoldCheckpointUntilMutationsInProgressEnd() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldHoldCheckpointUntilMutationsInProgressEnd.snapshot";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_SIZE, 1024);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        // the writer fills the log but its checkpoint has to wait for the mutation held open here
+        graph.log.beginMutation();
+        final Thread writer = new Thread(() -> {
+            for (int ix = 0; ix < 100; ix++) {
+                graph.addVertex(T.id, ix, "name", "v" + ix);
+            }
+        });
+        writer.start();
+        writer.join(500);
+        assertTrue(writer.isAlive());
+
+        graph.addVertex(T.id, 100, "name", "v100");
+        graph.log.endMutation();
+        writer.join();
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(101, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(101, reloadedGraph.traversal().V().properties("name").count().next().intValue());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldIgnoreTornRecordAtEndOfWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldIgnoreTornRecordAtEndOfWriteAheadLog.snapshot";
+        final File log = new File(graphLocation + ".wal");
+        new File(graphLocation).delete();
+        log.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // the start of a record that was never completely written
+        Files.write(log.toPath(), new byte[]{0, 0, 0, 64, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(recoveredGraph, true, false);
+        recoveredGraph.addVertex(T.id, 100);
+        recoveredGraph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(7, IteratorUtils.count(reloadedGraph.vertices()));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldReplayWriteAheadLogWhenNotEnabled() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldReplayWriteAheadLogWhenNotEnabled.snapshot";
+        final File log = new File(graphLocation + ".wal");
+        new File(graphLocation).delete();
+        log.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false);
+        final TinkerGraph snapshotGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(snapshotGraph, true, false);
+        snapshotGraph.close();
+        assertFalse(log.exists());
+
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,